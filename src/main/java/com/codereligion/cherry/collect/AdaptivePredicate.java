@@ -0,0 +1,173 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A conjunction or disjunction of clauses, which reorders its clauses to minimize the expected cost per element. Every 32nd element is tested against the
+ * clauses in their current order while measuring the cost of each evaluated clause and whether it applies. After every 16 such samples the clauses are
+ * sorted by their cost divided by the probability that they end the evaluation, which is the probability to fail for a conjunction and to apply for a
+ * disjunction. As sampled elements are short-circuited like all other elements, the statistics of a clause only cover the elements which reached it. A
+ * clause which was never reached is moved to the front, so that it gets sampled as well.
+ * <p/>
+ * As clauses are reordered, the clauses must be free of side effects and must not rely on each other, e.g. a clause must not expect another clause to have
+ * filtered out {@code null} elements. Instances can be shared between threads. The elements are counted by a plain field shared by all threads, so
+ * concurrent updates may get lost and shift which elements are sampled, which is harmless for the statistics. Sampled clauses are evaluated without a
+ * lock, their statistics are merged atomically and only the reordering is done under a lock.
+ *
+ * @param <E> the type of the tested elements
+ * @since 19.10.2026
+ */
+public final class AdaptivePredicate<E> implements Predicate<E> {
+
+    private static final int SAMPLE_INTERVAL = 32;
+    private static final int SAMPLES_PER_REORDER = 16;
+
+    private final ImmutableList<Predicate<? super E>> clauses;
+    private final boolean conjunction;
+    private final AtomicLongArray sampleCounts;
+    private final AtomicLongArray passCounts;
+    private final AtomicLongArray totalNanos;
+    private final AtomicLong sampleCount = new AtomicLong();
+    private volatile int[] order;
+    private volatile ImmutableList<Predicate<? super E>> orderedClauses;
+
+    // deliberately neither volatile nor atomic, lost updates only shift which elements are sampled
+    private int callCount;
+
+    AdaptivePredicate(final ImmutableList<Predicate<? super E>> clauses, final boolean conjunction) {
+        this.clauses = clauses;
+        this.conjunction = conjunction;
+        this.sampleCounts = new AtomicLongArray(clauses.size());
+        this.passCounts = new AtomicLongArray(clauses.size());
+        this.totalNanos = new AtomicLongArray(clauses.size());
+        final int[] initialOrder = new int[clauses.size()];
+        for (int i = 0; i < initialOrder.length; i++) {
+            initialOrder[i] = i;
+        }
+        this.order = initialOrder;
+        this.orderedClauses = clauses;
+    }
+
+    @Override
+    public boolean apply(final E input) {
+
+        if ((++callCount & (SAMPLE_INTERVAL - 1)) == 0) {
+            return sample(input);
+        }
+
+        final List<Predicate<? super E>> currentClauses = orderedClauses;
+        for (int i = 0; i < currentClauses.size(); i++) {
+            if (currentClauses.get(i).apply(input) != conjunction) {
+                return !conjunction;
+            }
+        }
+        return conjunction;
+    }
+
+    private boolean sample(final E input) {
+
+        final int[] currentOrder = order;
+        final long[] nanos = new long[currentOrder.length];
+        final boolean[] applies = new boolean[currentOrder.length];
+        int evaluated = 0;
+        boolean result = conjunction;
+        while (evaluated < currentOrder.length && result == conjunction) {
+            final long start = System.nanoTime();
+            applies[evaluated] = clauses.get(currentOrder[evaluated]).apply(input);
+            nanos[evaluated] = System.nanoTime() - start;
+            if (applies[evaluated] != conjunction) {
+                result = !conjunction;
+            }
+            evaluated++;
+        }
+
+        // the clause samples are counted before their passes, so readers never see more passes than samples
+        for (int i = 0; i < evaluated; i++) {
+            sampleCounts.incrementAndGet(currentOrder[i]);
+        }
+        for (int i = 0; i < evaluated; i++) {
+            totalNanos.addAndGet(currentOrder[i], nanos[i]);
+            if (applies[i]) {
+                passCounts.incrementAndGet(currentOrder[i]);
+            }
+        }
+
+        if (sampleCount.incrementAndGet() % SAMPLES_PER_REORDER == 0) {
+            reorder();
+        }
+        return result;
+    }
+
+    private synchronized void reorder() {
+
+        final double[] ranks = new double[clauses.size()];
+        for (int clause = 0; clause < ranks.length; clause++) {
+            // passes are read before samples, as they are counted after them
+            final long passes = passCounts.get(clause);
+            final long samples = sampleCounts.get(clause);
+            if (samples == 0) {
+                ranks[clause] = 0;
+                continue;
+            }
+            final double stopRate = (double) (conjunction ? samples - passes : passes) / samples;
+            final double cost = (double) totalNanos.get(clause) / samples;
+            ranks[clause] = stopRate == 0 ? Double.POSITIVE_INFINITY : cost / stopRate;
+        }
+
+        // insertion sort of the current order, stable and fast for the few clauses of a predicate
+        final int[] newOrder = order.clone();
+        for (int i = 1; i < newOrder.length; i++) {
+            final int clause = newOrder[i];
+            int j = i - 1;
+            while (j >= 0 && ranks[newOrder[j]] > ranks[clause]) {
+                newOrder[j + 1] = newOrder[j];
+                j--;
+            }
+            newOrder[j + 1] = clause;
+        }
+
+        final ImmutableList.Builder<Predicate<? super E>> builder = ImmutableList.builder();
+        for (final int clause : newOrder) {
+            builder.add(clauses.get(clause));
+        }
+        order = newOrder;
+        orderedClauses = builder.build();
+    }
+
+    /**
+     * @return the statistics of all clauses in their current evaluation order
+     */
+    public ImmutableList<ClauseStatistics> statistics() {
+
+        final ImmutableList.Builder<ClauseStatistics> builder = ImmutableList.builder();
+        for (final int clause : order) {
+            final long passes = passCounts.get(clause);
+            builder.add(new ClauseStatistics(clauses.get(clause), sampleCounts.get(clause), passes, totalNanos.get(clause)));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        return (conjunction ? "AdaptivePredicate.and(" : "AdaptivePredicate.or(") + orderedClauses + ")";
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
+import java.lang.reflect.Field;
+import java.util.List;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Factory for {@link com.codereligion.cherry.collect.AdaptivePredicate AdaptivePredicates}, which can be used instead of
+ * {@link com.google.common.base.Predicates#and(Iterable)} and {@link com.google.common.base.Predicates#or(Iterable)} in all filtering factory methods.
+ * Clauses, which are themselves built by {@link com.google.common.base.Predicates#and(Iterable)} for a conjunction or by
+ * {@link com.google.common.base.Predicates#or(Iterable)} for a disjunction, are unwrapped, so that their components are reordered individually.
+ *
+ * @since 19.10.2026
+ */
+public final class AdaptivePredicates {
+
+    private static final Class<?> AND_PREDICATE = Predicates.<Object>and(Predicates.alwaysTrue(), Predicates.alwaysTrue()).getClass();
+    private static final Class<?> OR_PREDICATE = Predicates.<Object>or(Predicates.alwaysTrue(), Predicates.alwaysTrue()).getClass();
+    private static final Field AND_COMPONENTS = componentsOf(AND_PREDICATE);
+    private static final Field OR_COMPONENTS = componentsOf(OR_PREDICATE);
+
+    private AdaptivePredicates() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Creates a predicate which applies if both given clauses apply, evaluating the cheaper and more selective clause first.
+     *
+     * @param first  the first clause
+     * @param second the second clause
+     * @param <E>    the type of the tested elements
+     * @return an {@link com.codereligion.cherry.collect.AdaptivePredicate}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <E> AdaptivePredicate<E> and(final Predicate<? super E> first, final Predicate<? super E> second) {
+
+        checkArgument(first != null, "first must not be null.");
+        checkArgument(second != null, "second must not be null.");
+
+        return new AdaptivePredicate<E>(flatten(ImmutableList.<Predicate<? super E>>of(first, second), true), true);
+    }
+
+    /**
+     * Creates a predicate which applies if all given clauses apply, evaluating the cheaper and more selective clauses first.
+     *
+     * @param clauses the clauses, initially evaluated in iteration order
+     * @param <E>     the type of the tested elements
+     * @return an {@link com.codereligion.cherry.collect.AdaptivePredicate}
+     * @throws IllegalArgumentException when the given {@code clauses} are {@code null}, empty or contain {@code null}
+     */
+    public static <E> AdaptivePredicate<E> and(final Iterable<? extends Predicate<? super E>> clauses) {
+        return new AdaptivePredicate<E>(flatten(copyOf(clauses), true), true);
+    }
+
+    /**
+     * Creates a predicate which applies if any of the given clauses applies, evaluating the cheaper and more often applying clause first.
+     *
+     * @param first  the first clause
+     * @param second the second clause
+     * @param <E>    the type of the tested elements
+     * @return an {@link com.codereligion.cherry.collect.AdaptivePredicate}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <E> AdaptivePredicate<E> or(final Predicate<? super E> first, final Predicate<? super E> second) {
+
+        checkArgument(first != null, "first must not be null.");
+        checkArgument(second != null, "second must not be null.");
+
+        return new AdaptivePredicate<E>(flatten(ImmutableList.<Predicate<? super E>>of(first, second), false), false);
+    }
+
+    /**
+     * Creates a predicate which applies if any of the given clauses applies, evaluating the cheaper and more often applying clauses first.
+     *
+     * @param clauses the clauses, initially evaluated in iteration order
+     * @param <E>     the type of the tested elements
+     * @return an {@link com.codereligion.cherry.collect.AdaptivePredicate}
+     * @throws IllegalArgumentException when the given {@code clauses} are {@code null}, empty or contain {@code null}
+     */
+    public static <E> AdaptivePredicate<E> or(final Iterable<? extends Predicate<? super E>> clauses) {
+        return new AdaptivePredicate<E>(flatten(copyOf(clauses), false), false);
+    }
+
+    /**
+     * Turns a predicate built by {@link com.google.common.base.Predicates#and(Iterable)} or {@link com.google.common.base.Predicates#or(Iterable)} into an
+     * {@link com.codereligion.cherry.collect.AdaptivePredicate} of its unwrapped components. Any other predicate is returned as is.
+     *
+     * @param predicate the predicate to adapt
+     * @param <E>       the type of the tested elements
+     * @return an {@link com.codereligion.cherry.collect.AdaptivePredicate} or the given {@code predicate}
+     * @throws IllegalArgumentException when the given {@code predicate} is {@code null}
+     */
+    public static <E> Predicate<E> adapt(final Predicate<E> predicate) {
+
+        checkArgument(predicate != null, "predicate must not be null.");
+
+        if (predicate.getClass() != AND_PREDICATE && predicate.getClass() != OR_PREDICATE) {
+            return predicate;
+        }
+        final boolean conjunction = predicate.getClass() == AND_PREDICATE;
+        final ImmutableList<Predicate<? super E>> clauses = flatten(ImmutableList.<Predicate<? super E>>of(predicate), conjunction);
+        return clauses.size() == 1 ? predicate : new AdaptivePredicate<E>(clauses, conjunction);
+    }
+
+    private static <E> ImmutableList<Predicate<? super E>> flatten(final ImmutableList<Predicate<? super E>> clauses, final boolean conjunction) {
+
+        final ImmutableList.Builder<Predicate<? super E>> builder = ImmutableList.builder();
+        for (final Predicate<? super E> clause : clauses) {
+            final List<? extends Predicate<? super E>> components = componentsOf(clause, conjunction);
+            if (components == null) {
+                builder.add(clause);
+            } else {
+                builder.addAll(flatten(ImmutableList.<Predicate<? super E>>copyOf(components), conjunction));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the components of a predicate built by {@link com.google.common.base.Predicates} of the given kind, or {@code null} if it is no such predicate
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> List<? extends Predicate<? super E>> componentsOf(final Predicate<? super E> predicate, final boolean conjunction) {
+
+        final Field components = conjunction ? AND_COMPONENTS : OR_COMPONENTS;
+        if (components == null || predicate.getClass() != (conjunction ? AND_PREDICATE : OR_PREDICATE)) {
+            return null;
+        }
+        try {
+            return (List<? extends Predicate<? super E>>) components.get(predicate);
+        } catch (final IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the accessible field holding the components of the given Guava predicate class, or {@code null} if it is not accessible
+     */
+    private static Field componentsOf(final Class<?> type) {
+        try {
+            final Field components = type.getDeclaredField("components");
+            components.setAccessible(true);
+            return List.class.isAssignableFrom(components.getType()) ? components : null;
+        } catch (final NoSuchFieldException e) {
+            return null;
+        } catch (final SecurityException e) {
+            return null;
+        }
+    }
+
+    private static <E> ImmutableList<Predicate<? super E>> copyOf(final Iterable<? extends Predicate<? super E>> clauses) {
+
+        checkArgument(clauses != null, "clauses must not be null.");
+
+        final ImmutableList.Builder<Predicate<? super E>> builder = ImmutableList.builder();
+        for (final Predicate<? super E> clause : clauses) {
+            checkArgument(clause != null, "clauses must not contain null.");
+            builder.add(clause);
+        }
+        final ImmutableList<Predicate<? super E>> copy = builder.build();
+        checkArgument(!copy.isEmpty(), "clauses must not be empty.");
+        return copy;
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+/**
+ * Read-only list view of a range of an array, which is iterated by index by {@link com.codereligion.cherry.collect.OptimizedIterations}.
+ *
+ * @param <E> the type of the elements
+ * @since 19.10.2026
+ */
+class ArrayView<E> extends AbstractList<E> implements RandomAccess {
+
+    private final E[] array;
+    private final int offset;
+    private final int size;
+
+    ArrayView(final E[] array, final int offset, final int size) {
+        this.array = array;
+        this.offset = offset;
+        this.size = size;
+    }
+
+    @Override
+    public E get(final int index) {
+        checkElementIndex(index, size);
+        return array[offset + index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import java.util.List;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Factory for list views of arrays and ranges of arrays. The factories of this package iterate the views by index, like they iterate
+ * {@link java.util.ArrayList ArrayLists}, so arrays can be filtered and transformed without copying them into a collection first, for example:
+ * <pre>
+ * final ArrayList&lt;String&gt; names = ArrayLists.createFrom(ArrayViews.of(rows, 0, rowCount), ROW_NAME);
+ * </pre>
+ * Lists created by {@link java.util.Arrays#asList(Object[])}, {@link com.google.common.primitives.Ints#asList(int...)},
+ * {@link com.google.common.primitives.Longs#asList(long...)} and {@link com.google.common.primitives.Doubles#asList(double...)} are iterated by index as
+ * well. The views are backed by the given arrays, so changes to the arrays are visible through the views. Views of object arrays are read-only.
+ *
+ * @since 19.10.2026
+ */
+public final class ArrayViews {
+
+    private ArrayViews() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Creates a view of the given {@code array}.
+     *
+     * @param array the array to view
+     * @param <E>   the type of the elements of the array
+     * @return a read-only {@link java.util.List}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <E> List<E> of(final E[] array) {
+
+        checkArgument(array != null, "array must not be null.");
+
+        return new ArrayView<E>(array, 0, array.length);
+    }
+
+    /**
+     * Creates a view of the {@code length} elements of the given {@code array} starting at the given {@code offset}.
+     *
+     * @param array  the array to view
+     * @param offset the index of the first element of the view
+     * @param length the number of elements of the view
+     * @param <E>    the type of the elements of the array
+     * @return a read-only {@link java.util.List}, might be empty
+     * @throws IllegalArgumentException when the given {@code array} is {@code null} or the given range is not within the array
+     */
+    public static <E> List<E> of(final E[] array, final int offset, final int length) {
+
+        checkArgument(array != null, "array must not be null.");
+        checkRange(array.length, offset, length);
+
+        return new ArrayView<E>(array, offset, length);
+    }
+
+    /**
+     * Creates a view of the given {@code array}.
+     *
+     * @param array the array to view
+     * @return a {@link java.util.List}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static List<Integer> of(final int[] array) {
+
+        checkArgument(array != null, "array must not be null.");
+
+        return Ints.asList(array);
+    }
+
+    /**
+     * Creates a view of the {@code length} elements of the given {@code array} starting at the given {@code offset}.
+     *
+     * @param array  the array to view
+     * @param offset the index of the first element of the view
+     * @param length the number of elements of the view
+     * @return a {@link java.util.List}, might be empty
+     * @throws IllegalArgumentException when the given {@code array} is {@code null} or the given range is not within the array
+     */
+    public static List<Integer> of(final int[] array, final int offset, final int length) {
+
+        checkArgument(array != null, "array must not be null.");
+        checkRange(array.length, offset, length);
+
+        return Ints.asList(array).subList(offset, offset + length);
+    }
+
+    /**
+     * Creates a view of the given {@code array}.
+     *
+     * @param array the array to view
+     * @return a {@link java.util.List}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static List<Long> of(final long[] array) {
+
+        checkArgument(array != null, "array must not be null.");
+
+        return Longs.asList(array);
+    }
+
+    /**
+     * Creates a view of the {@code length} elements of the given {@code array} starting at the given {@code offset}.
+     *
+     * @param array  the array to view
+     * @param offset the index of the first element of the view
+     * @param length the number of elements of the view
+     * @return a {@link java.util.List}, might be empty
+     * @throws IllegalArgumentException when the given {@code array} is {@code null} or the given range is not within the array
+     */
+    public static List<Long> of(final long[] array, final int offset, final int length) {
+
+        checkArgument(array != null, "array must not be null.");
+        checkRange(array.length, offset, length);
+
+        return Longs.asList(array).subList(offset, offset + length);
+    }
+
+    /**
+     * Creates a view of the given {@code array}.
+     *
+     * @param array the array to view
+     * @return a {@link java.util.List}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static List<Double> of(final double[] array) {
+
+        checkArgument(array != null, "array must not be null.");
+
+        return Doubles.asList(array);
+    }
+
+    /**
+     * Creates a view of the {@code length} elements of the given {@code array} starting at the given {@code offset}.
+     *
+     * @param array  the array to view
+     * @param offset the index of the first element of the view
+     * @param length the number of elements of the view
+     * @return a {@link java.util.List}, might be empty
+     * @throws IllegalArgumentException when the given {@code array} is {@code null} or the given range is not within the array
+     */
+    public static List<Double> of(final double[] array, final int offset, final int length) {
+
+        checkArgument(array != null, "array must not be null.");
+        checkRange(array.length, offset, length);
+
+        return Doubles.asList(array).subList(offset, offset + length);
+    }
+
+    private static void checkRange(final int arrayLength, final int offset, final int length) {
+        checkArgument(offset >= 0, "offset must not be negative.");
+        checkArgument(length >= 0, "length must not be negative.");
+        checkArgument(length <= arrayLength - offset, "offset + length must not exceed the length of the array.");
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Asynchronous factory for {@link java.util.ArrayList ArrayLists}, meant for functions which block, e.g. on remote calls. The function is applied on the
+ * given executor with at most {@code maxConcurrency} concurrent calls, the resulting list keeps the order of the input. The first failing call fails the
+ * returned future and interrupts all outstanding calls, which also happens when the returned future is cancelled.
+ *
+ * @since 19.10.2026
+ */
+public final class AsyncArrayLists {
+
+    private AsyncArrayLists() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} asynchronously by converting each entry with the given {@code function}.
+     *
+     * @param iterable       the entries to be transformed, must not be modified during the build
+     * @param function       the function to transform the entries with, must be thread-safe
+     * @param executor       the executor to run the function on
+     * @param maxConcurrency the maximum number of concurrent calls of the {@code function}
+     * @param <F>            the type of the entries of the given {@code iterable}
+     * @param <T>            the type of the resulting entries
+     * @return a future of an {@link java.util.ArrayList}, which might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code maxConcurrency} is not positive
+     */
+    public static <F, T> ListenableFuture<ArrayList<T>> createFrom(final Iterable<F> iterable,
+                                                                   final Function<? super F, T> function,
+                                                                   final Executor executor,
+                                                                   final int maxConcurrency) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(function != null, "function must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+        checkArgument(maxConcurrency > 0, "maxConcurrency must be positive.");
+
+        return AsyncTransforms.transform(iterable, function, executor, maxConcurrency, new AsyncTransforms.Completion<T, ArrayList<T>>() {
+            @Override
+            public ArrayList<T> complete(final List<T> results) {
+                return new ArrayList<T>(results);
+            }
+        });
+    }
+}
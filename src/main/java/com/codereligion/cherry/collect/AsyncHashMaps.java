@@ -0,0 +1,78 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Executor;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Asynchronous factory for {@link java.util.HashMap HashMaps}, meant for value functions which block, e.g. on remote enrichment calls. The value function is
+ * applied on the given executor with at most {@code maxConcurrency} concurrent calls. The keys are retrieved once all values are available, in input
+ * order, so later entries replace earlier entries with the same key like they do in {@link com.codereligion.cherry.collect.HashMaps}. The first failing
+ * call fails the returned future and interrupts all outstanding calls, which also happens when the returned future is cancelled.
+ *
+ * @since 19.10.2026
+ */
+public final class AsyncHashMaps {
+
+    private AsyncHashMaps() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} asynchronously. Each iterable entry is mapped from its {@code keyFunction} result to its
+     * {@code valueFunction} result.
+     *
+     * @param iterable       the entries to be mapped, must not be modified during the build
+     * @param keyFunction    the function to retrieve the map key from an entry
+     * @param valueFunction  the function to retrieve the map value from an entry, must be thread-safe
+     * @param executor       the executor to run the value function on
+     * @param maxConcurrency the maximum number of concurrent calls of the {@code valueFunction}
+     * @param <E>            the type of the entries of the given {@code iterable}
+     * @param <K>            the type of the keys of the resulting map
+     * @param <V>            the type of the values of the resulting map
+     * @return a future of a {@link java.util.HashMap}, which might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code maxConcurrency} is not positive
+     */
+    public static <E, K, V> ListenableFuture<HashMap<K, V>> createFrom(final Iterable<E> iterable,
+                                                                       final Function<? super E, K> keyFunction,
+                                                                       final Function<? super E, V> valueFunction,
+                                                                       final Executor executor,
+                                                                       final int maxConcurrency) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+        checkArgument(maxConcurrency > 0, "maxConcurrency must be positive.");
+
+        final List<E> list = ConcurrentIterations.asRandomAccessList(iterable);
+        return AsyncTransforms.transform(list, valueFunction, executor, maxConcurrency, new AsyncTransforms.Completion<V, HashMap<K, V>>() {
+            @Override
+            public HashMap<K, V> complete(final List<V> values) {
+                final HashMap<K, V> map = new HashMap<K, V>();
+                for (int i = 0; i < values.size(); i++) {
+                    map.put(keyFunction.apply(list.get(i)), values.get(i));
+                }
+                return map;
+            }
+        });
+    }
+}
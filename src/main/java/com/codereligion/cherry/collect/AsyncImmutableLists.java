@@ -0,0 +1,115 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Asynchronous factory for {@link com.google.common.collect.ImmutableList ImmutableLists}, meant for large lists which should not block the calling thread
+ * while they are built. The returned {@link com.codereligion.cherry.collect.BackgroundBuild} reports the progress of the build and can be cancelled.
+ *
+ * @since 19.10.2026
+ */
+public final class AsyncImmutableLists {
+
+    private AsyncImmutableLists() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} on the given {@code executor} by converting each entry with the given {@code function}.
+     *
+     * @param iterable the entries to be transformed, must not be modified during the build
+     * @param function the function to transform the entries with
+     * @param executor the executor to run the build on
+     * @param <F>      the type of the entries of the given {@code iterable}
+     * @param <T>      the type of the resulting entries
+     * @return a {@link com.codereligion.cherry.collect.BackgroundBuild} of an {@link com.google.common.collect.ImmutableList}, which might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <F, T> BackgroundBuild<ImmutableList<T>> createFrom(final Iterable<F> iterable,
+                                                                      final Function<? super F, T> function,
+                                                                      final Executor executor) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(function != null, "function must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+
+        return BackgroundBuild.start(iterable, new ListOutput<F, T>(function), executor);
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} on the given {@code executor} by converting each entry with the given {@code function}. The build
+     * fails with a {@link java.util.concurrent.TimeoutException} if it does not complete within the given {@code timeout}, which includes the time the build
+     * waits for the {@code executor}. The failure is triggered by the {@code scheduler}, so it also happens while the build is still queued.
+     *
+     * @param iterable  the entries to be transformed, must not be modified during the build
+     * @param function  the function to transform the entries with
+     * @param executor  the executor to run the build on
+     * @param timeout   the maximum duration of the build
+     * @param unit      the unit of the {@code timeout}
+     * @param scheduler the executor to schedule the timeout on
+     * @param <F>       the type of the entries of the given {@code iterable}
+     * @param <T>       the type of the resulting entries
+     * @return a {@link com.codereligion.cherry.collect.BackgroundBuild} of an {@link com.google.common.collect.ImmutableList}, which might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code timeout} is not positive
+     */
+    public static <F, T> BackgroundBuild<ImmutableList<T>> createFrom(final Iterable<F> iterable,
+                                                                      final Function<? super F, T> function,
+                                                                      final Executor executor,
+                                                                      final long timeout,
+                                                                      final TimeUnit unit,
+                                                                      final ScheduledExecutorService scheduler) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(function != null, "function must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+        checkArgument(timeout > 0, "timeout must be positive.");
+        checkArgument(unit != null, "unit must not be null.");
+        checkArgument(scheduler != null, "scheduler must not be null.");
+
+        return BackgroundBuild.start(iterable, new ListOutput<F, T>(function), executor, unit.toNanos(timeout), scheduler);
+    }
+
+    private static final class ListOutput<F, T> extends BackgroundBuild.Output<F, ImmutableList.Builder<T>, ImmutableList<T>> {
+
+        private final Function<? super F, T> function;
+
+        ListOutput(final Function<? super F, T> function) {
+            this.function = function;
+        }
+
+        @Override
+        ImmutableList.Builder<T> newBuilder() {
+            return ImmutableList.builder();
+        }
+
+        @Override
+        void add(final ImmutableList.Builder<T> builder, final F entry) {
+            builder.add(function.apply(entry));
+        }
+
+        @Override
+        ImmutableList<T> build(final ImmutableList.Builder<T> builder) {
+            return builder.build();
+        }
+    }
+}
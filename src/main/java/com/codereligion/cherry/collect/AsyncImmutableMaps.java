@@ -0,0 +1,150 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.ImmutableMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Asynchronous factory for {@link com.google.common.collect.ImmutableMap ImmutableMaps}, meant for large maps which should not block the calling thread
+ * while they are built. The returned {@link com.codereligion.cherry.collect.BackgroundBuild} reports the progress of the build and can be cancelled.
+ *
+ * @since 19.10.2026
+ */
+public final class AsyncImmutableMaps {
+
+    private AsyncImmutableMaps() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} on the given {@code executor}. Each iterable entry is mapped by its {@code keyFunction} result.
+     *
+     * @param iterable    the entries to be mapped, must not be modified during the build
+     * @param keyFunction the function to retrieve the map key from an entry
+     * @param executor    the executor to run the build on
+     * @param <K>         the type of the keys of the resulting map
+     * @param <V>         the type of the values of the resulting map
+     * @return a {@link com.codereligion.cherry.collect.BackgroundBuild} of an {@link com.google.common.collect.ImmutableMap}, which might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <K, V> BackgroundBuild<ImmutableMap<K, V>> createFrom(final Iterable<V> iterable,
+                                                                        final Function<? super V, K> keyFunction,
+                                                                        final Executor executor) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+
+        return BackgroundBuild.start(iterable, new MapOutput<V, K, V>(keyFunction, Functions.<V>identity()), executor);
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} on the given {@code executor}. Each iterable entry is mapped from its {@code keyFunction} result
+     * to its {@code valueFunction} result.
+     *
+     * @param iterable      the entries to be mapped, must not be modified during the build
+     * @param keyFunction   the function to retrieve the map key from an entry
+     * @param valueFunction the function to retrieve the map value from an entry
+     * @param executor      the executor to run the build on
+     * @param <E>           the type of the entries of the given {@code iterable}
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return a {@link com.codereligion.cherry.collect.BackgroundBuild} of an {@link com.google.common.collect.ImmutableMap}, which might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <E, K, V> BackgroundBuild<ImmutableMap<K, V>> createFrom(final Iterable<E> iterable,
+                                                                           final Function<? super E, K> keyFunction,
+                                                                           final Function<? super E, V> valueFunction,
+                                                                           final Executor executor) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+
+        return BackgroundBuild.start(iterable, new MapOutput<E, K, V>(keyFunction, valueFunction), executor);
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} on the given {@code executor}. Each iterable entry is mapped from its {@code keyFunction} result
+     * to its {@code valueFunction} result. The build fails with a {@link java.util.concurrent.TimeoutException} if it does not complete within the given
+     * {@code timeout}, which includes the time the build waits for the {@code executor}. The failure is triggered by the {@code scheduler}, so it also
+     * happens while the build is still queued.
+     *
+     * @param iterable      the entries to be mapped, must not be modified during the build
+     * @param keyFunction   the function to retrieve the map key from an entry
+     * @param valueFunction the function to retrieve the map value from an entry
+     * @param executor      the executor to run the build on
+     * @param timeout       the maximum duration of the build
+     * @param unit          the unit of the {@code timeout}
+     * @param scheduler     the executor to schedule the timeout on
+     * @param <E>           the type of the entries of the given {@code iterable}
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return a {@link com.codereligion.cherry.collect.BackgroundBuild} of an {@link com.google.common.collect.ImmutableMap}, which might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code timeout} is not positive
+     */
+    public static <E, K, V> BackgroundBuild<ImmutableMap<K, V>> createFrom(final Iterable<E> iterable,
+                                                                           final Function<? super E, K> keyFunction,
+                                                                           final Function<? super E, V> valueFunction,
+                                                                           final Executor executor,
+                                                                           final long timeout,
+                                                                           final TimeUnit unit,
+                                                                           final ScheduledExecutorService scheduler) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+        checkArgument(timeout > 0, "timeout must be positive.");
+        checkArgument(unit != null, "unit must not be null.");
+        checkArgument(scheduler != null, "scheduler must not be null.");
+
+        return BackgroundBuild.start(iterable, new MapOutput<E, K, V>(keyFunction, valueFunction), executor, unit.toNanos(timeout), scheduler);
+    }
+
+    private static final class MapOutput<E, K, V> extends BackgroundBuild.Output<E, ImmutableMap.Builder<K, V>, ImmutableMap<K, V>> {
+
+        private final Function<? super E, K> keyFunction;
+        private final Function<? super E, V> valueFunction;
+
+        MapOutput(final Function<? super E, K> keyFunction, final Function<? super E, V> valueFunction) {
+            this.keyFunction = keyFunction;
+            this.valueFunction = valueFunction;
+        }
+
+        @Override
+        ImmutableMap.Builder<K, V> newBuilder() {
+            return ImmutableMap.builder();
+        }
+
+        @Override
+        void add(final ImmutableMap.Builder<K, V> builder, final E entry) {
+            builder.put(keyFunction.apply(entry), valueFunction.apply(entry));
+        }
+
+        @Override
+        ImmutableMap<K, V> build(final ImmutableMap.Builder<K, V> builder) {
+            return builder.build();
+        }
+    }
+}
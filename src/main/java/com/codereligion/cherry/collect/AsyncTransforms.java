@@ -0,0 +1,142 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies a function to all elements of a list on an {@link java.util.concurrent.Executor}, with at most a given number of concurrent calls. Each of the
+ * workers repeatedly takes the next unprocessed element, so slow calls do not hold back the elements behind them, and stores the result at the index of
+ * the element, which keeps the input order. The first failure completes the result, stops the workers from taking further elements and interrupts the
+ * running calls, the same happens when the result is cancelled.
+ *
+ * @since 19.10.2026
+ */
+final class AsyncTransforms {
+
+    private AsyncTransforms() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Converts the results of all elements, in input order, into the final value of the future. Runs on the thread of the worker which finishes last.
+     *
+     * @param <T> the type of the results
+     * @param <R> the type of the final value
+     */
+    interface Completion<T, R> {
+        R complete(List<T> results);
+    }
+
+    static <F, T, R> ListenableFuture<R> transform(final Iterable<F> iterable,
+                                                   final Function<? super F, T> function,
+                                                   final Executor executor,
+                                                   final int maxConcurrency,
+                                                   final Completion<T, R> completion) {
+
+        final List<F> list = ConcurrentIterations.asRandomAccessList(iterable);
+        final SettableFuture<R> result = SettableFuture.create();
+        if (list.isEmpty()) {
+            complete(result, completion, new ArrayList<T>());
+            return result;
+        }
+
+        final Object[] results = new Object[list.size()];
+        final AtomicInteger nextIndex = new AtomicInteger();
+        final int workerCount = Math.min(maxConcurrency, list.size());
+        final AtomicInteger runningWorkers = new AtomicInteger(workerCount);
+        final List<FutureTask<Void>> workers = new ArrayList<FutureTask<Void>>(workerCount);
+
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(new FutureTask<Void>(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        int index;
+                        while (!result.isDone() && (index = nextIndex.getAndIncrement()) < results.length) {
+                            results[index] = function.apply(list.get(index));
+                        }
+                    } catch (final Throwable t) {
+                        // cancelling all workers also interrupts this one, which must not leak into the thread of the executor
+                        final boolean interrupted = Thread.currentThread().isInterrupted();
+                        fail(result, t, workers);
+                        if (!interrupted) {
+                            Thread.interrupted();
+                        }
+                        return;
+                    }
+                    // the last worker sees the results of all others, because each worker decrements the counter after storing its results
+                    if (runningWorkers.decrementAndGet() == 0 && !result.isDone()) {
+                        complete(result, completion, AsyncTransforms.<T>asList(results));
+                    }
+                }
+            }, null));
+        }
+
+        result.addListener(new Runnable() {
+            @Override
+            public void run() {
+                if (result.isCancelled()) {
+                    cancelAll(workers);
+                }
+            }
+        }, MoreExecutors.directExecutor());
+
+        for (final FutureTask<Void> worker : workers) {
+            try {
+                executor.execute(worker);
+            } catch (final RuntimeException e) {
+                fail(result, e, workers);
+                break;
+            }
+        }
+        return result;
+    }
+
+    private static <T, R> void complete(final SettableFuture<R> result, final Completion<T, R> completion, final List<T> results) {
+        try {
+            result.set(completion.complete(results));
+        } catch (final Throwable t) {
+            result.setException(t);
+        }
+    }
+
+    private static void fail(final SettableFuture<?> result, final Throwable failure, final List<FutureTask<Void>> workers) {
+        if (result.setException(failure)) {
+            cancelAll(workers);
+        }
+    }
+
+    private static void cancelAll(final List<FutureTask<Void>> workers) {
+        for (final FutureTask<Void> worker : workers) {
+            worker.cancel(true);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> asList(final Object[] array) {
+        return (List<T>) Arrays.asList(array);
+    }
+}
@@ -0,0 +1,214 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.util.concurrent.AbstractFuture;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The future of an output, which is built on a background thread. The input is processed in chunks of {@link #CHUNK_SIZE} entries; between chunks the
+ * build publishes its progress, see {@link #getProcessedCount()}, and stops when it has been cancelled or has timed out. A build with a timeout fails with
+ * a {@link java.util.concurrent.TimeoutException} as soon as the timeout elapses, by a task on a scheduled executor. This also applies while the build
+ * still waits for its executor or completes its output. Once the build stops, it drops all references to its input and partial output, so a cancelled or
+ * timed out build releases its memory at the latest after the current chunk, or immediately if it has not started yet.
+ *
+ * @param <R> the type of the output
+ * @since 19.10.2026
+ */
+public final class BackgroundBuild<R> extends AbstractFuture<R> {
+
+    /**
+     * The number of entries processed between two checks for cancellation and the timeout.
+     */
+    public static final int CHUNK_SIZE = 4096;
+
+    /**
+     * The value of {@link #getEstimatedTotal()} if the size of the input is unknown.
+     */
+    public static final long UNKNOWN_TOTAL = -1;
+
+    private final long estimatedTotal;
+    private volatile long processedCount;
+    private volatile Iterable<?> input;
+    private volatile Output<Object, Object, R> output;
+    private volatile Future<?> timeout;
+
+    @SuppressWarnings("unchecked")
+    private BackgroundBuild(final Iterable<?> input, final Output<?, ?, R> output) {
+        this.input = input;
+        this.output = (Output<Object, Object, R>) output;
+        this.estimatedTotal = input instanceof Collection ? ((Collection<?>) input).size() : UNKNOWN_TOTAL;
+    }
+
+    /**
+     * Starts a build of the given {@code output} from the given {@code input} on the given {@code executor}.
+     */
+    static <E, R> BackgroundBuild<R> start(final Iterable<E> input, final Output<E, ?, R> output, final Executor executor) {
+        return execute(new BackgroundBuild<R>(input, output), executor);
+    }
+
+    /**
+     * Starts a build of the given {@code output} from the given {@code input} on the given {@code executor}, which the given {@code scheduler} fails once
+     * the timeout, which includes the time the build waits for the executor, has elapsed.
+     */
+    static <E, R> BackgroundBuild<R> start(final Iterable<E> input,
+                                           final Output<E, ?, R> output,
+                                           final Executor executor,
+                                           final long timeoutNanos,
+                                           final ScheduledExecutorService scheduler) {
+
+        final BackgroundBuild<R> build = new BackgroundBuild<R>(input, output);
+        try {
+            build.timeout = scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    build.fail(new TimeoutException("build did not complete within " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms."));
+                }
+            }, timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (final RuntimeException e) {
+            build.fail(e);
+            return build;
+        }
+        return execute(build, executor);
+    }
+
+    private static <R> BackgroundBuild<R> execute(final BackgroundBuild<R> build, final Executor executor) {
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    build.run();
+                }
+            });
+        } catch (final RuntimeException e) {
+            build.fail(e);
+        }
+        return build;
+    }
+
+    /**
+     * Returns the number of entries which have been processed so far. The count is updated after each chunk and when the build completes.
+     *
+     * @return the number of processed entries
+     */
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    /**
+     * Returns the number of entries of the input, if the input is a {@link java.util.Collection}, or {@link #UNKNOWN_TOTAL} otherwise.
+     *
+     * @return the estimated number of entries to process
+     */
+    public long getEstimatedTotal() {
+        return estimatedTotal;
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+
+        final boolean cancelled = super.cancel(mayInterruptIfRunning);
+        if (cancelled) {
+            release();
+        }
+        return cancelled;
+    }
+
+    private void run() {
+
+        final Iterable<?> currentInput = input;
+        final Output<Object, Object, R> currentOutput = output;
+        if (currentInput == null || currentOutput == null || isDone()) {
+            release();
+            return;
+        }
+
+        try {
+            final Object builder = currentOutput.newBuilder();
+            long processed = 0;
+            if (OptimizedIterations.isIndexed(currentInput)) {
+                final List<?> list = (List<?>) currentInput;
+                for (int i = 0; i < list.size(); i++) {
+                    currentOutput.add(builder, list.get(i));
+                    if (++processed % CHUNK_SIZE == 0 && checkpoint(processed)) {
+                        return;
+                    }
+                }
+            } else {
+                for (final Object entry : currentInput) {
+                    currentOutput.add(builder, entry);
+                    if (++processed % CHUNK_SIZE == 0 && checkpoint(processed)) {
+                        return;
+                    }
+                }
+            }
+            processedCount = processed;
+            set(currentOutput.build(builder));
+        } catch (final Throwable t) {
+            setException(t);
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Publishes the progress and checks whether the build should stop, because it has been cancelled or has timed out.
+     *
+     * @return whether the build should stop
+     */
+    private boolean checkpoint(final long processed) {
+        processedCount = processed;
+        return isDone();
+    }
+
+    private void fail(final Throwable failure) {
+        setException(failure);
+        release();
+    }
+
+    private void release() {
+
+        input = null;
+        output = null;
+
+        final Future<?> currentTimeout = timeout;
+        if (currentTimeout != null) {
+            currentTimeout.cancel(false);
+        }
+    }
+
+    /**
+     * Creates, fills and completes the output of a build.
+     *
+     * @param <E> the type of the entries of the input
+     * @param <B> the type of the output while it is built
+     * @param <R> the type of the completed output
+     */
+    abstract static class Output<E, B, R> {
+
+        abstract B newBuilder();
+
+        abstract void add(B builder, E entry);
+
+        abstract R build(B builder);
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import java.util.List;
+
+/**
+ * A function which converts many inputs at once, for transformations which are considerably cheaper in bulk, e.g. a multi-get against a cache or a
+ * decoder working on arrays. The factories of this package feed the entries of an iterable to the function in chunks of a configurable size, in iteration
+ * order.
+ *
+ * @param <F> the type of the inputs of the function
+ * @param <T> the type of the results of the function
+ * @since 19.10.2026
+ */
+public interface BatchFunction<F, T> {
+
+    /**
+     * Returns the results of applying this function to the given {@code inputs}. The given list is only valid during this call, it must neither be modified
+     * nor kept after this method returns.
+     *
+     * @param inputs the inputs to apply this function to, never empty
+     * @return the results, in the same order and of the same size as the given {@code inputs}, e.g. {@link java.util.Arrays#asList(Object[])} of an array
+     */
+    List<T> apply(List<? extends F> inputs);
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Iterations which apply a {@link com.codereligion.cherry.collect.BatchFunction} to chunks of the input. Lists which are iterated by index are passed to the
+ * function as sub list views, all other iterables are copied chunk by chunk into one reused buffer.
+ *
+ * @since 19.10.2026
+ */
+final class BatchIterations {
+
+    private BatchIterations() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Receives the consecutive chunks of an iterable.
+     */
+    private interface BatchConsumer<E> {
+        void accept(List<E> batch);
+    }
+
+    static <F, T, C extends Collection<T>> C createFrom(final Iterable<F> inputIterable,
+                                                        final BatchFunction<? super F, T> function,
+                                                        final int batchSize,
+                                                        final C outputCollection) {
+
+        forEachBatch(inputIterable, batchSize, new BatchConsumer<F>() {
+            @Override
+            public void accept(final List<F> batch) {
+                final List<T> results = apply(function, batch);
+                for (int i = 0; i < results.size(); i++) {
+                    outputCollection.add(results.get(i));
+                }
+            }
+        });
+        return outputCollection;
+    }
+
+    static <F, T, B extends ImmutableCollection.Builder<T>> B createFrom(final Iterable<F> inputIterable,
+                                                                         final BatchFunction<? super F, T> function,
+                                                                         final int batchSize,
+                                                                         final B builder) {
+
+        forEachBatch(inputIterable, batchSize, new BatchConsumer<F>() {
+            @Override
+            public void accept(final List<F> batch) {
+                builder.addAll(apply(function, batch));
+            }
+        });
+        return builder;
+    }
+
+    static <E, K, V, M extends Map<K, V>> M createFrom(final Iterable<E> inputIterable,
+                                                       final Function<? super E, K> keyFunction,
+                                                       final BatchFunction<? super E, V> valueFunction,
+                                                       final int batchSize,
+                                                       final M map) {
+
+        forEachBatch(inputIterable, batchSize, new BatchConsumer<E>() {
+            @Override
+            public void accept(final List<E> batch) {
+                final List<V> values = apply(valueFunction, batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    map.put(keyFunction.apply(batch.get(i)), values.get(i));
+                }
+            }
+        });
+        return map;
+    }
+
+    static <E, K, V, B extends ImmutableMap.Builder<K, V>> B createFrom(final Iterable<E> inputIterable,
+                                                                        final Function<? super E, K> keyFunction,
+                                                                        final BatchFunction<? super E, V> valueFunction,
+                                                                        final int batchSize,
+                                                                        final B builder) {
+
+        forEachBatch(inputIterable, batchSize, new BatchConsumer<E>() {
+            @Override
+            public void accept(final List<E> batch) {
+                final List<V> values = apply(valueFunction, batch);
+                for (int i = 0; i < batch.size(); i++) {
+                    builder.put(keyFunction.apply(batch.get(i)), values.get(i));
+                }
+            }
+        });
+        return builder;
+    }
+
+    private static <E> void forEachBatch(final Iterable<E> iterable, final int batchSize, final BatchConsumer<E> consumer) {
+
+        if (OptimizedIterations.isIndexed(iterable)) {
+            final List<E> list = (List<E>) iterable;
+            for (int from = 0; from < list.size(); from += batchSize) {
+                consumer.accept(list.subList(from, (int) Math.min(list.size(), (long) from + batchSize)));
+                if (list.size() - from <= batchSize) {
+                    break;
+                }
+            }
+        } else {
+            final List<E> batch = new ArrayList<E>(Math.min(batchSize, OptimizedIterations.initialArrayCapacityOf(iterable)));
+            for (final E e : iterable) {
+                batch.add(e);
+                if (batch.size() == batchSize) {
+                    consumer.accept(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+            }
+        }
+    }
+
+    private static <F, T> List<T> apply(final BatchFunction<? super F, T> function, final List<F> batch) {
+
+        final List<T> results = function.apply(batch);
+        checkState(results != null, "batch function must not return null.");
+        checkState(results.size() == batch.size(), "batch function returned %s results for %s inputs.", results.size(), batch.size());
+        return results;
+    }
+}
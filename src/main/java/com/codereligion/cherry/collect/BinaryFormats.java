@@ -0,0 +1,183 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.collect.Multimap;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Encodes lists, maps and multimaps into a compact binary format and reads them back as flyweight views. A view decodes only the elements which are
+ * accessed, directly from the given {@link java.nio.ByteBuffer}, so reading a received or mapped buffer costs nothing up front. Lists support random access,
+ * maps and multimaps support hash based lookups. Views are read-only and can be shared between threads, as long as the content of the underlying buffer
+ * does not change.
+ * <p/>
+ * The format is the same which is used by {@link com.codereligion.cherry.collect.MappedSnapshots}, so encoded maps and multimaps can also be written to disk
+ * and mapped.
+ *
+ * @since 19.10.2026
+ */
+public final class BinaryFormats {
+
+    private static final int LIST_MAGIC = 0x43434C50;
+    private static final int LIST_VERSION = 1;
+    private static final int INT_BYTES = 4;
+    static final int LIST_HEADER_BYTES = 2 * INT_BYTES;
+
+    private BinaryFormats() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Encodes the given {@code collection} as a list in its iteration order.
+     *
+     * @param collection the elements to encode, must not contain {@code null}
+     * @param codec      the codec to encode the elements with
+     * @param <E>        the type of the elements
+     * @return a new heap buffer positioned at the start of the encoded list
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or the collection contains {@code null}
+     */
+    public static <E> ByteBuffer encode(final Collection<? extends E> collection, final ElementCodec<E> codec) {
+
+        checkArgument(collection != null, "collection must not be null.");
+        checkArgument(codec != null, "codec must not be null.");
+
+        final byte[] list = BinaryListFormat.encode(collection, codec);
+        final ByteBuffer buffer = ByteBuffer.allocate(LIST_HEADER_BYTES + list.length);
+        buffer.putInt(LIST_MAGIC);
+        buffer.putInt(LIST_VERSION);
+        buffer.put(list);
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Encodes the given {@code map} in its iteration order.
+     *
+     * @param map        the map to encode, must not contain {@code null} keys or values
+     * @param keyCodec   the codec to encode the keys with
+     * @param valueCodec the codec to encode the values with
+     * @param <K>        the type of the keys
+     * @param <V>        the type of the values
+     * @return a new heap buffer positioned at the start of the encoded map
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or the map contains {@code null} keys or values
+     */
+    public static <K, V> ByteBuffer encode(final Map<? extends K, ? extends V> map, final ElementCodec<K> keyCodec, final ElementCodec<V> valueCodec) {
+
+        checkArgument(map != null, "map must not be null.");
+        checkArgument(keyCodec != null, "keyCodec must not be null.");
+        checkArgument(valueCodec != null, "valueCodec must not be null.");
+
+        return ByteBuffer.wrap(BinaryMapFormat.encode(map, keyCodec, valueCodec).toByteArray());
+    }
+
+    /**
+     * Encodes the given {@code multimap} in its iteration order.
+     *
+     * @param multimap   the multimap to encode, must not contain {@code null} keys or values
+     * @param keyCodec   the codec to encode the keys with
+     * @param valueCodec the codec to encode the values with
+     * @param <K>        the type of the keys
+     * @param <V>        the type of the values
+     * @return a new heap buffer positioned at the start of the encoded multimap
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or the multimap contains {@code null} keys or values
+     */
+    public static <K, V> ByteBuffer encode(final Multimap<K, V> multimap, final ElementCodec<K> keyCodec, final ElementCodec<V> valueCodec) {
+
+        checkArgument(multimap != null, "multimap must not be null.");
+        checkArgument(keyCodec != null, "keyCodec must not be null.");
+        checkArgument(valueCodec != null, "valueCodec must not be null.");
+
+        final Map<K, List<V>> listMap = BinaryMapFormat.asListMap(multimap);
+        return ByteBuffer.wrap(BinaryMapFormat.encode(listMap, keyCodec, ElementCodecs.listCodec(valueCodec)).toByteArray());
+    }
+
+    /**
+     * Writes the header, which has to precede a list layout of {@link com.codereligion.cherry.collect.BinaryListFormat} written to the given
+     * {@code output}, so that it can be read by {@link #listView(java.nio.ByteBuffer, ElementCodec)}.
+     */
+    static void writeListHeader(final DataOutput output) throws IOException {
+        output.writeInt(LIST_MAGIC);
+        output.writeInt(LIST_VERSION);
+    }
+
+    /**
+     * Creates a read-only list view of the list encoded at the current position of the given {@code buffer}.
+     *
+     * @param buffer the buffer to read from, its position is not changed
+     * @param codec  the codec to decode the elements with
+     * @param <E>    the type of the elements
+     * @return a read-only, random access {@link java.util.List}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or the buffer does not contain an encoded list
+     */
+    public static <E> List<E> listView(final ByteBuffer buffer, final ElementCodec<E> codec) {
+
+        checkArgument(buffer != null, "buffer must not be null.");
+        checkArgument(codec != null, "codec must not be null.");
+
+        final ByteBuffer slice = buffer.slice();
+        checkArgument(slice.capacity() >= LIST_HEADER_BYTES + INT_BYTES && slice.getInt(0) == LIST_MAGIC, "buffer does not contain an encoded list.");
+        checkArgument(slice.getInt(INT_BYTES) == LIST_VERSION, "unsupported format version %s.", slice.getInt(INT_BYTES));
+
+        return BinaryListFormat.view(slice, LIST_HEADER_BYTES, codec);
+    }
+
+    /**
+     * Creates a read-only map view of the map encoded at the current position of the given {@code buffer}.
+     *
+     * @param buffer     the buffer to read from, its position is not changed
+     * @param keyCodec   the codec to decode the keys with
+     * @param valueCodec the codec to decode the values with
+     * @param <K>        the type of the keys
+     * @param <V>        the type of the values
+     * @return a read-only {@link java.util.Map}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or the buffer does not contain an encoded map
+     */
+    public static <K, V> Map<K, V> mapView(final ByteBuffer buffer, final ElementCodec<K> keyCodec, final ElementCodec<V> valueCodec) {
+
+        checkArgument(buffer != null, "buffer must not be null.");
+        checkArgument(keyCodec != null, "keyCodec must not be null.");
+        checkArgument(valueCodec != null, "valueCodec must not be null.");
+
+        return BinaryMapFormat.view(buffer, keyCodec, valueCodec);
+    }
+
+    /**
+     * Creates a read-only view of the multimap encoded at the current position of the given {@code buffer}. The view corresponds to
+     * {@link com.google.common.collect.ListMultimap#asMap()}, the value lists are flyweight views as well.
+     *
+     * @param buffer     the buffer to read from, its position is not changed
+     * @param keyCodec   the codec to decode the keys with
+     * @param valueCodec the codec to decode the values with
+     * @param <K>        the type of the keys
+     * @param <V>        the type of the values
+     * @return a read-only {@link java.util.Map} from each key to all its values
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or the buffer does not contain an encoded multimap
+     */
+    public static <K, V> Map<K, List<V>> multimapView(final ByteBuffer buffer, final ElementCodec<K> keyCodec, final ElementCodec<V> valueCodec) {
+
+        checkArgument(buffer != null, "buffer must not be null.");
+        checkArgument(keyCodec != null, "keyCodec must not be null.");
+        checkArgument(valueCodec != null, "valueCodec must not be null.");
+
+        return BinaryMapFormat.view(buffer, keyCodec, ElementCodecs.listCodec(valueCodec));
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+
+/**
+ * Random access binary layout of a list, which can be read directly from a {@link java.nio.ByteBuffer} without decoding it up front.
+ * <p/>
+ * The layout consists of the element count, followed by {@code count + 1} offsets relative to the start of the layout, where element {@code i} spans the
+ * bytes from offset {@code i} to offset {@code i + 1}, followed by the element bytes. All numbers are stored big endian.
+ */
+final class BinaryListFormat {
+
+    private static final int INT_BYTES = 4;
+
+    private BinaryListFormat() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    static <E> byte[] encode(final Collection<? extends E> elements, final ElementCodec<E> codec) {
+
+        final byte[][] encodedElements = new byte[elements.size()][];
+        long size = INT_BYTES * (encodedElements.length + 2L);
+        int index = 0;
+        for (final E element : elements) {
+            checkArgument(element != null, "elements must not contain null.");
+            encodedElements[index] = codec.encode(element);
+            size += encodedElements[index].length;
+            index++;
+        }
+        checkArgument(size <= Integer.MAX_VALUE, "list is too large to be encoded, it requires %s bytes.", size);
+
+        final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(encodedElements.length);
+        int offset = INT_BYTES * (encodedElements.length + 2);
+        for (final byte[] encodedElement : encodedElements) {
+            buffer.putInt(offset);
+            offset += encodedElement.length;
+        }
+        buffer.putInt(offset);
+        for (final byte[] encodedElement : encodedElements) {
+            buffer.put(encodedElement);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Creates a read-only list which decodes its elements on access from the layout starting at the given absolute {@code offset} of the given
+     * {@code buffer}. The buffer's content must not change afterwards.
+     */
+    static <E> List<E> view(final ByteBuffer buffer, final int offset, final ElementCodec<E> codec) {
+        return new View<E>(buffer, offset, codec);
+    }
+
+    private static final class View<E> extends AbstractList<E> implements RandomAccess {
+
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final ElementCodec<E> codec;
+        private final int size;
+
+        private View(final ByteBuffer buffer, final int offset, final ElementCodec<E> codec) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.codec = codec;
+            this.size = buffer.getInt(offset);
+        }
+
+        @Override
+        public E get(final int index) {
+
+            checkElementIndex(index, size);
+
+            final int offsetPosition = offset + INT_BYTES * (index + 1);
+            final int start = buffer.getInt(offsetPosition);
+            final int end = buffer.getInt(offsetPosition + INT_BYTES);
+            return codec.decode(buffer, offset + start, end - start);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,340 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.UnmodifiableIterator;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Read optimized binary layout of a map, which can be queried directly from a {@link java.nio.ByteBuffer} without decoding it up front.
+ * <p/>
+ * The layout consists of a header ({@code magic, version, entry count, slot count}), an open addressing hash table of {@code slot count} entry offsets, where
+ * {@code 0} marks an empty slot, followed by the entries ({@code key hash, key length, value length, key bytes, value bytes}) in the iteration order of the
+ * encoded map. Keys are hashed over their encoded bytes, so the layout is independent of {@link Object#hashCode()} and can be shared between processes. All
+ * numbers are stored big endian.
+ */
+final class BinaryMapFormat {
+
+    private static final int MAGIC = 0x43434D50;
+    private static final int VERSION = 1;
+    private static final int INT_BYTES = 4;
+    private static final int HEADER_BYTES = 4 * INT_BYTES;
+    private static final int ENTRY_HEADER_BYTES = 3 * INT_BYTES;
+    private static final int EMPTY_SLOT = 0;
+    private static final int MAX_ENTRIES = 1 << 28;
+
+    private BinaryMapFormat() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Encodes the given {@code map}. The result can be written multiple times and knows its exact size in advance.
+     */
+    static <K, V> Encoded encode(final Map<? extends K, ? extends V> map, final ElementCodec<K> keyCodec, final ElementCodec<V> valueCodec) {
+
+        final int entryCount = map.size();
+        final byte[][] keys = new byte[entryCount][];
+        final byte[][] values = new byte[entryCount][];
+        final int[] hashes = new int[entryCount];
+        final int slotCount = slotCountFor(entryCount);
+
+        long size = HEADER_BYTES + (long) slotCount * INT_BYTES;
+        int index = 0;
+        for (final Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            checkArgument(entry.getKey() != null && entry.getValue() != null, "map must not contain null keys or values.");
+            keys[index] = keyCodec.encode(entry.getKey());
+            values[index] = valueCodec.encode(entry.getValue());
+            hashes[index] = hash(keys[index]);
+            size += ENTRY_HEADER_BYTES + keys[index].length + values[index].length;
+            index++;
+        }
+        checkArgument(size <= Integer.MAX_VALUE, "map is too large to be encoded, it requires %s bytes.", size);
+
+        final int[] slots = new int[slotCount];
+        int offset = HEADER_BYTES + slotCount * INT_BYTES;
+        for (int i = 0; i < entryCount; i++) {
+            int slot = hashes[i] & (slotCount - 1);
+            while (slots[slot] != EMPTY_SLOT) {
+                slot = (slot + 1) & (slotCount - 1);
+            }
+            slots[slot] = offset;
+            offset += ENTRY_HEADER_BYTES + keys[i].length + values[i].length;
+        }
+
+        return new Encoded(keys, values, hashes, slots, (int) size);
+    }
+
+    /**
+     * Creates a read-only map which decodes keys and values on access from the given {@code buffer}, starting at its current position. The buffer's content
+     * must not change afterwards.
+     *
+     * @throws IllegalArgumentException when the buffer does not contain an encoded map at its current position
+     */
+    static <K, V> Map<K, V> view(final ByteBuffer buffer, final ElementCodec<K> keyCodec, final ElementCodec<V> valueCodec) {
+
+        // slices always use big endian byte order, regardless of the given buffer
+        final ByteBuffer slice = buffer.slice();
+        checkArgument(slice.capacity() >= HEADER_BYTES && slice.getInt(0) == MAGIC, "buffer does not contain an encoded map.");
+        checkArgument(slice.getInt(INT_BYTES) == VERSION, "unsupported format version %s.", slice.getInt(INT_BYTES));
+
+        return new View<K, V>(slice, keyCodec, valueCodec);
+    }
+
+    /**
+     * Returns the {@link com.google.common.collect.Multimap#asMap()} view of the given {@code multimap} with list typed values, copying it if needed.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> Map<K, List<V>> asListMap(final Multimap<K, V> multimap) {
+
+        if (multimap instanceof ListMultimap) {
+            // the value collections of list multimaps are always lists
+            return (Map<K, List<V>>) (Map<K, ?>) multimap.asMap();
+        }
+
+        final Map<K, List<V>> result = new LinkedHashMap<K, List<V>>();
+        for (final Map.Entry<K, Collection<V>> entry : multimap.asMap().entrySet()) {
+            result.put(entry.getKey(), new ArrayList<V>(entry.getValue()));
+        }
+        return result;
+    }
+
+    private static int slotCountFor(final int entryCount) {
+
+        checkArgument(entryCount <= MAX_ENTRIES, "map is too large to be encoded, it has %s entries.", entryCount);
+
+        // load factor of at most 0.5 keeps linear probe sequences short
+        int slotCount = 2;
+        while (slotCount < entryCount * 2L) {
+            slotCount <<= 1;
+        }
+        return slotCount;
+    }
+
+    private static int hash(final byte[] bytes) {
+
+        // FNV-1a followed by a final avalanche, stable across JVMs and processes
+        int hash = 0x811C9DC5;
+        for (final byte b : bytes) {
+            hash ^= b & 0xFF;
+            hash *= 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+
+    /**
+     * An encoded map which is ready to be written.
+     */
+    static final class Encoded {
+
+        private final byte[][] keys;
+        private final byte[][] values;
+        private final int[] hashes;
+        private final int[] slots;
+        private final int size;
+
+        private Encoded(final byte[][] keys, final byte[][] values, final int[] hashes, final int[] slots, final int size) {
+            this.keys = keys;
+            this.values = values;
+            this.hashes = hashes;
+            this.slots = slots;
+            this.size = size;
+        }
+
+        /**
+         * @return the number of bytes {@link #writeTo(java.io.DataOutput)} will write
+         */
+        int size() {
+            return size;
+        }
+
+        byte[] toByteArray() {
+
+            final ByteArrayDataOutput output = ByteStreams.newDataOutput(size);
+            try {
+                writeTo(output);
+            } catch (final IOException e) {
+                throw new AssertionError(e);
+            }
+            return output.toByteArray();
+        }
+
+        void writeTo(final DataOutput output) throws IOException {
+
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(keys.length);
+            output.writeInt(slots.length);
+            for (final int slot : slots) {
+                output.writeInt(slot);
+            }
+            for (int i = 0; i < keys.length; i++) {
+                output.writeInt(hashes[i]);
+                output.writeInt(keys[i].length);
+                output.writeInt(values[i].length);
+                output.write(keys[i]);
+                output.write(values[i]);
+            }
+        }
+    }
+
+    private static final class View<K, V> extends AbstractMap<K, V> {
+
+        private final ByteBuffer buffer;
+        private final ElementCodec<K> keyCodec;
+        private final ElementCodec<V> valueCodec;
+        private final int entryCount;
+        private final int slotCount;
+        private final int firstEntryOffset;
+
+        private View(final ByteBuffer buffer, final ElementCodec<K> keyCodec, final ElementCodec<V> valueCodec) {
+            this.buffer = buffer;
+            this.keyCodec = keyCodec;
+            this.valueCodec = valueCodec;
+            this.entryCount = buffer.getInt(2 * INT_BYTES);
+            this.slotCount = buffer.getInt(3 * INT_BYTES);
+            this.firstEntryOffset = HEADER_BYTES + slotCount * INT_BYTES;
+        }
+
+        @Override
+        public int size() {
+            return entryCount;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return find(key) != EMPTY_SLOT;
+        }
+
+        @Override
+        public V get(final Object key) {
+            final int offset = find(key);
+            return offset == EMPTY_SLOT ? null : decodeValue(offset);
+        }
+
+        @SuppressWarnings("unchecked")
+        private int find(final Object key) {
+
+            if (key == null) {
+                return EMPTY_SLOT;
+            }
+
+            final byte[] encodedKey;
+            try {
+                encodedKey = keyCodec.encode((K) key);
+            } catch (final ClassCastException e) {
+                return EMPTY_SLOT;
+            }
+
+            final int hash = hash(encodedKey);
+            int slot = hash & (slotCount - 1);
+            int offset = buffer.getInt(HEADER_BYTES + slot * INT_BYTES);
+            while (offset != EMPTY_SLOT) {
+                if (buffer.getInt(offset) == hash && keyEquals(offset, encodedKey)) {
+                    return offset;
+                }
+                slot = (slot + 1) & (slotCount - 1);
+                offset = buffer.getInt(HEADER_BYTES + slot * INT_BYTES);
+            }
+            return EMPTY_SLOT;
+        }
+
+        private boolean keyEquals(final int offset, final byte[] encodedKey) {
+
+            if (buffer.getInt(offset + INT_BYTES) != encodedKey.length) {
+                return false;
+            }
+
+            final int keyOffset = offset + ENTRY_HEADER_BYTES;
+            for (int i = 0; i < encodedKey.length; i++) {
+                if (buffer.get(keyOffset + i) != encodedKey[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private K decodeKey(final int offset) {
+            return keyCodec.decode(buffer, offset + ENTRY_HEADER_BYTES, buffer.getInt(offset + INT_BYTES));
+        }
+
+        private V decodeValue(final int offset) {
+            final int keyLength = buffer.getInt(offset + INT_BYTES);
+            return valueCodec.decode(buffer, offset + ENTRY_HEADER_BYTES + keyLength, buffer.getInt(offset + 2 * INT_BYTES));
+        }
+
+        private int nextEntryOffset(final int offset) {
+            return offset + ENTRY_HEADER_BYTES + buffer.getInt(offset + INT_BYTES) + buffer.getInt(offset + 2 * INT_BYTES);
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new UnmodifiableIterator<Entry<K, V>>() {
+
+                        private int remaining = entryCount;
+                        private int offset = firstEntryOffset;
+
+                        @Override
+                        public boolean hasNext() {
+                            return remaining > 0;
+                        }
+
+                        @Override
+                        public Entry<K, V> next() {
+
+                            if (remaining == 0) {
+                                throw new NoSuchElementException();
+                            }
+
+                            final Entry<K, V> entry = Maps.immutableEntry(decodeKey(offset), decodeValue(offset));
+                            offset = nextEntryOffset(offset);
+                            remaining--;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return entryCount;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The loops of {@link com.codereligion.cherry.collect.CallSiteLoops}. Each instance of {@link com.codereligion.cherry.collect.CallSiteLoops} loads its own
+ * copy of this class, so the JIT profiles the {@code apply} calls of every copy separately. Copies are defined in a class loader of their own, which puts
+ * them into a runtime package of their own. This class must therefore only reference public types and must not contain nested classes. Whether the input
+ * can be iterated by index is decided by {@link com.codereligion.cherry.collect.OptimizedIterations#isIndexed(Iterable)} on the caller's side.
+ *
+ * @since 19.10.2026
+ */
+final class CallSiteLoopBodies {
+
+    private CallSiteLoopBodies() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    static <E, C extends Collection<E>> C filter(final Iterable<E> inputIterable,
+                                                 final boolean indexed,
+                                                 final Predicate<? super E> predicate,
+                                                 final C outputCollection) {
+
+        if (indexed) {
+            final List<E> list = (List<E>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final E e = list.get(i);
+                if (predicate.apply(e)) {
+                    outputCollection.add(e);
+                }
+            }
+        } else {
+            for (final E e : inputIterable) {
+                if (predicate.apply(e)) {
+                    outputCollection.add(e);
+                }
+            }
+        }
+        return outputCollection;
+    }
+
+    static <F, T, C extends Collection<T>> C transform(final Iterable<F> inputIterable,
+                                                       final boolean indexed,
+                                                       final Function<? super F, T> function,
+                                                       final C outputCollection) {
+
+        if (indexed) {
+            final List<F> list = (List<F>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                outputCollection.add(function.apply(list.get(i)));
+            }
+        } else {
+            for (final F f : inputIterable) {
+                outputCollection.add(function.apply(f));
+            }
+        }
+        return outputCollection;
+    }
+
+    static <F, T, C extends Collection<T>> C filterAndTransform(final Iterable<F> inputIterable,
+                                                                final boolean indexed,
+                                                                final Predicate<? super F> predicate,
+                                                                final Function<? super F, T> function,
+                                                                final C outputCollection) {
+
+        if (indexed) {
+            final List<F> list = (List<F>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final F f = list.get(i);
+                if (predicate.apply(f)) {
+                    outputCollection.add(function.apply(f));
+                }
+            }
+        } else {
+            for (final F f : inputIterable) {
+                if (predicate.apply(f)) {
+                    outputCollection.add(function.apply(f));
+                }
+            }
+        }
+        return outputCollection;
+    }
+}
@@ -0,0 +1,228 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.base.Throwables;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Filter and transformation loops, which are private to a single call site. All factories of this package share the same loops, so in an application
+ * which passes many different predicates and functions, the {@code apply} calls of those loops become megamorphic and are not inlined any more. Each
+ * instance of this class loads its own copy of the loops, which is only profiled with the predicates and functions passed to that instance. Instances are
+ * meant to be created once per hot call site and kept in a constant, for example:
+ * <pre>
+ * private static final CallSiteLoops ACTIVE_USERS_LOOPS = CallSiteLoops.create();
+ * ...
+ * final ArrayList&lt;User&gt; activeUsers = ACTIVE_USERS_LOOPS.createFrom(users, IS_ACTIVE, new ArrayList&lt;User&gt;(users.size()));
+ * </pre>
+ * Every instance defines a class, so instances must not be created per call. On platforms which cannot define classes at runtime, e.g. Android, all
+ * instances share one copy of the loops and behave like the factories of this package. Instances are thread safe.
+ *
+ * @since 19.10.2026
+ */
+public final class CallSiteLoops {
+
+    private static final String BODIES_RESOURCE = CallSiteLoopBodies.class.getSimpleName() + ".class";
+
+    private final Class<?> loopClass;
+    private final Method filter;
+    private final Method transform;
+    private final Method filterAndTransform;
+
+    private CallSiteLoops(final Class<?> loopClass) {
+        this.loopClass = loopClass;
+        this.filter = accessibleMethod(loopClass, "filter", Iterable.class, boolean.class, Predicate.class, Collection.class);
+        this.transform = accessibleMethod(loopClass, "transform", Iterable.class, boolean.class, Function.class, Collection.class);
+        this.filterAndTransform = accessibleMethod(loopClass,
+                                                   "filterAndTransform",
+                                                   Iterable.class,
+                                                   boolean.class,
+                                                   Predicate.class,
+                                                   Function.class,
+                                                   Collection.class);
+    }
+
+    /**
+     * Creates a new instance with its own copy of the loops.
+     *
+     * @return a new instance
+     */
+    public static CallSiteLoops create() {
+        return new CallSiteLoops(copyLoopClass());
+    }
+
+    /**
+     * Adds each entry of the given {@code iterable}, for which the given {@code predicate} applies, to the given {@code collection}.
+     *
+     * @param iterable   the entries to be filtered
+     * @param predicate  the predicate to filter the entries with
+     * @param collection the collection to add the entries to
+     * @param <E>        the type of the entries
+     * @param <C>        the type of the collection
+     * @return the given {@code collection}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <E, C extends Collection<E>> C createFrom(final Iterable<E> iterable, final Predicate<? super E> predicate, final C collection) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(collection != null, "collection must not be null.");
+
+        return invoke(filter, iterable, OptimizedIterations.isIndexed(iterable), predicate, collection);
+    }
+
+    /**
+     * Adds the {@code function} result of each entry of the given {@code iterable} to the given {@code collection}.
+     *
+     * @param iterable   the entries to be transformed
+     * @param function   the function to transform the entries with
+     * @param collection the collection to add the transformed entries to
+     * @param <F>        the type of the entries
+     * @param <T>        the type of the transformed entries
+     * @param <C>        the type of the collection
+     * @return the given {@code collection}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <F, T, C extends Collection<T>> C createFrom(final Iterable<F> iterable, final Function<? super F, T> function, final C collection) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(function != null, "function must not be null.");
+        checkArgument(collection != null, "collection must not be null.");
+
+        return invoke(transform, iterable, OptimizedIterations.isIndexed(iterable), function, collection);
+    }
+
+    /**
+     * Adds the {@code function} result of each entry of the given {@code iterable}, for which the given {@code predicate} applies, to the given
+     * {@code collection}.
+     *
+     * @param iterable   the entries to be filtered and transformed
+     * @param predicate  the predicate to filter the entries with
+     * @param function   the function to transform the entries with
+     * @param collection the collection to add the transformed entries to
+     * @param <F>        the type of the entries
+     * @param <T>        the type of the transformed entries
+     * @param <C>        the type of the collection
+     * @return the given {@code collection}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <F, T, C extends Collection<T>> C createFrom(final Iterable<F> iterable,
+                                                       final Predicate<? super F> predicate,
+                                                       final Function<? super F, T> function,
+                                                       final C collection) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(function != null, "function must not be null.");
+        checkArgument(collection != null, "collection must not be null.");
+
+        return invoke(filterAndTransform, iterable, OptimizedIterations.isIndexed(iterable), predicate, function, collection);
+    }
+
+    /**
+     * @return the class containing the loops of this instance
+     */
+    Class<?> getLoopClass() {
+        return loopClass;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C> C invoke(final Method method, final Object... arguments) {
+        try {
+            return (C) method.invoke(null, arguments);
+        } catch (final IllegalAccessException e) {
+            throw Throwables.propagate(e);
+        } catch (final InvocationTargetException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    /**
+     * Defines a new copy of {@link com.codereligion.cherry.collect.CallSiteLoopBodies} or returns the shared class, if classes can not be defined.
+     */
+    private static Class<?> copyLoopClass() {
+
+        final InputStream input = CallSiteLoopBodies.class.getResourceAsStream(BODIES_RESOURCE);
+        if (input == null) {
+            return CallSiteLoopBodies.class;
+        }
+
+        try {
+            final byte[] bytes = ByteStreams.toByteArray(input);
+            return new CopyingClassLoader(CallSiteLoops.class.getClassLoader(), CallSiteLoopBodies.class.getName(), bytes).copy;
+        } catch (final IOException e) {
+            return CallSiteLoopBodies.class;
+        } catch (final LinkageError e) {
+            return CallSiteLoopBodies.class;
+        } catch (final RuntimeException e) {
+            // e.g. security managers or platforms without runtime class definition
+            return CallSiteLoopBodies.class;
+        } finally {
+            closeQuietly(input);
+        }
+    }
+
+    private static void closeQuietly(final InputStream input) {
+        try {
+            input.close();
+        } catch (final IOException e) {
+            // ignored, closing a class path resource does not affect the loaded class
+        }
+    }
+
+    private static Method accessibleMethod(final Class<?> type, final String name, final Class<?>... parameterTypes) {
+        try {
+            final Method method = type.getDeclaredMethod(name, parameterTypes);
+            method.setAccessible(true);
+            return method;
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Defines a copy of a class from its byte code and resolves all references to that class name to the copy.
+     */
+    private static final class CopyingClassLoader extends ClassLoader {
+
+        private final String name;
+        private final Class<?> copy;
+
+        private CopyingClassLoader(final ClassLoader parent, final String name, final byte[] bytes) {
+            super(parent);
+            // the name must be known before the copy is defined, as defining it already loads the classes it refers to
+            this.name = name;
+            this.copy = defineClass(name, bytes, 0, bytes.length);
+        }
+
+        @Override
+        protected Class<?> loadClass(final String className, final boolean resolve) throws ClassNotFoundException {
+
+            if (className.equals(name)) {
+                return findLoadedClass(className);
+            }
+            return super.loadClass(className, resolve);
+        }
+    }
+}
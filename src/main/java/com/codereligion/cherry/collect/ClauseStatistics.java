@@ -0,0 +1,77 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Predicate;
+
+/**
+ * Snapshot of the sampled cost and selectivity of one clause of an {@link com.codereligion.cherry.collect.AdaptivePredicate}.
+ *
+ * @since 19.10.2026
+ */
+public final class ClauseStatistics {
+
+    private final Predicate<?> predicate;
+    private final long sampleCount;
+    private final long passCount;
+    private final long totalNanos;
+
+    ClauseStatistics(final Predicate<?> predicate, final long sampleCount, final long passCount, final long totalNanos) {
+        this.predicate = predicate;
+        this.sampleCount = sampleCount;
+        this.passCount = passCount;
+        this.totalNanos = totalNanos;
+    }
+
+    /**
+     * @return the clause these statistics belong to
+     */
+    public Predicate<?> getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * @return the number of sampled elements the clause was evaluated for
+     */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * @return the fraction of sampled elements the clause applied to, or {@code Double.NaN} if there were no samples yet
+     */
+    public double getPassRate() {
+        return sampleCount == 0 ? Double.NaN : (double) passCount / sampleCount;
+    }
+
+    /**
+     * @return the average time in nanoseconds a sampled evaluation of the clause took, or {@code Double.NaN} if there were no samples yet
+     */
+    public double getAverageNanos() {
+        return sampleCount == 0 ? Double.NaN : (double) totalNanos / sampleCount;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                          .add("predicate", predicate)
+                          .add("sampleCount", sampleCount)
+                          .add("passRate", getPassRate())
+                          .add("averageNanos", getAverageNanos())
+                          .toString();
+    }
+}
@@ -0,0 +1,231 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Objects;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Maps;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Read-only hash map, which stores its keys and values in two open addressing tables with linear probing instead of one node per entry. It needs about a
+ * third of the heap of a {@link java.util.HashMap} for its structure. Like a {@link java.util.HashMap}, it allows {@code null} keys and values and
+ * iterates in no particular order.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 19.10.2026
+ */
+final class CompactHashMap<K, V> extends AbstractMap<K, V> {
+
+    private static final Object NULL_KEY = new Object();
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private Object[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private transient Set<Map.Entry<K, V>> entrySet;
+
+    private CompactHashMap(final int expectedSize) {
+        checkArgument(expectedSize <= MAXIMUM_CAPACITY / 4 * 3, "expectedSize is too large for a compact hash map: %s.", expectedSize);
+        final int capacity = (int) capacityFor(expectedSize);
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Maps the given {@code entries} from their {@code keyFunction} to their {@code valueFunction} results, later entries replace the values of earlier
+     * entries with equal keys.
+     */
+    static <E, K, V> CompactHashMap<K, V> create(final Iterable<E> entries,
+                                                 final int expectedSize,
+                                                 final Function<? super E, K> keyFunction,
+                                                 final Function<? super E, V> valueFunction) {
+
+        final CompactHashMap<K, V> map = new CompactHashMap<K, V>(expectedSize);
+        for (final E entry : entries) {
+            map.insert(keyFunction.apply(entry), valueFunction.apply(entry));
+        }
+        return map;
+    }
+
+    /**
+     * Copies the given {@code map} and maps the {@code remaining} entries into the copy, which grows as needed. Later entries replace the values of earlier
+     * entries with equal keys. The given {@code map} is cleared once it is copied, so that its entries can be collected while the remaining entries are read.
+     */
+    static <E, K, V> CompactHashMap<K, V> create(final Map<K, V> map,
+                                                 final Iterator<E> remaining,
+                                                 final Function<? super E, K> keyFunction,
+                                                 final Function<? super E, V> valueFunction) {
+
+        final CompactHashMap<K, V> compactMap = new CompactHashMap<K, V>(map.size());
+        for (final Map.Entry<K, V> entry : map.entrySet()) {
+            compactMap.insert(entry.getKey(), entry.getValue());
+        }
+        map.clear();
+        while (remaining.hasNext()) {
+            final E entry = remaining.next();
+            compactMap.insert(keyFunction.apply(entry), valueFunction.apply(entry));
+        }
+        return compactMap;
+    }
+
+    /**
+     * @return the length of the tables for the given number of keys, which keeps the load factor below three quarters
+     */
+    static long capacityFor(final long keys) {
+        final long minimumCapacity = keys + keys / 3 + 1;
+        return Math.max(2, Long.highestOneBit(minimumCapacity - 1) << 1);
+    }
+
+    private void insert(final K key, final V value) {
+
+        final Object maskedKey = key == null ? NULL_KEY : key;
+        int index = indexFor(maskedKey);
+        while (keys[index] != null) {
+            if (keys[index].equals(maskedKey)) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+        if (capacityFor(size + 1) > keys.length) {
+            grow();
+            index = indexFor(maskedKey);
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+        }
+        keys[index] = maskedKey;
+        values[index] = value;
+        size++;
+    }
+
+    private void grow() {
+
+        checkArgument(keys.length < MAXIMUM_CAPACITY, "too many keys for a compact hash map.");
+        final Object[] oldKeys = keys;
+        final Object[] oldValues = values;
+        keys = new Object[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int index = indexFor(oldKeys[i]);
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private int find(final Object key) {
+
+        final Object maskedKey = key == null ? NULL_KEY : key;
+        int index = indexFor(maskedKey);
+        while (keys[index] != null) {
+            if (keys[index].equals(maskedKey)) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int indexFor(final Object key) {
+        final int hash = key.hashCode() * 0x9E3779B9;
+        return (hash ^ hash >>> 16) & mask;
+    }
+
+    @Override
+    public V get(final Object key) {
+        final int index = find(key);
+        return index < 0 ? null : valueAt(index);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return find(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<K, V>>() {
+                @Override
+                public Iterator<Map.Entry<K, V>> iterator() {
+                    return new AbstractIterator<Map.Entry<K, V>>() {
+
+                        private int index;
+
+                        @Override
+                        protected Map.Entry<K, V> computeNext() {
+                            while (index < keys.length) {
+                                final int current = index++;
+                                if (keys[current] != null) {
+                                    return Maps.immutableEntry(keyAt(current), valueAt(current));
+                                }
+                            }
+                            return endOfData();
+                        }
+                    };
+                }
+
+                @Override
+                public boolean contains(final Object object) {
+                    if (!(object instanceof Map.Entry)) {
+                        return false;
+                    }
+                    final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) object;
+                    final int index = find(entry.getKey());
+                    return index >= 0 && Objects.equal(values[index], entry.getValue());
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(final int index) {
+        return keys[index] == NULL_KEY ? null : (K) keys[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int index) {
+        return (V) values[index];
+    }
+}
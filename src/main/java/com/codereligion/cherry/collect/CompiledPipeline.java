@@ -0,0 +1,203 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A {@link com.codereligion.cherry.collect.Pipeline} compiled together with its target. Compiling fuses consecutive transformations into one function with
+ * {@link com.codereligion.cherry.collect.FusedFunctions}, so that all decisions about the shape of the pipeline are taken once instead of per execution. An
+ * execution allocates nothing but its output (and an iterator, if the input is not iterated by index): pipelines which filter before they transform and
+ * collect into a collection run the loops of the factories of this package, all others run a single loop over the compiled stages. Instances are
+ * immutable and thread safe, if the predicates and functions of the pipeline are.
+ *
+ * @param <F> the type of the entries of the input
+ * @param <R> the type of the output
+ * @since 19.10.2026
+ */
+public final class CompiledPipeline<F, R> {
+
+    private final Target<Object, Object, R> target;
+    private final Predicate<Object>[] predicates;
+    private final Function<Object, Object>[] functions;
+    private final boolean filtersFirst;
+    private final Predicate<Object> predicate;
+    private final Function<Object, Object> function;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    CompiledPipeline(final ImmutableList<Pipeline.Stage> stages, final Target<?, ?, R> target) {
+
+        this.target = (Target<Object, Object, R>) target;
+
+        final List<Pipeline.Stage> compiledStages = fuse(stages);
+        this.predicates = new Predicate[compiledStages.size()];
+        this.functions = new Function[compiledStages.size()];
+        final List<Predicate<Object>> leadingPredicates = new ArrayList<Predicate<Object>>();
+        Function<Object, Object> leadingFunction = null;
+        boolean transformed = false;
+        boolean filteredAfterTransformation = false;
+        for (int i = 0; i < compiledStages.size(); i++) {
+            final Pipeline.Stage stage = compiledStages.get(i);
+            predicates[i] = stage.predicate;
+            functions[i] = stage.function;
+            if (stage.function != null) {
+                transformed = true;
+                leadingFunction = stage.function;
+            } else if (transformed) {
+                filteredAfterTransformation = true;
+            } else {
+                leadingPredicates.add(stage.predicate);
+            }
+        }
+
+        this.filtersFirst = !filteredAfterTransformation;
+        this.predicate = leadingPredicates.isEmpty() ? null : leadingPredicates.size() == 1 ? leadingPredicates.get(0) : Predicates.and(leadingPredicates);
+        this.function = leadingFunction;
+    }
+
+    /**
+     * Executes this pipeline against the given {@code iterable}.
+     *
+     * @param iterable the entries to be filtered and transformed
+     * @return a new output, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public R execute(final Iterable<F> iterable) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+
+        final Object output = target.newOutput();
+        if (filtersFirst && target.isCollection()) {
+            fill(iterable, asCollection(output));
+        } else if (OptimizedIterations.isIndexed(iterable)) {
+            final List<F> list = (List<F>) iterable;
+            for (int i = 0; i < list.size(); i++) {
+                apply(list.get(i), output);
+            }
+        } else {
+            for (final F f : iterable) {
+                apply(f, output);
+            }
+        }
+        return target.finish(output);
+    }
+
+    /**
+     * Creates a sink, which executes this pipeline against the entries of a stream. The sink requests the entries in batches of the given size from its
+     * subscription, so at most {@code batchSize} entries are in flight at any time.
+     *
+     * @param batchSize the number of entries to request at once
+     * @return a new {@link com.codereligion.cherry.collect.StreamSink}
+     * @throws IllegalArgumentException when {@code batchSize} is not positive
+     */
+    public StreamSink<F, R> newSink(final int batchSize) {
+
+        checkArgument(batchSize > 0, "batchSize must be positive.");
+
+        return new StreamSink<F, R>(this, batchSize);
+    }
+
+    Object newOutput() {
+        return target.newOutput();
+    }
+
+    R finish(final Object output) {
+        return target.finish(output);
+    }
+
+    private void fill(final Iterable<F> iterable, final Collection<Object> collection) {
+
+        final Iterable<Object> entries = asObjects(iterable);
+        if (function == null) {
+            OptimizedIterations.createFrom(entries, predicate == null ? Predicates.alwaysTrue() : predicate, collection);
+        } else if (predicate == null) {
+            OptimizedIterations.createFrom(entries, function, collection);
+        } else {
+            OptimizedIterations.createFrom(entries, predicate, function, collection);
+        }
+    }
+
+    void apply(final Object entry, final Object output) {
+
+        Object value = entry;
+        for (int i = 0; i < functions.length; i++) {
+            final Function<Object, Object> stageFunction = functions[i];
+            if (stageFunction != null) {
+                value = stageFunction.apply(value);
+            } else if (!predicates[i].apply(value)) {
+                return;
+            }
+        }
+        target.add(output, value);
+    }
+
+    /**
+     * @return the given {@code stages} with all consecutive transformations fused into one
+     */
+    private static List<Pipeline.Stage> fuse(final List<Pipeline.Stage> stages) {
+
+        final List<Pipeline.Stage> fusedStages = new ArrayList<Pipeline.Stage>(stages.size());
+        for (final Pipeline.Stage stage : stages) {
+            final int last = fusedStages.size() - 1;
+            if (stage.function != null && last >= 0 && fusedStages.get(last).function != null) {
+                fusedStages.set(last, Pipeline.Stage.map(FusedFunctions.compose(stage.function, fusedStages.get(last).function)));
+            } else {
+                fusedStages.add(stage);
+            }
+        }
+        return fusedStages;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Iterable<Object> asObjects(final Iterable<?> iterable) {
+        return (Iterable<Object>) iterable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> asCollection(final Object output) {
+        return (Collection<Object>) output;
+    }
+
+    /**
+     * Creates, fills and completes the output of an execution. Targets are shared between all executions, so they must not hold any state per execution.
+     *
+     * @param <T> the type of the resulting entries of the pipeline
+     * @param <O> the type of the output while it is filled
+     * @param <R> the type of the completed output
+     */
+    abstract static class Target<T, O, R> {
+
+        abstract O newOutput();
+
+        abstract void add(O output, T value);
+
+        abstract R finish(O output);
+
+        /**
+         * @return whether the output is a {@link java.util.Collection}, to which the resulting entries are added as they are
+         */
+        boolean isCollection() {
+            return false;
+        }
+    }
+}
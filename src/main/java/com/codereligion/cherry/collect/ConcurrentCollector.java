@@ -0,0 +1,456 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Collects elements from many concurrent producer threads without any lock on the hot path. Each thread appends to its own presized
+ * {@link java.util.ArrayList}, which is created on its first access. {@link #build()} merges all accumulators into one list, which can be passed to any of
+ * the factories of this package. As the result is an {@link java.util.ArrayList}, the factories iterate it without creating an iterator. To avoid that
+ * second copy, the other build methods merge directly into a presized {@link java.util.HashMap}, an {@link com.google.common.collect.ArrayListMultimap},
+ * an {@link com.google.common.collect.ImmutableList}, an {@link com.google.common.collect.ImmutableMap} or any given collection. {@link #clear()} releases
+ * the accumulators of all threads.
+ * <p/>
+ * Each call which adds elements draws a sequence number per element from a shared counter once it completes, which costs a single atomic increment per
+ * call. All outputs are merged in the order of these numbers, so they contain the elements in the order in which they were added, the elements of one call
+ * staying together. Of elements with equal keys, the one added last wins in a {@link java.util.HashMap}, just like with a synchronized map which all
+ * threads put into directly. As the order of concurrent calls still depends on thread scheduling, {@link #build(java.util.Comparator)} can be used to sort
+ * the result, so that the outcome only depends on the elements.
+ * <p/>
+ * Building must not overlap with adding. The producers have to be finished and their results made visible to the building thread, e.g. by waiting for their
+ * {@link java.util.concurrent.Future Futures} or by shutting down and awaiting the termination of their executor.
+ *
+ * @param <E> the type of the collected elements
+ * @since 19.10.2026
+ */
+public final class ConcurrentCollector<E> {
+
+    private static final int DEFAULT_EXPECTED_SIZE_PER_THREAD = 16;
+
+    private final List<Accumulator<E>> accumulators = new CopyOnWriteArrayList<Accumulator<E>>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final int expectedSizePerThread;
+    private volatile ThreadLocal<Accumulator<E>> accumulator;
+
+    private ConcurrentCollector(final int expectedSizePerThread) {
+        this.expectedSizePerThread = expectedSizePerThread;
+        this.accumulator = newAccumulator();
+    }
+
+    private ThreadLocal<Accumulator<E>> newAccumulator() {
+        return new ThreadLocal<Accumulator<E>>() {
+            @Override
+            protected Accumulator<E> initialValue() {
+                final Accumulator<E> created = new Accumulator<E>(expectedSizePerThread);
+                accumulators.add(created);
+                return created;
+            }
+        };
+    }
+
+    /**
+     * Creates a new collector with a small default capacity per thread.
+     *
+     * @param <E> the type of the collected elements
+     * @return a new, empty collector
+     */
+    public static <E> ConcurrentCollector<E> create() {
+        return new ConcurrentCollector<E>(DEFAULT_EXPECTED_SIZE_PER_THREAD);
+    }
+
+    /**
+     * Creates a new collector, whose per thread accumulators are presized to hold the given number of elements.
+     *
+     * @param expectedSizePerThread the number of elements each thread is expected to add
+     * @param <E>                   the type of the collected elements
+     * @return a new, empty collector
+     * @throws IllegalArgumentException when the given {@code expectedSizePerThread} is negative
+     */
+    public static <E> ConcurrentCollector<E> create(final int expectedSizePerThread) {
+
+        checkArgument(expectedSizePerThread >= 0, "expectedSizePerThread must not be negative.");
+
+        return new ConcurrentCollector<E>(expectedSizePerThread);
+    }
+
+    /**
+     * Adds the given {@code element} to the accumulator of the calling thread.
+     *
+     * @param element the element to add, may be {@code null}
+     */
+    public void add(final E element) {
+
+        final Accumulator<E> target = accumulator.get();
+        final int from = target.elements.size();
+        target.elements.add(element);
+        target.stamp(from, sequence);
+    }
+
+    /**
+     * Adds all entries of the given {@code iterable} to the accumulator of the calling thread.
+     *
+     * @param iterable the entries to add
+     * @throws IllegalArgumentException when the given {@code iterable} is {@code null}
+     */
+    public void addAll(final Iterable<? extends E> iterable) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+
+        final Accumulator<E> target = accumulator.get();
+        final int from = target.elements.size();
+        try {
+            Iterables.addAll(target.elements, iterable);
+        } finally {
+            target.stamp(from, sequence);
+        }
+    }
+
+    /**
+     * Adds the {@code function} result of each entry of the given {@code iterable} to the accumulator of the calling thread.
+     *
+     * @param iterable the entries to transform
+     * @param function the function to transform each entry with
+     * @param <F>      the type of the entries of the given {@code iterable}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <F> void addAll(final Iterable<F> iterable, final Function<? super F, E> function) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(function != null, "function must not be null.");
+
+        final Accumulator<E> target = accumulator.get();
+        final int from = target.elements.size();
+        try {
+            OptimizedIterations.createFrom(iterable, function, target.elements);
+        } finally {
+            target.stamp(from, sequence);
+        }
+    }
+
+    /**
+     * Adds each entry of the given {@code iterable} to the accumulator of the calling thread, if the given {@code predicate} applies.
+     *
+     * @param iterable  the entries to filter
+     * @param predicate the predicate to filter the entries with
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public void addAll(final Iterable<E> iterable, final Predicate<? super E> predicate) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+
+        final Accumulator<E> target = accumulator.get();
+        final int from = target.elements.size();
+        try {
+            OptimizedIterations.createFrom(iterable, predicate, target.elements);
+        } finally {
+            target.stamp(from, sequence);
+        }
+    }
+
+    /**
+     * Adds the {@code function} result of each entry of the given {@code iterable} to the accumulator of the calling thread, if the given {@code predicate}
+     * applies.
+     *
+     * @param iterable  the entries to filter and transform
+     * @param predicate the predicate to filter the entries with
+     * @param function  the function to transform each entry with
+     * @param <F>       the type of the entries of the given {@code iterable}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <F> void addAll(final Iterable<F> iterable, final Predicate<? super F> predicate, final Function<? super F, E> function) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(function != null, "function must not be null.");
+
+        final Accumulator<E> target = accumulator.get();
+        final int from = target.elements.size();
+        try {
+            OptimizedIterations.createFrom(iterable, predicate, function, target.elements);
+        } finally {
+            target.stamp(from, sequence);
+        }
+    }
+
+    /**
+     * Merges the accumulators of all threads into a new list, in the order in which the elements were added. The collector is not modified and can be built
+     * again.
+     *
+     * @return a new {@link java.util.ArrayList} with all collected elements, might be empty
+     */
+    public ArrayList<E> build() {
+        return accumulators.size() == 1 ? new ArrayList<E>(accumulators.get(0).elements) : merge();
+    }
+
+    /**
+     * Merges the accumulators of all threads into a new list, which is sorted by the given {@code comparator}. The sort is stable, so if the comparator
+     * imposes a total order, the result does not depend on thread scheduling.
+     *
+     * @param comparator the comparator to sort the merged elements with
+     * @return a new, sorted {@link java.util.ArrayList} with all collected elements, might be empty
+     * @throws IllegalArgumentException when the given {@code comparator} is {@code null}
+     */
+    public ArrayList<E> build(final Comparator<? super E> comparator) {
+
+        checkArgument(comparator != null, "comparator must not be null.");
+
+        final ArrayList<E> result = build();
+        Collections.sort(result, comparator);
+        return result;
+    }
+
+    /**
+     * Merges the accumulators of all threads into the given {@code collection}, in the order in which the elements were added, so that targets other than
+     * an {@link java.util.ArrayList} do not pay for an intermediate copy. The collector is not modified and can be built again.
+     *
+     * @param collection the collection to add all collected elements to
+     * @param <C>        the type of the given {@code collection}
+     * @return the given {@code collection}
+     * @throws IllegalArgumentException when the given {@code collection} is {@code null}
+     */
+    public <C extends Collection<? super E>> C buildInto(final C collection) {
+
+        checkArgument(collection != null, "collection must not be null.");
+
+        collection.addAll(ordered());
+        return collection;
+    }
+
+    /**
+     * Merges the accumulators of all threads into a new map, which maps each element by its {@code keyFunction} result. Of elements with equal keys, the
+     * one added last wins. The collector is not modified and can be built again.
+     *
+     * @param keyFunction the function to retrieve the map key from an element
+     * @param <K>         the type of the keys of the resulting map
+     * @return a new, presized {@link java.util.HashMap}, might be empty
+     * @throws IllegalArgumentException when the given {@code keyFunction} is {@code null}
+     */
+    public <K> HashMap<K, E> buildHashMap(final Function<? super E, K> keyFunction) {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+
+        return OptimizedIterations.createFrom(ordered(), keyFunction, Maps.<K, E>newHashMapWithExpectedSize(size()));
+    }
+
+    /**
+     * Merges the accumulators of all threads into a new map, which maps each element from its {@code keyFunction} to its {@code valueFunction} result. Of
+     * elements with equal keys, the one added last wins. The collector is not modified and can be built again.
+     *
+     * @param keyFunction   the function to retrieve the map key from an element
+     * @param valueFunction the function to retrieve the map value from an element
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return a new, presized {@link java.util.HashMap}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <K, V> HashMap<K, V> buildHashMap(final Function<? super E, K> keyFunction, final Function<? super E, V> valueFunction) {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+
+        return OptimizedIterations.createFrom(ordered(), keyFunction, valueFunction, Maps.<K, V>newHashMapWithExpectedSize(size()));
+    }
+
+    /**
+     * Merges the accumulators of all threads into a new multimap, which maps each element by its {@code keyFunction} result. The values of each key are in
+     * the order in which they were added. The collector is not modified and can be built again.
+     *
+     * @param keyFunction the function to retrieve the multimap key from an element
+     * @param <K>         the type of the keys of the resulting multimap
+     * @return a new {@link com.google.common.collect.ArrayListMultimap}, might be empty
+     * @throws IllegalArgumentException when the given {@code keyFunction} is {@code null}
+     */
+    public <K> ArrayListMultimap<K, E> buildArrayListMultimap(final Function<? super E, K> keyFunction) {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+
+        return OptimizedIterations.createFrom(ordered(), keyFunction, ArrayListMultimap.<K, E>create());
+    }
+
+    /**
+     * Merges the accumulators of all threads into a new multimap, which maps each element from its {@code keyFunction} to its {@code valueFunction} result.
+     * The values of each key are in the order in which they were added. The collector is not modified and can be built again.
+     *
+     * @param keyFunction   the function to retrieve the multimap key from an element
+     * @param valueFunction the function to retrieve the multimap value from an element
+     * @param <K>           the type of the keys of the resulting multimap
+     * @param <V>           the type of the values of the resulting multimap
+     * @return a new {@link com.google.common.collect.ArrayListMultimap}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <K, V> ArrayListMultimap<K, V> buildArrayListMultimap(final Function<? super E, K> keyFunction, final Function<? super E, V> valueFunction) {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+
+        return OptimizedIterations.createFrom(ordered(), keyFunction, valueFunction, ArrayListMultimap.<K, V>create());
+    }
+
+    /**
+     * Merges the accumulators of all threads into a new immutable list, in the order in which the elements were added. The collector is not modified and
+     * can be built again.
+     *
+     * @return a new {@link com.google.common.collect.ImmutableList}, might be empty
+     * @throws NullPointerException when any collected element is {@code null}
+     */
+    public ImmutableList<E> buildImmutableList() {
+        return ImmutableList.copyOf(ordered());
+    }
+
+    /**
+     * Merges the accumulators of all threads into a new immutable map, which maps each element by its {@code keyFunction} result. The entries are in the
+     * order in which the elements were added. The collector is not modified and can be built again.
+     *
+     * @param keyFunction the function to retrieve the map key from an element
+     * @param <K>         the type of the keys of the resulting map
+     * @return a new {@link com.google.common.collect.ImmutableMap}, might be empty
+     * @throws IllegalArgumentException when the given {@code keyFunction} is {@code null} or when two elements have equal keys
+     */
+    public <K> ImmutableMap<K, E> buildImmutableMap(final Function<? super E, K> keyFunction) {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+
+        return OptimizedIterations.createFrom(ordered(), keyFunction, ImmutableMap.<K, E>builder()).build();
+    }
+
+    /**
+     * Merges the accumulators of all threads into a new immutable map, which maps each element from its {@code keyFunction} to its {@code valueFunction}
+     * result. The entries are in the order in which the elements were added. The collector is not modified and can be built again.
+     *
+     * @param keyFunction   the function to retrieve the map key from an element
+     * @param valueFunction the function to retrieve the map value from an element
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return a new {@link com.google.common.collect.ImmutableMap}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or when two elements have equal keys
+     */
+    public <K, V> ImmutableMap<K, V> buildImmutableMap(final Function<? super E, K> keyFunction, final Function<? super E, V> valueFunction) {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+
+        return OptimizedIterations.createFrom(ordered(), keyFunction, valueFunction, ImmutableMap.<K, V>builder()).build();
+    }
+
+    /**
+     * Discards all collected elements and the accumulators of all threads, so that they can be garbage collected even while the producer threads live on,
+     * e.g. in a thread pool. Threads which add afterwards start with new accumulators. Like building, clearing must not overlap with adding.
+     */
+    public void clear() {
+
+        final ThreadLocal<Accumulator<E>> previous = accumulator;
+        accumulator = newAccumulator();
+        previous.remove();
+
+        // other threads still reference their previous accumulators until their thread locals are expunged
+        for (final Accumulator<E> discarded : accumulators) {
+            discarded.clear();
+        }
+        accumulators.clear();
+        sequence.set(0);
+    }
+
+    private int size() {
+        int size = 0;
+        for (final Accumulator<E> each : accumulators) {
+            size += each.elements.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return all collected elements in the order of their sequence numbers, the elements of a single accumulator are returned without copying them
+     */
+    private List<E> ordered() {
+        return accumulators.size() == 1 ? accumulators.get(0).elements : merge();
+    }
+
+    /**
+     * Places each element at its sequence number. As the sequence numbers are drawn in blocks from a counter starting at {@code 0} and every block is
+     * stamped completely, the sequence numbers of all accumulators form a permutation of the indices of the result.
+     */
+    private ArrayList<E> merge() {
+
+        final ArrayList<E> result = new ArrayList<E>(Collections.<E>nCopies(size(), null));
+        for (final Accumulator<E> each : accumulators) {
+            final ArrayList<E> elements = each.elements;
+            final int[] sequences = each.sequences;
+            for (int i = 0; i < elements.size(); i++) {
+                result.set(sequences[i], elements.get(i));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The elements added by one thread together with the sequence number of each element.
+     *
+     * @param <E> the type of the collected elements
+     */
+    private static final class Accumulator<E> {
+
+        private final ArrayList<E> elements;
+        private int[] sequences;
+
+        Accumulator(final int expectedSize) {
+            this.elements = new ArrayList<E>(expectedSize);
+            this.sequences = new int[expectedSize];
+        }
+
+        /**
+         * Draws the sequence numbers for the elements from the given index on, which were added by the current call.
+         */
+        void stamp(final int from, final AtomicInteger sequence) {
+
+            final int to = elements.size();
+            if (to == from) {
+                return;
+            }
+            if (to > sequences.length) {
+                sequences = Arrays.copyOf(sequences, Math.max(to, 2 * sequences.length));
+            }
+
+            int next = sequence.getAndAdd(to - from);
+            for (int i = from; i < to; i++) {
+                sequences[i] = next++;
+            }
+        }
+
+        void clear() {
+            elements.clear();
+            elements.trimToSize();
+            sequences = new int[0];
+        }
+    }
+}
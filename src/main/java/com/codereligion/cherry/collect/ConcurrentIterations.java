@@ -0,0 +1,149 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.math.IntMath;
+import com.google.common.util.concurrent.Uninterruptibles;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Helpers for building concurrent collections, optionally from multiple threads.
+ */
+final class ConcurrentIterations {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    private ConcurrentIterations() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Processes one chunk of the input, possibly concurrently with other chunks.
+     *
+     * @param <E> the type of the elements
+     */
+    interface ChunkTask<E> {
+        void apply(List<E> chunk);
+    }
+
+    /**
+     * Creates a map which is large enough to hold one entry per element of the given {@code iterable} without resizing, if its size is known.
+     */
+    static <K, V> ConcurrentHashMap<K, V> newConcurrentHashMap(final Iterable<?> iterable) {
+        return newConcurrentHashMap(iterable, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    static <K, V> ConcurrentHashMap<K, V> newConcurrentHashMap(final Iterable<?> iterable, final int concurrencyLevel) {
+        final long expectedSize = iterable instanceof Collection ? ((Collection<?>) iterable).size() : 0;
+        return newConcurrentHashMap(expectedSize, concurrencyLevel);
+    }
+
+    /**
+     * Creates a map which is large enough to hold one entry per distinct key of the entries of the given {@code iterable}, which the given
+     * {@code predicate} applies to, without resizing, if the size of the iterable is known. The number of keys is estimated from a sample of the iterable,
+     * which is why the given {@code predicate} and {@code keyFunction} are applied to some entries twice.
+     */
+    static <E, K, V> ConcurrentHashMap<K, V> newConcurrentHashMap(final Iterable<E> iterable,
+                                                                 final Predicate<? super E> predicate,
+                                                                 final Function<? super E, ?> keyFunction,
+                                                                 final int concurrencyLevel) {
+
+        if (!(iterable instanceof Collection)) {
+            return newConcurrentHashMap(0, concurrencyLevel);
+        }
+
+        final Collection<E> collection = (Collection<E>) iterable;
+        final List<E> sample = HeapEstimates.sampleOf(collection);
+        final List<E> matches = Lists.newArrayList(Iterables.filter(sample, predicate));
+        final long expectedEntries = sample.isEmpty() ? 0 : (long) collection.size() * matches.size() / sample.size();
+        return newConcurrentHashMap(HeapEstimates.distinctKeys(expectedEntries, matches, keyFunction), concurrencyLevel);
+    }
+
+    private static <K, V> ConcurrentHashMap<K, V> newConcurrentHashMap(final long expectedSize, final int concurrencyLevel) {
+        final int capacity = Math.max(DEFAULT_CAPACITY, expectedSize < Integer.MAX_VALUE / 2 ? (int) (expectedSize / LOAD_FACTOR) + 1 : Integer.MAX_VALUE);
+        return new ConcurrentHashMap<K, V>(capacity, LOAD_FACTOR, concurrencyLevel);
+    }
+
+    /**
+     * Splits the given {@code iterable} into at most {@code parallelism} contiguous chunks, applies the given {@code task} to each chunk on the given
+     * {@code executor} and waits for all of them to complete. Random access lists are split without copying, any other iterable is copied into a list first.
+     * If a task fails, the remaining tasks are cancelled and the failure is propagated.
+     */
+    static <E> void forEachChunk(final Iterable<E> iterable, final ExecutorService executor, final int parallelism, final ChunkTask<E> task) {
+
+        final List<E> list = asRandomAccessList(iterable);
+        if (list.isEmpty()) {
+            return;
+        }
+
+        final int chunkSize = IntMath.divide(list.size(), parallelism, RoundingMode.CEILING);
+        final List<Runnable> tasks = new ArrayList<Runnable>(parallelism);
+        for (final List<E> chunk : Lists.partition(list, chunkSize)) {
+            tasks.add(new Runnable() {
+                @Override
+                public void run() {
+                    task.apply(chunk);
+                }
+            });
+        }
+        runAll(tasks, executor);
+    }
+
+    /**
+     * @return the given {@code iterable}, if it is a random access list, otherwise a copy of it
+     */
+    static <E> List<E> asRandomAccessList(final Iterable<E> iterable) {
+        return iterable instanceof List && iterable instanceof RandomAccess ? (List<E>) iterable : Lists.newArrayList(iterable);
+    }
+
+    /**
+     * Submits all given {@code tasks} to the given {@code executor} and waits for all of them to complete. If a task fails, the remaining tasks are
+     * cancelled and the failure is propagated.
+     */
+    static void runAll(final List<? extends Runnable> tasks, final ExecutorService executor) {
+
+        final List<Future<?>> futures = new ArrayList<Future<?>>(tasks.size());
+        try {
+            for (final Runnable task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (final Future<?> future : futures) {
+                Uninterruptibles.getUninterruptibly(future);
+            }
+        } catch (final ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        } finally {
+            for (final Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe insertion target for the concurrent multimap factories. Values are added to a thread-safe collection per key, which is created on demand
+ * and published with {@link java.util.concurrent.ConcurrentHashMap#putIfAbsent(Object, Object)}.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @param <C> the type of the value collections
+ */
+abstract class ConcurrentMultimap<K, V, C extends Collection<V>> {
+
+    private final ConcurrentHashMap<K, C> map;
+
+    ConcurrentMultimap(final ConcurrentHashMap<K, C> map) {
+        this.map = map;
+    }
+
+    /**
+     * @return a new, empty and thread-safe value collection
+     */
+    abstract C newValues();
+
+    void put(final K key, final V value) {
+
+        C values = map.get(key);
+        if (values == null) {
+            final C newValues = newValues();
+            values = map.putIfAbsent(key, newValues);
+            if (values == null) {
+                values = newValues;
+            }
+        }
+        values.add(value);
+    }
+
+    ConcurrentHashMap<K, C> asMap() {
+        return map;
+    }
+}
@@ -0,0 +1,313 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Factory for concurrent set multimaps, represented as a {@link java.util.concurrent.ConcurrentHashMap} from each key to a concurrent
+ * {@link java.util.Set} of its values. Keys and values can be added concurrently while the multimap is in use, new keys are added with
+ * {@link java.util.concurrent.ConcurrentHashMap#putIfAbsent(Object, Object)}. {@code null} keys and values are not supported.
+ * <p/>
+ * If the size of the given iterable is known, the map is presized for the number of distinct keys, which is estimated from a sample of the iterable.
+ * <p/>
+ * The parallel variants split the iterable into {@code parallelism} contiguous chunks and insert each chunk from a task on the given executor directly into
+ * the resulting map, which uses {@code parallelism} as its concurrency level. They return once all chunks have been inserted.
+ *
+ * @since 19.10.2026
+ */
+public final class ConcurrentSetMultimaps {
+
+    private ConcurrentSetMultimaps() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable}. Each iterable entry is mapped by its {@code keyFunction} result.
+     *
+     * @param iterable    the entries to be mapped
+     * @param keyFunction the function to retrieve the map key from an entry
+     * @param <K>         the type of the keys of the resulting map
+     * @param <V>         the type of the values of the resulting map
+     * @return a {@link java.util.concurrent.ConcurrentHashMap} from each key to the set of its values, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     * @throws NullPointerException when a mapped entry or its key is {@code null}
+     */
+    public static <K, V> ConcurrentHashMap<K, Set<V>> createFrom(final Iterable<V> iterable, final Function<? super V, K> keyFunction) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+
+        final ConcurrentMultimap<K, V, Set<V>> multimap = newMultimap(iterable, Predicates.alwaysTrue(), keyFunction);
+        return OptimizedIterations.createFrom(iterable, keyFunction, multimap).asMap();
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable}. Each iterable entry is mapped from its {@code keyFunction} result to its {@code valueFunction}
+     * result.
+     *
+     * @param iterable      the entries to be mapped
+     * @param keyFunction   the function to retrieve the map key from an entry
+     * @param valueFunction the function to retrieve the map value from an entry
+     * @param <E>           the type of the entries of the given {@code iterable}
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return a {@link java.util.concurrent.ConcurrentHashMap} from each key to the set of its values, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     * @throws NullPointerException when the key or value of a mapped entry is {@code null}
+     */
+    public static <E, K, V> ConcurrentHashMap<K, Set<V>> createFrom(final Iterable<E> iterable,
+                                                                     final Function<? super E, K> keyFunction,
+                                                                     final Function<? super E, V> valueFunction) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+
+        final ConcurrentMultimap<K, V, Set<V>> multimap = newMultimap(iterable, Predicates.alwaysTrue(), keyFunction);
+        return OptimizedIterations.createFrom(iterable, keyFunction, valueFunction, multimap).asMap();
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable}. Each iterable entry is mapped by its {@code keyFunction} result, if the given {@code predicate}
+     * applies.
+     *
+     * @param iterable    the entries to be filtered and mapped
+     * @param predicate   the predicate to filter the entries with
+     * @param keyFunction the function to retrieve the map key from an entry
+     * @param <K>         the type of the keys of the resulting map
+     * @param <V>         the type of the values of the resulting map
+     * @return a {@link java.util.concurrent.ConcurrentHashMap} from each key to the set of its values, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     * @throws NullPointerException when a mapped entry or its key is {@code null}
+     */
+    public static <K, V> ConcurrentHashMap<K, Set<V>> createFrom(final Iterable<V> iterable,
+                                                                  final Predicate<? super V> predicate,
+                                                                  final Function<? super V, K> keyFunction) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+
+        final ConcurrentMultimap<K, V, Set<V>> multimap = newMultimap(iterable, predicate, keyFunction);
+        return OptimizedIterations.createFrom(iterable, predicate, keyFunction, multimap).asMap();
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable}. Each iterable entry is mapped from its {@code keyFunction} result to its {@code valueFunction}
+     * result, if the given {@code predicate} applies.
+     *
+     * @param iterable      the entries to be filtered and mapped
+     * @param predicate     the predicate to filter the entries with
+     * @param keyFunction   the function to retrieve the map key from an entry
+     * @param valueFunction the function to retrieve the map value from an entry
+     * @param <E>           the type of the entries of the given {@code iterable}
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return a {@link java.util.concurrent.ConcurrentHashMap} from each key to the set of its values, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     * @throws NullPointerException when the key or value of a mapped entry is {@code null}
+     */
+    public static <E, K, V> ConcurrentHashMap<K, Set<V>> createFrom(final Iterable<E> iterable,
+                                                                     final Predicate<? super E> predicate,
+                                                                     final Function<? super E, K> keyFunction,
+                                                                     final Function<? super E, V> valueFunction) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+
+        final ConcurrentMultimap<K, V, Set<V>> multimap = newMultimap(iterable, predicate, keyFunction);
+        return OptimizedIterations.createFrom(iterable, predicate, keyFunction, valueFunction, multimap).asMap();
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} using multiple threads. Each iterable entry is mapped by its {@code keyFunction} result.
+     *
+     * @param iterable    the entries to be mapped, must not be modified during the build
+     * @param keyFunction the function to retrieve the map key from an entry, must be thread-safe
+     * @param executor    the executor to run the insertion tasks on
+     * @param parallelism the maximum number of concurrent insertion tasks
+     * @param <K>         the type of the keys of the resulting map
+     * @param <V>         the type of the values of the resulting map
+     * @return a {@link java.util.concurrent.ConcurrentHashMap} from each key to the set of its values, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code parallelism} is not positive
+     * @throws NullPointerException when a mapped entry or its key is {@code null}
+     */
+    public static <K, V> ConcurrentHashMap<K, Set<V>> createFrom(final Iterable<V> iterable,
+                                                                  final Function<? super V, K> keyFunction,
+                                                                  final ExecutorService executor,
+                                                                  final int parallelism) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+        checkArgument(parallelism > 0, "parallelism must be positive.");
+
+        final ConcurrentMultimap<K, V, Set<V>> multimap = newMultimap(iterable, Predicates.alwaysTrue(), keyFunction, parallelism);
+        ConcurrentIterations.forEachChunk(iterable, executor, parallelism, new ConcurrentIterations.ChunkTask<V>() {
+            @Override
+            public void apply(final List<V> chunk) {
+                OptimizedIterations.createFrom(chunk, keyFunction, multimap);
+            }
+        });
+        return multimap.asMap();
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} using multiple threads. Each iterable entry is mapped from its {@code keyFunction} result to
+     * its {@code valueFunction} result.
+     *
+     * @param iterable      the entries to be mapped, must not be modified during the build
+     * @param keyFunction   the function to retrieve the map key from an entry, must be thread-safe
+     * @param valueFunction the function to retrieve the map value from an entry, must be thread-safe
+     * @param executor      the executor to run the insertion tasks on
+     * @param parallelism   the maximum number of concurrent insertion tasks
+     * @param <E>           the type of the entries of the given {@code iterable}
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return a {@link java.util.concurrent.ConcurrentHashMap} from each key to the set of its values, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code parallelism} is not positive
+     * @throws NullPointerException when the key or value of a mapped entry is {@code null}
+     */
+    public static <E, K, V> ConcurrentHashMap<K, Set<V>> createFrom(final Iterable<E> iterable,
+                                                                     final Function<? super E, K> keyFunction,
+                                                                     final Function<? super E, V> valueFunction,
+                                                                     final ExecutorService executor,
+                                                                     final int parallelism) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+        checkArgument(parallelism > 0, "parallelism must be positive.");
+
+        final ConcurrentMultimap<K, V, Set<V>> multimap = newMultimap(iterable, Predicates.alwaysTrue(), keyFunction, parallelism);
+        ConcurrentIterations.forEachChunk(iterable, executor, parallelism, new ConcurrentIterations.ChunkTask<E>() {
+            @Override
+            public void apply(final List<E> chunk) {
+                OptimizedIterations.createFrom(chunk, keyFunction, valueFunction, multimap);
+            }
+        });
+        return multimap.asMap();
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} using multiple threads. Each iterable entry is mapped by its {@code keyFunction} result, if
+     * the given {@code predicate} applies.
+     *
+     * @param iterable    the entries to be filtered and mapped, must not be modified during the build
+     * @param predicate   the predicate to filter the entries with, must be thread-safe
+     * @param keyFunction the function to retrieve the map key from an entry, must be thread-safe
+     * @param executor    the executor to run the insertion tasks on
+     * @param parallelism the maximum number of concurrent insertion tasks
+     * @param <K>         the type of the keys of the resulting map
+     * @param <V>         the type of the values of the resulting map
+     * @return a {@link java.util.concurrent.ConcurrentHashMap} from each key to the set of its values, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code parallelism} is not positive
+     * @throws NullPointerException when a mapped entry or its key is {@code null}
+     */
+    public static <K, V> ConcurrentHashMap<K, Set<V>> createFrom(final Iterable<V> iterable,
+                                                                  final Predicate<? super V> predicate,
+                                                                  final Function<? super V, K> keyFunction,
+                                                                  final ExecutorService executor,
+                                                                  final int parallelism) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+        checkArgument(parallelism > 0, "parallelism must be positive.");
+
+        final ConcurrentMultimap<K, V, Set<V>> multimap = newMultimap(iterable, predicate, keyFunction, parallelism);
+        ConcurrentIterations.forEachChunk(iterable, executor, parallelism, new ConcurrentIterations.ChunkTask<V>() {
+            @Override
+            public void apply(final List<V> chunk) {
+                OptimizedIterations.createFrom(chunk, predicate, keyFunction, multimap);
+            }
+        });
+        return multimap.asMap();
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} using multiple threads. Each iterable entry is mapped from its {@code keyFunction} result to
+     * its {@code valueFunction} result, if the given {@code predicate} applies.
+     *
+     * @param iterable      the entries to be filtered and mapped, must not be modified during the build
+     * @param predicate     the predicate to filter the entries with, must be thread-safe
+     * @param keyFunction   the function to retrieve the map key from an entry, must be thread-safe
+     * @param valueFunction the function to retrieve the map value from an entry, must be thread-safe
+     * @param executor      the executor to run the insertion tasks on
+     * @param parallelism   the maximum number of concurrent insertion tasks
+     * @param <E>           the type of the entries of the given {@code iterable}
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return a {@link java.util.concurrent.ConcurrentHashMap} from each key to the set of its values, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code parallelism} is not positive
+     * @throws NullPointerException when the key or value of a mapped entry is {@code null}
+     */
+    public static <E, K, V> ConcurrentHashMap<K, Set<V>> createFrom(final Iterable<E> iterable,
+                                                                     final Predicate<? super E> predicate,
+                                                                     final Function<? super E, K> keyFunction,
+                                                                     final Function<? super E, V> valueFunction,
+                                                                     final ExecutorService executor,
+                                                                     final int parallelism) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+        checkArgument(parallelism > 0, "parallelism must be positive.");
+
+        final ConcurrentMultimap<K, V, Set<V>> multimap = newMultimap(iterable, predicate, keyFunction, parallelism);
+        ConcurrentIterations.forEachChunk(iterable, executor, parallelism, new ConcurrentIterations.ChunkTask<E>() {
+            @Override
+            public void apply(final List<E> chunk) {
+                OptimizedIterations.createFrom(chunk, predicate, keyFunction, valueFunction, multimap);
+            }
+        });
+        return multimap.asMap();
+    }
+
+    private static <E, K, V> ConcurrentMultimap<K, V, Set<V>> newMultimap(final Iterable<E> iterable,
+                                                                          final Predicate<? super E> predicate,
+                                                                          final Function<? super E, ?> keyFunction) {
+        return newMultimap(iterable, predicate, keyFunction, ConcurrentIterations.DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    private static <E, K, V> ConcurrentMultimap<K, V, Set<V>> newMultimap(final Iterable<E> iterable,
+                                                                          final Predicate<? super E> predicate,
+                                                                          final Function<? super E, ?> keyFunction,
+                                                                          final int concurrencyLevel) {
+        final ConcurrentHashMap<K, Set<V>> map = ConcurrentIterations.newConcurrentHashMap(iterable, predicate, keyFunction, concurrencyLevel);
+        return new ConcurrentMultimap<K, V, Set<V>>(map) {
+            @Override
+            Set<V> newValues() {
+                return Collections.newSetFromMap(new ConcurrentHashMap<V, Boolean>());
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts single elements to bytes and back. Implementations must be stateless and produce equal bytes for equal elements, because encoded keys are compared
+ * byte by byte. Common implementations are provided by {@link com.codereligion.cherry.collect.ElementCodecs}.
+ *
+ * @param <E> the type of the elements to encode
+ * @since 19.10.2026
+ */
+public interface ElementCodec<E> {
+
+    /**
+     * Encodes the given {@code element}.
+     *
+     * @param element the element to encode, never {@code null}
+     * @return the bytes representing the given {@code element}
+     */
+    byte[] encode(E element);
+
+    /**
+     * Decodes an element from the given region of the given {@code buffer}. Implementations must only use absolute reads and must not change the position,
+     * limit or mark of the given {@code buffer}, since it may be shared between threads.
+     *
+     * @param buffer the buffer to read from
+     * @param offset the absolute index of the first byte of the element
+     * @param length the number of bytes of the element
+     * @return the decoded element
+     */
+    E decode(ByteBuffer buffer, int offset, int length);
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Charsets;
+import java.nio.ByteBuffer;
+import java.util.List;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Provides {@link com.codereligion.cherry.collect.ElementCodec ElementCodecs} for common element types.
+ *
+ * @since 19.10.2026
+ */
+public final class ElementCodecs {
+
+    private static final int INT_BYTES = 4;
+    private static final int LONG_BYTES = 8;
+
+    private ElementCodecs() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * @return a codec which encodes strings as UTF-8
+     */
+    public static ElementCodec<String> stringCodec() {
+        return StringCodec.INSTANCE;
+    }
+
+    /**
+     * @return a codec which encodes integers as 4 big endian bytes
+     */
+    public static ElementCodec<Integer> integerCodec() {
+        return IntegerCodec.INSTANCE;
+    }
+
+    /**
+     * @return a codec which encodes longs as 8 big endian bytes
+     */
+    public static ElementCodec<Long> longCodec() {
+        return LongCodec.INSTANCE;
+    }
+
+    /**
+     * Creates a codec for lists whose elements are encoded with the given {@code elementCodec}. The decoded lists are read-only views, which decode their
+     * elements on access and therefore keep a reference to the buffer they were decoded from.
+     *
+     * @param elementCodec the codec to encode the list elements with
+     * @param <E>          the type of the list elements
+     * @return a codec for lists
+     * @throws IllegalArgumentException when the given {@code elementCodec} is {@code null}
+     */
+    public static <E> ElementCodec<List<E>> listCodec(final ElementCodec<E> elementCodec) {
+
+        checkArgument(elementCodec != null, "elementCodec must not be null.");
+
+        return new ListCodec<E>(elementCodec);
+    }
+
+    /**
+     * Copies the given region of the given {@code buffer} into a new array without touching the position of the buffer.
+     */
+    static byte[] copyOf(final ByteBuffer buffer, final int offset, final int length) {
+
+        final byte[] bytes = new byte[length];
+        if (buffer.hasArray()) {
+            System.arraycopy(buffer.array(), buffer.arrayOffset() + offset, bytes, 0, length);
+        } else {
+            final ByteBuffer duplicate = buffer.duplicate();
+            duplicate.position(offset);
+            duplicate.get(bytes);
+        }
+        return bytes;
+    }
+
+    private enum StringCodec implements ElementCodec<String> {
+        INSTANCE;
+
+        @Override
+        public byte[] encode(final String element) {
+            return element.getBytes(Charsets.UTF_8);
+        }
+
+        @Override
+        public String decode(final ByteBuffer buffer, final int offset, final int length) {
+            if (buffer.hasArray()) {
+                return new String(buffer.array(), buffer.arrayOffset() + offset, length, Charsets.UTF_8);
+            }
+            return new String(copyOf(buffer, offset, length), Charsets.UTF_8);
+        }
+    }
+
+    private enum IntegerCodec implements ElementCodec<Integer> {
+        INSTANCE;
+
+        @Override
+        public byte[] encode(final Integer element) {
+            return ByteBuffer.allocate(INT_BYTES).putInt(element).array();
+        }
+
+        @Override
+        public Integer decode(final ByteBuffer buffer, final int offset, final int length) {
+            return buffer.getInt(offset);
+        }
+    }
+
+    private enum LongCodec implements ElementCodec<Long> {
+        INSTANCE;
+
+        @Override
+        public byte[] encode(final Long element) {
+            return ByteBuffer.allocate(LONG_BYTES).putLong(element).array();
+        }
+
+        @Override
+        public Long decode(final ByteBuffer buffer, final int offset, final int length) {
+            return buffer.getLong(offset);
+        }
+    }
+
+    /**
+     * Encodes lists in the {@code BinaryListFormat}, so decoding only creates a view and the elements are decoded on access.
+     */
+    private static final class ListCodec<E> implements ElementCodec<List<E>> {
+
+        private final ElementCodec<E> elementCodec;
+
+        private ListCodec(final ElementCodec<E> elementCodec) {
+            this.elementCodec = elementCodec;
+        }
+
+        @Override
+        public byte[] encode(final List<E> element) {
+            return BinaryListFormat.encode(element, elementCodec);
+        }
+
+        @Override
+        public List<E> decode(final ByteBuffer buffer, final int offset, final int length) {
+            return BinaryListFormat.view(buffer, offset, elementCodec);
+        }
+    }
+}
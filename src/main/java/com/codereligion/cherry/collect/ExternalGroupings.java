@@ -0,0 +1,275 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Groups values by key with a bounded amount of heap. Groups are collected in memory until their estimated size exceeds the given memory budget, then they
+ * are appended to spill files, one per hash partition of the keys, and collection starts over. The resulting
+ * {@link com.codereligion.cherry.collect.SpilledGroups} read one partition at a time, so only the groups of a single partition are held in memory while
+ * iterating. The budget only bounds the collection of the groups though: a partition is read as a whole, so evenly spread keys allow to iterate inputs of
+ * up to about {@link #PARTITION_COUNT} times the memory budget within it, but all values of a single key are always held in memory at once, and a few
+ * keys with many values, which fall into the same partition, may exceed the budget by far.
+ * <p/>
+ * The size of the collected groups is estimated by encoding a sample of the keys and values and adding the heap occupied by the map entry and the list of
+ * each group. Each group keeps the values of its key in iteration order.
+ *
+ * @since 19.10.2026
+ */
+public final class ExternalGroupings {
+
+    /**
+     * The number of partitions the keys are spread over, once the groups exceed the memory budget.
+     */
+    public static final int PARTITION_COUNT = 64;
+
+    /**
+     * The estimated number of heap bytes per collected entry in addition to twice its encoded size.
+     */
+    static final int ENTRY_OVERHEAD = 64;
+
+    /**
+     * The estimated number of heap bytes per collected group in addition to its entries, which is an {@link java.util.ArrayList} with its initial capacity.
+     * The map entry of the group is estimated by {@link com.codereligion.cherry.collect.HeapLayout#LINKED_HASH_MAP}.
+     */
+    static final long GROUP_OVERHEAD = 24 + HeapLayout.arrayBytes(10);
+
+    private static final int SAMPLE_INTERVAL = 64;
+    private static final int WRITE_BUFFER_SIZE = 8 * 1024;
+
+    private ExternalGroupings() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Groups the entries of the given {@code iterable} by their {@code keyFunction} result, spilling the groups into temporary files of the given
+     * {@code directory} whenever their estimated heap size exceeds the given {@code memoryBudget}. The returned groups must be closed to delete their files.
+     *
+     * @param iterable     the entries to be grouped, must not contain {@code null}
+     * @param keyFunction  the function to retrieve the key from an entry, must not return {@code null}
+     * @param keyCodec     the codec to write the keys into the spill files with
+     * @param valueCodec   the codec to write the entries into the spill files with
+     * @param directory    the directory to create the spill files in
+     * @param memoryBudget the estimated number of heap bytes the collected groups may occupy before they are spilled
+     * @param <K>          the type of the keys
+     * @param <V>          the type of the values
+     * @return the {@link com.codereligion.cherry.collect.SpilledGroups} of the entries, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}, {@code memoryBudget} is not positive or any key or value is
+     *                                  {@code null}
+     * @throws IOException              when a spill file could not be written
+     */
+    public static <K, V> SpilledGroups<K, V> createFrom(final Iterable<V> iterable,
+                                                        final Function<? super V, K> keyFunction,
+                                                        final ElementCodec<K> keyCodec,
+                                                        final ElementCodec<V> valueCodec,
+                                                        final File directory,
+                                                        final long memoryBudget) throws IOException {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+
+        return createFrom(iterable, keyFunction, Functions.<V>identity(), keyCodec, valueCodec, directory, memoryBudget);
+    }
+
+    /**
+     * Groups the {@code valueFunction} results of the entries of the given {@code iterable} by their {@code keyFunction} results, spilling the groups into
+     * temporary files of the given {@code directory} whenever their estimated heap size exceeds the given {@code memoryBudget}. The returned groups must be
+     * closed to delete their files.
+     *
+     * @param iterable      the entries to be grouped
+     * @param keyFunction   the function to retrieve the key from an entry, must not return {@code null}
+     * @param valueFunction the function to retrieve the value from an entry, must not return {@code null}
+     * @param keyCodec      the codec to write the keys into the spill files with
+     * @param valueCodec    the codec to write the values into the spill files with
+     * @param directory     the directory to create the spill files in
+     * @param memoryBudget  the estimated number of heap bytes the collected groups may occupy before they are spilled
+     * @param <E>           the type of the entries of the given {@code iterable}
+     * @param <K>           the type of the keys
+     * @param <V>           the type of the values
+     * @return the {@link com.codereligion.cherry.collect.SpilledGroups} of the entries, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}, {@code memoryBudget} is not positive or any key or value is
+     *                                  {@code null}
+     * @throws IOException              when a spill file could not be written
+     */
+    public static <E, K, V> SpilledGroups<K, V> createFrom(final Iterable<E> iterable,
+                                                           final Function<? super E, K> keyFunction,
+                                                           final Function<? super E, V> valueFunction,
+                                                           final ElementCodec<K> keyCodec,
+                                                           final ElementCodec<V> valueCodec,
+                                                           final File directory,
+                                                           final long memoryBudget) throws IOException {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+        checkArgument(keyCodec != null, "keyCodec must not be null.");
+        checkArgument(valueCodec != null, "valueCodec must not be null.");
+        checkArgument(directory != null, "directory must not be null.");
+        checkArgument(memoryBudget > 0, "memoryBudget must be positive.");
+
+        final Map<K, List<V>> groups = new LinkedHashMap<K, List<V>>();
+        Partitions<K, V> partitions = null;
+        boolean completed = false;
+        try {
+            long count = 0;
+            long sampledBytes = 0;
+            long samples = 0;
+            for (final E entry : iterable) {
+                final K key = keyFunction.apply(entry);
+                final V value = valueFunction.apply(entry);
+                checkArgument(key != null, "keyFunction must not return null.");
+                checkArgument(value != null, "valueFunction must not return null.");
+
+                List<V> values = groups.get(key);
+                if (values == null) {
+                    values = new ArrayList<V>();
+                    groups.put(key, values);
+                }
+                values.add(value);
+
+                if (count++ % SAMPLE_INTERVAL == 0) {
+                    sampledBytes += keyCodec.encode(key).length + valueCodec.encode(value).length;
+                    samples++;
+                }
+                final long groupBytes = HeapLayout.LINKED_HASH_MAP.structureBytes(groups.size(), groups.size()) + groups.size() * GROUP_OVERHEAD;
+                if (count * (2 * sampledBytes / samples + ENTRY_OVERHEAD) + groupBytes >= memoryBudget) {
+                    if (partitions == null) {
+                        partitions = new Partitions<K, V>(directory, keyCodec, valueCodec);
+                    }
+                    partitions.append(groups);
+                    groups.clear();
+                    count = 0;
+                }
+            }
+
+            if (partitions != null) {
+                partitions.append(groups);
+                groups.clear();
+                partitions.close();
+            }
+            completed = true;
+        } finally {
+            if (!completed && partitions != null) {
+                partitions.discard();
+            }
+        }
+
+        if (partitions == null) {
+            return new SpilledGroups<K, V>(groups, new ArrayList<File>(), new long[0], keyCodec, valueCodec);
+        }
+        return new SpilledGroups<K, V>(groups, partitions.files, partitions.groupCounts, keyCodec, valueCodec);
+    }
+
+    /**
+     * @return the partition of the given {@code key}, which only depends on its hash code
+     */
+    static int partitionOf(final Object key) {
+        final int hash = key.hashCode();
+        return ((hash ^ hash >>> 16) & Integer.MAX_VALUE) % PARTITION_COUNT;
+    }
+
+    /**
+     * Spill files of all partitions, each of them contains groups of a key followed by the number of values and the values. All keys and values are length
+     * prefixed.
+     */
+    private static final class Partitions<K, V> {
+
+        private final List<File> files = new ArrayList<File>(PARTITION_COUNT);
+        private final List<DataOutputStream> outputs = new ArrayList<DataOutputStream>(PARTITION_COUNT);
+        private final long[] groupCounts = new long[PARTITION_COUNT];
+        private final ElementCodec<K> keyCodec;
+        private final ElementCodec<V> valueCodec;
+
+        private Partitions(final File directory, final ElementCodec<K> keyCodec, final ElementCodec<V> valueCodec) throws IOException {
+
+            this.keyCodec = keyCodec;
+            this.valueCodec = valueCodec;
+
+            boolean opened = false;
+            try {
+                for (int partition = 0; partition < PARTITION_COUNT; partition++) {
+                    final File file = File.createTempFile("spilled-groups", ".tmp", directory);
+                    files.add(file);
+                    outputs.add(new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), WRITE_BUFFER_SIZE)));
+                }
+                opened = true;
+            } finally {
+                if (!opened) {
+                    discard();
+                }
+            }
+        }
+
+        private void append(final Map<K, List<V>> groups) throws IOException {
+
+            for (final Map.Entry<K, List<V>> group : groups.entrySet()) {
+                final int partition = partitionOf(group.getKey());
+                final DataOutputStream output = outputs.get(partition);
+
+                final byte[] key = keyCodec.encode(group.getKey());
+                output.writeInt(key.length);
+                output.write(key);
+                output.writeInt(group.getValue().size());
+                for (final V value : group.getValue()) {
+                    final byte[] encodedValue = valueCodec.encode(value);
+                    output.writeInt(encodedValue.length);
+                    output.write(encodedValue);
+                }
+                groupCounts[partition]++;
+            }
+        }
+
+        /**
+         * Closes all spill files without reporting failures and deletes them.
+         */
+        private void discard() {
+            for (final DataOutputStream output : outputs) {
+                try {
+                    output.close();
+                } catch (final IOException e) {
+                    // the file is deleted anyway
+                }
+            }
+            SortedRuns.delete(files);
+        }
+
+        private void close() throws IOException {
+
+            IOException failure = null;
+            for (final DataOutputStream output : outputs) {
+                try {
+                    output.close();
+                } catch (final IOException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
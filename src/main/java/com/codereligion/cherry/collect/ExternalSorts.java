@@ -0,0 +1,166 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Sorts outputs which do not fit into the heap. Transformed elements are collected until their estimated size exceeds the given memory budget, then sorted
+ * and spilled as a run of encoded elements into a temporary file of the given directory. The resulting {@link com.codereligion.cherry.collect.SortedRuns}
+ * merge all runs on demand, either into a stream of sorted elements or into a memory mapped, disk backed sorted set.
+ * <p/>
+ * Like a sorted set, the result contains no two elements which are equal according to the comparator, of which the first one is kept.
+ *
+ * @since 19.10.2026
+ */
+public final class ExternalSorts {
+
+    /**
+     * The estimated number of heap bytes per collected element in addition to twice its encoded size, which accounts for the element and its encoding.
+     */
+    static final int ELEMENT_OVERHEAD = 48;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private ExternalSorts() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Sorts the results of the given {@code function} for all entries of the given {@code iterable} with the given {@code comparator}, spilling sorted runs
+     * into temporary files of the given {@code directory} whenever the estimated heap size of the collected results exceeds the given {@code memoryBudget}.
+     * The returned runs must be closed to delete their files.
+     *
+     * @param iterable     the entries to be transformed
+     * @param function     the function to transform the entries with, must not return {@code null}
+     * @param comparator   the comparator to sort the results with
+     * @param codec        the codec to write the results into the run files with
+     * @param directory    the directory to create the run files in
+     * @param memoryBudget the estimated number of heap bytes the collected results may occupy before they are spilled
+     * @param <F>          the type of the entries of the given {@code iterable}
+     * @param <T>          the type of the resulting entries
+     * @return the {@link com.codereligion.cherry.collect.SortedRuns} of the results, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}, {@code memoryBudget} is not positive or the function returns
+     *                                  {@code null}
+     * @throws IOException              when a run could not be written
+     */
+    public static <F, T> SortedRuns<T> createFrom(final Iterable<F> iterable,
+                                                  final Function<? super F, T> function,
+                                                  final Comparator<T> comparator,
+                                                  final ElementCodec<T> codec,
+                                                  final File directory,
+                                                  final long memoryBudget) throws IOException {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(function != null, "function must not be null.");
+        checkArgument(comparator != null, "comparator must not be null.");
+        checkArgument(codec != null, "codec must not be null.");
+        checkArgument(directory != null, "directory must not be null.");
+        checkArgument(memoryBudget > 0, "memoryBudget must be positive.");
+
+        final List<File> runs = new ArrayList<File>();
+        final List<Integer> runSizes = new ArrayList<Integer>();
+        boolean completed = false;
+        try {
+            final List<Encoded<T>> buffer = new ArrayList<Encoded<T>>();
+            long bufferSize = 0;
+            for (final F entry : iterable) {
+                final T element = function.apply(entry);
+                checkArgument(element != null, "function must not return null.");
+
+                final Encoded<T> encoded = new Encoded<T>(element, codec.encode(element));
+                buffer.add(encoded);
+                bufferSize += 2L * encoded.bytes.length + ELEMENT_OVERHEAD;
+                if (bufferSize >= memoryBudget) {
+                    spill(buffer, comparator, directory, runs, runSizes);
+                    bufferSize = 0;
+                }
+            }
+            if (!buffer.isEmpty()) {
+                spill(buffer, comparator, directory, runs, runSizes);
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                SortedRuns.delete(runs);
+            }
+        }
+
+        return new SortedRuns<T>(runs, runSizes, comparator, codec);
+    }
+
+    /**
+     * Sorts the given {@code buffer} and writes its distinct elements into a new run file. The buffer is cleared afterwards.
+     */
+    private static <T> void spill(final List<Encoded<T>> buffer,
+                                  final Comparator<T> comparator,
+                                  final File directory,
+                                  final List<File> runs,
+                                  final List<Integer> runSizes) throws IOException {
+
+        Collections.sort(buffer, new Comparator<Encoded<T>>() {
+            @Override
+            public int compare(final Encoded<T> first, final Encoded<T> second) {
+                return comparator.compare(first.element, second.element);
+            }
+        });
+
+        final File run = File.createTempFile("sorted-run", ".tmp", directory);
+        runs.add(run);
+
+        int size = 0;
+        final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(run), WRITE_BUFFER_SIZE));
+        try {
+            T previous = null;
+            for (final Encoded<T> encoded : buffer) {
+                // the sort is stable, so the first of equal elements is kept
+                if (previous != null && comparator.compare(previous, encoded.element) == 0) {
+                    continue;
+                }
+                output.writeInt(encoded.bytes.length);
+                output.write(encoded.bytes);
+                previous = encoded.element;
+                size++;
+            }
+        } finally {
+            output.close();
+        }
+
+        runSizes.add(size);
+        buffer.clear();
+    }
+
+    private static final class Encoded<E> {
+
+        private final E element;
+        private final byte[] bytes;
+
+        private Encoded(final E element, final byte[] bytes) {
+            this.element = element;
+            this.bytes = bytes;
+        }
+    }
+}
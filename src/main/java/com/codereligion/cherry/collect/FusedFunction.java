@@ -0,0 +1,98 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Joiner;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A flat chain of functions, which are applied one after another instead of through nested {@code apply} calls. The first four functions are held in
+ * fields and called from call sites of their own, further functions are applied in a loop sharing one call site.
+ *
+ * @param <A> the type of the input of the first function
+ * @param <B> the type of the output of the last function
+ * @since 19.10.2026
+ */
+final class FusedFunction<A, B> implements Function<A, B> {
+
+    private static final int FIELD_STAGES = 4;
+
+    private final Function<Object, Object>[] stages;
+    private final Function<Object, Object> first;
+    private final Function<Object, Object> second;
+    private final Function<Object, Object> third;
+    private final Function<Object, Object> fourth;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    FusedFunction(final List<Function<?, ?>> stages) {
+        this.stages = stages.toArray(new Function[stages.size()]);
+        this.first = this.stages[0];
+        this.second = this.stages[1];
+        this.third = this.stages.length > 2 ? this.stages[2] : null;
+        this.fourth = this.stages.length > 3 ? this.stages[3] : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public B apply(final A input) {
+
+        Object value = second.apply(first.apply(input));
+        if (third == null) {
+            return (B) value;
+        }
+        value = third.apply(value);
+        if (fourth == null) {
+            return (B) value;
+        }
+        value = fourth.apply(value);
+        for (int i = FIELD_STAGES; i < stages.length; i++) {
+            value = stages[i].apply(value);
+        }
+        return (B) value;
+    }
+
+    /**
+     * @return the functions of this chain in the order they are applied
+     */
+    List<Function<?, ?>> getStages() {
+        return Arrays.<Function<?, ?>>asList(stages);
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof FusedFunction)) {
+            return false;
+        }
+
+        return Arrays.equals(stages, ((FusedFunction<?, ?>) object).stages);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(stages);
+    }
+
+    @Override
+    public String toString() {
+        return "fused(" + Joiner.on(", ").join(stages) + ")";
+    }
+}
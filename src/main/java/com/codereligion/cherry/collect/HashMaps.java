@@ -122,4 +122,33 @@ public final class HashMaps {
 
         return OptimizedIterations.createFrom(iterable, predicate, keyFunction, valueFunction, new HashMap<K, V>());
     }
+
+    /**
+     * Creates a new instance from the given {@code iterable}. Each iterable entry is mapped from its {@code keyFunction} result to its result of the batch
+     * {@code valueFunction}. The entries are passed to the value function in chunks of at most {@code batchSize} entries, the keys of a chunk are
+     * retrieved after its values.
+     *
+     * @param iterable      the entries to be mapped
+     * @param keyFunction   the function to retrieve the map key from an entry
+     * @param valueFunction the batch function to retrieve the map values from the entries
+     * @param batchSize     the maximum number of entries passed to one call of the {@code valueFunction}
+     * @param <E>           the type of the entries of the given {@code iterable}
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return a {@link java.util.HashMap}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code batchSize} is not positive
+     * @throws IllegalStateException    when the {@code valueFunction} does not return exactly one result per entry
+     */
+    public static <E, K, V> HashMap<K, V> createFrom(final Iterable<E> iterable,
+                                                     final Function<? super E, K> keyFunction,
+                                                     final BatchFunction<? super E, V> valueFunction,
+                                                     final int batchSize) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+        checkArgument(batchSize > 0, "batchSize must be positive.");
+
+        return BatchIterations.createFrom(iterable, keyFunction, valueFunction, batchSize, new HashMap<K, V>());
+    }
 }
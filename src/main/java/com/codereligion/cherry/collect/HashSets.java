@@ -87,4 +87,59 @@ public final class HashSets {
         return OptimizedIterations.createFrom(iterable, predicate, function, new HashSet<T>());
     }
 
+    /**
+     * Creates a new instance from the given {@code iterable} by only using the entries to which the given {@code predicate} applies. The first {@code offset}
+     * distinct matching entries and their duplicates are skipped and the iteration stops as soon as {@code limit} distinct entries have been added, so the
+     * remaining entries are not evaluated.
+     *
+     * @param iterable  the entries to be filtered
+     * @param predicate the predicate to filter the entries with
+     * @param offset    the number of matching entries to skip
+     * @param limit     the maximum number of matching entries to add
+     * @param <E>       the type of the entries to be filtered
+     * @return a {@link java.util.HashSet}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code offset} or {@code limit} are negative
+     */
+    public static <E> HashSet<E> createFrom(final Iterable<E> iterable,
+                                            final Predicate<? super E> predicate,
+                                            final int offset,
+                                            final int limit) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(offset >= 0, "offset must not be negative.");
+        checkArgument(limit >= 0, "limit must not be negative.");
+
+        return OptimizedIterations.createFrom(iterable, predicate, offset, limit, new HashSet<E>());
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} by converting each entry with the given {@code function}, if the given {@code predicate} applies.
+     * The first {@code offset} distinct results and their duplicates are skipped and the iteration stops as soon as {@code limit} distinct results have
+     * been added, so the remaining entries are not evaluated. As entries are skipped by their result, the function is applied to skipped entries as well.
+     *
+     * @param iterable  the entries to be filtered and transformed
+     * @param predicate the predicate to filter the entries with
+     * @param function  the function to transform the entries with
+     * @param offset    the number of distinct results to skip
+     * @param limit     the maximum number of distinct results to add
+     * @param <F>       the type of the entries of the given {@code iterable}
+     * @param <T>       the type of the resulting entries
+     * @return a {@link java.util.HashSet}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code offset} or {@code limit} are negative
+     */
+    public static <F, T> HashSet<T> createFrom(final Iterable<F> iterable,
+                                               final Predicate<? super F> predicate,
+                                               final Function<? super F, T> function,
+                                               final int offset,
+                                               final int limit) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(function != null, "function must not be null.");
+        checkArgument(offset >= 0, "offset must not be negative.");
+        checkArgument(limit >= 0, "limit must not be negative.");
+
+        return OptimizedIterations.createFrom(iterable, predicate, function, offset, limit, new HashSet<T>());
+    }
 }
@@ -0,0 +1,240 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Estimates the heap, which a map or multimap will retain, before it is built. The estimate combines the structure of the given
+ * {@link com.codereligion.cherry.collect.HeapLayout} with the average size of the keys and values of a sample of the input. The number of distinct keys is
+ * extrapolated from the key frequencies in the sample by the guaranteed error estimator of Charikar et al., which is exact if the sample covers the input.
+ * <p/>
+ * Keys and values are sized by {@link #sizeOf(Object)}, values which are the input elements themselves are not counted, since they are retained by the input
+ * anyway. All numbers are approximations for a 64 bit JVM with compressed references.
+ *
+ * @since 19.10.2026
+ */
+public final class HeapEstimates {
+
+    /**
+     * The number of elements sampled by the memory bounded factories.
+     */
+    static final int SAMPLE_SIZE = 256;
+
+    private static final int OBJECT_HEADER_BYTES = 12;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int STRING_BYTES = 24;
+
+    private static final Map<Class<?>, Long> SHALLOW_SIZES = new ConcurrentHashMap<Class<?>, Long>();
+
+    private HeapEstimates() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Estimates the heap retained by a collection of the given {@code layout}, which maps {@code size} entries by their {@code keyFunction} result.
+     *
+     * @param layout      the layout of the collection to be built
+     * @param size        the number of entries the collection will be built from
+     * @param sample      a representative sample of the entries, must not be empty if {@code size} is positive
+     * @param keyFunction the function to retrieve the key from an entry
+     * @param <K>         the type of the keys
+     * @param <V>         the type of the values
+     * @return the estimated number of bytes
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}, {@code size} is negative or the sample is empty
+     */
+    public static <K, V> long estimate(final HeapLayout layout, final long size, final Iterable<V> sample, final Function<? super V, K> keyFunction) {
+        return estimate(layout, size, sample, keyFunction, Functions.<V>identity());
+    }
+
+    /**
+     * Estimates the heap retained by a collection of the given {@code layout}, which maps {@code size} entries from their {@code keyFunction} to their
+     * {@code valueFunction} result.
+     *
+     * @param layout        the layout of the collection to be built
+     * @param size          the number of entries the collection will be built from
+     * @param sample        a representative sample of the entries, must not be empty if {@code size} is positive
+     * @param keyFunction   the function to retrieve the key from an entry
+     * @param valueFunction the function to retrieve the value from an entry
+     * @param <E>           the type of the entries
+     * @param <K>           the type of the keys
+     * @param <V>           the type of the values
+     * @return the estimated number of bytes
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}, {@code size} is negative or the sample is empty
+     */
+    public static <E, K, V> long estimate(final HeapLayout layout,
+                                          final long size,
+                                          final Iterable<E> sample,
+                                          final Function<? super E, K> keyFunction,
+                                          final Function<? super E, V> valueFunction) {
+
+        checkArgument(layout != null, "layout must not be null.");
+        checkArgument(size >= 0, "size must not be negative.");
+        checkArgument(sample != null, "sample must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+
+        if (size == 0) {
+            return layout.structureBytes(0, 0);
+        }
+
+        final boolean countValues = valueFunction != Functions.identity();
+        final Map<K, Integer> frequencies = new HashMap<K, Integer>();
+        long sampleSize = 0;
+        long keyBytes = 0;
+        long valueBytes = 0;
+        for (final E entry : sample) {
+            final K key = keyFunction.apply(entry);
+            final Integer frequency = frequencies.get(key);
+            frequencies.put(key, frequency == null ? 1 : frequency + 1);
+            keyBytes += sizeOf(key);
+            if (countValues) {
+                valueBytes += sizeOf(valueFunction.apply(entry));
+            }
+            sampleSize++;
+        }
+        checkArgument(sampleSize > 0, "sample must not be empty.");
+
+        final long keys = distinctKeys(size, sampleSize, frequencies.values());
+        final long values = layout.isMultimap() ? size : keys;
+        return layout.structureBytes(keys, size) + keys * keyBytes / sampleSize + values * valueBytes / sampleSize;
+    }
+
+    /**
+     * Estimates the shallow heap size of the given {@code object}. Strings and arrays are sized including their contents, boxed primitives exactly and
+     * any other object by the fields of its class, without following references.
+     *
+     * @param object the object to size, might be {@code null}
+     * @return the estimated number of bytes, {@code 0} for {@code null}
+     */
+    public static long sizeOf(final Object object) {
+
+        if (object == null) {
+            return 0;
+        }
+        if (object instanceof String) {
+            return STRING_BYTES + HeapLayout.align(ARRAY_HEADER_BYTES + 2L * ((String) object).length());
+        }
+
+        final Class<?> type = object.getClass();
+        if (type.isArray()) {
+            final Class<?> componentType = type.getComponentType();
+            final int componentBytes = componentType.isPrimitive() ? primitiveBytes(componentType) : REFERENCE_BYTES;
+            return HeapLayout.align(ARRAY_HEADER_BYTES + (long) componentBytes * Array.getLength(object));
+        }
+
+        Long shallowSize = SHALLOW_SIZES.get(type);
+        if (shallowSize == null) {
+            shallowSize = shallowSizeOf(type);
+            SHALLOW_SIZES.put(type, shallowSize);
+        }
+        return shallowSize;
+    }
+
+    /**
+     * @return a sample of at most {@link #SAMPLE_SIZE} elements, which are evenly spread over random access lists
+     */
+    static <E> List<E> sampleOf(final Collection<E> collection) {
+
+        if (collection.size() <= SAMPLE_SIZE || !(collection instanceof List && collection instanceof RandomAccess)) {
+            return Lists.newArrayList(Iterables.limit(collection, SAMPLE_SIZE));
+        }
+
+        final List<E> list = (List<E>) collection;
+        final List<E> sample = new ArrayList<E>(SAMPLE_SIZE);
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            sample.add(list.get((int) ((long) i * list.size() / SAMPLE_SIZE)));
+        }
+        return sample;
+    }
+
+    /**
+     * @return the estimated number of distinct keys among {@code size} entries, which are represented by the given {@code sample}
+     */
+    static <E, K> long distinctKeys(final long size, final Iterable<E> sample, final Function<? super E, K> keyFunction) {
+
+        final Map<K, Integer> frequencies = new HashMap<K, Integer>();
+        long sampleSize = 0;
+        for (final E entry : sample) {
+            final K key = keyFunction.apply(entry);
+            final Integer frequency = frequencies.get(key);
+            frequencies.put(key, frequency == null ? 1 : frequency + 1);
+            sampleSize++;
+        }
+        return sampleSize == 0 ? 0 : distinctKeys(size, sampleSize, frequencies.values());
+    }
+
+    /**
+     * Guaranteed error estimator: keys seen once in the sample are scaled by the square root of the inverse sampling fraction, all others are counted once.
+     */
+    private static long distinctKeys(final long size, final long sampleSize, final Collection<Integer> frequencies) {
+
+        if (sampleSize >= size) {
+            return frequencies.size();
+        }
+
+        long singletons = 0;
+        for (final Integer frequency : frequencies) {
+            if (frequency == 1) {
+                singletons++;
+            }
+        }
+        final double estimate = Math.sqrt((double) size / sampleSize) * singletons + frequencies.size() - singletons;
+        return Math.max(frequencies.size(), Math.min(size, Math.round(estimate)));
+    }
+
+    private static long shallowSizeOf(final Class<?> type) {
+
+        long bytes = OBJECT_HEADER_BYTES;
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (final Field field : current.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    bytes += field.getType().isPrimitive() ? primitiveBytes(field.getType()) : REFERENCE_BYTES;
+                }
+            }
+        }
+        return HeapLayout.align(bytes);
+    }
+
+    private static int primitiveBytes(final Class<?> type) {
+
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+}
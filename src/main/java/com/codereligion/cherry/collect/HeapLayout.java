@@ -0,0 +1,176 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+/**
+ * Memory layouts of the collections built by the factories of this package, which know the heap occupied by the collection structure itself, excluding its
+ * keys and values. The numbers are approximations for a 64 bit JVM with compressed references, the collections of the JDK 8 and Guava 18.
+ *
+ * @since 19.10.2026
+ */
+public enum HeapLayout {
+
+    /**
+     * A {@link java.util.HashMap}: a table of references and one node per entry.
+     */
+    HASH_MAP(false) {
+        @Override
+        long structureBytes(final long keys, final long entries) {
+            return 48 + hashTableBytes(keys, 0.75) + 32 * keys;
+        }
+    },
+
+    /**
+     * A {@link java.util.LinkedHashMap}: like a {@link java.util.HashMap}, whose nodes are also doubly linked.
+     */
+    LINKED_HASH_MAP(false) {
+        @Override
+        long structureBytes(final long keys, final long entries) {
+            return 56 + hashTableBytes(keys, 0.75) + 40 * keys;
+        }
+    },
+
+    /**
+     * A {@link java.util.TreeMap}: one red black tree node per entry.
+     */
+    TREE_MAP(false) {
+        @Override
+        long structureBytes(final long keys, final long entries) {
+            return 48 + 40 * keys;
+        }
+    },
+
+    /**
+     * An {@link com.google.common.collect.ImmutableMap}: an array of entries and a table of references.
+     */
+    IMMUTABLE_MAP(false) {
+        @Override
+        long structureBytes(final long keys, final long entries) {
+            return 32 + arrayBytes(keys) + hashTableBytes(keys, 1.2) + 24 * keys;
+        }
+    },
+
+    /**
+     * An {@link com.google.common.collect.ImmutableSortedMap}: a sorted array of keys and an array of values.
+     */
+    IMMUTABLE_SORTED_MAP(false) {
+        @Override
+        long structureBytes(final long keys, final long entries) {
+            return 80 + 2 * arrayBytes(keys);
+        }
+    },
+
+    /**
+     * The compact, read-only hash map of {@link com.codereligion.cherry.collect.MemoryBoundedMaps}: an open addressing table of keys and one of values.
+     */
+    COMPACT_HASH_MAP(false) {
+        @Override
+        long structureBytes(final long keys, final long entries) {
+            return 24 + 2 * arrayBytes(CompactHashMap.capacityFor(keys));
+        }
+    },
+
+    /**
+     * A {@link com.google.common.collect.HashMultimap}: a {@link java.util.HashMap} of one {@link java.util.HashSet} per key.
+     */
+    HASH_MULTIMAP(true) {
+        @Override
+        long structureBytes(final long keys, final long entries) {
+            final long valuesPerKey = valuesPerKey(keys, entries);
+            return 48 + HASH_MAP.structureBytes(keys, keys) + keys * (64 + hashTableBytes(valuesPerKey, 0.75)) + 32 * entries;
+        }
+    },
+
+    /**
+     * An {@link com.google.common.collect.ArrayListMultimap}: a {@link java.util.HashMap} of one {@link java.util.ArrayList} per key, which starts with a
+     * capacity of 3 and grows by half.
+     */
+    ARRAY_LIST_MULTIMAP(true) {
+        @Override
+        long structureBytes(final long keys, final long entries) {
+            final long capacity = Math.max(3, valuesPerKey(keys, entries) * 5 / 4);
+            return 48 + HASH_MAP.structureBytes(keys, keys) + keys * (24 + arrayBytes(capacity));
+        }
+    },
+
+    /**
+     * An {@link com.google.common.collect.ImmutableSetMultimap}: an {@link com.google.common.collect.ImmutableMap} of one
+     * {@link com.google.common.collect.ImmutableSet} per key.
+     */
+    IMMUTABLE_SET_MULTIMAP(true) {
+        @Override
+        long structureBytes(final long keys, final long entries) {
+            final long valuesPerKey = valuesPerKey(keys, entries);
+            return 48 + IMMUTABLE_MAP.structureBytes(keys, keys) + keys * (32 + arrayBytes(valuesPerKey) + hashTableBytes(valuesPerKey, 1.2));
+        }
+    },
+
+    /**
+     * An {@link com.google.common.collect.ImmutableListMultimap}: an {@link com.google.common.collect.ImmutableMap} of one
+     * {@link com.google.common.collect.ImmutableList} per key.
+     */
+    IMMUTABLE_LIST_MULTIMAP(true) {
+        @Override
+        long structureBytes(final long keys, final long entries) {
+            return 48 + IMMUTABLE_MAP.structureBytes(keys, keys) + keys * (24 + arrayBytes(valuesPerKey(keys, entries)));
+        }
+    };
+
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+
+    private final boolean multimap;
+
+    HeapLayout(final boolean multimap) {
+        this.multimap = multimap;
+    }
+
+    /**
+     * @return whether collections of this layout hold multiple values per key
+     */
+    public boolean isMultimap() {
+        return multimap;
+    }
+
+    /**
+     * Estimates the heap occupied by the structure of a collection of this layout, excluding the keys and values.
+     *
+     * @param keys    the number of distinct keys
+     * @param entries the number of entries, which equals the number of keys for maps
+     * @return the estimated number of bytes
+     */
+    abstract long structureBytes(long keys, long entries);
+
+    static long align(final long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    static long arrayBytes(final long length) {
+        return align(ARRAY_HEADER_BYTES + REFERENCE_BYTES * length);
+    }
+
+    /**
+     * @return the bytes of a power of two sized table of references, which holds {@code size} elements without exceeding the given {@code loadFactor}
+     */
+    private static long hashTableBytes(final long size, final double loadFactor) {
+        final long minimumLength = (long) Math.ceil(size / loadFactor);
+        return arrayBytes(minimumLength <= 1 ? 1 : Long.highestOneBit(minimumLength - 1) << 1);
+    }
+
+    private static long valuesPerKey(final long keys, final long entries) {
+        return keys == 0 ? 0 : (entries + keys - 1) / keys;
+    }
+}
@@ -87,4 +87,81 @@ public final class ImmutableLists {
         return OptimizedIterations.createFrom(iterable, predicate, function, ImmutableList.<T>builder()).build();
     }
 
+    /**
+     * Creates a new instance from the given {@code iterable} by only using the entries to which the given {@code predicate} applies. The first {@code offset}
+     * matching entries are skipped and the iteration stops as soon as {@code limit} matching entries have been added, so the remaining entries are not
+     * evaluated.
+     *
+     * @param iterable  the entries to be filtered
+     * @param predicate the predicate to filter the entries with
+     * @param offset    the number of matching entries to skip
+     * @param limit     the maximum number of matching entries to add
+     * @param <E>       the type of the entries to be filtered
+     * @return an {@link com.google.common.collect.ImmutableList}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code offset} or {@code limit} are negative
+     */
+    public static <E> ImmutableList<E> createFrom(final Iterable<E> iterable,
+                                                  final Predicate<? super E> predicate,
+                                                  final int offset,
+                                                  final int limit) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(offset >= 0, "offset must not be negative.");
+        checkArgument(limit >= 0, "limit must not be negative.");
+
+        return OptimizedIterations.createFrom(iterable, predicate, offset, limit, ImmutableList.<E>builder()).build();
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} by converting each entry with the given {@code function}, if the given {@code predicate} applies.
+     * The first {@code offset} matching entries are skipped and the iteration stops as soon as {@code limit} matching entries have been added. The function
+     * is only applied to the added entries.
+     *
+     * @param iterable  the entries to be filtered and transformed
+     * @param predicate the predicate to filter the entries with
+     * @param function  the function to transform the entries with
+     * @param offset    the number of matching entries to skip
+     * @param limit     the maximum number of matching entries to add
+     * @param <F>       the type of the entries of the given {@code iterable}
+     * @param <T>       the type of the resulting entries
+     * @return an {@link com.google.common.collect.ImmutableList}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code offset} or {@code limit} are negative
+     */
+    public static <F, T> ImmutableList<T> createFrom(final Iterable<F> iterable,
+                                                     final Predicate<? super F> predicate,
+                                                     final Function<? super F, T> function,
+                                                     final int offset,
+                                                     final int limit) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(function != null, "function must not be null.");
+        checkArgument(offset >= 0, "offset must not be negative.");
+        checkArgument(limit >= 0, "limit must not be negative.");
+
+        return OptimizedIterations.createFrom(iterable, predicate, function, offset, limit, ImmutableList.<T>builder()).build();
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} by converting the entries with the given batch {@code function}. The entries are passed to
+     * the function in chunks of at most {@code batchSize} entries and the results are added in iteration order.
+     *
+     * @param iterable  the entries to be transformed
+     * @param function  the batch function to transform the entries with
+     * @param batchSize the maximum number of entries passed to one call of the {@code function}
+     * @param <F>       the type of the entries of the given {@code iterable}
+     * @param <T>       the type of the resulting entries
+     * @return an {@link com.google.common.collect.ImmutableList}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code batchSize} is not positive
+     * @throws IllegalStateException    when the {@code function} does not return exactly one result per entry
+     */
+    public static <F, T> ImmutableList<T> createFrom(final Iterable<F> iterable, final BatchFunction<? super F, T> function, final int batchSize) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(function != null, "function must not be null.");
+        checkArgument(batchSize > 0, "batchSize must be positive.");
+
+        return BatchIterations.createFrom(iterable, function, batchSize, ImmutableList.<T>builder()).build();
+    }
 }
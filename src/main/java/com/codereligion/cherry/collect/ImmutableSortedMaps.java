@@ -16,9 +16,13 @@
 package com.codereligion.cherry.collect;
 
 import com.google.common.base.Function;
+import com.google.common.base.Functions;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Ordering;
 import java.util.Comparator;
+import java.util.concurrent.ExecutorService;
 import static com.google.common.base.Preconditions.checkArgument;
 
 /**
@@ -48,7 +52,7 @@ public final class ImmutableSortedMaps {
         checkArgument(iterable != null, "iterable must not be null.");
         checkArgument(keyFunction != null, "keyFunction must not be null.");
 
-        return OptimizedIterations.createFrom(iterable, keyFunction, ImmutableSortedMap.<K, V>naturalOrder()).build();
+        return SortedOutputs.newImmutableSortedMap(iterable, keyFunction, Functions.<V>identity(), Ordering.<K>natural());
     }
 
     /**
@@ -71,6 +75,10 @@ public final class ImmutableSortedMaps {
         checkArgument(keyFunction != null, "keyFunction must not be null.");
         checkArgument(comparator != null, "comparator must not be null.");
 
+        if (SortedOutputs.isMonotonic(keyFunction)) {
+            return SortedOutputs.newImmutableSortedMap(iterable, keyFunction, Functions.<V>identity(), comparator);
+        }
+
         return OptimizedIterations.createFrom(iterable, keyFunction, ImmutableSortedMap.<K, V>orderedBy(comparator)).build();
     }
 
@@ -95,7 +103,7 @@ public final class ImmutableSortedMaps {
         checkArgument(keyFunction != null, "keyFunction must not be null.");
         checkArgument(valueFunction != null, "valueFunction must not be null.");
 
-        return OptimizedIterations.createFrom(iterable, keyFunction, valueFunction, ImmutableSortedMap.<K, V>naturalOrder()).build();
+        return SortedOutputs.newImmutableSortedMap(iterable, keyFunction, valueFunction, Ordering.<K>natural());
     }
 
     /**
@@ -122,6 +130,10 @@ public final class ImmutableSortedMaps {
         checkArgument(valueFunction != null, "valueFunction must not be null.");
         checkArgument(comparator != null, "comparator must not be null.");
 
+        if (SortedOutputs.isMonotonic(keyFunction)) {
+            return SortedOutputs.newImmutableSortedMap(iterable, keyFunction, valueFunction, comparator);
+        }
+
         return OptimizedIterations.createFrom(iterable, keyFunction, valueFunction, ImmutableSortedMap.<K, V>orderedBy(comparator)).build();
     }
 
@@ -145,7 +157,7 @@ public final class ImmutableSortedMaps {
         checkArgument(predicate != null, "predicate must not be null.");
         checkArgument(keyFunction != null, "keyFunction must not be null.");
 
-        return OptimizedIterations.createFrom(iterable, predicate, keyFunction, ImmutableSortedMap.<K, V>naturalOrder()).build();
+        return SortedOutputs.newImmutableSortedMap(Iterables.filter(iterable, predicate), keyFunction, Functions.<V>identity(), Ordering.<K>natural());
     }
 
     /**
@@ -170,6 +182,10 @@ public final class ImmutableSortedMaps {
         checkArgument(keyFunction != null, "keyFunction must not be null.");
         checkArgument(comparator != null, "comparator must not be null.");
 
+        if (SortedOutputs.isMonotonic(keyFunction)) {
+            return SortedOutputs.newImmutableSortedMap(Iterables.filter(iterable, predicate), keyFunction, Functions.<V>identity(), comparator);
+        }
+
         return OptimizedIterations.createFrom(iterable, predicate, keyFunction, ImmutableSortedMap.<K, V>orderedBy(comparator)).build();
     }
 
@@ -197,7 +213,7 @@ public final class ImmutableSortedMaps {
         checkArgument(keyFunction != null, "keyFunction must not be null.");
         checkArgument(valueFunction != null, "valueFunction must not be null.");
 
-        return OptimizedIterations.createFrom(iterable, predicate, keyFunction, valueFunction, ImmutableSortedMap.<K, V>naturalOrder()).build();
+        return SortedOutputs.newImmutableSortedMap(Iterables.filter(iterable, predicate), keyFunction, valueFunction, Ordering.<K>natural());
     }
 
     /**
@@ -227,6 +243,77 @@ public final class ImmutableSortedMaps {
         checkArgument(valueFunction != null, "valueFunction must not be null.");
         checkArgument(comparator != null, "comparator must not be null.");
 
+        if (SortedOutputs.isMonotonic(keyFunction)) {
+            return SortedOutputs.newImmutableSortedMap(Iterables.filter(iterable, predicate), keyFunction, valueFunction, comparator);
+        }
+
         return OptimizedIterations.createFrom(iterable, predicate, keyFunction, valueFunction, ImmutableSortedMap.<K, V>orderedBy(comparator)).build();
     }
+
+    /**
+     * Creates a new instance from the given {@code iterable} using multiple threads. Each iterable entry is mapped from its {@code keyFunction} result to
+     * its {@code valueFunction} result. The entries are sorted by their keys with a parallel merge sort and copied into the resulting map without sorting
+     * them again.
+     *
+     * @param iterable      the entries to be mapped, must not be modified during the build
+     * @param keyFunction   the function to retrieve the map key from an entry, must be thread-safe
+     * @param valueFunction the function to retrieve the map value from an entry, must be thread-safe
+     * @param executor      the executor to run the sorting tasks on
+     * @param parallelism   the maximum number of concurrent sorting tasks
+     * @param <E>           the type of the entries of the given {@code iterable}
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return an {@link com.google.common.collect.ImmutableSortedMap}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}, {@code parallelism} is not positive or multiple entries are
+     *                                  mapped to the same key
+     */
+    public static <E, K extends Comparable<K>, V> ImmutableSortedMap<K, V> createFrom(final Iterable<E> iterable,
+                                                                                      final Function<? super E, K> keyFunction,
+                                                                                      final Function<? super E, V> valueFunction,
+                                                                                      final ExecutorService executor,
+                                                                                      final int parallelism) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+        checkArgument(parallelism > 0, "parallelism must be positive.");
+
+        return ParallelSorts.newImmutableSortedMap(iterable, keyFunction, valueFunction, Ordering.<K>natural(), executor, parallelism);
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} using multiple threads. Each iterable entry is mapped from its {@code keyFunction} result to
+     * its {@code valueFunction} result. The entries are sorted by their keys with a parallel merge sort and copied into the resulting map without sorting
+     * them again. The resulting map is ordered by the given {@code comparator}.
+     *
+     * @param iterable      the entries to be mapped, must not be modified during the build
+     * @param keyFunction   the function to retrieve the map key from an entry, must be thread-safe
+     * @param valueFunction the function to retrieve the map value from an entry, must be thread-safe
+     * @param comparator    the comparator to sort the resulting map with, must be thread-safe
+     * @param executor      the executor to run the sorting tasks on
+     * @param parallelism   the maximum number of concurrent sorting tasks
+     * @param <E>           the type of the entries of the given {@code iterable}
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return an {@link com.google.common.collect.ImmutableSortedMap}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}, {@code parallelism} is not positive or multiple entries are
+     *                                  mapped to the same key
+     */
+    public static <E, K, V> ImmutableSortedMap<K, V> createFrom(final Iterable<E> iterable,
+                                                                final Function<? super E, K> keyFunction,
+                                                                final Function<? super E, V> valueFunction,
+                                                                final Comparator<K> comparator,
+                                                                final ExecutorService executor,
+                                                                final int parallelism) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+        checkArgument(comparator != null, "comparator must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+        checkArgument(parallelism > 0, "parallelism must be positive.");
+
+        return ParallelSorts.newImmutableSortedMap(iterable, keyFunction, valueFunction, comparator, executor, parallelism);
+    }
 }
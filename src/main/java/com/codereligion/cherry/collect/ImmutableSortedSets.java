@@ -18,8 +18,11 @@ package com.codereligion.cherry.collect;
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Ordering;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.SortedSet;
+import java.util.concurrent.ExecutorService;
 import static com.google.common.base.Preconditions.checkArgument;
 
 /**
@@ -49,7 +52,8 @@ public final class ImmutableSortedSets {
         checkArgument(iterable != null, "iterable must not be null.");
         checkArgument(function != null, "function must not be null.");
 
-        return OptimizedIterations.createFrom(iterable, function, ImmutableSortedSet.<T>naturalOrder()).build();
+        final ArrayList<T> elements = OptimizedIterations.createFrom(iterable, function, new ArrayList<T>());
+        return SortedOutputs.newImmutableSortedSet(elements, Ordering.<T>natural());
     }
 
     /**
@@ -70,6 +74,11 @@ public final class ImmutableSortedSets {
         checkArgument(function != null, "function must not be null.");
         checkArgument(comparator != null, "comparator must not be null.");
 
+        if (SortedOutputs.isMonotonic(function)) {
+            final ArrayList<T> elements = OptimizedIterations.createFrom(iterable, function, new ArrayList<T>());
+            return SortedOutputs.newImmutableSortedSet(elements, comparator);
+        }
+
         return OptimizedIterations.createFrom(iterable, function, ImmutableSortedSet.orderedBy(comparator)).build();
     }
 
@@ -87,7 +96,8 @@ public final class ImmutableSortedSets {
         checkArgument(iterable != null, "iterable must not be null.");
         checkArgument(predicate != null, "predicate must not be null.");
 
-        return OptimizedIterations.createFrom(iterable, predicate, ImmutableSortedSet.<E>naturalOrder()).build();
+        final ArrayList<E> elements = OptimizedIterations.createFrom(iterable, predicate, new ArrayList<E>());
+        return SortedOutputs.newImmutableSortedSet(elements, Ordering.<E>natural());
     }
 
     /**
@@ -107,6 +117,11 @@ public final class ImmutableSortedSets {
         checkArgument(predicate != null, "predicate must not be null.");
         checkArgument(comparator != null, "comparator must not be null.");
 
+        if (SortedOutputs.isOrderedBy(iterable, comparator)) {
+            final ArrayList<E> elements = OptimizedIterations.createFrom(iterable, predicate, new ArrayList<E>());
+            return SortedOutputs.newImmutableSortedSet(elements, comparator);
+        }
+
         return OptimizedIterations.createFrom(iterable, predicate, ImmutableSortedSet.orderedBy(comparator)).build();
     }
 
@@ -129,7 +144,8 @@ public final class ImmutableSortedSets {
         checkArgument(predicate != null, "predicate must not be null.");
         checkArgument(function != null, "function must not be null.");
 
-        return OptimizedIterations.createFrom(iterable, predicate, function, ImmutableSortedSet.<T>naturalOrder()).build();
+        final ArrayList<T> elements = OptimizedIterations.createFrom(iterable, predicate, function, new ArrayList<T>());
+        return SortedOutputs.newImmutableSortedSet(elements, Ordering.<T>natural());
     }
 
     /**
@@ -155,7 +171,67 @@ public final class ImmutableSortedSets {
         checkArgument(function != null, "function must not be null.");
         checkArgument(comparator != null, "comparator must not be null.");
 
+        if (SortedOutputs.isMonotonic(function)) {
+            final ArrayList<T> elements = OptimizedIterations.createFrom(iterable, predicate, function, new ArrayList<T>());
+            return SortedOutputs.newImmutableSortedSet(elements, comparator);
+        }
+
         return OptimizedIterations.createFrom(iterable, predicate, function, ImmutableSortedSet.orderedBy(comparator)).build();
     }
 
+    /**
+     * Creates a new instance from the given {@code iterable} using multiple threads by converting each entry with the given {@code function}. The converted
+     * entries are sorted by a parallel merge sort and copied into the resulting set without sorting them again.
+     *
+     * @param iterable    the entries to be transformed, must not be modified during the build
+     * @param function    the function to transform the entries with, must be thread-safe
+     * @param executor    the executor to run the sorting tasks on
+     * @param parallelism the maximum number of concurrent sorting tasks
+     * @param <F>         the type of the entries of the given {@code iterable}
+     * @param <T>         the type of the resulting entries
+     * @return an {@link com.google.common.collect.ImmutableSortedSet}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code parallelism} is not positive
+     */
+    public static <F, T extends Comparable<T>> ImmutableSortedSet<T> createFrom(final Iterable<F> iterable,
+                                                                                final Function<? super F, T> function,
+                                                                                final ExecutorService executor,
+                                                                                final int parallelism) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(function != null, "function must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+        checkArgument(parallelism > 0, "parallelism must be positive.");
+
+        return ParallelSorts.newImmutableSortedSet(iterable, function, Ordering.<T>natural(), executor, parallelism);
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} using multiple threads by converting each entry with the given {@code function}. The converted
+     * entries are sorted by a parallel merge sort and copied into the resulting set without sorting them again. The resulting set is ordered by the given
+     * {@code comparator}.
+     *
+     * @param iterable    the entries to be transformed, must not be modified during the build
+     * @param function    the function to transform the entries with, must be thread-safe
+     * @param comparator  the comparator to sort the resulting set with, must be thread-safe
+     * @param executor    the executor to run the sorting tasks on
+     * @param parallelism the maximum number of concurrent sorting tasks
+     * @param <F>         the type of the entries of the given {@code iterable}
+     * @param <T>         the type of the resulting entries
+     * @return an {@link com.google.common.collect.ImmutableSortedSet}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code parallelism} is not positive
+     */
+    public static <F, T> ImmutableSortedSet<T> createFrom(final Iterable<F> iterable,
+                                                          final Function<? super F, T> function,
+                                                          final Comparator<T> comparator,
+                                                          final ExecutorService executor,
+                                                          final int parallelism) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(function != null, "function must not be null.");
+        checkArgument(comparator != null, "comparator must not be null.");
+        checkArgument(executor != null, "executor must not be null.");
+        checkArgument(parallelism > 0, "parallelism must be positive.");
+
+        return ParallelSorts.newImmutableSortedSet(iterable, function, comparator, executor, parallelism);
+    }
 }
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Objects;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Maps;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link java.util.HashMap} based index which is kept up to date by applying change events instead of rebuilding it. The predicate and the key and value
+ * functions the index was created with are only applied to the changed elements, so each event costs the same as inserting a single element.
+ * <p/>
+ * Like {@link com.codereligion.cherry.collect.HashMaps}, the last element added for a key wins. The index keeps the elements which were replaced under the
+ * same key, so when the element a key is mapped to is removed, the key is mapped to the latest remaining element with that key. The index therefore always
+ * equals a {@link com.codereligion.cherry.collect.HashMaps} rebuild over the remaining elements in the order they were added. Instances are not thread safe.
+ *
+ * @param <E> the type of the indexed elements
+ * @param <K> the type of the keys of the index
+ * @param <V> the type of the values of the index
+ * @since 19.10.2026
+ */
+public final class IncrementalMapIndex<E, K, V> {
+
+    private final Predicate<? super E> predicate;
+    private final Function<? super E, K> keyFunction;
+    private final Function<? super E, V> valueFunction;
+    private final HashMap<K, V> map;
+    private final HashMap<K, E> holders;
+    private final ArrayListMultimap<K, E> replaced = ArrayListMultimap.create();
+    private final Map<K, V> unmodifiableMap;
+
+    IncrementalMapIndex(final Iterable<? extends E> iterable,
+                        final Predicate<? super E> predicate,
+                        final Function<? super E, K> keyFunction,
+                        final Function<? super E, V> valueFunction) {
+        this.predicate = predicate;
+        this.keyFunction = keyFunction;
+        this.valueFunction = valueFunction;
+
+        final int expectedSize = iterable instanceof Collection ? ((Collection<?>) iterable).size() : 0;
+        this.map = Maps.newHashMapWithExpectedSize(expectedSize);
+        this.holders = Maps.newHashMapWithExpectedSize(expectedSize);
+        this.unmodifiableMap = Collections.unmodifiableMap(map);
+
+        for (final E element : iterable) {
+            add(element);
+        }
+    }
+
+    /**
+     * Adds the given {@code element} to the index, if the predicate applies to it.
+     *
+     * @param element the new element
+     * @return {@code true} if the element was added to the index
+     */
+    public boolean add(final E element) {
+
+        if (!predicate.apply(element)) {
+            return false;
+        }
+
+        final K key = keyFunction.apply(element);
+        if (holders.containsKey(key)) {
+            replaced.put(key, holders.get(key));
+        }
+        holders.put(key, element);
+        map.put(key, valueFunction.apply(element));
+        return true;
+    }
+
+    /**
+     * Removes the given {@code element} from the index. The element must be equal to the element which was added, in particular its key must not have
+     * changed since. If equal elements were added more than once, the earliest one is removed. If the key of the element is mapped to it, the key is mapped
+     * to the latest remaining element with that key instead, or removed if there is none.
+     *
+     * @param element the removed element
+     * @return {@code true} if the element was removed from the index
+     */
+    public boolean remove(final E element) {
+
+        if (!predicate.apply(element)) {
+            return false;
+        }
+
+        final K key = keyFunction.apply(element);
+        final List<E> earlier = replaced.get(key);
+        final int index = earlier.indexOf(element);
+        if (index >= 0) {
+            earlier.remove(index);
+            return true;
+        }
+
+        final E holder = holders.get(key);
+        if ((holder == null && !holders.containsKey(key)) || !Objects.equal(holder, element)) {
+            return false;
+        }
+
+        if (earlier.isEmpty()) {
+            holders.remove(key);
+            map.remove(key);
+        } else {
+            final E latest = earlier.remove(earlier.size() - 1);
+            holders.put(key, latest);
+            map.put(key, valueFunction.apply(latest));
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the given {@code oldElement} with the given {@code newElement}, which is the same as removing the former and adding the latter.
+     *
+     * @param oldElement the element as it was added to the index
+     * @param newElement the changed element
+     * @return {@code true} if the index changed, i.e. the old element was removed or the new element was added
+     */
+    public boolean update(final E oldElement, final E newElement) {
+        final boolean removed = remove(oldElement);
+        return add(newElement) || removed;
+    }
+
+    /**
+     * @return an unmodifiable, live view of the index
+     */
+    public Map<K, V> asMap() {
+        return unmodifiableMap;
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Multimaps;
+
+/**
+ * A {@link com.google.common.collect.ArrayListMultimap} based index which is kept up to date by applying change events instead of rebuilding it. The
+ * predicate and the key and value functions the index was created with are only applied to the changed elements, so each event costs the same as inserting
+ * a single element, plus a scan of the values of the affected key on removal.
+ * <p/>
+ * Added values are appended to the values of their key, so after updates the order of the values may differ from the order of a full rebuild. Instances
+ * are not thread safe.
+ *
+ * @param <E> the type of the indexed elements
+ * @param <K> the type of the keys of the index
+ * @param <V> the type of the values of the index
+ * @since 19.10.2026
+ */
+public final class IncrementalMultimapIndex<E, K, V> {
+
+    private final Predicate<? super E> predicate;
+    private final Function<? super E, K> keyFunction;
+    private final Function<? super E, V> valueFunction;
+    private final ArrayListMultimap<K, V> multimap;
+    private final ListMultimap<K, V> unmodifiableMultimap;
+
+    IncrementalMultimapIndex(final Predicate<? super E> predicate,
+                             final Function<? super E, K> keyFunction,
+                             final Function<? super E, V> valueFunction,
+                             final ArrayListMultimap<K, V> multimap) {
+        this.predicate = predicate;
+        this.keyFunction = keyFunction;
+        this.valueFunction = valueFunction;
+        this.multimap = multimap;
+        this.unmodifiableMultimap = Multimaps.unmodifiableListMultimap(multimap);
+    }
+
+    /**
+     * Adds the given {@code element} to the index, if the predicate applies to it.
+     *
+     * @param element the new element
+     * @return {@code true} if the element was added to the index
+     */
+    public boolean add(final E element) {
+
+        if (!predicate.apply(element)) {
+            return false;
+        }
+
+        return multimap.put(keyFunction.apply(element), valueFunction.apply(element));
+    }
+
+    /**
+     * Removes one occurrence of the given {@code element} from the index. The element must be equal to the element which was added, in particular its key
+     * and value must not have changed since.
+     *
+     * @param element the removed element
+     * @return {@code true} if the index changed
+     */
+    public boolean remove(final E element) {
+
+        if (!predicate.apply(element)) {
+            return false;
+        }
+
+        return multimap.remove(keyFunction.apply(element), valueFunction.apply(element));
+    }
+
+    /**
+     * Replaces the given {@code oldElement} with the given {@code newElement}, which is the same as removing the former and adding the latter.
+     *
+     * @param oldElement the element as it was added to the index
+     * @param newElement the changed element
+     * @return {@code true} if the index changed
+     */
+    public boolean update(final E oldElement, final E newElement) {
+        final boolean removed = remove(oldElement);
+        return add(newElement) || removed;
+    }
+
+    /**
+     * @return an unmodifiable, live view of the index
+     */
+    public ListMultimap<K, V> asMultimap() {
+        return unmodifiableMultimap;
+    }
+}
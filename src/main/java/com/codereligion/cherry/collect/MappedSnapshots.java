@@ -0,0 +1,182 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.collect.Multimap;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.Map;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Writes maps and multimaps into files and opens them again as memory mapped, read-only snapshots. Opening a snapshot only maps the file, keys and values are
+ * decoded on access, which makes startup independent of the snapshot size. Since the file is mapped read-only, the operating system shares its pages between
+ * all processes which open the same snapshot.
+ * <p/>
+ * Snapshots are written to a temporary file which is then renamed, so processes which still have an old version mapped are not affected. A snapshot file can
+ * not be larger than 2GB.
+ *
+ * @since 19.10.2026
+ */
+public final class MappedSnapshots {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private MappedSnapshots() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Writes the given {@code map} into the given {@code file}, replacing it if it exists.
+     *
+     * @param map        the map to write, must not contain {@code null} keys or values
+     * @param file       the file to write to
+     * @param keyCodec   the codec to encode the keys with
+     * @param valueCodec the codec to encode the values with
+     * @param <K>        the type of the keys of the given map
+     * @param <V>        the type of the values of the given map
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or the map contains {@code null} keys or values
+     * @throws IOException              when the file could not be written
+     */
+    public static <K, V> void write(final Map<? extends K, ? extends V> map,
+                                    final File file,
+                                    final ElementCodec<K> keyCodec,
+                                    final ElementCodec<V> valueCodec) throws IOException {
+
+        checkArgument(map != null, "map must not be null.");
+        checkArgument(file != null, "file must not be null.");
+        checkArgument(keyCodec != null, "keyCodec must not be null.");
+        checkArgument(valueCodec != null, "valueCodec must not be null.");
+
+        write(BinaryMapFormat.encode(map, keyCodec, valueCodec), file);
+    }
+
+    /**
+     * Writes the given {@code multimap} into the given {@code file}, replacing it if it exists. The values of each key are stored in their iteration order.
+     *
+     * @param multimap   the multimap to write, must not contain {@code null} keys or values
+     * @param file       the file to write to
+     * @param keyCodec   the codec to encode the keys with
+     * @param valueCodec the codec to encode the values with
+     * @param <K>        the type of the keys of the given multimap
+     * @param <V>        the type of the values of the given multimap
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or the multimap contains {@code null} keys or values
+     * @throws IOException              when the file could not be written
+     */
+    public static <K, V> void write(final Multimap<K, V> multimap,
+                                    final File file,
+                                    final ElementCodec<K> keyCodec,
+                                    final ElementCodec<V> valueCodec) throws IOException {
+
+        checkArgument(multimap != null, "multimap must not be null.");
+        checkArgument(file != null, "file must not be null.");
+        checkArgument(keyCodec != null, "keyCodec must not be null.");
+        checkArgument(valueCodec != null, "valueCodec must not be null.");
+
+        write(BinaryMapFormat.encode(BinaryMapFormat.asListMap(multimap), keyCodec, ElementCodecs.listCodec(valueCodec)), file);
+    }
+
+    /**
+     * Opens a snapshot which was written by {@link #write(java.util.Map, java.io.File, ElementCodec, ElementCodec)}. The returned map is read-only, thread
+     * safe and stays valid after the file has been replaced or deleted.
+     *
+     * @param file       the file to open
+     * @param keyCodec   the codec to decode the keys with
+     * @param valueCodec the codec to decode the values with
+     * @param <K>        the type of the keys of the resulting map
+     * @param <V>        the type of the values of the resulting map
+     * @return a read-only {@link java.util.Map} backed by the mapped file
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or the file is not a snapshot
+     * @throws IOException              when the file could not be read
+     */
+    public static <K, V> Map<K, V> openMap(final File file, final ElementCodec<K> keyCodec, final ElementCodec<V> valueCodec) throws IOException {
+
+        checkArgument(file != null, "file must not be null.");
+        checkArgument(keyCodec != null, "keyCodec must not be null.");
+        checkArgument(valueCodec != null, "valueCodec must not be null.");
+
+        return BinaryMapFormat.view(map(file), keyCodec, valueCodec);
+    }
+
+    /**
+     * Opens a snapshot which was written by {@link #write(com.google.common.collect.Multimap, java.io.File, ElementCodec, ElementCodec)}. The returned map
+     * corresponds to {@link com.google.common.collect.ListMultimap#asMap()}, it is read-only, thread safe and stays valid after the file has been replaced or
+     * deleted.
+     *
+     * @param file       the file to open
+     * @param keyCodec   the codec to decode the keys with
+     * @param valueCodec the codec to decode the values with
+     * @param <K>        the type of the keys of the resulting map
+     * @param <V>        the type of the values of the resulting map
+     * @return a read-only {@link java.util.Map} from each key to all its values, backed by the mapped file
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or the file is not a snapshot
+     * @throws IOException              when the file could not be read
+     */
+    public static <K, V> Map<K, List<V>> openMultimap(final File file,
+                                                      final ElementCodec<K> keyCodec,
+                                                      final ElementCodec<V> valueCodec) throws IOException {
+
+        checkArgument(file != null, "file must not be null.");
+        checkArgument(keyCodec != null, "keyCodec must not be null.");
+        checkArgument(valueCodec != null, "valueCodec must not be null.");
+
+        return BinaryMapFormat.view(map(file), keyCodec, ElementCodecs.listCodec(valueCodec));
+    }
+
+    private static void write(final BinaryMapFormat.Encoded encoded, final File file) throws IOException {
+
+        final File directory = file.getAbsoluteFile().getParentFile();
+        final File temporaryFile = File.createTempFile(file.getName(), ".tmp", directory);
+        boolean renamed = false;
+        try {
+            final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporaryFile), WRITE_BUFFER_SIZE));
+            try {
+                encoded.writeTo(output);
+            } finally {
+                output.close();
+            }
+
+            renamed = temporaryFile.renameTo(file);
+            if (!renamed) {
+                throw new IOException("Could not rename " + temporaryFile + " to " + file + ".");
+            }
+        } finally {
+            if (!renamed && !temporaryFile.delete()) {
+                temporaryFile.deleteOnExit();
+            }
+        }
+    }
+
+    static MappedByteBuffer map(final File file) throws IOException {
+
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            // the mapping stays valid after the channel has been closed
+            final FileChannel channel = randomAccessFile.getChannel();
+            checkArgument(channel.size() <= Integer.MAX_VALUE, "file %s is too large to be a snapshot.", file);
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+}
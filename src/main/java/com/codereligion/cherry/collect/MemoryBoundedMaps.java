@@ -0,0 +1,128 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.Maps;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Factory for maps, which stay within a memory budget where possible. The heap of a {@link java.util.HashMap} is estimated up front by
+ * {@link com.codereligion.cherry.collect.HeapEstimates} from a sample of the iterable. If it fits into the budget, a {@link java.util.HashMap} is built,
+ * otherwise a read-only hash map, which stores keys and values in two open addressing tables and needs about a third of the heap for its structure. An
+ * iterable, which is no {@link java.util.Collection}, is iterated only once and moves into the compact representation as soon as it outgrows the budget.
+ *
+ * @since 19.10.2026
+ */
+public final class MemoryBoundedMaps {
+
+    private MemoryBoundedMaps() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable}. Each iterable entry is mapped by its {@code keyFunction} result.
+     *
+     * @param iterable     the entries to be mapped
+     * @param keyFunction  the function to retrieve the map key from an entry
+     * @param memoryBudget the number of bytes a {@link java.util.HashMap} may be estimated to retain, before the compact representation is chosen
+     * @param <K>          the type of the keys of the resulting map
+     * @param <V>          the type of the values of the resulting map
+     * @return a {@link java.util.HashMap} or a compact, read-only {@link java.util.Map}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code memoryBudget} is negative
+     */
+    public static <K, V> Map<K, V> createFrom(final Iterable<V> iterable, final Function<? super V, K> keyFunction, final long memoryBudget) {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+
+        return createFrom(iterable, keyFunction, Functions.<V>identity(), memoryBudget);
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable}. Each iterable entry is mapped from its {@code keyFunction} result to its {@code valueFunction}
+     * result.
+     *
+     * @param iterable      the entries to be mapped
+     * @param keyFunction   the function to retrieve the map key from an entry
+     * @param valueFunction the function to retrieve the map value from an entry
+     * @param memoryBudget  the number of bytes a {@link java.util.HashMap} may be estimated to retain, before the compact representation is chosen
+     * @param <E>           the type of the entries of the given {@code iterable}
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return a {@link java.util.HashMap} or a compact, read-only {@link java.util.Map}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code memoryBudget} is negative
+     */
+    public static <E, K, V> Map<K, V> createFrom(final Iterable<E> iterable,
+                                                 final Function<? super E, K> keyFunction,
+                                                 final Function<? super E, V> valueFunction,
+                                                 final long memoryBudget) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+        checkArgument(memoryBudget >= 0, "memoryBudget must not be negative.");
+
+        if (!(iterable instanceof Collection)) {
+            return createFrom(iterable.iterator(), keyFunction, valueFunction, memoryBudget);
+        }
+
+        final Collection<E> entries = (Collection<E>) iterable;
+        final long estimate = HeapEstimates.estimate(HeapLayout.HASH_MAP, entries.size(), HeapEstimates.sampleOf(entries), keyFunction, valueFunction);
+        if (estimate <= memoryBudget) {
+            return OptimizedIterations.createFrom(entries, keyFunction, valueFunction, Maps.<K, V>newHashMapWithExpectedSize(entries.size()));
+        }
+        return CompactHashMap.create(entries, entries.size(), keyFunction, valueFunction);
+    }
+
+    /**
+     * Fills a {@link java.util.HashMap} from an iterator of unknown size, while the heap estimated from its first entries grows by an eighth at a time. Once
+     * the estimate exceeds the budget, the entries mapped so far move into the compact representation, which takes the remaining entries.
+     */
+    private static <E, K, V> Map<K, V> createFrom(final Iterator<E> iterator,
+                                                  final Function<? super E, K> keyFunction,
+                                                  final Function<? super E, V> valueFunction,
+                                                  final long memoryBudget) {
+
+        final List<E> sample = new ArrayList<E>(HeapEstimates.SAMPLE_SIZE);
+        final Map<K, V> map = Maps.newHashMap();
+        long size = 0;
+        long nextCheck = HeapEstimates.SAMPLE_SIZE;
+        while (iterator.hasNext()) {
+            final E entry = iterator.next();
+            if (sample.size() < HeapEstimates.SAMPLE_SIZE) {
+                sample.add(entry);
+            }
+            map.put(keyFunction.apply(entry), valueFunction.apply(entry));
+            if (++size == nextCheck) {
+                if (HeapEstimates.estimate(HeapLayout.HASH_MAP, size, sample, keyFunction, valueFunction) > memoryBudget) {
+                    return CompactHashMap.create(map, iterator, keyFunction, valueFunction);
+                }
+                nextCheck = size + size / 8;
+            }
+        }
+
+        if (size == 0 || HeapEstimates.estimate(HeapLayout.HASH_MAP, size, sample, keyFunction, valueFunction) <= memoryBudget) {
+            return map;
+        }
+        return CompactHashMap.create(map, iterator, keyFunction, valueFunction);
+    }
+}
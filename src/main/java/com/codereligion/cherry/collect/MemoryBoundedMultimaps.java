@@ -0,0 +1,166 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.SetMultimap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Factory for set multimaps, which stay within a memory budget where possible. The heap of a {@link com.google.common.collect.HashMultimap} is estimated up
+ * front by {@link com.codereligion.cherry.collect.HeapEstimates} from a sample of the iterable. If it fits into the budget, a
+ * {@link com.google.common.collect.HashMultimap} is built, otherwise an {@link com.google.common.collect.ImmutableSetMultimap}, which stores the values of
+ * each key in arrays instead of one node per value. It is filled from lists of values per key, which are deduplicated once complete. An iterable, which
+ * is no {@link java.util.Collection}, is iterated only once and moves into the compact representation as soon as it outgrows the budget. The compact
+ * representation does not allow {@code null} keys or values.
+ *
+ * @since 19.10.2026
+ */
+public final class MemoryBoundedMultimaps {
+
+    private MemoryBoundedMultimaps() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable}. Each iterable entry is mapped by its {@code keyFunction} result.
+     *
+     * @param iterable     the entries to be mapped
+     * @param keyFunction  the function to retrieve the map key from an entry
+     * @param memoryBudget the number of bytes a {@link com.google.common.collect.HashMultimap} may be estimated to retain, before the compact representation
+     *                     is chosen
+     * @param <K>          the type of the keys of the resulting multimap
+     * @param <V>          the type of the values of the resulting multimap
+     * @return a {@link com.google.common.collect.HashMultimap} or an {@link com.google.common.collect.ImmutableSetMultimap}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code memoryBudget} is negative
+     */
+    public static <K, V> SetMultimap<K, V> createFrom(final Iterable<V> iterable, final Function<? super V, K> keyFunction, final long memoryBudget) {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+
+        return createFrom(iterable, keyFunction, Functions.<V>identity(), memoryBudget);
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable}. Each iterable entry is mapped from its {@code keyFunction} result to its {@code valueFunction}
+     * result.
+     *
+     * @param iterable      the entries to be mapped
+     * @param keyFunction   the function to retrieve the map key from an entry
+     * @param valueFunction the function to retrieve the map value from an entry
+     * @param memoryBudget  the number of bytes a {@link com.google.common.collect.HashMultimap} may be estimated to retain, before the compact
+     *                      representation is chosen
+     * @param <E>           the type of the entries of the given {@code iterable}
+     * @param <K>           the type of the keys of the resulting multimap
+     * @param <V>           the type of the values of the resulting multimap
+     * @return a {@link com.google.common.collect.HashMultimap} or an {@link com.google.common.collect.ImmutableSetMultimap}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or {@code memoryBudget} is negative
+     */
+    public static <E, K, V> SetMultimap<K, V> createFrom(final Iterable<E> iterable,
+                                                         final Function<? super E, K> keyFunction,
+                                                         final Function<? super E, V> valueFunction,
+                                                         final long memoryBudget) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+        checkArgument(memoryBudget >= 0, "memoryBudget must not be negative.");
+
+        if (!(iterable instanceof Collection)) {
+            return createFrom(iterable.iterator(), keyFunction, valueFunction, memoryBudget);
+        }
+
+        final Collection<E> entries = (Collection<E>) iterable;
+        final List<E> sample = HeapEstimates.sampleOf(entries);
+        final long estimate = HeapEstimates.estimate(HeapLayout.HASH_MULTIMAP, entries.size(), sample, keyFunction, valueFunction);
+        if (estimate <= memoryBudget) {
+            return OptimizedIterations.createFrom(entries, keyFunction, valueFunction, HashMultimap.<K, V>create());
+        }
+
+        final int keys = (int) Math.max(1, HeapEstimates.distinctKeys(entries.size(), sample, keyFunction));
+        final ListMultimap<K, V> groups = ArrayListMultimap.create(keys, Math.max(1, entries.size() / keys));
+        return compact(groups, entries.iterator(), keyFunction, valueFunction);
+    }
+
+    /**
+     * Fills a {@link com.google.common.collect.HashMultimap} from an iterator of unknown size, while the heap estimated from its first entries grows by an
+     * eighth at a time. Once the estimate exceeds the budget, the entries mapped so far move into the compact representation, which takes the remaining
+     * entries.
+     */
+    private static <E, K, V> SetMultimap<K, V> createFrom(final Iterator<E> iterator,
+                                                          final Function<? super E, K> keyFunction,
+                                                          final Function<? super E, V> valueFunction,
+                                                          final long memoryBudget) {
+
+        final List<E> sample = new ArrayList<E>(HeapEstimates.SAMPLE_SIZE);
+        final SetMultimap<K, V> multimap = HashMultimap.create();
+        long size = 0;
+        long nextCheck = HeapEstimates.SAMPLE_SIZE;
+        while (iterator.hasNext()) {
+            final E entry = iterator.next();
+            if (sample.size() < HeapEstimates.SAMPLE_SIZE) {
+                sample.add(entry);
+            }
+            multimap.put(keyFunction.apply(entry), valueFunction.apply(entry));
+            if (++size == nextCheck) {
+                if (HeapEstimates.estimate(HeapLayout.HASH_MULTIMAP, size, sample, keyFunction, valueFunction) > memoryBudget) {
+                    return compact(moveToLists(multimap), iterator, keyFunction, valueFunction);
+                }
+                nextCheck = size + size / 8;
+            }
+        }
+
+        if (size == 0 || HeapEstimates.estimate(HeapLayout.HASH_MULTIMAP, size, sample, keyFunction, valueFunction) <= memoryBudget) {
+            return multimap;
+        }
+        return compact(moveToLists(multimap), iterator, keyFunction, valueFunction);
+    }
+
+    /**
+     * Copies the given {@code multimap} into lists of values per key and clears it, so that its sets can be collected while the remaining entries are read.
+     */
+    private static <K, V> ListMultimap<K, V> moveToLists(final SetMultimap<K, V> multimap) {
+
+        final ListMultimap<K, V> groups = ArrayListMultimap.create(multimap);
+        multimap.clear();
+        return groups;
+    }
+
+    /**
+     * Groups the {@code remaining} entries into the given lists of values per key and copies them into an
+     * {@link com.google.common.collect.ImmutableSetMultimap}, which removes duplicate values of a key only once its list is complete.
+     */
+    private static <E, K, V> SetMultimap<K, V> compact(final ListMultimap<K, V> groups,
+                                                       final Iterator<E> remaining,
+                                                       final Function<? super E, K> keyFunction,
+                                                       final Function<? super E, V> valueFunction) {
+
+        while (remaining.hasNext()) {
+            final E entry = remaining.next();
+            groups.put(keyFunction.apply(entry), valueFunction.apply(entry));
+        }
+        return ImmutableSetMultimap.copyOf(groups);
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+
+/**
+ * Function which is declared to preserve the order of its inputs, see {@link com.codereligion.cherry.collect.MonotonicFunctions}.
+ *
+ * @param <F> the type of the input of the function
+ * @param <T> the type of the output of the function
+ * @since 19.10.2026
+ */
+final class MonotonicFunction<F, T> implements Function<F, T> {
+
+    private final Function<F, T> delegate;
+
+    MonotonicFunction(final Function<F, T> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public T apply(final F input) {
+        return delegate.apply(input);
+    }
+
+    @Override
+    public boolean equals(final Object object) {
+        return object instanceof MonotonicFunction && delegate.equals(((MonotonicFunction<?, ?>) object).delegate);
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "monotonic(" + delegate + ")";
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Declares functions as monotonic, which means that they map entries, which are iterated in ascending order, to results in ascending order of the comparator
+ * of a sorted output. E.g. a function, which maps ascending ids to wrappers ordered by id, is monotonic. When building a
+ * {@link java.util.TreeSet}, {@link java.util.TreeMap}, {@link com.google.common.collect.ImmutableSortedSet} or
+ * {@link com.google.common.collect.ImmutableSortedMap} with a monotonic function, the factories of this package check the order of the results in a single
+ * pass and build the output in linear time without sorting it. If the results turn out not to be in order, the output is sorted as usual, so a wrong
+ * declaration only costs performance, never correctness.
+ *
+ * @since 19.10.2026
+ */
+public final class MonotonicFunctions {
+
+    private MonotonicFunctions() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Declares the given {@code function} as monotonic.
+     *
+     * @param function the function to declare as monotonic
+     * @param <F>      the type of the input of the function
+     * @param <T>      the type of the output of the function
+     * @return a function, which behaves like the given {@code function}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <F, T> Function<F, T> monotonic(final Function<F, T> function) {
+
+        checkArgument(function != null, "function must not be null.");
+
+        if (function instanceof MonotonicFunction) {
+            return function;
+        }
+        return new MonotonicFunction<F, T>(function);
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import java.lang.reflect.Array;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Factory for object arrays. The entries are written straight into an array, which is sized by the number of entries of the given iterable, if it is a
+ * {@link java.util.Collection}. The array is trimmed once at the end, if not all entries were added. This avoids the intermediate
+ * {@link java.util.ArrayList} and its second copy of creating an array through {@code ArrayLists.createFrom(...).toArray(...)}.
+ *
+ * @since 19.10.2026
+ */
+public final class ObjectArrays {
+
+    private ObjectArrays() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Creates a new array from the given {@code iterable} by converting each entry with the given {@code function}.
+     *
+     * @param iterable the entries to be transformed
+     * @param function the function to transform the entries with
+     * @param type     the component type of the resulting array
+     * @param <F>      the type of the entries of the given {@code iterable}
+     * @param <T>      the type of the resulting entries
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or the given {@code type} is primitive
+     */
+    public static <F, T> T[] createFrom(final Iterable<F> iterable, final Function<? super F, T> function, final Class<T> type) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(function != null, "function must not be null.");
+        checkType(type);
+
+        return OptimizedIterations.createFrom(iterable, function, newArray(type, OptimizedIterations.initialArrayCapacityOf(iterable)));
+    }
+
+    /**
+     * Creates a new array from the given {@code iterable} by only using the entries to which the given {@code predicate} applies.
+     *
+     * @param iterable  the entries to be filtered
+     * @param predicate the predicate to filter the entries with
+     * @param type      the component type of the resulting array
+     * @param <E>       the type of the entries to be filtered
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or the given {@code type} is primitive
+     */
+    public static <E> E[] createFrom(final Iterable<E> iterable, final Predicate<? super E> predicate, final Class<E> type) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkType(type);
+
+        return OptimizedIterations.createFrom(iterable, predicate, newArray(type, OptimizedIterations.initialArrayCapacityOf(iterable)));
+    }
+
+    /**
+     * Creates a new array from the given {@code iterable} by converting each entry with the given {@code function}, if the given {@code predicate} applies.
+     *
+     * @param iterable  the entries to be filtered and transformed
+     * @param predicate the predicate to filter the entries with
+     * @param function  the function to transform the entries with
+     * @param type      the component type of the resulting array
+     * @param <F>       the type of the entries of the given {@code iterable}
+     * @param <T>       the type of the resulting entries
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null} or the given {@code type} is primitive
+     */
+    public static <F, T> T[] createFrom(final Iterable<F> iterable,
+                                        final Predicate<? super F> predicate,
+                                        final Function<? super F, T> function,
+                                        final Class<T> type) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(function != null, "function must not be null.");
+        checkType(type);
+
+        return OptimizedIterations.createFrom(iterable, predicate, function, newArray(type, OptimizedIterations.initialArrayCapacityOf(iterable)));
+    }
+
+    private static void checkType(final Class<?> type) {
+        checkArgument(type != null, "type must not be null.");
+        checkArgument(!type.isPrimitive(), "type must not be primitive.");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] newArray(final Class<T> type, final int length) {
+        return (T[]) Array.newInstance(type, length);
+    }
+}
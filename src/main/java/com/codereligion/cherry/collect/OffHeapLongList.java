@@ -0,0 +1,161 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * An append-only list of {@code long} values which are stored in direct memory outside of the java heap. The values are kept in fixed size chunks, so the
+ * list can grow beyond the maximum array size without ever being copied and without creating humongous objects for the garbage collector.
+ * <p/>
+ * The native memory is released when {@link #close()} is called. Any access after closing causes an {@link IllegalStateException}. Instances are not thread
+ * safe.
+ *
+ * @since 19.10.2026
+ */
+public final class OffHeapLongList implements Closeable {
+
+    private static final int MIN_CHUNK_SHIFT = 10;
+    private static final int MAX_CHUNK_SHIFT = 16;
+    private static final int BYTES_PER_LONG = 8;
+
+    private final int chunkShift;
+    private final int chunkMask;
+    private ByteBuffer[] chunks = new ByteBuffer[4];
+    private int chunkCount;
+    private long size;
+    private boolean closed;
+
+    /**
+     * Creates a new empty list. The given {@code expectedSize} is only used to choose a chunk size which does not waste memory for small lists, a negative
+     * value means the size is unknown.
+     */
+    OffHeapLongList(final long expectedSize) {
+        this.chunkShift = chooseChunkShift(expectedSize);
+        this.chunkMask = (1 << chunkShift) - 1;
+    }
+
+    private static int chooseChunkShift(final long expectedSize) {
+
+        if (expectedSize < 0) {
+            return MAX_CHUNK_SHIFT;
+        }
+
+        int shift = MIN_CHUNK_SHIFT;
+        while (shift < MAX_CHUNK_SHIFT && (1L << shift) < expectedSize) {
+            shift++;
+        }
+        return shift;
+    }
+
+    void add(final long value) {
+
+        checkState(!closed, "list has been closed.");
+
+        final int offset = (int) (size & chunkMask);
+        if (offset == 0) {
+            addChunk();
+        }
+        chunks[chunkCount - 1].putLong(offset * BYTES_PER_LONG, value);
+        size++;
+    }
+
+    private void addChunk() {
+
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        chunks[chunkCount++] = DirectBuffers.allocate(BYTES_PER_LONG << chunkShift);
+    }
+
+    /**
+     * Returns the value at the given {@code index}.
+     *
+     * @param index the index of the value to retrieve
+     * @return the value at the given {@code index}
+     * @throws IndexOutOfBoundsException when the given {@code index} is negative or not less than {@link #size()}
+     * @throws IllegalStateException     when the list has been closed
+     */
+    public long get(final long index) {
+
+        checkState(!closed, "list has been closed.");
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index (" + index + ") must be within [0, " + size + ").");
+        }
+
+        return chunks[(int) (index >>> chunkShift)].getLong((int) (index & chunkMask) * BYTES_PER_LONG);
+    }
+
+    /**
+     * @return the number of values in this list
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if this list does not contain any values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Copies all values onto the java heap.
+     *
+     * @return a new array containing all values of this list in order
+     * @throws IllegalStateException when the list has been closed or is too large to fit into an array
+     */
+    public long[] toArray() {
+
+        checkState(!closed, "list has been closed.");
+        checkState(size <= Integer.MAX_VALUE - BYTES_PER_LONG, "list is too large to be copied into an array.");
+
+        final long[] result = new long[(int) size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = chunks[i >>> chunkShift].getLong((i & chunkMask) * BYTES_PER_LONG);
+        }
+        return result;
+    }
+
+    /**
+     * @return {@code true} if the native memory of this list has already been released
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Releases the native memory of this list. Calling this method more than once has no effect.
+     */
+    @Override
+    public void close() {
+
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        for (int i = 0; i < chunkCount; i++) {
+            DirectBuffers.free(chunks[i]);
+            chunks[i] = null;
+        }
+        chunkCount = 0;
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Predicate;
+import java.util.Collection;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Factory for {@link com.codereligion.cherry.collect.OffHeapLongList OffHeapLongLists}. The returned lists hold native memory, callers are responsible for
+ * {@link OffHeapLongList#close() closing} them.
+ *
+ * @since 19.10.2026
+ */
+public final class OffHeapLongLists {
+
+    private OffHeapLongLists() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} by converting each entry with the given {@code function}.
+     *
+     * @param iterable the entries to be transformed
+     * @param function the function to transform the entries with
+     * @param <F>      the type of the entries of the given {@code iterable}
+     * @return an {@link com.codereligion.cherry.collect.OffHeapLongList}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <F> OffHeapLongList createFrom(final Iterable<F> iterable, final ToLongFunction<? super F> function) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(function != null, "function must not be null.");
+
+        final OffHeapLongList list = new OffHeapLongList(expectedSizeOf(iterable));
+        boolean completed = false;
+        try {
+            OptimizedIterations.createFrom(iterable, function, list);
+            completed = true;
+            return list;
+        } finally {
+            if (!completed) {
+                list.close();
+            }
+        }
+    }
+
+    /**
+     * Creates a new instance from the given {@code iterable} by converting each entry with the given {@code function}, if the given {@code predicate} applies.
+     *
+     * @param iterable  the entries to be filtered and transformed
+     * @param predicate the predicate to filter the entries with
+     * @param function  the function to transform the entries with
+     * @param <F>       the type of the entries of the given {@code iterable}
+     * @return an {@link com.codereligion.cherry.collect.OffHeapLongList}, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <F> OffHeapLongList createFrom(final Iterable<F> iterable, final Predicate<? super F> predicate, final ToLongFunction<? super F> function) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(function != null, "function must not be null.");
+
+        final OffHeapLongList list = new OffHeapLongList(expectedSizeOf(iterable));
+        boolean completed = false;
+        try {
+            OptimizedIterations.createFrom(iterable, predicate, function, list);
+            completed = true;
+            return list;
+        } finally {
+            if (!completed) {
+                list.close();
+            }
+        }
+    }
+
+    private static long expectedSizeOf(final Iterable<?> iterable) {
+        return iterable instanceof Collection ? ((Collection<?>) iterable).size() : -1;
+    }
+}
@@ -19,21 +19,45 @@ import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ImmutableCollection;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Multimap;
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 final class OptimizedIterations {
 
+    /**
+     * Array backed lists, which are not {@link java.util.ArrayList ArrayLists}, but can be iterated by index just as cheaply.
+     */
+    private static final ImmutableSet<Class<?>> ARRAY_BACKED_LIST_CLASSES = ImmutableSet.<Class<?>>of(Arrays.asList().getClass(),
+                                                                                                     Ints.asList(0).getClass(),
+                                                                                                     Longs.asList(0L).getClass(),
+                                                                                                     Doubles.asList(0.0).getClass());
+
+    private static final int DEFAULT_ARRAY_CAPACITY = 16;
+
     private OptimizedIterations() {
         throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
     }
 
+    /**
+     * @return whether the given {@code iterable} is a list, which is iterated by index instead of by an iterator
+     */
+    static boolean isIndexed(final Iterable<?> iterable) {
+        return iterable instanceof ArrayList || iterable instanceof ArrayView || ARRAY_BACKED_LIST_CLASSES.contains(iterable.getClass());
+    }
+
     static <F, T, C extends Collection<T>> C createFrom(final Iterable<F> inputIterable, final Function<? super F, T> function, final C outputCollection) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<F> list = (List<F>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 outputCollection.add(function.apply(list.get(i)));
@@ -48,7 +72,7 @@ final class OptimizedIterations {
 
     static <E, C extends Collection<E>> C createFrom(final Iterable<E> inputIterable, final Predicate<? super E> predicate, final C outputCollection) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<E> list = (List<E>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final E e = list.get(i);
@@ -71,7 +95,7 @@ final class OptimizedIterations {
                                                         final Function<? super F, T> function,
                                                         final C outputCollection) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<F> list = (List<F>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final F f = list.get(i);
@@ -93,7 +117,7 @@ final class OptimizedIterations {
                                                                          final Function<? super F, T> function,
                                                                          final B builder) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<F> list = (List<F>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 builder.add(function.apply(list.get(i)));
@@ -108,7 +132,7 @@ final class OptimizedIterations {
 
     static <E, B extends ImmutableCollection.Builder<E>> B createFrom(final Iterable<E> inputIterable, final Predicate<? super E> predicate, final B builder) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<E> list = (List<E>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final E e = list.get(i);
@@ -131,7 +155,7 @@ final class OptimizedIterations {
                                                                          final Function<? super F, T> function,
                                                                          final B builder) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<F> list = (List<F>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final F f = list.get(i);
@@ -151,7 +175,7 @@ final class OptimizedIterations {
 
     static <K, V, M extends Map<K, V>> M createFrom(final Iterable<V> inputIterable, final Function<? super V, K> keyFunction, final M multimap) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<V> list = (List<V>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final V entry = list.get(i);
@@ -171,7 +195,7 @@ final class OptimizedIterations {
                                                        final Function<? super E, V> valueFunction,
                                                        final M multimap) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<E> list = (List<E>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final E entry = list.get(i);
@@ -191,7 +215,7 @@ final class OptimizedIterations {
                                                     final Function<? super V, K> keyFunction,
                                                     final M multimap) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<V> list = (List<V>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final V entry = list.get(i);
@@ -216,7 +240,7 @@ final class OptimizedIterations {
                                                        final Function<? super E, V> valueFunction,
                                                        final M multimap) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<E> list = (List<E>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final E entry = list.get(i);
@@ -237,7 +261,7 @@ final class OptimizedIterations {
 
     static <K, V, M extends Multimap<K, V>> M createFrom(final Iterable<V> inputIterable, final Function<? super V, K> keyFunction, final M multimap) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<V> list = (List<V>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final V entry = list.get(i);
@@ -257,7 +281,7 @@ final class OptimizedIterations {
                                                             final Function<? super E, V> valueFunction,
                                                             final M multimap) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<E> list = (List<E>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final E entry = list.get(i);
@@ -277,7 +301,7 @@ final class OptimizedIterations {
                                                          final Function<? super V, K> keyFunction,
                                                          final M multimap) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<V> list = (List<V>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final V entry = list.get(i);
@@ -302,7 +326,7 @@ final class OptimizedIterations {
                                                             final Function<? super E, V> valueFunction,
                                                             final M multimap) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<E> list = (List<E>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final E entry = list.get(i);
@@ -325,7 +349,7 @@ final class OptimizedIterations {
                                                                      final Function<? super V, K> keyFunction,
                                                                      final B builder) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<V> list = (List<V>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final V entry = list.get(i);
@@ -345,7 +369,7 @@ final class OptimizedIterations {
                                                                         final Function<? super E, V> valueFunction,
                                                                         final B builder) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<E> list = (List<E>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final E entry = list.get(i);
@@ -365,7 +389,7 @@ final class OptimizedIterations {
                                                                      final Function<? super V, K> keyFunction,
                                                                      final B builder) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<V> list = (List<V>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final V entry = list.get(i);
@@ -390,7 +414,7 @@ final class OptimizedIterations {
                                                                         final Function<? super E, V> valueFunction,
                                                                         final B builder) {
 
-        if (inputIterable instanceof ArrayList) {
+        if (isIndexed(inputIterable)) {
             final List<E> list = (List<E>) inputIterable;
             for (int i = 0; i < list.size(); i++) {
                 final E entry = list.get(i);
@@ -408,4 +432,619 @@ final class OptimizedIterations {
 
         return builder;
     }
+
+    static <F> OffHeapLongList createFrom(final Iterable<F> inputIterable, final ToLongFunction<? super F> function, final OffHeapLongList outputList) {
+
+        if (isIndexed(inputIterable)) {
+            final List<F> list = (List<F>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                outputList.add(function.apply(list.get(i)));
+            }
+        } else {
+            for (final F f : inputIterable) {
+                outputList.add(function.apply(f));
+            }
+        }
+        return outputList;
+    }
+
+    static <F> OffHeapLongList createFrom(final Iterable<F> inputIterable,
+                                          final Predicate<? super F> predicate,
+                                          final ToLongFunction<? super F> function,
+                                          final OffHeapLongList outputList) {
+
+        if (isIndexed(inputIterable)) {
+            final List<F> list = (List<F>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final F f = list.get(i);
+                if (predicate.apply(f)) {
+                    outputList.add(function.apply(f));
+                }
+            }
+        } else {
+            for (final F f : inputIterable) {
+                if (predicate.apply(f)) {
+                    outputList.add(function.apply(f));
+                }
+            }
+        }
+        return outputList;
+    }
+
+    static <K, V, M extends ConcurrentMultimap<K, V, ?>> M createFrom(final Iterable<V> inputIterable,
+                                                                      final Function<? super V, K> keyFunction,
+                                                                      final M multimap) {
+
+        if (isIndexed(inputIterable)) {
+            final List<V> list = (List<V>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final V entry = list.get(i);
+                multimap.put(keyFunction.apply(entry), entry);
+            }
+        } else {
+            for (final V entry : inputIterable) {
+                multimap.put(keyFunction.apply(entry), entry);
+            }
+        }
+
+        return multimap;
+    }
+
+    static <K, V, E, M extends ConcurrentMultimap<K, V, ?>> M createFrom(final Iterable<E> inputIterable,
+                                                                         final Function<? super E, K> keyFunction,
+                                                                         final Function<? super E, V> valueFunction,
+                                                                         final M multimap) {
+
+        if (isIndexed(inputIterable)) {
+            final List<E> list = (List<E>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final E entry = list.get(i);
+                multimap.put(keyFunction.apply(entry), valueFunction.apply(entry));
+            }
+        } else {
+            for (final E entry : inputIterable) {
+                multimap.put(keyFunction.apply(entry), valueFunction.apply(entry));
+            }
+        }
+
+        return multimap;
+    }
+
+    static <K, V, M extends ConcurrentMultimap<K, V, ?>> M createFrom(final Iterable<V> inputIterable,
+                                                                      final Predicate<? super V> predicate,
+                                                                      final Function<? super V, K> keyFunction,
+                                                                      final M multimap) {
+
+        if (isIndexed(inputIterable)) {
+            final List<V> list = (List<V>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final V entry = list.get(i);
+                if (predicate.apply(entry)) {
+                    multimap.put(keyFunction.apply(entry), entry);
+                }
+            }
+        } else {
+            for (final V entry : inputIterable) {
+                if (predicate.apply(entry)) {
+                    multimap.put(keyFunction.apply(entry), entry);
+                }
+            }
+        }
+
+        return multimap;
+    }
+
+    static <E, K, V, M extends ConcurrentMultimap<K, V, ?>> M createFrom(final Iterable<E> inputIterable,
+                                                                         final Predicate<? super E> predicate,
+                                                                         final Function<? super E, K> keyFunction,
+                                                                         final Function<? super E, V> valueFunction,
+                                                                         final M multimap) {
+
+        if (isIndexed(inputIterable)) {
+            final List<E> list = (List<E>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final E entry = list.get(i);
+                if (predicate.apply(entry)) {
+                    multimap.put(keyFunction.apply(entry), valueFunction.apply(entry));
+                }
+            }
+        } else {
+            for (final E entry : inputIterable) {
+                if (predicate.apply(entry)) {
+                    multimap.put(keyFunction.apply(entry), valueFunction.apply(entry));
+                }
+            }
+        }
+
+        return multimap;
+    }
+
+    static <E, C extends Collection<E>> C createFrom(final Iterable<E> inputIterable,
+                                                     final Predicate<? super E> predicate,
+                                                     final int offset,
+                                                     final int limit,
+                                                     final C outputCollection) {
+
+        if (limit == 0) {
+            return outputCollection;
+        }
+
+        final Slice slice = new Slice(offset, limit, outputCollection instanceof Set, false);
+        if (isIndexed(inputIterable)) {
+            final List<E> list = (List<E>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final E e = list.get(i);
+                if (predicate.apply(e) && !slice.skip(e) && slice.isFull(outputCollection.add(e))) {
+                    break;
+                }
+            }
+        } else {
+            for (final E e : inputIterable) {
+                if (predicate.apply(e) && !slice.skip(e) && slice.isFull(outputCollection.add(e))) {
+                    break;
+                }
+            }
+        }
+        return outputCollection;
+    }
+
+    static <F, T, C extends Collection<T>> C createFrom(final Iterable<F> inputIterable,
+                                                        final Predicate<? super F> predicate,
+                                                        final Function<? super F, T> function,
+                                                        final int offset,
+                                                        final int limit,
+                                                        final C outputCollection) {
+
+        if (limit == 0) {
+            return outputCollection;
+        }
+
+        final boolean distinct = outputCollection instanceof Set;
+        final Slice slice = new Slice(offset, limit, distinct, false);
+        if (isIndexed(inputIterable)) {
+            final List<F> list = (List<F>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final F f = list.get(i);
+                if (predicate.apply(f) && slice.isFull(addUnlessSkipped(f, function, distinct, slice, outputCollection))) {
+                    break;
+                }
+            }
+        } else {
+            for (final F f : inputIterable) {
+                if (predicate.apply(f) && slice.isFull(addUnlessSkipped(f, function, distinct, slice, outputCollection))) {
+                    break;
+                }
+            }
+        }
+        return outputCollection;
+    }
+
+    static <E, B extends ImmutableCollection.Builder<E>> B createFrom(final Iterable<E> inputIterable,
+                                                                      final Predicate<? super E> predicate,
+                                                                      final int offset,
+                                                                      final int limit,
+                                                                      final B builder) {
+
+        if (limit == 0) {
+            return builder;
+        }
+
+        final boolean distinct = builder instanceof ImmutableSet.Builder;
+        final Slice slice = new Slice(offset, limit, distinct, distinct);
+        if (isIndexed(inputIterable)) {
+            final List<E> list = (List<E>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final E e = list.get(i);
+                if (predicate.apply(e) && !slice.skip(e) && slice.isNew(e)) {
+                    builder.add(e);
+                    if (slice.isFull(true)) {
+                        break;
+                    }
+                }
+            }
+        } else {
+            for (final E e : inputIterable) {
+                if (predicate.apply(e) && !slice.skip(e) && slice.isNew(e)) {
+                    builder.add(e);
+                    if (slice.isFull(true)) {
+                        break;
+                    }
+                }
+            }
+        }
+        return builder;
+    }
+
+    static <F, T, B extends ImmutableCollection.Builder<T>> B createFrom(final Iterable<F> inputIterable,
+                                                                         final Predicate<? super F> predicate,
+                                                                         final Function<? super F, T> function,
+                                                                         final int offset,
+                                                                         final int limit,
+                                                                         final B builder) {
+
+        if (limit == 0) {
+            return builder;
+        }
+
+        final boolean distinct = builder instanceof ImmutableSet.Builder;
+        final Slice slice = new Slice(offset, limit, distinct, distinct);
+        if (isIndexed(inputIterable)) {
+            final List<F> list = (List<F>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final F f = list.get(i);
+                if (predicate.apply(f) && slice.isFull(addUnlessSkipped(f, function, distinct, slice, builder))) {
+                    break;
+                }
+            }
+        } else {
+            for (final F f : inputIterable) {
+                if (predicate.apply(f) && slice.isFull(addUnlessSkipped(f, function, distinct, slice, builder))) {
+                    break;
+                }
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Adds the {@code function} result of the given matching entry to the given {@code outputCollection}, unless it is skipped. Distinct outputs skip by the
+     * function result, so that the offset counts the same distinct results as the limit. Any other output skips by the entry, which saves applying the
+     * function to skipped entries.
+     *
+     * @return whether the output changed
+     */
+    private static <F, T> boolean addUnlessSkipped(final F f,
+                                                   final Function<? super F, T> function,
+                                                   final boolean distinct,
+                                                   final Slice slice,
+                                                   final Collection<T> outputCollection) {
+        if (distinct) {
+            final T t = function.apply(f);
+            return !slice.skip(t) && outputCollection.add(t);
+        }
+        return !slice.skip(f) && outputCollection.add(function.apply(f));
+    }
+
+    /**
+     * Adds the {@code function} result of the given matching entry to the given {@code builder}, unless it is skipped or was added before. Distinct outputs
+     * skip by the function result, so that the offset counts the same distinct results as the limit.
+     *
+     * @return whether the result was added
+     */
+    private static <F, T> boolean addUnlessSkipped(final F f,
+                                                   final Function<? super F, T> function,
+                                                   final boolean distinct,
+                                                   final Slice slice,
+                                                   final ImmutableCollection.Builder<T> builder) {
+        if (distinct) {
+            final T t = function.apply(f);
+            if (slice.skip(t) || !slice.isNew(t)) {
+                return false;
+            }
+            builder.add(t);
+            return true;
+        }
+        if (slice.skip(f)) {
+            return false;
+        }
+        builder.add(function.apply(f));
+        return true;
+    }
+
+    static <F, T> T[] createFrom(final Iterable<F> inputIterable, final Function<? super F, T> function, final T[] outputArray) {
+
+        T[] array = outputArray;
+        int size = 0;
+        if (isIndexed(inputIterable)) {
+            final List<F> list = (List<F>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                if (size == array.length) {
+                    array = Arrays.copyOf(array, grownCapacity(size));
+                }
+                array[size++] = function.apply(list.get(i));
+            }
+        } else {
+            for (final F f : inputIterable) {
+                if (size == array.length) {
+                    array = Arrays.copyOf(array, grownCapacity(size));
+                }
+                array[size++] = function.apply(f);
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    static <E> E[] createFrom(final Iterable<E> inputIterable, final Predicate<? super E> predicate, final E[] outputArray) {
+
+        E[] array = outputArray;
+        int size = 0;
+        if (isIndexed(inputIterable)) {
+            final List<E> list = (List<E>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final E e = list.get(i);
+                if (predicate.apply(e)) {
+                    if (size == array.length) {
+                        array = Arrays.copyOf(array, grownCapacity(size));
+                    }
+                    array[size++] = e;
+                }
+            }
+        } else {
+            for (final E e : inputIterable) {
+                if (predicate.apply(e)) {
+                    if (size == array.length) {
+                        array = Arrays.copyOf(array, grownCapacity(size));
+                    }
+                    array[size++] = e;
+                }
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    static <F, T> T[] createFrom(final Iterable<F> inputIterable,
+                                 final Predicate<? super F> predicate,
+                                 final Function<? super F, T> function,
+                                 final T[] outputArray) {
+
+        T[] array = outputArray;
+        int size = 0;
+        if (isIndexed(inputIterable)) {
+            final List<F> list = (List<F>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final F f = list.get(i);
+                if (predicate.apply(f)) {
+                    if (size == array.length) {
+                        array = Arrays.copyOf(array, grownCapacity(size));
+                    }
+                    array[size++] = function.apply(f);
+                }
+            }
+        } else {
+            for (final F f : inputIterable) {
+                if (predicate.apply(f)) {
+                    if (size == array.length) {
+                        array = Arrays.copyOf(array, grownCapacity(size));
+                    }
+                    array[size++] = function.apply(f);
+                }
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    static <F> int[] createFrom(final Iterable<F> inputIterable, final ToIntFunction<? super F> function, final int[] outputArray) {
+
+        int[] array = outputArray;
+        int size = 0;
+        if (isIndexed(inputIterable)) {
+            final List<F> list = (List<F>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                if (size == array.length) {
+                    array = Arrays.copyOf(array, grownCapacity(size));
+                }
+                array[size++] = function.apply(list.get(i));
+            }
+        } else {
+            for (final F f : inputIterable) {
+                if (size == array.length) {
+                    array = Arrays.copyOf(array, grownCapacity(size));
+                }
+                array[size++] = function.apply(f);
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    static <F> int[] createFrom(final Iterable<F> inputIterable,
+                                final Predicate<? super F> predicate,
+                                final ToIntFunction<? super F> function,
+                                final int[] outputArray) {
+
+        int[] array = outputArray;
+        int size = 0;
+        if (isIndexed(inputIterable)) {
+            final List<F> list = (List<F>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final F f = list.get(i);
+                if (predicate.apply(f)) {
+                    if (size == array.length) {
+                        array = Arrays.copyOf(array, grownCapacity(size));
+                    }
+                    array[size++] = function.apply(f);
+                }
+            }
+        } else {
+            for (final F f : inputIterable) {
+                if (predicate.apply(f)) {
+                    if (size == array.length) {
+                        array = Arrays.copyOf(array, grownCapacity(size));
+                    }
+                    array[size++] = function.apply(f);
+                }
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    static <F> long[] createFrom(final Iterable<F> inputIterable, final ToLongFunction<? super F> function, final long[] outputArray) {
+
+        long[] array = outputArray;
+        int size = 0;
+        if (isIndexed(inputIterable)) {
+            final List<F> list = (List<F>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                if (size == array.length) {
+                    array = Arrays.copyOf(array, grownCapacity(size));
+                }
+                array[size++] = function.apply(list.get(i));
+            }
+        } else {
+            for (final F f : inputIterable) {
+                if (size == array.length) {
+                    array = Arrays.copyOf(array, grownCapacity(size));
+                }
+                array[size++] = function.apply(f);
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    static <F> long[] createFrom(final Iterable<F> inputIterable,
+                                 final Predicate<? super F> predicate,
+                                 final ToLongFunction<? super F> function,
+                                 final long[] outputArray) {
+
+        long[] array = outputArray;
+        int size = 0;
+        if (isIndexed(inputIterable)) {
+            final List<F> list = (List<F>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final F f = list.get(i);
+                if (predicate.apply(f)) {
+                    if (size == array.length) {
+                        array = Arrays.copyOf(array, grownCapacity(size));
+                    }
+                    array[size++] = function.apply(f);
+                }
+            }
+        } else {
+            for (final F f : inputIterable) {
+                if (predicate.apply(f)) {
+                    if (size == array.length) {
+                        array = Arrays.copyOf(array, grownCapacity(size));
+                    }
+                    array[size++] = function.apply(f);
+                }
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    static <F> double[] createFrom(final Iterable<F> inputIterable, final ToDoubleFunction<? super F> function, final double[] outputArray) {
+
+        double[] array = outputArray;
+        int size = 0;
+        if (isIndexed(inputIterable)) {
+            final List<F> list = (List<F>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                if (size == array.length) {
+                    array = Arrays.copyOf(array, grownCapacity(size));
+                }
+                array[size++] = function.apply(list.get(i));
+            }
+        } else {
+            for (final F f : inputIterable) {
+                if (size == array.length) {
+                    array = Arrays.copyOf(array, grownCapacity(size));
+                }
+                array[size++] = function.apply(f);
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    static <F> double[] createFrom(final Iterable<F> inputIterable,
+                                   final Predicate<? super F> predicate,
+                                   final ToDoubleFunction<? super F> function,
+                                   final double[] outputArray) {
+
+        double[] array = outputArray;
+        int size = 0;
+        if (isIndexed(inputIterable)) {
+            final List<F> list = (List<F>) inputIterable;
+            for (int i = 0; i < list.size(); i++) {
+                final F f = list.get(i);
+                if (predicate.apply(f)) {
+                    if (size == array.length) {
+                        array = Arrays.copyOf(array, grownCapacity(size));
+                    }
+                    array[size++] = function.apply(f);
+                }
+            }
+        } else {
+            for (final F f : inputIterable) {
+                if (predicate.apply(f)) {
+                    if (size == array.length) {
+                        array = Arrays.copyOf(array, grownCapacity(size));
+                    }
+                    array[size++] = function.apply(f);
+                }
+            }
+        }
+        return size == array.length ? array : Arrays.copyOf(array, size);
+    }
+
+    /**
+     * @return the initial capacity of an array, which holds at most all entries of the given {@code iterable}
+     */
+    static int initialArrayCapacityOf(final Iterable<?> iterable) {
+        return iterable instanceof Collection ? ((Collection<?>) iterable).size() : DEFAULT_ARRAY_CAPACITY;
+    }
+
+    private static int grownCapacity(final int capacity) {
+        return Math.max(DEFAULT_ARRAY_CAPACITY, capacity * 2);
+    }
+
+    /**
+     * Tracks the offset and limit of the matching entries. For sets only distinct entries are counted: the offset skips the first {@code offset} distinct
+     * matching entries together with all their duplicates, and the limit counts the entries which actually changed the output.
+     */
+    private static final class Slice {
+
+        private final int offset;
+        private final int limit;
+        private final Set<Object> skippedEntries;
+        private final Set<Object> addedEntries;
+        private int skipped;
+        private int added;
+
+        /**
+         * @param distinct   whether only distinct entries are counted
+         * @param trackAdded whether the added entries have to be tracked, because the output does not tell whether an entry changed it
+         */
+        Slice(final int offset, final int limit, final boolean distinct, final boolean trackAdded) {
+            this.offset = offset;
+            this.limit = limit;
+            this.skippedEntries = distinct && offset > 0 ? new HashSet<Object>() : null;
+            this.addedEntries = trackAdded ? new HashSet<Object>() : null;
+        }
+
+        /**
+         * @return whether the given matching entry is skipped, because it is within the offset or a duplicate of a skipped entry
+         */
+        boolean skip(final Object entry) {
+
+            if (skippedEntries == null) {
+                if (skipped < offset) {
+                    skipped++;
+                    return true;
+                }
+                return false;
+            }
+            if (skipped < offset) {
+                if (skippedEntries.add(entry)) {
+                    skipped++;
+                }
+                return true;
+            }
+            return skippedEntries.contains(entry);
+        }
+
+        /**
+         * @return whether the given value has not been added yet, always {@code true} if the added entries are not tracked
+         */
+        boolean isNew(final Object value) {
+            return addedEntries == null || addedEntries.add(value);
+        }
+
+        /**
+         * Counts an addition, if it {@code changed} the output.
+         *
+         * @return whether the limit has been reached
+         */
+        boolean isFull(final boolean changed) {
+            return changed && ++added == limit;
+        }
+    }
 }
@@ -0,0 +1,332 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Builds immutable sorted sets and maps on multiple threads. The results of the functions are collected into an array in parallel, which is sorted by a
+ * stable parallel merge sort: the array is split into runs which are sorted concurrently, and adjacent runs are merged in rounds, where each merge is again
+ * split at binary searched positions into independent merges. Duplicates are then removed, respectively detected, in parallel and the immutable result is
+ * copied from the sorted data without sorting again.
+ *
+ * @since 19.10.2026
+ */
+final class ParallelSorts {
+
+    /**
+     * The minimum number of elements per task, smaller inputs use fewer tasks.
+     */
+    static final int MINIMUM_CHUNK_SIZE = 1024;
+
+    private ParallelSorts() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Processes one run of an array, possibly concurrently with other runs.
+     */
+    private interface RunTask {
+        void apply(int run, int from, int to);
+    }
+
+    static <F, T> ImmutableSortedSet<T> newImmutableSortedSet(final Iterable<F> iterable,
+                                                              final Function<? super F, T> function,
+                                                              final Comparator<? super T> comparator,
+                                                              final ExecutorService executor,
+                                                              final int parallelism) {
+
+        final List<F> list = ConcurrentIterations.asRandomAccessList(iterable);
+        final int[] bounds = boundsOf(list.size(), parallelism);
+
+        final Object[] elements = new Object[list.size()];
+        forEachRun(bounds, executor, new RunTask() {
+            @Override
+            public void apply(final int run, final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    elements[i] = checkNotNull(function.apply(list.get(i)));
+                }
+            }
+        });
+
+        final Comparator<Object> order = uncheckedCast(comparator);
+        sort(elements, order, bounds, executor);
+        final Object[] distinctElements = distinct(elements, order, bounds, executor);
+
+        return ImmutableSortedSet.copyOfSorted(new SortedListSet<T>(ParallelSorts.<T>asList(distinctElements), comparator));
+    }
+
+    static <E, K, V> ImmutableSortedMap<K, V> newImmutableSortedMap(final Iterable<E> iterable,
+                                                                    final Function<? super E, K> keyFunction,
+                                                                    final Function<? super E, V> valueFunction,
+                                                                    final Comparator<? super K> comparator,
+                                                                    final ExecutorService executor,
+                                                                    final int parallelism) {
+
+        final List<E> list = ConcurrentIterations.asRandomAccessList(iterable);
+        final int[] bounds = boundsOf(list.size(), parallelism);
+
+        final Object[] entries = new Object[list.size()];
+        forEachRun(bounds, executor, new RunTask() {
+            @Override
+            public void apply(final int run, final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    final E entry = list.get(i);
+                    entries[i] = new Object[]{checkNotNull(keyFunction.apply(entry)), checkNotNull(valueFunction.apply(entry))};
+                }
+            }
+        });
+
+        final Comparator<Object> keyOrder = uncheckedCast(comparator);
+        final Comparator<Object> order = new Comparator<Object>() {
+            @Override
+            public int compare(final Object first, final Object second) {
+                return keyOrder.compare(((Object[]) first)[0], ((Object[]) second)[0]);
+            }
+        };
+        sort(entries, order, bounds, executor);
+
+        final Object[] keys = new Object[entries.length];
+        final Object[] values = new Object[entries.length];
+        forEachRun(bounds, executor, new RunTask() {
+            @Override
+            public void apply(final int run, final int from, final int to) {
+                for (int i = from; i < to; i++) {
+                    final Object[] entry = (Object[]) entries[i];
+                    if (i > 0 && order.compare(entries[i - 1], entry) == 0) {
+                        final Object[] previous = (Object[]) entries[i - 1];
+                        final String duplicates = previous[0] + "=" + previous[1] + " and " + entry[0] + "=" + entry[1];
+                        throw new IllegalArgumentException("Multiple entries with same key: " + duplicates);
+                    }
+                    keys[i] = entry[0];
+                    values[i] = entry[1];
+                }
+            }
+        });
+
+        return ImmutableSortedMap.copyOfSorted(new SortedListMap<K, V>(ParallelSorts.<K>asList(keys), ParallelSorts.<V>asList(values), comparator));
+    }
+
+    /**
+     * Stable parallel merge sort of the given {@code array}, whose runs are given by {@code bounds}.
+     */
+    private static void sort(final Object[] array, final Comparator<Object> comparator, final int[] bounds, final ExecutorService executor) {
+
+        forEachRun(bounds, executor, new RunTask() {
+            @Override
+            public void apply(final int run, final int from, final int to) {
+                Arrays.sort(array, from, to, comparator);
+            }
+        });
+
+        final int runs = bounds.length - 1;
+        Object[] source = array;
+        Object[] target = new Object[array.length];
+        for (int width = 1; width < runs; width *= 2) {
+
+            final int merges = (runs + 2 * width - 1) / (2 * width);
+            final int partsPerMerge = Math.max(1, runs / merges);
+            final List<Runnable> tasks = new ArrayList<Runnable>(runs);
+            for (int left = 0; left < runs; left += 2 * width) {
+                final int from = bounds[left];
+                final int middle = bounds[Math.min(left + width, runs)];
+                final int to = bounds[Math.min(left + 2 * width, runs)];
+                addMergeTasks(source, from, middle, middle, to, target, comparator, partsPerMerge, tasks);
+            }
+            ConcurrentIterations.runAll(tasks, executor);
+
+            final Object[] merged = target;
+            target = source;
+            source = merged;
+        }
+
+        if (source != array) {
+            System.arraycopy(source, 0, array, 0, array.length);
+        }
+    }
+
+    /**
+     * Splits the merge of the sorted ranges {@code [leftFrom, leftTo)} and {@code [rightFrom, rightTo)} into {@code parts} independent merges. The left range
+     * is split evenly, the right range before the first element which is not less than the first left element of each part, which keeps the merge stable.
+     */
+    private static void addMergeTasks(final Object[] source,
+                                      final int leftFrom,
+                                      final int leftTo,
+                                      final int rightFrom,
+                                      final int rightTo,
+                                      final Object[] target,
+                                      final Comparator<Object> comparator,
+                                      final int parts,
+                                      final List<Runnable> tasks) {
+
+        int partLeftFrom = leftFrom;
+        int partRightFrom = rightFrom;
+        for (int part = 1; part <= parts; part++) {
+
+            final int partLeftTo = part == parts ? leftTo : leftFrom + (int) ((long) (leftTo - leftFrom) * part / parts);
+            final int partRightTo;
+            if (part == parts || partLeftTo == leftTo) {
+                partRightTo = rightTo;
+            } else {
+                partRightTo = lowerBound(source, partRightFrom, rightTo, source[partLeftTo], comparator);
+            }
+            if (partLeftFrom < partLeftTo || partRightFrom < partRightTo) {
+                final int mergeLeftFrom = partLeftFrom;
+                final int mergeRightFrom = partRightFrom;
+                final int targetFrom = leftFrom + (partLeftFrom - leftFrom) + (partRightFrom - rightFrom);
+                tasks.add(new Runnable() {
+                    @Override
+                    public void run() {
+                        merge(source, mergeLeftFrom, partLeftTo, mergeRightFrom, partRightTo, target, targetFrom, comparator);
+                    }
+                });
+            }
+            partLeftFrom = partLeftTo;
+            partRightFrom = partRightTo;
+        }
+    }
+
+    private static void merge(final Object[] source,
+                              final int leftFrom,
+                              final int leftTo,
+                              final int rightFrom,
+                              final int rightTo,
+                              final Object[] target,
+                              final int targetFrom,
+                              final Comparator<Object> comparator) {
+
+        int left = leftFrom;
+        int right = rightFrom;
+        int index = targetFrom;
+        while (left < leftTo && right < rightTo) {
+            // equal elements are taken from the left first, which keeps the merge stable
+            if (comparator.compare(source[left], source[right]) <= 0) {
+                target[index++] = source[left++];
+            } else {
+                target[index++] = source[right++];
+            }
+        }
+        System.arraycopy(source, left, target, index, leftTo - left);
+        System.arraycopy(source, right, target, index + leftTo - left, rightTo - right);
+    }
+
+    /**
+     * @return the index of the first element in {@code [from, to)} which is not less than the given {@code key}
+     */
+    private static int lowerBound(final Object[] array, final int from, final int to, final Object key, final Comparator<Object> comparator) {
+
+        int low = from;
+        int high = to;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (comparator.compare(array[middle], key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Removes all elements of the given sorted {@code array} which are equal to their predecessor, like a sorted set would.
+     */
+    private static Object[] distinct(final Object[] array, final Comparator<Object> comparator, final int[] bounds, final ExecutorService executor) {
+
+        final int runs = bounds.length - 1;
+        final int[] counts = new int[runs];
+        forEachRun(bounds, executor, new RunTask() {
+            @Override
+            public void apply(final int run, final int from, final int to) {
+                int count = 0;
+                for (int i = from; i < to; i++) {
+                    if (i == 0 || comparator.compare(array[i - 1], array[i]) != 0) {
+                        count++;
+                    }
+                }
+                counts[run] = count;
+            }
+        });
+
+        final int[] offsets = new int[runs + 1];
+        for (int run = 0; run < runs; run++) {
+            offsets[run + 1] = offsets[run] + counts[run];
+        }
+        if (offsets[runs] == array.length) {
+            return array;
+        }
+
+        final Object[] distinctArray = new Object[offsets[runs]];
+        forEachRun(bounds, executor, new RunTask() {
+            @Override
+            public void apply(final int run, final int from, final int to) {
+                int index = offsets[run];
+                for (int i = from; i < to; i++) {
+                    if (i == 0 || comparator.compare(array[i - 1], array[i]) != 0) {
+                        distinctArray[index++] = array[i];
+                    }
+                }
+            }
+        });
+        return distinctArray;
+    }
+
+    /**
+     * @return the bounds of at most {@code parallelism} runs of at least {@link #MINIMUM_CHUNK_SIZE} elements, which cover {@code [0, size)}
+     */
+    private static int[] boundsOf(final int size, final int parallelism) {
+
+        final int runs = Math.max(1, Math.min(parallelism, size / MINIMUM_CHUNK_SIZE));
+        final int[] bounds = new int[runs + 1];
+        for (int run = 0; run <= runs; run++) {
+            bounds[run] = (int) ((long) size * run / runs);
+        }
+        return bounds;
+    }
+
+    private static void forEachRun(final int[] bounds, final ExecutorService executor, final RunTask task) {
+
+        final List<Runnable> tasks = new ArrayList<Runnable>(bounds.length - 1);
+        for (int run = 0; run < bounds.length - 1; run++) {
+            final int index = run;
+            tasks.add(new Runnable() {
+                @Override
+                public void run() {
+                    task.apply(index, bounds[index], bounds[index + 1]);
+                }
+            });
+        }
+        ConcurrentIterations.runAll(tasks, executor);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> asList(final Object[] array) {
+        return (List<T>) Arrays.asList(array);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparator<Object> uncheckedCast(final Comparator<?> comparator) {
+        return (Comparator<Object>) comparator;
+    }
+}
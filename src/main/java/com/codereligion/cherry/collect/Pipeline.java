@@ -0,0 +1,383 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * An immutable chain of filters and transformations, which is created by {@link com.codereligion.cherry.collect.Pipelines} and extended by
+ * {@link #filter(Predicate)} and {@link #map(Function)}. Extending a pipeline returns a new pipeline and leaves this one unchanged. The {@code to...} methods
+ * compile the chain and a target into a {@link com.codereligion.cherry.collect.CompiledPipeline}, which is meant to be created once and executed many times.
+ * Instances are thread safe, if the given predicates and functions are.
+ *
+ * @param <F> the type of the entries of the input
+ * @param <T> the type of the entries after the last stage of this pipeline
+ * @since 19.10.2026
+ */
+public final class Pipeline<F, T> {
+
+    private final ImmutableList<Stage> stages;
+
+    Pipeline(final ImmutableList<Stage> stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * Creates a new pipeline, which additionally only keeps the entries to which the given {@code predicate} applies.
+     *
+     * @param predicate the predicate to filter the entries with
+     * @return a new {@link com.codereligion.cherry.collect.Pipeline}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public Pipeline<F, T> filter(final Predicate<? super T> predicate) {
+
+        checkArgument(predicate != null, "predicate must not be null.");
+
+        return new Pipeline<F, T>(append(Stage.filter(predicate)));
+    }
+
+    /**
+     * Creates a new pipeline, which additionally converts each entry with the given {@code function}.
+     *
+     * @param function the function to transform the entries with
+     * @param <R>      the type of the transformed entries
+     * @return a new {@link com.codereligion.cherry.collect.Pipeline}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <R> Pipeline<F, R> map(final Function<? super T, R> function) {
+
+        checkArgument(function != null, "function must not be null.");
+
+        return new Pipeline<F, R>(append(Stage.map(function)));
+    }
+
+    /**
+     * Compiles this pipeline into one which adds the resulting entries to a new {@link java.util.ArrayList}.
+     *
+     * @return a {@link com.codereligion.cherry.collect.CompiledPipeline}
+     */
+    public CompiledPipeline<F, ArrayList<T>> toArrayList() {
+        return new CompiledPipeline<F, ArrayList<T>>(stages, new CollectionTarget<T, ArrayList<T>>() {
+            @Override
+            ArrayList<T> newOutput() {
+                return new ArrayList<T>();
+            }
+        });
+    }
+
+    /**
+     * Compiles this pipeline into one which adds the resulting entries to a new {@link java.util.HashSet}.
+     *
+     * @return a {@link com.codereligion.cherry.collect.CompiledPipeline}
+     */
+    public CompiledPipeline<F, HashSet<T>> toHashSet() {
+        return new CompiledPipeline<F, HashSet<T>>(stages, new CollectionTarget<T, HashSet<T>>() {
+            @Override
+            HashSet<T> newOutput() {
+                return new HashSet<T>();
+            }
+        });
+    }
+
+    /**
+     * Compiles this pipeline into one which adds the resulting entries to a new {@link com.google.common.collect.ImmutableList}.
+     *
+     * @return a {@link com.codereligion.cherry.collect.CompiledPipeline}
+     */
+    public CompiledPipeline<F, ImmutableList<T>> toImmutableList() {
+        return new CompiledPipeline<F, ImmutableList<T>>(stages, new CompiledPipeline.Target<T, ImmutableList.Builder<T>, ImmutableList<T>>() {
+            @Override
+            ImmutableList.Builder<T> newOutput() {
+                return ImmutableList.builder();
+            }
+
+            @Override
+            void add(final ImmutableList.Builder<T> output, final T value) {
+                output.add(value);
+            }
+
+            @Override
+            ImmutableList<T> finish(final ImmutableList.Builder<T> output) {
+                return output.build();
+            }
+        });
+    }
+
+    /**
+     * Compiles this pipeline into one which adds the resulting entries to a new {@link com.google.common.collect.ImmutableSet}.
+     *
+     * @return a {@link com.codereligion.cherry.collect.CompiledPipeline}
+     */
+    public CompiledPipeline<F, ImmutableSet<T>> toImmutableSet() {
+        return new CompiledPipeline<F, ImmutableSet<T>>(stages, new CompiledPipeline.Target<T, ImmutableSet.Builder<T>, ImmutableSet<T>>() {
+            @Override
+            ImmutableSet.Builder<T> newOutput() {
+                return ImmutableSet.builder();
+            }
+
+            @Override
+            void add(final ImmutableSet.Builder<T> output, final T value) {
+                output.add(value);
+            }
+
+            @Override
+            ImmutableSet<T> finish(final ImmutableSet.Builder<T> output) {
+                return output.build();
+            }
+        });
+    }
+
+    /**
+     * Compiles this pipeline into one which maps each resulting entry by its {@code keyFunction} result in a new {@link java.util.HashMap}.
+     *
+     * @param keyFunction the function to retrieve the map key from a resulting entry
+     * @param <K>         the type of the keys of the resulting map
+     * @return a {@link com.codereligion.cherry.collect.CompiledPipeline}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <K> CompiledPipeline<F, HashMap<K, T>> toHashMap(final Function<? super T, K> keyFunction) {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+
+        return toHashMap(keyFunction, Functions.<T>identity());
+    }
+
+    /**
+     * Compiles this pipeline into one which maps each resulting entry from its {@code keyFunction} result to its {@code valueFunction} result in a new
+     * {@link java.util.HashMap}.
+     *
+     * @param keyFunction   the function to retrieve the map key from a resulting entry
+     * @param valueFunction the function to retrieve the map value from a resulting entry
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return a {@link com.codereligion.cherry.collect.CompiledPipeline}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <K, V> CompiledPipeline<F, HashMap<K, V>> toHashMap(final Function<? super T, K> keyFunction, final Function<? super T, V> valueFunction) {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+
+        return new CompiledPipeline<F, HashMap<K, V>>(stages, new MapTarget<T, K, V, HashMap<K, V>>(keyFunction, valueFunction) {
+            @Override
+            HashMap<K, V> newOutput() {
+                return new HashMap<K, V>();
+            }
+        });
+    }
+
+    /**
+     * Compiles this pipeline into one which maps each resulting entry by its {@code keyFunction} result in a new
+     * {@link com.google.common.collect.ImmutableMap}.
+     *
+     * @param keyFunction the function to retrieve the map key from a resulting entry
+     * @param <K>         the type of the keys of the resulting map
+     * @return a {@link com.codereligion.cherry.collect.CompiledPipeline}, whose executions throw an {@link java.lang.IllegalArgumentException} when two
+     * resulting entries have the same key
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <K> CompiledPipeline<F, ImmutableMap<K, T>> toImmutableMap(final Function<? super T, K> keyFunction) {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+
+        return toImmutableMap(keyFunction, Functions.<T>identity());
+    }
+
+    /**
+     * Compiles this pipeline into one which maps each resulting entry from its {@code keyFunction} result to its {@code valueFunction} result in a new
+     * {@link com.google.common.collect.ImmutableMap}.
+     *
+     * @param keyFunction   the function to retrieve the map key from a resulting entry
+     * @param valueFunction the function to retrieve the map value from a resulting entry
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return a {@link com.codereligion.cherry.collect.CompiledPipeline}, whose executions throw an {@link java.lang.IllegalArgumentException} when two
+     * resulting entries have the same key
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <K, V> CompiledPipeline<F, ImmutableMap<K, V>> toImmutableMap(final Function<? super T, K> keyFunction,
+                                                                         final Function<? super T, V> valueFunction) {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+
+        return new CompiledPipeline<F, ImmutableMap<K, V>>(stages, new CompiledPipeline.Target<T, ImmutableMap.Builder<K, V>, ImmutableMap<K, V>>() {
+            @Override
+            ImmutableMap.Builder<K, V> newOutput() {
+                return ImmutableMap.builder();
+            }
+
+            @Override
+            void add(final ImmutableMap.Builder<K, V> output, final T value) {
+                output.put(keyFunction.apply(value), valueFunction.apply(value));
+            }
+
+            @Override
+            ImmutableMap<K, V> finish(final ImmutableMap.Builder<K, V> output) {
+                return output.build();
+            }
+        });
+    }
+
+    /**
+     * Compiles this pipeline into one which maps each resulting entry by its {@code keyFunction} result in a new
+     * {@link com.google.common.collect.HashMultimap}.
+     *
+     * @param keyFunction the function to retrieve the multimap key from a resulting entry
+     * @param <K>         the type of the keys of the resulting multimap
+     * @return a {@link com.codereligion.cherry.collect.CompiledPipeline}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <K> CompiledPipeline<F, HashMultimap<K, T>> toHashMultimap(final Function<? super T, K> keyFunction) {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+
+        return new CompiledPipeline<F, HashMultimap<K, T>>(stages, new MultimapTarget<T, K, HashMultimap<K, T>>(keyFunction) {
+            @Override
+            HashMultimap<K, T> newOutput() {
+                return HashMultimap.create();
+            }
+        });
+    }
+
+    /**
+     * Compiles this pipeline into one which maps each resulting entry by its {@code keyFunction} result in a new
+     * {@link com.google.common.collect.ArrayListMultimap}.
+     *
+     * @param keyFunction the function to retrieve the multimap key from a resulting entry
+     * @param <K>         the type of the keys of the resulting multimap
+     * @return a {@link com.codereligion.cherry.collect.CompiledPipeline}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <K> CompiledPipeline<F, ArrayListMultimap<K, T>> toArrayListMultimap(final Function<? super T, K> keyFunction) {
+
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+
+        return new CompiledPipeline<F, ArrayListMultimap<K, T>>(stages, new MultimapTarget<T, K, ArrayListMultimap<K, T>>(keyFunction) {
+            @Override
+            ArrayListMultimap<K, T> newOutput() {
+                return ArrayListMultimap.create();
+            }
+        });
+    }
+
+    /**
+     * @return the stages of this pipeline in the order they are applied
+     */
+    ImmutableList<Stage> getStages() {
+        return stages;
+    }
+
+    private ImmutableList<Stage> append(final Stage stage) {
+        return ImmutableList.<Stage>builder().addAll(stages).add(stage).build();
+    }
+
+    /**
+     * A single filter or transformation of a pipeline, exactly one of {@link #predicate} and {@link #function} is set.
+     */
+    static final class Stage {
+
+        final Predicate<Object> predicate;
+        final Function<Object, Object> function;
+
+        private Stage(final Predicate<Object> predicate, final Function<Object, Object> function) {
+            this.predicate = predicate;
+            this.function = function;
+        }
+
+        @SuppressWarnings("unchecked")
+        static Stage filter(final Predicate<?> predicate) {
+            return new Stage((Predicate<Object>) predicate, null);
+        }
+
+        @SuppressWarnings("unchecked")
+        static Stage map(final Function<?, ?> function) {
+            return new Stage(null, (Function<Object, Object>) function);
+        }
+    }
+
+    private abstract static class CollectionTarget<T, C extends Collection<T>> extends CompiledPipeline.Target<T, C, C> {
+
+        @Override
+        void add(final C output, final T value) {
+            output.add(value);
+        }
+
+        @Override
+        C finish(final C output) {
+            return output;
+        }
+
+        @Override
+        boolean isCollection() {
+            return true;
+        }
+    }
+
+    private abstract static class MapTarget<T, K, V, M extends Map<K, V>> extends CompiledPipeline.Target<T, M, M> {
+
+        private final Function<? super T, K> keyFunction;
+        private final Function<? super T, V> valueFunction;
+
+        MapTarget(final Function<? super T, K> keyFunction, final Function<? super T, V> valueFunction) {
+            this.keyFunction = keyFunction;
+            this.valueFunction = valueFunction;
+        }
+
+        @Override
+        void add(final M output, final T value) {
+            output.put(keyFunction.apply(value), valueFunction.apply(value));
+        }
+
+        @Override
+        M finish(final M output) {
+            return output;
+        }
+    }
+
+    private abstract static class MultimapTarget<T, K, M extends Multimap<K, T>> extends CompiledPipeline.Target<T, M, M> {
+
+        private final Function<? super T, K> keyFunction;
+
+        MultimapTarget(final Function<? super T, K> keyFunction) {
+            this.keyFunction = keyFunction;
+        }
+
+        @Override
+        void add(final M output, final T value) {
+            output.put(keyFunction.apply(value), value);
+        }
+
+        @Override
+        M finish(final M output) {
+            return output;
+        }
+    }
+}
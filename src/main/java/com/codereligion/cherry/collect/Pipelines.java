@@ -0,0 +1,81 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Factory for {@link com.codereligion.cherry.collect.Pipeline Pipelines}, which describe a chain of filters and transformations once, so that it can be
+ * compiled into a {@link com.codereligion.cherry.collect.CompiledPipeline} and executed against many inputs, for example:
+ * <pre>
+ * private static final CompiledPipeline&lt;User, HashMap&lt;String, Address&gt;&gt; ADDRESSES_BY_NAME =
+ *         Pipelines.filter(IS_ACTIVE).map(USER_ADDRESS).toHashMap(ADDRESS_NAME);
+ * ...
+ * final HashMap&lt;String, Address&gt; addressesByName = ADDRESSES_BY_NAME.execute(users);
+ * </pre>
+ *
+ * @since 19.10.2026
+ */
+public final class Pipelines {
+
+    private Pipelines() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Creates a new pipeline, which only keeps the entries to which the given {@code predicate} applies.
+     *
+     * @param predicate the predicate to filter the entries with
+     * @param <E>       the type of the entries to be filtered
+     * @return a {@link com.codereligion.cherry.collect.Pipeline}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <E> Pipeline<E, E> filter(final Predicate<? super E> predicate) {
+
+        checkArgument(predicate != null, "predicate must not be null.");
+
+        return new Pipeline<E, E>(ImmutableList.of(Pipeline.Stage.filter(predicate)));
+    }
+
+    /**
+     * Creates a new pipeline, which converts each entry with the given {@code function}.
+     *
+     * @param function the function to transform the entries with
+     * @param <F>      the type of the entries to be transformed
+     * @param <T>      the type of the transformed entries
+     * @return a {@link com.codereligion.cherry.collect.Pipeline}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <F, T> Pipeline<F, T> map(final Function<? super F, T> function) {
+
+        checkArgument(function != null, "function must not be null.");
+
+        return new Pipeline<F, T>(ImmutableList.of(Pipeline.Stage.map(function)));
+    }
+
+    /**
+     * Creates a new pipeline, which keeps all entries as they are. Useful to collect entries without filtering or transforming them.
+     *
+     * @param <E> the type of the entries
+     * @return a {@link com.codereligion.cherry.collect.Pipeline}
+     */
+    public static <E> Pipeline<E, E> identity() {
+        return new Pipeline<E, E>(ImmutableList.<Pipeline.Stage>of());
+    }
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Predicate;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Factory for primitive arrays. The entries are converted by primitive functions, so no value is boxed, and written straight into an array, which is sized
+ * by the number of entries of the given iterable, if it is a {@link java.util.Collection}. The array is trimmed once at the end, if not all entries were
+ * added.
+ *
+ * @since 19.10.2026
+ */
+public final class PrimitiveArrays {
+
+    private PrimitiveArrays() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Creates a new {@code int} array from the given {@code iterable} by converting each entry with the given {@code function}.
+     *
+     * @param iterable the entries to be transformed
+     * @param function the function to transform the entries with
+     * @param <F>      the type of the entries of the given {@code iterable}
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <F> int[] createFrom(final Iterable<F> iterable, final ToIntFunction<? super F> function) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(function != null, "function must not be null.");
+
+        return OptimizedIterations.createFrom(iterable, function, new int[OptimizedIterations.initialArrayCapacityOf(iterable)]);
+    }
+
+    /**
+     * Creates a new {@code int} array from the given {@code iterable} by converting each entry with the given {@code function}, if the given
+     * {@code predicate} applies.
+     *
+     * @param iterable  the entries to be filtered and transformed
+     * @param predicate the predicate to filter the entries with
+     * @param function  the function to transform the entries with
+     * @param <F>       the type of the entries of the given {@code iterable}
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <F> int[] createFrom(final Iterable<F> iterable, final Predicate<? super F> predicate, final ToIntFunction<? super F> function) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(function != null, "function must not be null.");
+
+        return OptimizedIterations.createFrom(iterable, predicate, function, new int[OptimizedIterations.initialArrayCapacityOf(iterable)]);
+    }
+
+    /**
+     * Creates a new {@code long} array from the given {@code iterable} by converting each entry with the given {@code function}.
+     *
+     * @param iterable the entries to be transformed
+     * @param function the function to transform the entries with
+     * @param <F>      the type of the entries of the given {@code iterable}
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <F> long[] createFrom(final Iterable<F> iterable, final ToLongFunction<? super F> function) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(function != null, "function must not be null.");
+
+        return OptimizedIterations.createFrom(iterable, function, new long[OptimizedIterations.initialArrayCapacityOf(iterable)]);
+    }
+
+    /**
+     * Creates a new {@code long} array from the given {@code iterable} by converting each entry with the given {@code function}, if the given
+     * {@code predicate} applies.
+     *
+     * @param iterable  the entries to be filtered and transformed
+     * @param predicate the predicate to filter the entries with
+     * @param function  the function to transform the entries with
+     * @param <F>       the type of the entries of the given {@code iterable}
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <F> long[] createFrom(final Iterable<F> iterable, final Predicate<? super F> predicate, final ToLongFunction<? super F> function) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(function != null, "function must not be null.");
+
+        return OptimizedIterations.createFrom(iterable, predicate, function, new long[OptimizedIterations.initialArrayCapacityOf(iterable)]);
+    }
+
+    /**
+     * Creates a new {@code double} array from the given {@code iterable} by converting each entry with the given {@code function}.
+     *
+     * @param iterable the entries to be transformed
+     * @param function the function to transform the entries with
+     * @param <F>      the type of the entries of the given {@code iterable}
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <F> double[] createFrom(final Iterable<F> iterable, final ToDoubleFunction<? super F> function) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(function != null, "function must not be null.");
+
+        return OptimizedIterations.createFrom(iterable, function, new double[OptimizedIterations.initialArrayCapacityOf(iterable)]);
+    }
+
+    /**
+     * Creates a new {@code double} array from the given {@code iterable} by converting each entry with the given {@code function}, if the given
+     * {@code predicate} applies.
+     *
+     * @param iterable  the entries to be filtered and transformed
+     * @param predicate the predicate to filter the entries with
+     * @param function  the function to transform the entries with
+     * @param <F>       the type of the entries of the given {@code iterable}
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static <F> double[] createFrom(final Iterable<F> iterable, final Predicate<? super F> predicate, final ToDoubleFunction<? super F> function) {
+
+        checkArgument(iterable != null, "iterable must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(function != null, "function must not be null.");
+
+        return OptimizedIterations.createFrom(iterable, predicate, function, new double[OptimizedIterations.initialArrayCapacityOf(iterable)]);
+    }
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.collect.BoundType;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.Range;
+import java.util.Arrays;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Filters for primitive arrays with simple comparisons, i.e. ranges and sets of allowed values. The range filters are free of data dependent branches: each
+ * value is written to the next free slot of the result and the slot is only advanced if the value matches. Their cost therefore does not depend on the
+ * selectivity and the JIT can compile the comparisons to conditional moves. Filtering keeps the order of the given values and never modifies them.
+ *
+ * @since 19.10.2026
+ */
+public final class PrimitiveFilters {
+
+    private PrimitiveFilters() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Creates a new array of all {@code values} which are contained in the given {@code range}.
+     *
+     * @param values the values to be filtered
+     * @param range  the range of values to keep
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static int[] inRange(final int[] values, final Range<Integer> range) {
+
+        checkArgument(values != null, "values must not be null.");
+        checkArgument(range != null, "range must not be null.");
+
+        final Range<Integer> canonical = range.canonical(DiscreteDomain.integers());
+        if (canonical.isEmpty()) {
+            return new int[0];
+        }
+
+        final int lower = canonical.hasLowerBound() ? canonical.lowerEndpoint() : Integer.MIN_VALUE;
+        final int upper = canonical.hasUpperBound() ? canonical.upperEndpoint() - 1 : Integer.MAX_VALUE;
+
+        // lower <= value <= upper as a single unsigned comparison
+        final int width = upper - lower + Integer.MIN_VALUE;
+        final int[] result = new int[values.length];
+        int size = 0;
+        for (final int value : values) {
+            result[size] = value;
+            size += value - lower + Integer.MIN_VALUE <= width ? 1 : 0;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Creates a new array of all {@code values} which are contained in the given {@code range}.
+     *
+     * @param values the values to be filtered
+     * @param range  the range of values to keep
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static long[] inRange(final long[] values, final Range<Long> range) {
+
+        checkArgument(values != null, "values must not be null.");
+        checkArgument(range != null, "range must not be null.");
+
+        final Range<Long> canonical = range.canonical(DiscreteDomain.longs());
+        if (canonical.isEmpty()) {
+            return new long[0];
+        }
+
+        final long lower = canonical.hasLowerBound() ? canonical.lowerEndpoint() : Long.MIN_VALUE;
+        final long upper = canonical.hasUpperBound() ? canonical.upperEndpoint() - 1 : Long.MAX_VALUE;
+
+        // lower <= value <= upper as a single unsigned comparison
+        final long width = upper - lower + Long.MIN_VALUE;
+        final long[] result = new long[values.length];
+        int size = 0;
+        for (final long value : values) {
+            result[size] = value;
+            size += value - lower + Long.MIN_VALUE <= width ? 1 : 0;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Creates a new array of all {@code values} which are contained in the given {@code range}. {@code NaN} is never contained.
+     *
+     * @param values the values to be filtered
+     * @param range  the range of values to keep
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static double[] inRange(final double[] values, final Range<Double> range) {
+
+        checkArgument(values != null, "values must not be null.");
+        checkArgument(range != null, "range must not be null.");
+
+        final double lower = lowerInclusive(range);
+        final double upper = upperInclusive(range);
+
+        final double[] result = new double[values.length];
+        int size = 0;
+        for (final double value : values) {
+            result[size] = value;
+            size += lower <= value & value <= upper ? 1 : 0;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Creates a new array of all {@code values} which are equal to any of the given {@code candidates}.
+     *
+     * @param values     the values to be filtered
+     * @param candidates the values to keep
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static int[] anyOf(final int[] values, final int[] candidates) {
+
+        checkArgument(values != null, "values must not be null.");
+        checkArgument(candidates != null, "candidates must not be null.");
+
+        final int[] sortedCandidates = candidates.clone();
+        Arrays.sort(sortedCandidates);
+
+        final int[] result = new int[values.length];
+        int size = 0;
+        for (final int value : values) {
+            result[size] = value;
+            size += Arrays.binarySearch(sortedCandidates, value) >= 0 ? 1 : 0;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Creates a new array of all {@code values} which are equal to any of the given {@code candidates}.
+     *
+     * @param values     the values to be filtered
+     * @param candidates the values to keep
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static long[] anyOf(final long[] values, final long[] candidates) {
+
+        checkArgument(values != null, "values must not be null.");
+        checkArgument(candidates != null, "candidates must not be null.");
+
+        final long[] sortedCandidates = candidates.clone();
+        Arrays.sort(sortedCandidates);
+
+        final long[] result = new long[values.length];
+        int size = 0;
+        for (final long value : values) {
+            result[size] = value;
+            size += Arrays.binarySearch(sortedCandidates, value) >= 0 ? 1 : 0;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Creates a new array of all {@code values} which are equal to any of the given {@code candidates}. Values are compared like
+     * {@link Double#equals(Object)} does, so {@code NaN} matches {@code NaN} and {@code 0.0} does not match {@code -0.0}.
+     *
+     * @param values     the values to be filtered
+     * @param candidates the values to keep
+     * @return a new array, might be empty
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public static double[] anyOf(final double[] values, final double[] candidates) {
+
+        checkArgument(values != null, "values must not be null.");
+        checkArgument(candidates != null, "candidates must not be null.");
+
+        final double[] sortedCandidates = candidates.clone();
+        Arrays.sort(sortedCandidates);
+
+        final double[] result = new double[values.length];
+        int size = 0;
+        for (final double value : values) {
+            result[size] = value;
+            size += Arrays.binarySearch(sortedCandidates, value) >= 0 ? 1 : 0;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static double lowerInclusive(final Range<Double> range) {
+
+        if (!range.hasLowerBound()) {
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        final double endpoint = range.lowerEndpoint();
+        return range.lowerBoundType() == BoundType.CLOSED ? endpoint : Math.nextUp(endpoint);
+    }
+
+    private static double upperInclusive(final Range<Double> range) {
+
+        if (!range.hasUpperBound()) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        final double endpoint = range.upperEndpoint();
+        return range.upperBoundType() == BoundType.CLOSED ? endpoint : Math.nextAfter(endpoint, Double.NEGATIVE_INFINITY);
+    }
+}
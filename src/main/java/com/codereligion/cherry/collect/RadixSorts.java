@@ -0,0 +1,213 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stable non-comparison sorts for the natural ordering of {@link Integer}, {@link Long} and {@link String} keys. Integral keys are sorted by an LSD radix
+ * sort over their bytes, strings by a multikey quicksort over their characters. Both sort the indexes of the keys instead of the keys, so values can be
+ * reordered along with their keys.
+ *
+ * @since 19.10.2026
+ */
+final class RadixSorts {
+
+    /**
+     * Below this number of keys, the overhead of the radix sorts outweighs the comparisons they save.
+     */
+    static final int MINIMUM_SIZE = 32;
+
+    private static final int RADIX = 256;
+    private static final int INSERTION_SORT_SIZE = 16;
+
+    private RadixSorts() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * Returns the indexes of the given {@code keys} in ascending natural order of the keys, equal keys keep their relative order. Returns {@code null} if
+     * there are less than {@link #MINIMUM_SIZE} keys or if the keys are not all {@link Integer Integers}, all {@link Long Longs} or all
+     * {@link String Strings}.
+     */
+    static int[] sortedIndexes(final List<?> keys) {
+
+        if (keys.size() < MINIMUM_SIZE) {
+            return null;
+        }
+
+        final Object first = keys.get(0);
+        if (first instanceof Integer) {
+            final long[] unsignedKeys = new long[keys.size()];
+            for (int i = 0; i < unsignedKeys.length; i++) {
+                final Object key = keys.get(i);
+                if (!(key instanceof Integer)) {
+                    return null;
+                }
+                unsignedKeys[i] = ((Integer) key ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+            }
+            return sortByUnsignedKeys(unsignedKeys, Integer.SIZE / Byte.SIZE);
+        }
+
+        if (first instanceof Long) {
+            final long[] unsignedKeys = new long[keys.size()];
+            for (int i = 0; i < unsignedKeys.length; i++) {
+                final Object key = keys.get(i);
+                if (!(key instanceof Long)) {
+                    return null;
+                }
+                unsignedKeys[i] = (Long) key ^ Long.MIN_VALUE;
+            }
+            return sortByUnsignedKeys(unsignedKeys, Long.SIZE / Byte.SIZE);
+        }
+
+        if (first instanceof String) {
+            final String[] strings = new String[keys.size()];
+            for (int i = 0; i < strings.length; i++) {
+                final Object key = keys.get(i);
+                if (!(key instanceof String)) {
+                    return null;
+                }
+                strings[i] = (String) key;
+            }
+            final int[] indexes = identityIndexes(strings.length);
+            sortByStrings(strings, indexes, 0, indexes.length, 0);
+            return indexes;
+        }
+
+        return null;
+    }
+
+    /**
+     * LSD radix sort of the indexes of the given keys, which are compared as unsigned numbers of the given number of bytes.
+     */
+    private static int[] sortByUnsignedKeys(final long[] keys, final int bytes) {
+
+        int[] indexes = identityIndexes(keys.length);
+        int[] buffer = new int[keys.length];
+        final int[] offsets = new int[RADIX + 1];
+
+        for (int shift = 0; shift < bytes * Byte.SIZE; shift += Byte.SIZE) {
+
+            Arrays.fill(offsets, 0);
+            for (final long key : keys) {
+                offsets[digit(key, shift) + 1]++;
+            }
+
+            // all keys share this digit, the pass would not change the order
+            if (offsets[digit(keys[0], shift) + 1] == keys.length) {
+                continue;
+            }
+
+            for (int digit = 0; digit < RADIX; digit++) {
+                offsets[digit + 1] += offsets[digit];
+            }
+            for (final int index : indexes) {
+                buffer[offsets[digit(keys[index], shift)]++] = index;
+            }
+
+            final int[] sorted = buffer;
+            buffer = indexes;
+            indexes = sorted;
+        }
+        return indexes;
+    }
+
+    private static int digit(final long key, final int shift) {
+        return (int) (key >>> shift) & (RADIX - 1);
+    }
+
+    /**
+     * Multikey quicksort of the given range of indexes by the characters of their strings, starting at the given character position. All strings in the
+     * range share their first {@code depth} characters.
+     */
+    private static void sortByStrings(final String[] strings, final int[] indexes, final int from, final int to, final int depth) {
+
+        // the middle partition is sorted iteratively, as it recurses once per shared character
+        int low = from;
+        int high = to;
+        int position = depth;
+        while (high - low > INSERTION_SORT_SIZE) {
+
+            final int pivot = charAt(strings[indexes[low + (high - low) / 2]], position);
+
+            // three way partition into [low, less) < pivot, [less, greater) == pivot and [greater, high) > pivot
+            int less = low;
+            int greater = high;
+            int i = low;
+            while (i < greater) {
+                final int character = charAt(strings[indexes[i]], position);
+                if (character < pivot) {
+                    swap(indexes, less++, i++);
+                } else if (character > pivot) {
+                    swap(indexes, i, --greater);
+                } else {
+                    i++;
+                }
+            }
+
+            sortByStrings(strings, indexes, low, less, position);
+            sortByStrings(strings, indexes, greater, high, position);
+
+            if (pivot < 0) {
+                // all strings of the middle partition are equal, restore their original order
+                Arrays.sort(indexes, less, greater);
+                return;
+            }
+
+            low = less;
+            high = greater;
+            position++;
+        }
+        insertionSort(strings, indexes, low, high);
+    }
+
+    private static void insertionSort(final String[] strings, final int[] indexes, final int from, final int to) {
+        for (int i = from + 1; i < to; i++) {
+            final int index = indexes[i];
+            int j = i;
+            while (j > from && isBefore(strings, index, indexes[j - 1])) {
+                indexes[j] = indexes[j - 1];
+                j--;
+            }
+            indexes[j] = index;
+        }
+    }
+
+    private static boolean isBefore(final String[] strings, final int index, final int otherIndex) {
+        final int comparison = strings[index].compareTo(strings[otherIndex]);
+        return comparison < 0 || comparison == 0 && index < otherIndex;
+    }
+
+    private static int charAt(final String string, final int position) {
+        return position < string.length() ? string.charAt(position) : -1;
+    }
+
+    private static void swap(final int[] indexes, final int i, final int j) {
+        final int index = indexes[i];
+        indexes[i] = indexes[j];
+        indexes[j] = index;
+    }
+
+    private static int[] identityIndexes(final int size) {
+        final int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = i;
+        }
+        return indexes;
+    }
+}
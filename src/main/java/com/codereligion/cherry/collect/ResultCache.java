@@ -0,0 +1,417 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Memoizes the results of repeated calls to the factories of this package over unchanged inputs. Results of the typed methods, like
+ * {@link #hashMap(com.google.common.collect.ImmutableCollection, com.google.common.base.Function)} or
+ * {@link #arrayList(com.google.common.collect.ImmutableCollection, com.google.common.base.Predicate)}, are keyed by the identity of the input, the factory
+ * and the identities of the given predicates and functions, for example:
+ * <pre>
+ * final Map&lt;String, Row&gt; rowsById = cache.hashMap(rows, ROW_ID);
+ * final List&lt;Row&gt; activeRows = cache.arrayList(rows, IS_ACTIVE);
+ * </pre>
+ * Predicates and functions should therefore be constants, a predicate or function created per call never hits the cache and only occupies an entry until
+ * it is evicted. Arbitrary operations can be cached by {@link #get(com.google.common.collect.ImmutableCollection, com.google.common.base.Function)}, which
+ * keys on the identity of the operation itself, the same rule applies to them.
+ * <p/>
+ * Inputs are only referenced weakly, entries whose input has been garbage collected are removed on subsequent accesses. This only works if the cached
+ * result does not reference the input itself. The number of cached results is bounded, the least recently used entries are evicted first. Results are
+ * shared between all callers, which is why the typed methods return unmodifiable views and the results of arbitrary operations should not be modified.
+ * Instances are thread safe.
+ *
+ * @since 19.10.2026
+ */
+public final class ResultCache {
+
+    /**
+     * The factories of the cached results, which are part of their keys.
+     */
+    private enum Factory {
+
+        HASH_MAP {
+            @Override
+            Object apply(final Object input, final Object first, final Object second) {
+                return Collections.unmodifiableMap(HashMaps.createFrom(iterable(input), function(first)));
+            }
+        },
+        HASH_MAP_OF_VALUES {
+            @Override
+            Object apply(final Object input, final Object first, final Object second) {
+                return Collections.unmodifiableMap(HashMaps.createFrom(iterable(input), function(first), function(second)));
+            }
+        },
+        TRANSFORMED_ARRAY_LIST {
+            @Override
+            Object apply(final Object input, final Object first, final Object second) {
+                return Collections.unmodifiableList(ArrayLists.createFrom(iterable(input), function(first)));
+            }
+        },
+        FILTERED_ARRAY_LIST {
+            @Override
+            Object apply(final Object input, final Object first, final Object second) {
+                return Collections.unmodifiableList(ArrayLists.createFrom(iterable(input), predicate(first)));
+            }
+        },
+        FILTERED_TRANSFORMED_ARRAY_LIST {
+            @Override
+            Object apply(final Object input, final Object first, final Object second) {
+                return Collections.unmodifiableList(ArrayLists.createFrom(iterable(input), predicate(first), function(second)));
+            }
+        },
+        OPERATION {
+            @Override
+            Object apply(final Object input, final Object first, final Object second) {
+                return function(first).apply(input);
+            }
+        };
+
+        /**
+         * Computes the result for the given {@code input} from the given predicates or functions, which were checked by the typed method.
+         */
+        abstract Object apply(Object input, Object first, Object second);
+
+        @SuppressWarnings("unchecked")
+        private static Iterable<Object> iterable(final Object input) {
+            return (Iterable<Object>) input;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Function<Object, Object> function(final Object function) {
+            return (Function<Object, Object>) function;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Predicate<Object> predicate(final Object predicate) {
+            return (Predicate<Object>) predicate;
+        }
+    }
+
+    private final Cache<Key, Object> cache;
+    private final ReferenceQueue<Object> collectedInputs = new ReferenceQueue<Object>();
+
+    private ResultCache(final long maximumSize) {
+        this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+    }
+
+    /**
+     * Creates a new cache, which holds at most the given number of results.
+     *
+     * @param maximumSize the maximum number of cached results
+     * @return a new, empty cache
+     * @throws IllegalArgumentException when the given {@code maximumSize} is negative
+     */
+    public static ResultCache create(final long maximumSize) {
+
+        checkArgument(maximumSize >= 0, "maximumSize must not be negative.");
+
+        return new ResultCache(maximumSize);
+    }
+
+    /**
+     * Returns the result of {@link com.codereligion.cherry.collect.HashMaps#createFrom(Iterable, com.google.common.base.Function)} for the given immutable
+     * {@code input}, which is only computed if it is not cached yet for the given {@code keyFunction}.
+     *
+     * @param input       the immutable entries to be mapped
+     * @param keyFunction the function to retrieve the map key from an entry, should be a constant
+     * @param <K>         the type of the keys of the resulting map
+     * @param <V>         the type of the values of the resulting map
+     * @return an unmodifiable view of the cached or computed {@link java.util.HashMap}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <K, V> Map<K, V> hashMap(final ImmutableCollection<V> input, final Function<? super V, K> keyFunction) {
+
+        checkArgument(input != null, "input must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+
+        return getOrCompute(input, 0, Factory.HASH_MAP, keyFunction, null);
+    }
+
+    /**
+     * Returns the result of {@link com.codereligion.cherry.collect.HashMaps#createFrom(Iterable, com.google.common.base.Function,
+     * com.google.common.base.Function)} for the given immutable {@code input}, which is only computed if it is not cached yet for the given
+     * {@code keyFunction} and {@code valueFunction}.
+     *
+     * @param input         the immutable entries to be mapped
+     * @param keyFunction   the function to retrieve the map key from an entry, should be a constant
+     * @param valueFunction the function to retrieve the map value from an entry, should be a constant
+     * @param <E>           the type of the entries of the given {@code input}
+     * @param <K>           the type of the keys of the resulting map
+     * @param <V>           the type of the values of the resulting map
+     * @return an unmodifiable view of the cached or computed {@link java.util.HashMap}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <E, K, V> Map<K, V> hashMap(final ImmutableCollection<E> input,
+                                       final Function<? super E, K> keyFunction,
+                                       final Function<? super E, V> valueFunction) {
+
+        checkArgument(input != null, "input must not be null.");
+        checkArgument(keyFunction != null, "keyFunction must not be null.");
+        checkArgument(valueFunction != null, "valueFunction must not be null.");
+
+        return getOrCompute(input, 0, Factory.HASH_MAP_OF_VALUES, keyFunction, valueFunction);
+    }
+
+    /**
+     * Returns the result of {@link com.codereligion.cherry.collect.ArrayLists#createFrom(Iterable, com.google.common.base.Function)} for the given
+     * immutable {@code input}, which is only computed if it is not cached yet for the given {@code function}.
+     *
+     * @param input    the immutable entries to transform
+     * @param function the function to transform each entry with, should be a constant
+     * @param <F>      the type of the entries of the given {@code input}
+     * @param <T>      the type of the elements of the resulting list
+     * @return an unmodifiable view of the cached or computed {@link java.util.ArrayList}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <F, T> List<T> arrayList(final ImmutableCollection<F> input, final Function<? super F, T> function) {
+
+        checkArgument(input != null, "input must not be null.");
+        checkArgument(function != null, "function must not be null.");
+
+        return getOrCompute(input, 0, Factory.TRANSFORMED_ARRAY_LIST, function, null);
+    }
+
+    /**
+     * Returns the result of {@link com.codereligion.cherry.collect.ArrayLists#createFrom(Iterable, com.google.common.base.Predicate)} for the given
+     * immutable {@code input}, which is only computed if it is not cached yet for the given {@code predicate}.
+     *
+     * @param input     the immutable entries to filter
+     * @param predicate the predicate to filter the entries with, should be a constant
+     * @param <E>       the type of the entries of the given {@code input}
+     * @return an unmodifiable view of the cached or computed {@link java.util.ArrayList}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <E> List<E> arrayList(final ImmutableCollection<E> input, final Predicate<? super E> predicate) {
+
+        checkArgument(input != null, "input must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+
+        return getOrCompute(input, 0, Factory.FILTERED_ARRAY_LIST, predicate, null);
+    }
+
+    /**
+     * Returns the result of {@link com.codereligion.cherry.collect.ArrayLists#createFrom(Iterable, com.google.common.base.Predicate,
+     * com.google.common.base.Function)} for the given immutable {@code input}, which is only computed if it is not cached yet for the given
+     * {@code predicate} and {@code function}.
+     *
+     * @param input     the immutable entries to filter and transform
+     * @param predicate the predicate to filter the entries with, should be a constant
+     * @param function  the function to transform each entry with, should be a constant
+     * @param <F>       the type of the entries of the given {@code input}
+     * @param <T>       the type of the elements of the resulting list
+     * @return an unmodifiable view of the cached or computed {@link java.util.ArrayList}
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <F, T> List<T> arrayList(final ImmutableCollection<F> input, final Predicate<? super F> predicate, final Function<? super F, T> function) {
+
+        checkArgument(input != null, "input must not be null.");
+        checkArgument(predicate != null, "predicate must not be null.");
+        checkArgument(function != null, "function must not be null.");
+
+        return getOrCompute(input, 0, Factory.FILTERED_TRANSFORMED_ARRAY_LIST, predicate, function);
+    }
+
+    /**
+     * Returns the result of applying the given {@code operation} to the given immutable {@code input}, which is only computed if it is not cached yet.
+     * The result is keyed by the identity of the {@code operation}, which should therefore be a constant.
+     *
+     * @param input     the immutable input of the operation
+     * @param operation the operation to apply, must not return {@code null}
+     * @param <E>       the type of the input elements
+     * @param <R>       the type of the result
+     * @return the cached or computed result
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <E, R> R get(final ImmutableCollection<E> input, final Function<? super ImmutableCollection<E>, R> operation) {
+
+        checkArgument(input != null, "input must not be null.");
+        checkArgument(operation != null, "operation must not be null.");
+
+        return getOrCompute(input, 0, Factory.OPERATION, operation, null);
+    }
+
+    /**
+     * Returns the result of applying the given {@code operation} to the given {@code input}, which is only computed if it is not cached yet for the given
+     * {@code versionStamp}. The caller has to change the stamp whenever the input is modified. The result is keyed by the identity of the
+     * {@code operation}, which should therefore be a constant.
+     *
+     * @param input        the input of the operation
+     * @param versionStamp the version of the content of the input
+     * @param operation    the operation to apply, must not return {@code null}
+     * @param <I>          the type of the input
+     * @param <R>          the type of the result
+     * @return the cached or computed result
+     * @throws IllegalArgumentException when any of the given parameters are {@code null}
+     */
+    public <I extends Iterable<?>, R> R get(final I input, final long versionStamp, final Function<? super I, R> operation) {
+
+        checkArgument(input != null, "input must not be null.");
+        checkArgument(operation != null, "operation must not be null.");
+
+        return getOrCompute(input, versionStamp, Factory.OPERATION, operation, null);
+    }
+
+    /**
+     * @return the hit, miss and eviction statistics of this cache
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return the approximate number of cached results
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R getOrCompute(final Object input, final long versionStamp, final Factory factory, final Object first, final Object second) {
+
+        removeCollectedInputs();
+
+        final Key key = new Key(input, versionStamp, factory, first, second, collectedInputs);
+        try {
+            return (R) cache.get(key, key);
+        } catch (final ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        } catch (final UncheckedExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
+    private void removeCollectedInputs() {
+
+        Reference<?> reference;
+        while ((reference = collectedInputs.poll()) != null) {
+            cache.invalidate(((InputReference) reference).key);
+        }
+    }
+
+    /**
+     * Weak reference to an input, which remembers the cache key it belongs to.
+     */
+    private static final class InputReference extends WeakReference<Object> {
+
+        private final Key key;
+
+        private InputReference(final Object input, final Key key, final ReferenceQueue<Object> queue) {
+            super(input, queue);
+            this.key = key;
+        }
+    }
+
+    /**
+     * Identifies a result by the identity of its input, its factory, the identities of the predicates and functions of the factory and by the version
+     * stamp. A key references its input strongly until it computes its result, which only happens if it was not found in the cache and is stored in it.
+     * Only then it switches to a weak reference, so that a lookup does not create a {@link java.lang.ref.WeakReference}. Keys of collected inputs are
+     * only equal to themselves.
+     */
+    private static final class Key implements Callable<Object> {
+
+        private final int hashCode;
+        private final long versionStamp;
+        private final Factory factory;
+        private final Object first;
+        private final Object second;
+        private final ReferenceQueue<Object> queue;
+        private volatile Object strongInput;
+        private volatile InputReference weakInput;
+
+        private Key(final Object input,
+                    final long versionStamp,
+                    final Factory factory,
+                    final Object first,
+                    final Object second,
+                    final ReferenceQueue<Object> queue) {
+            this.strongInput = input;
+            this.versionStamp = versionStamp;
+            this.factory = factory;
+            this.first = first;
+            this.second = second;
+            this.queue = queue;
+
+            int result = 31 * System.identityHashCode(input) + (int) (versionStamp ^ (versionStamp >>> 32));
+            result = 31 * result + factory.hashCode();
+            result = 31 * result + System.identityHashCode(first);
+            this.hashCode = 31 * result + System.identityHashCode(second);
+        }
+
+        private Object input() {
+            final Object input = strongInput;
+            return input != null ? input : weakInput.get();
+        }
+
+        @Override
+        public Object call() {
+
+            final Object input = strongInput;
+            weakInput = new InputReference(input, this, queue);
+            strongInput = null;
+            return factory.apply(input, first, second);
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof Key)) {
+                return false;
+            }
+
+            final Key other = (Key) object;
+            final Object input = input();
+            return input != null
+                   && input == other.input()
+                   && versionStamp == other.versionStamp
+                   && factory == other.factory
+                   && first == other.first
+                   && second == other.second;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
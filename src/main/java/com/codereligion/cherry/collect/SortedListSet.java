@@ -0,0 +1,114 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Read-only sorted set view of a list of distinct elements, which are already in ascending order. Lookups and range views binary search the list, which
+ * should therefore support random access.
+ *
+ * @param <E> the type of the elements
+ * @since 19.10.2026
+ */
+final class SortedListSet<E> extends AbstractSet<E> implements SortedSet<E> {
+
+    private final List<E> elements;
+    private final Comparator<? super E> comparator;
+
+    SortedListSet(final List<E> elements, final Comparator<? super E> comparator) {
+        this.elements = elements;
+        this.comparator = comparator;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return elements.iterator();
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        return indexOf(object) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    @Override
+    public E first() {
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return elements.get(0);
+    }
+
+    @Override
+    public E last() {
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+        return elements.get(elements.size() - 1);
+    }
+
+    @Override
+    public SortedSet<E> subSet(final E fromElement, final E toElement) {
+
+        final int fromIndex = insertionIndexOf(fromElement);
+        final int toIndex = insertionIndexOf(toElement);
+        checkArgument(fromIndex <= toIndex, "fromElement must not be greater than toElement.");
+        return new SortedListSet<E>(elements.subList(fromIndex, toIndex), comparator);
+    }
+
+    @Override
+    public SortedSet<E> headSet(final E toElement) {
+        return new SortedListSet<E>(elements.subList(0, insertionIndexOf(toElement)), comparator);
+    }
+
+    @Override
+    public SortedSet<E> tailSet(final E fromElement) {
+        return new SortedListSet<E>(elements.subList(insertionIndexOf(fromElement), elements.size()), comparator);
+    }
+
+    /**
+     * @return the index of the first element which is not less than the given {@code element}
+     */
+    private int insertionIndexOf(final E element) {
+        final int index = Collections.binarySearch(elements, element, comparator);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int indexOf(final Object object) {
+        if (object == null) {
+            return -1;
+        }
+        return Collections.binarySearch(elements, (E) object, comparator);
+    }
+}
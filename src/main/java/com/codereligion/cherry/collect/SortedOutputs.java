@@ -0,0 +1,309 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Ordering;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Builds sorted sets and maps in linear time, if their elements or keys are already in ascending order. The order is verified in a single pass, outputs
+ * whose elements or keys are not in order are sorted as usual. Comparators which are {@code null} stand for the natural ordering.
+ * <p/>
+ * Immutable outputs are sorted in place, without copying the collected elements or keys again, and handed to Guava already sorted. If they are in natural
+ * order and all {@link Integer Integers}, {@link Long Longs} or {@link String Strings}, they are sorted with {@link RadixSorts}.
+ *
+ * @since 19.10.2026
+ */
+final class SortedOutputs {
+
+    private SortedOutputs() {
+        throw new IllegalAccessError("This class is a utility class and must not be instantiated.");
+    }
+
+    /**
+     * @return whether the given {@code function} has been declared as monotonic
+     */
+    static boolean isMonotonic(final Function<?, ?> function) {
+        return function instanceof MonotonicFunction;
+    }
+
+    /**
+     * @return whether the given {@code iterable} is a sorted set, which is ordered by the given {@code comparator}
+     */
+    static boolean isOrderedBy(final Iterable<?> iterable, final Comparator<?> comparator) {
+
+        if (!(iterable instanceof SortedSet)) {
+            return false;
+        }
+
+        final Comparator<?> order = ((SortedSet<?>) iterable).comparator();
+        return (order == null ? Ordering.natural() : order).equals(comparator == null ? Ordering.natural() : comparator);
+    }
+
+    static <T> TreeSet<T> newTreeSet(final List<T> elements, final Comparator<? super T> comparator) {
+
+        final List<T> distinctElements = distinctIfAscending(elements, SortedOutputs.<T>orderOf(comparator));
+        if (distinctElements != null) {
+            return new TreeSet<T>(new SortedListSet<T>(distinctElements, comparator));
+        }
+
+        final TreeSet<T> set = new TreeSet<T>(comparator);
+        set.addAll(elements);
+        return set;
+    }
+
+    /**
+     * Sorts the given {@code elements}, which must be a mutable list owned by the caller, in place unless they are already in order, removes equal elements
+     * in place and copies the result into the set without sorting it again.
+     */
+    static <T> ImmutableSortedSet<T> newImmutableSortedSet(final List<T> elements, final Comparator<? super T> comparator) {
+
+        if (!removeEqualIfAscending(elements, comparator)) {
+            final int[] indexes = isNatural(comparator) ? RadixSorts.sortedIndexes(elements) : null;
+            if (indexes != null) {
+                permute(indexes, elements, null);
+            } else {
+                Collections.sort(elements, comparator);
+            }
+            removeEqualIfAscending(elements, comparator);
+        }
+        return ImmutableSortedSet.copyOfSorted(new SortedListSet<T>(elements, comparator));
+    }
+
+    static <E, K, V> TreeMap<K, V> newTreeMap(final Iterable<E> entries,
+                                              final Function<? super E, K> keyFunction,
+                                              final Function<? super E, V> valueFunction,
+                                              final Comparator<? super K> comparator) {
+
+        final List<K> keys = new ArrayList<K>();
+        final List<V> values = new ArrayList<V>();
+        if (collectAscending(entries, keyFunction, valueFunction, SortedOutputs.<K>orderOf(comparator), true, keys, values)) {
+            return new TreeMap<K, V>(new SortedListMap<K, V>(keys, values, comparator));
+        }
+
+        final TreeMap<K, V> map = new TreeMap<K, V>(comparator);
+        for (int i = 0; i < keys.size(); i++) {
+            map.put(keys.get(i), values.get(i));
+        }
+        return map;
+    }
+
+    static <E, K, V> ImmutableSortedMap<K, V> newImmutableSortedMap(final Iterable<E> entries,
+                                                                    final Function<? super E, K> keyFunction,
+                                                                    final Function<? super E, V> valueFunction,
+                                                                    final Comparator<? super K> comparator) {
+
+        final int expectedSize = entries instanceof Collection ? ((Collection<?>) entries).size() : 16;
+        final List<K> keys = new ArrayList<K>(expectedSize);
+        final List<V> values = new ArrayList<V>(expectedSize);
+        if (collectAscending(entries, keyFunction, valueFunction, comparator, false, keys, values)) {
+            return ImmutableSortedMap.copyOfSorted(new SortedListMap<K, V>(keys, values, comparator));
+        }
+
+        final int[] radixSortedIndexes = isNatural(comparator) ? RadixSorts.sortedIndexes(keys) : null;
+        permute(radixSortedIndexes != null ? radixSortedIndexes : sortedIndexes(keys, comparator), keys, values);
+        for (int i = 1; i < keys.size(); i++) {
+            if (comparator.compare(keys.get(i - 1), keys.get(i)) == 0) {
+                // duplicate keys are left to the builder, which rejects them
+                final ImmutableSortedMap.Builder<K, V> builder = new ImmutableSortedMap.Builder<K, V>(comparator);
+                for (int j = 0; j < keys.size(); j++) {
+                    builder.put(keys.get(j), values.get(j));
+                }
+                return builder.build();
+            }
+        }
+        return ImmutableSortedMap.copyOfSorted(new SortedListMap<K, V>(keys, values, comparator));
+    }
+
+    private static boolean isNatural(final Comparator<?> comparator) {
+        return Ordering.natural().equals(comparator);
+    }
+
+    /**
+     * Returns the given {@code elements} without adjacent duplicates, like a sorted set would keep them, or {@code null} if they are not in ascending order.
+     */
+    private static <T> List<T> distinctIfAscending(final List<T> elements, final Comparator<? super T> comparator) {
+
+        final List<T> distinctElements = new ArrayList<T>(elements.size());
+        for (final T element : elements) {
+            if (distinctElements.isEmpty()) {
+                // like sorted sets, reject elements which cannot be compared, e.g. null for the natural ordering
+                comparator.compare(element, element);
+            } else {
+                final int comparison = comparator.compare(distinctElements.get(distinctElements.size() - 1), element);
+                if (comparison > 0) {
+                    return null;
+                }
+                if (comparison == 0) {
+                    continue;
+                }
+            }
+            distinctElements.add(element);
+        }
+        return distinctElements;
+    }
+
+    /**
+     * Adds the keys and values of the given {@code entries} to the given lists and returns whether the keys are strictly ascending. Adjacent entries with
+     * equal keys are merged like a map would merge them, if {@code mergeEqualKeys} is set, otherwise they are not considered to be ascending.
+     */
+    private static <E, K, V> boolean collectAscending(final Iterable<E> entries,
+                                                      final Function<? super E, K> keyFunction,
+                                                      final Function<? super E, V> valueFunction,
+                                                      final Comparator<? super K> comparator,
+                                                      final boolean mergeEqualKeys,
+                                                      final List<K> keys,
+                                                      final List<V> values) {
+
+        boolean ascending = true;
+        for (final E entry : entries) {
+            final K key = keyFunction.apply(entry);
+            final V value = valueFunction.apply(entry);
+            if (keys.isEmpty()) {
+                // like sorted maps, reject keys which cannot be compared, e.g. null for the natural ordering
+                comparator.compare(key, key);
+            } else if (ascending) {
+                final int comparison = comparator.compare(keys.get(keys.size() - 1), key);
+                if (comparison == 0 && mergeEqualKeys) {
+                    values.set(values.size() - 1, value);
+                    continue;
+                }
+                ascending = comparison < 0;
+            }
+            keys.add(key);
+            values.add(value);
+        }
+        return ascending;
+    }
+
+    /**
+     * Removes elements, which are equal to their predecessor, in place while the given {@code elements} are in ascending order and returns whether all of
+     * them are. As sorts are stable, this keeps the first of equal elements like a sorted set would.
+     */
+    private static <T> boolean removeEqualIfAscending(final List<T> elements, final Comparator<? super T> comparator) {
+
+        boolean ascending = true;
+        int size = 0;
+        for (int i = 0; i < elements.size(); i++) {
+            final T element = elements.get(i);
+            if (size == 0) {
+                // like sorted sets, reject elements which cannot be compared, e.g. null for the natural ordering
+                comparator.compare(element, element);
+            } else if (ascending) {
+                final int comparison = comparator.compare(elements.get(size - 1), element);
+                if (comparison == 0) {
+                    continue;
+                }
+                ascending = comparison < 0;
+            }
+            elements.set(size++, element);
+        }
+        elements.subList(size, elements.size()).clear();
+        return ascending;
+    }
+
+    /**
+     * Stable merge sort of the indexes of the given {@code keys}, for the comparators and key types which cannot be radix sorted.
+     */
+    private static <K> int[] sortedIndexes(final List<K> keys, final Comparator<? super K> comparator) {
+
+        final int[] indexes = new int[keys.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = i;
+        }
+        mergeSort(keys, comparator, indexes, indexes.clone(), 0, indexes.length);
+        return indexes;
+    }
+
+    /**
+     * Sorts the given range into {@code indexes}, using {@code buffer}, which holds the same indexes in that range, for the sorted halves.
+     */
+    private static <K> void mergeSort(final List<K> keys,
+                                      final Comparator<? super K> comparator,
+                                      final int[] indexes,
+                                      final int[] buffer,
+                                      final int from,
+                                      final int to) {
+
+        if (to - from < 2) {
+            return;
+        }
+
+        final int middle = (from + to) >>> 1;
+        mergeSort(keys, comparator, buffer, indexes, from, middle);
+        mergeSort(keys, comparator, buffer, indexes, middle, to);
+
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || left < middle && comparator.compare(keys.get(buffer[left]), keys.get(buffer[right])) <= 0) {
+                indexes[i] = buffer[left++];
+            } else {
+                indexes[i] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * Moves the element at {@code indexes[i]} of the given lists to position {@code i} in place by following the cycles of the permutation. The given
+     * {@code values} might be {@code null}, the {@code indexes} are destroyed.
+     */
+    private static <K, V> void permute(final int[] indexes, final List<K> keys, final List<V> values) {
+
+        for (int start = 0; start < indexes.length; start++) {
+            if (indexes[start] == start) {
+                continue;
+            }
+
+            final K firstKey = keys.get(start);
+            final V firstValue = values == null ? null : values.get(start);
+            int target = start;
+            while (indexes[target] != start) {
+                final int source = indexes[target];
+                keys.set(target, keys.get(source));
+                if (values != null) {
+                    values.set(target, values.get(source));
+                }
+                indexes[target] = target;
+                target = source;
+            }
+            keys.set(target, firstKey);
+            if (values != null) {
+                values.set(target, firstValue);
+            }
+            indexes[target] = target;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Comparator<? super T> orderOf(final Comparator<? super T> comparator) {
+
+        if (comparator != null) {
+            return comparator;
+        }
+        return (Comparator<? super T>) (Comparator<?>) Ordering.natural();
+    }
+}
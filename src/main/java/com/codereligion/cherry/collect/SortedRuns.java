@@ -0,0 +1,325 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
+import com.google.common.io.Closeables;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedSet;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Sorted runs of encoded elements in temporary files, as created by {@link com.codereligion.cherry.collect.ExternalSorts}. The runs are merged on demand by
+ * a k-way merge, which only holds the current element of each run in memory. Of equal elements, only the one of the earliest run is kept.
+ * <p/>
+ * Instances are thread-safe, each iteration merges the runs independently. They must be closed to delete the run files, which also closes all unfinished
+ * iterations.
+ *
+ * @param <E> the type of the elements
+ * @since 19.10.2026
+ */
+public final class SortedRuns<E> implements Iterable<E>, Closeable {
+
+    private static final int INT_BYTES = 4;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ImmutableList<File> runs;
+    private final ImmutableList<Integer> runSizes;
+    private final Comparator<? super E> comparator;
+    private final ElementCodec<E> codec;
+    private final Set<Merge> openMerges = Collections.synchronizedSet(Sets.<Merge>newIdentityHashSet());
+    private volatile boolean closed;
+
+    SortedRuns(final List<File> runs, final List<Integer> runSizes, final Comparator<? super E> comparator, final ElementCodec<E> codec) {
+        this.runs = ImmutableList.copyOf(runs);
+        this.runSizes = ImmutableList.copyOf(runSizes);
+        this.comparator = comparator;
+        this.codec = codec;
+    }
+
+    /**
+     * @return the number of run files
+     */
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    /**
+     * Merges the runs into a stream of sorted elements. Read failures are propagated as unchecked exceptions.
+     *
+     * @return an iterator over all distinct elements in ascending order, might be empty
+     * @throws IllegalStateException when the runs have been closed
+     */
+    @Override
+    public Iterator<E> iterator() {
+
+        checkState(!closed, "runs must not be closed.");
+
+        final Merge merge;
+        try {
+            merge = new Merge();
+        } catch (final IOException e) {
+            throw Throwables.propagate(e);
+        }
+
+        return new AbstractIterator<E>() {
+            @Override
+            protected E computeNext() {
+                try {
+                    return merge.next() ? merge.element : endOfData();
+                } catch (final IOException e) {
+                    merge.close();
+                    throw Throwables.propagate(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Merges the runs into the given {@code file}, replacing it if it exists, and maps it as a read-only sorted set. The set decodes its elements on
+     * access and finds them by binary search, it stays valid after the runs have been closed. The file uses the layout of
+     * {@link com.codereligion.cherry.collect.BinaryFormats#encode(java.util.Collection, ElementCodec)} including its header, so it can also be
+     * read by {@link com.codereligion.cherry.collect.BinaryFormats#listView(java.nio.ByteBuffer, ElementCodec)}. It can not be larger than 2GB.
+     *
+     * @param file the file to write the sorted set to
+     * @return a disk backed {@link java.util.SortedSet}, might be empty
+     * @throws IllegalArgumentException when the given {@code file} is {@code null} or the set would be larger than 2GB
+     * @throws IllegalStateException    when the runs have been closed
+     * @throws IOException              when the runs could not be read or the file could not be written
+     */
+    public SortedSet<E> toSortedSet(final File file) throws IOException {
+
+        checkArgument(file != null, "file must not be null.");
+        checkState(!closed, "runs must not be closed.");
+
+        final File merged = File.createTempFile(file.getName(), ".tmp", file.getAbsoluteFile().getParentFile());
+        try {
+            long count = 0;
+            long size = BinaryFormats.LIST_HEADER_BYTES + INT_BYTES * 2L;
+            final Merge merge = new Merge();
+            final DataOutputStream output = newOutput(merged);
+            try {
+                while (merge.next()) {
+                    output.writeInt(merge.bytes.length);
+                    output.write(merge.bytes);
+                    count++;
+                    size += INT_BYTES + merge.bytes.length;
+                }
+            } finally {
+                output.close();
+                merge.close();
+            }
+
+            checkArgument(size <= Integer.MAX_VALUE, "sorted set is too large to be mapped, it requires %s bytes.", size);
+            writeListLayout(merged, (int) count, file);
+        } finally {
+            delete(merged);
+        }
+
+        return new SortedListSet<E>(BinaryFormats.listView(MappedSnapshots.map(file), codec), comparator);
+    }
+
+    /**
+     * Closes all unfinished iterations and deletes the run files.
+     */
+    @Override
+    public void close() {
+
+        closed = true;
+        final List<Merge> merges;
+        synchronized (openMerges) {
+            merges = new ArrayList<Merge>(openMerges);
+        }
+        for (final Merge merge : merges) {
+            merge.close();
+        }
+        delete(runs);
+    }
+
+    static void delete(final List<File> files) {
+        for (final File file : files) {
+            delete(file);
+        }
+    }
+
+    private static void delete(final File file) {
+        if (!file.delete() && file.exists()) {
+            file.deleteOnExit();
+        }
+    }
+
+    /**
+     * Writes the list header, the count, the offsets and the bytes of the length prefixed elements of the given {@code merged} file into the given
+     * {@code file}.
+     */
+    private static void writeListLayout(final File merged, final int count, final File file) throws IOException {
+
+        final DataOutputStream output = newOutput(file);
+        try {
+            BinaryFormats.writeListHeader(output);
+            output.writeInt(count);
+
+            DataInputStream input = newInput(merged);
+            try {
+                int offset = INT_BYTES * (count + 2);
+                for (int i = 0; i < count; i++) {
+                    output.writeInt(offset);
+                    final int length = input.readInt();
+                    input.readFully(new byte[length]);
+                    offset += length;
+                }
+                output.writeInt(offset);
+            } finally {
+                Closeables.closeQuietly(input);
+            }
+
+            input = newInput(merged);
+            try {
+                for (int i = 0; i < count; i++) {
+                    final byte[] bytes = new byte[input.readInt()];
+                    input.readFully(bytes);
+                    output.write(bytes);
+                }
+            } finally {
+                Closeables.closeQuietly(input);
+            }
+        } finally {
+            output.close();
+        }
+    }
+
+    private static DataOutputStream newOutput(final File file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+    }
+
+    private static DataInputStream newInput(final File file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+    }
+
+    /**
+     * One k-way merge of all runs, which keeps the current element of each run in a priority queue. Elements of earlier runs win ties.
+     */
+    private final class Merge {
+
+        private final List<RunReader<E>> readers = new ArrayList<RunReader<E>>();
+        private final PriorityQueue<RunReader<E>> queue;
+        private E element;
+        private byte[] bytes;
+
+        private Merge() throws IOException {
+
+            queue = new PriorityQueue<RunReader<E>>(Math.max(1, runs.size()), new Comparator<RunReader<E>>() {
+                @Override
+                public int compare(final RunReader<E> first, final RunReader<E> second) {
+                    final int comparison = comparator.compare(first.element, second.element);
+                    return comparison != 0 ? comparison : first.run - second.run;
+                }
+            });
+
+            openMerges.add(this);
+            try {
+                for (int run = 0; run < runs.size(); run++) {
+                    final RunReader<E> reader = new RunReader<E>(newInput(runs.get(run)), runSizes.get(run), run, codec);
+                    readers.add(reader);
+                    if (reader.advance()) {
+                        queue.add(reader);
+                    }
+                }
+            } catch (final IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Moves to the next distinct element and returns whether there is one.
+         */
+        private boolean next() throws IOException {
+
+            while (!queue.isEmpty()) {
+                final RunReader<E> reader = queue.poll();
+                final E candidate = reader.element;
+                final byte[] candidateBytes = reader.bytes;
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+                if (element == null || comparator.compare(element, candidate) != 0) {
+                    element = candidate;
+                    bytes = candidateBytes;
+                    return true;
+                }
+            }
+            close();
+            return false;
+        }
+
+        private void close() {
+            for (final RunReader<E> reader : readers) {
+                Closeables.closeQuietly(reader.input);
+            }
+            openMerges.remove(this);
+        }
+    }
+
+    private static final class RunReader<E> {
+
+        private final DataInputStream input;
+        private final int run;
+        private final ElementCodec<E> codec;
+        private int remaining;
+        private E element;
+        private byte[] bytes;
+
+        private RunReader(final DataInputStream input, final int size, final int run, final ElementCodec<E> codec) {
+            this.input = input;
+            this.remaining = size;
+            this.run = run;
+            this.codec = codec;
+        }
+
+        private boolean advance() throws IOException {
+
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            bytes = new byte[input.readInt()];
+            input.readFully(bytes);
+            element = codec.decode(ByteBuffer.wrap(bytes), 0, bytes.length);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.io.Closeables;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Groups of values by key, as created by {@link com.codereligion.cherry.collect.ExternalGroupings}. If the groups did not exceed the memory budget, they are
+ * held in memory and iterated in the order their keys were first encountered. Otherwise they are read back one hash partition at a time, in which case the
+ * order of the groups is unspecified and only the groups of the current partition are held in memory. Values are always in iteration order of the input.
+ * <p/>
+ * Instances are thread-safe, each iteration reads the partitions independently. They must be closed to delete the spill files.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @since 19.10.2026
+ */
+public final class SpilledGroups<K, V> implements Iterable<Map.Entry<K, List<V>>>, Closeable {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final Map<K, List<V>> groups;
+    private final ImmutableList<File> partitions;
+    private final long[] groupCounts;
+    private final ElementCodec<K> keyCodec;
+    private final ElementCodec<V> valueCodec;
+    private volatile boolean closed;
+
+    SpilledGroups(final Map<K, List<V>> groups,
+                  final List<File> partitions,
+                  final long[] groupCounts,
+                  final ElementCodec<K> keyCodec,
+                  final ElementCodec<V> valueCodec) {
+        this.groups = groups;
+        this.partitions = ImmutableList.copyOf(partitions);
+        this.groupCounts = groupCounts;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    /**
+     * @return whether the groups exceeded the memory budget and have been spilled to disk
+     */
+    public boolean isSpilled() {
+        return !partitions.isEmpty();
+    }
+
+    /**
+     * Iterates over all groups, reading spilled partitions one at a time. Read failures are propagated as unchecked exceptions.
+     *
+     * @return an iterator over the read-only groups, might be empty
+     * @throws IllegalStateException when the groups have been closed
+     */
+    @Override
+    public Iterator<Map.Entry<K, List<V>>> iterator() {
+
+        checkState(!closed, "groups must not be closed.");
+
+        if (!isSpilled()) {
+            return readOnly(groups.entrySet().iterator());
+        }
+
+        return new AbstractIterator<Map.Entry<K, List<V>>>() {
+
+            private int partition;
+            private Iterator<Map.Entry<K, List<V>>> current = Collections.<Map.Entry<K, List<V>>>emptyList().iterator();
+
+            @Override
+            protected Map.Entry<K, List<V>> computeNext() {
+
+                while (!current.hasNext()) {
+                    if (partition == partitions.size()) {
+                        return endOfData();
+                    }
+                    checkState(!closed, "groups must not be closed.");
+                    current = readOnly(read(partition++).entrySet().iterator());
+                }
+                return current.next();
+            }
+        };
+    }
+
+    /**
+     * Deletes the spill files.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        SortedRuns.delete(partitions);
+    }
+
+    private Map<K, List<V>> read(final int partition) {
+
+        final Map<K, List<V>> partitionGroups = new LinkedHashMap<K, List<V>>();
+        try {
+            final DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(partitions.get(partition)), READ_BUFFER_SIZE));
+            try {
+                for (long group = 0; group < groupCounts[partition]; group++) {
+                    final K key = decode(input, keyCodec);
+                    List<V> values = partitionGroups.get(key);
+                    if (values == null) {
+                        values = new ArrayList<V>();
+                        partitionGroups.put(key, values);
+                    }
+                    for (int count = input.readInt(); count > 0; count--) {
+                        values.add(decode(input, valueCodec));
+                    }
+                }
+            } finally {
+                Closeables.closeQuietly(input);
+            }
+        } catch (final IOException e) {
+            throw Throwables.propagate(e);
+        }
+        return partitionGroups;
+    }
+
+    private static <E> E decode(final DataInputStream input, final ElementCodec<E> codec) throws IOException {
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return codec.decode(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    private static <K, V> Iterator<Map.Entry<K, List<V>>> readOnly(final Iterator<Map.Entry<K, List<V>>> entries) {
+        return new AbstractIterator<Map.Entry<K, List<V>>>() {
+            @Override
+            protected Map.Entry<K, List<V>> computeNext() {
+                if (!entries.hasNext()) {
+                    return endOfData();
+                }
+                final Map.Entry<K, List<V>> entry = entries.next();
+                return Maps.immutableEntry(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+            }
+        };
+    }
+}
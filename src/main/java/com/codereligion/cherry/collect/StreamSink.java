@@ -0,0 +1,180 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Collects the entries of a stream into the output of a {@link com.codereligion.cherry.collect.CompiledPipeline}, without buffering the stream in an
+ * intermediate collection. The sink has the methods and the signalling rules of {@code java.util.concurrent.Flow.Subscriber} and
+ * {@code org.reactivestreams.Subscriber}, so that it can be subscribed to a publisher by a subscriber which delegates to it, for example:
+ * <pre>
+ * final StreamSink&lt;User, ArrayList&lt;String&gt;&gt; sink = Pipelines.filter(IS_ACTIVE).map(USER_NAME).toArrayList().newSink(1024);
+ * publisher.subscribe(new Flow.Subscriber&lt;User&gt;() {
+ *     public void onSubscribe(final Flow.Subscription subscription) {
+ *         sink.onSubscribe(new StreamSubscription() { ... delegates to subscription ... });
+ *     }
+ *     public void onNext(final User user) {
+ *         sink.onNext(user);
+ *     }
+ *     ...
+ * });
+ * final ListenableFuture&lt;ArrayList&lt;String&gt;&gt; names = sink.getResult();
+ * </pre>
+ * The sink requests a batch of entries when it is subscribed and the next batch once the current one has been received. The result completes with the
+ * output when the stream completes, and fails when the stream fails or the pipeline throws, in which case the subscription is cancelled. Cancelling the
+ * result cancels the subscription. A sink can only be subscribed once, its signals must not be sent concurrently, as required by the reactive streams
+ * specification.
+ *
+ * @param <F> the type of the entries of the stream
+ * @param <R> the type of the output
+ * @since 19.10.2026
+ */
+public final class StreamSink<F, R> {
+
+    private final CompiledPipeline<F, R> pipeline;
+    private final int batchSize;
+    private final SettableFuture<R> result = SettableFuture.create();
+    private volatile StreamSubscription subscription;
+    private Object output;
+    private int remaining;
+
+    StreamSink(final CompiledPipeline<F, R> pipeline, final int batchSize) {
+        this.pipeline = pipeline;
+        this.batchSize = batchSize;
+        result.addListener(new Runnable() {
+            @Override
+            public void run() {
+                final StreamSubscription currentSubscription = subscription;
+                if (result.isCancelled() && currentSubscription != null) {
+                    currentSubscription.cancel();
+                }
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Starts collecting the entries of the stream of the given {@code subscription} by requesting the first batch. A second subscription is cancelled right
+     * away.
+     *
+     * @param subscription the subscription of the stream
+     * @throws NullPointerException when the given {@code subscription} is {@code null}
+     */
+    public void onSubscribe(final StreamSubscription subscription) {
+
+        if (subscription == null) {
+            throw new NullPointerException("subscription must not be null.");
+        }
+        if (this.subscription != null || result.isDone()) {
+            subscription.cancel();
+            return;
+        }
+
+        this.subscription = subscription;
+        if (result.isCancelled()) {
+            // the result was cancelled before the listener could see the subscription
+            subscription.cancel();
+            return;
+        }
+        try {
+            output = pipeline.newOutput();
+        } catch (final RuntimeException e) {
+            fail(e);
+            return;
+        }
+        remaining = batchSize;
+        subscription.request(batchSize);
+    }
+
+    /**
+     * Executes the pipeline against the given {@code entry} and requests the next batch, if the current one has been received completely.
+     *
+     * @param entry the next entry of the stream
+     * @throws NullPointerException when the given {@code entry} is {@code null}
+     */
+    public void onNext(final F entry) {
+
+        if (entry == null) {
+            throw new NullPointerException("entry must not be null.");
+        }
+        if (result.isDone()) {
+            output = null;
+            return;
+        }
+
+        try {
+            pipeline.apply(entry, output);
+        } catch (final RuntimeException e) {
+            fail(e);
+            return;
+        }
+        if (--remaining == 0) {
+            remaining = batchSize;
+            subscription.request(batchSize);
+        }
+    }
+
+    /**
+     * Fails the result with the given {@code failure} of the stream.
+     *
+     * @param failure the failure of the stream
+     * @throws NullPointerException when the given {@code failure} is {@code null}
+     */
+    public void onError(final Throwable failure) {
+
+        if (failure == null) {
+            throw new NullPointerException("failure must not be null.");
+        }
+        output = null;
+        result.setException(failure);
+    }
+
+    /**
+     * Completes the result with the output of the pipeline.
+     */
+    public void onComplete() {
+
+        if (result.isDone()) {
+            output = null;
+            return;
+        }
+
+        final Object completedOutput = output;
+        output = null;
+        try {
+            result.set(pipeline.finish(completedOutput));
+        } catch (final RuntimeException e) {
+            result.setException(e);
+        }
+    }
+
+    /**
+     * Returns the future of the output, which completes when the stream completes.
+     *
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} of the output
+     */
+    public ListenableFuture<R> getResult() {
+        return result;
+    }
+
+    private void fail(final RuntimeException failure) {
+        output = null;
+        result.setException(failure);
+        subscription.cancel();
+    }
+}
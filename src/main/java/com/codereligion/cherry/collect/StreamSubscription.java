@@ -0,0 +1,37 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+/**
+ * The demand side of a stream, as seen by a {@link com.codereligion.cherry.collect.StreamSink}. It has the same contract as
+ * {@code java.util.concurrent.Flow.Subscription} and {@code org.reactivestreams.Subscription}, so that those can be adapted by delegating both methods.
+ *
+ * @since 19.10.2026
+ */
+public interface StreamSubscription {
+
+    /**
+     * Requests the given number of additional entries from the stream.
+     *
+     * @param n the number of entries, always positive
+     */
+    void request(long n);
+
+    /**
+     * Requests the stream to stop sending entries.
+     */
+    void cancel();
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+/**
+ * Primitive specialization of {@link com.google.common.base.Function} which produces a {@code long} without boxing it.
+ *
+ * @param <F> the type of the input of the function
+ * @since 19.10.2026
+ */
+public interface ToLongFunction<F> {
+
+    /**
+     * Returns the result of applying this function to the given {@code input}.
+     *
+     * @param input the input to apply this function to
+     * @return the resulting {@code long}
+     */
+    long apply(F input);
+}
@@ -16,7 +16,9 @@
 package com.codereligion.cherry.collect;
 
 import com.google.common.base.Function;
+import com.google.common.base.Functions;
 import com.google.common.base.Predicate;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.TreeMap;
 import static com.google.common.base.Preconditions.checkArgument;
@@ -48,6 +50,10 @@ public final class TreeMaps {
         checkArgument(iterable != null, "iterable must not be null.");
         checkArgument(keyFunction != null, "keyFunction must not be null.");
 
+        if (SortedOutputs.isMonotonic(keyFunction)) {
+            return SortedOutputs.newTreeMap(iterable, keyFunction, Functions.<V>identity(), null);
+        }
+
         return OptimizedIterations.createFrom(iterable, keyFunction, new TreeMap<K, V>());
     }
 
@@ -69,6 +75,10 @@ public final class TreeMaps {
         checkArgument(keyFunction != null, "keyFunction must not be null.");
         checkArgument(comparator != null, "comparator must not be null.");
 
+        if (SortedOutputs.isMonotonic(keyFunction)) {
+            return SortedOutputs.newTreeMap(iterable, keyFunction, Functions.<V>identity(), comparator);
+        }
+
         return OptimizedIterations.createFrom(iterable, keyFunction, new TreeMap<K, V>(comparator));
     }
 
@@ -93,6 +103,10 @@ public final class TreeMaps {
         checkArgument(keyFunction != null, "keyFunction must not be null.");
         checkArgument(valueFunction != null, "valueFunction must not be null.");
 
+        if (SortedOutputs.isMonotonic(keyFunction)) {
+            return SortedOutputs.newTreeMap(iterable, keyFunction, valueFunction, null);
+        }
+
         return OptimizedIterations.createFrom(iterable, keyFunction, valueFunction, new TreeMap<K, V>());
     }
 
@@ -120,6 +134,10 @@ public final class TreeMaps {
         checkArgument(valueFunction != null, "valueFunction must not be null.");
         checkArgument(comparator != null, "comparator must not be null.");
 
+        if (SortedOutputs.isMonotonic(keyFunction)) {
+            return SortedOutputs.newTreeMap(iterable, keyFunction, valueFunction, comparator);
+        }
+
         return OptimizedIterations.createFrom(iterable, keyFunction, valueFunction, new TreeMap<K, V>(comparator));
     }
 
@@ -143,6 +161,11 @@ public final class TreeMaps {
         checkArgument(predicate != null, "predicate must not be null.");
         checkArgument(keyFunction != null, "keyFunction must not be null.");
 
+        if (SortedOutputs.isMonotonic(keyFunction)) {
+            final ArrayList<V> entries = OptimizedIterations.createFrom(iterable, predicate, new ArrayList<V>());
+            return SortedOutputs.newTreeMap(entries, keyFunction, Functions.<V>identity(), null);
+        }
+
         return OptimizedIterations.createFrom(iterable, predicate, keyFunction, new TreeMap<K, V>());
     }
 
@@ -169,6 +192,11 @@ public final class TreeMaps {
         checkArgument(keyFunction != null, "keyFunction must not be null.");
         checkArgument(comparator != null, "comparator must not be null.");
 
+        if (SortedOutputs.isMonotonic(keyFunction)) {
+            final ArrayList<V> entries = OptimizedIterations.createFrom(iterable, predicate, new ArrayList<V>());
+            return SortedOutputs.newTreeMap(entries, keyFunction, Functions.<V>identity(), comparator);
+        }
+
         return OptimizedIterations.createFrom(iterable, predicate, keyFunction, new TreeMap<K, V>(comparator));
     }
 
@@ -196,6 +224,11 @@ public final class TreeMaps {
         checkArgument(keyFunction != null, "keyFunction must not be null.");
         checkArgument(valueFunction != null, "valueFunction must not be null.");
 
+        if (SortedOutputs.isMonotonic(keyFunction)) {
+            final ArrayList<E> entries = OptimizedIterations.createFrom(iterable, predicate, new ArrayList<E>());
+            return SortedOutputs.newTreeMap(entries, keyFunction, valueFunction, null);
+        }
+
         return OptimizedIterations.createFrom(iterable, predicate, keyFunction, valueFunction, new TreeMap<K, V>());
     }
 
@@ -226,6 +259,11 @@ public final class TreeMaps {
         checkArgument(valueFunction != null, "valueFunction must not be null.");
         checkArgument(comparator != null, "comparator must not be null.");
 
+        if (SortedOutputs.isMonotonic(keyFunction)) {
+            final ArrayList<E> entries = OptimizedIterations.createFrom(iterable, predicate, new ArrayList<E>());
+            return SortedOutputs.newTreeMap(entries, keyFunction, valueFunction, comparator);
+        }
+
         return OptimizedIterations.createFrom(iterable, predicate, keyFunction, valueFunction, new TreeMap<K, V>(comparator));
     }
 }
@@ -17,6 +17,7 @@ package com.codereligion.cherry.collect;
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -49,6 +50,11 @@ public final class TreeSets {
         checkArgument(iterable != null, "iterable must not be null.");
         checkArgument(function != null, "function must not be null.");
 
+        if (SortedOutputs.isMonotonic(function)) {
+            final ArrayList<T> elements = OptimizedIterations.createFrom(iterable, function, new ArrayList<T>());
+            return SortedOutputs.newTreeSet(elements, null);
+        }
+
         return OptimizedIterations.createFrom(iterable, function, new TreeSet<T>());
     }
 
@@ -70,6 +76,11 @@ public final class TreeSets {
         checkArgument(function != null, "function must not be null.");
         checkArgument(comparator != null, "comparator must not be null.");
 
+        if (SortedOutputs.isMonotonic(function)) {
+            final ArrayList<T> elements = OptimizedIterations.createFrom(iterable, function, new ArrayList<T>());
+            return SortedOutputs.newTreeSet(elements, comparator);
+        }
+
         return OptimizedIterations.createFrom(iterable, function, new TreeSet<T>(comparator));
     }
 
@@ -87,6 +98,11 @@ public final class TreeSets {
         checkArgument(iterable != null, "iterable must not be null.");
         checkArgument(predicate != null, "predicate must not be null.");
 
+        if (SortedOutputs.isOrderedBy(iterable, null)) {
+            final ArrayList<E> elements = OptimizedIterations.createFrom(iterable, predicate, new ArrayList<E>());
+            return SortedOutputs.newTreeSet(elements, null);
+        }
+
         return OptimizedIterations.createFrom(iterable, predicate, new TreeSet<E>());
     }
 
@@ -107,6 +123,11 @@ public final class TreeSets {
         checkArgument(predicate != null, "predicate must not be null.");
         checkArgument(comparator != null, "comparator must not be null.");
 
+        if (SortedOutputs.isOrderedBy(iterable, comparator)) {
+            final ArrayList<E> elements = OptimizedIterations.createFrom(iterable, predicate, new ArrayList<E>());
+            return SortedOutputs.newTreeSet(elements, comparator);
+        }
+
         return OptimizedIterations.createFrom(iterable, predicate, new TreeSet<E>(comparator));
     }
 
@@ -129,6 +150,11 @@ public final class TreeSets {
         checkArgument(predicate != null, "predicate must not be null.");
         checkArgument(function != null, "function must not be null.");
 
+        if (SortedOutputs.isMonotonic(function)) {
+            final ArrayList<T> elements = OptimizedIterations.createFrom(iterable, predicate, function, new ArrayList<T>());
+            return SortedOutputs.newTreeSet(elements, null);
+        }
+
         return OptimizedIterations.createFrom(iterable, predicate, function, new TreeSet<T>());
     }
 
@@ -155,6 +181,11 @@ public final class TreeSets {
         checkArgument(function != null, "function must not be null.");
         checkArgument(comparator != null, "comparator must not be null.");
 
+        if (SortedOutputs.isMonotonic(function)) {
+            final ArrayList<T> elements = OptimizedIterations.createFrom(iterable, predicate, function, new ArrayList<T>());
+            return SortedOutputs.newTreeSet(elements, comparator);
+        }
+
         return OptimizedIterations.createFrom(iterable, predicate, function, new TreeSet<T>(comparator));
     }
 }
@@ -0,0 +1,232 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.function.ToStringFunction;
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests common logic for all iterable factory methods with offset and limit.
+ *
+ * @since 19.10.2026
+ */
+public abstract class AbstractLimitingIterableFactoryTest extends AbstractIterableFactoryTest {
+
+    private static final Predicate<Integer> IS_EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean apply(final Integer input) {
+            return input % 2 == 0;
+        }
+    };
+
+    @Test(expected = IllegalArgumentException.class)
+    public void limitingCreateFromDoesNotAllowNullPredicate() {
+
+        // given
+        final Predicate<Integer> predicate = null;
+
+        // when
+        createFrom(Lists.newArrayList(1, 2), predicate, 0, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void limitingCreateFromDoesNotAllowNegativeOffset() {
+        createFrom(Lists.newArrayList(1, 2), IS_EVEN, -1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void limitingCreateFromDoesNotAllowNegativeLimit() {
+        createFrom(Lists.newArrayList(1, 2), IS_EVEN, 0, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void limitingTransformingCreateFromDoesNotAllowNullFunction() {
+
+        // given
+        final Function<Integer, String> function = null;
+
+        // when
+        createFrom(Lists.newArrayList(1, 2), IS_EVEN, function, 0, 1);
+    }
+
+    @Test
+    public void limitingCreateFromSkipsOffsetAndStopsAtLimit() {
+
+        // given
+        final Iterable<Integer> iterable = Lists.newArrayList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+        // when
+        final Iterable<Integer> result = createFrom(iterable, IS_EVEN, 1, 2);
+
+        // then
+        assertThat(result, hasItems(4, 6));
+        assertThat(Iterables.size(result), is(2));
+    }
+
+    @Test
+    public void limitingCreateFromDoesNotEvaluateEntriesAfterLimit() {
+
+        // given
+        final AtomicInteger evaluations = new AtomicInteger();
+        final Predicate<Integer> countingPredicate = new Predicate<Integer>() {
+            @Override
+            public boolean apply(final Integer input) {
+                evaluations.incrementAndGet();
+                return true;
+            }
+        };
+
+        // when
+        createFrom(Lists.newLinkedList(Lists.newArrayList(1, 2, 3, 4, 5)), countingPredicate, 1, 2);
+
+        // then
+        assertThat(evaluations.get(), is(3));
+    }
+
+    @Test
+    public void limitingCreateFromWithZeroLimitReturnsEmptyResult() {
+
+        // given
+        final Predicate<Integer> predicate = Predicates.alwaysTrue();
+
+        // when
+        final Iterable<Integer> result = createFrom(Lists.newArrayList(1, 2), predicate, 0, 0);
+
+        // then
+        assertThat(Iterables.isEmpty(result), is(true));
+    }
+
+    @Test
+    public void limitingTransformingCreateFromOnlyTransformsReturnedEntries() {
+
+        // given
+        final AtomicInteger transformations = new AtomicInteger();
+        final Function<Integer, String> countingFunction = new Function<Integer, String>() {
+            @Override
+            public String apply(final Integer input) {
+                transformations.incrementAndGet();
+                return input.toString();
+            }
+        };
+
+        // when
+        final Iterable<String> result = createFrom(Lists.newArrayList(1, 2, 3, 4, 5, 6, 7, 8), IS_EVEN, countingFunction, 2, 5);
+
+        // then
+        assertThat(result, hasItems("6", "8"));
+        assertThat(Iterables.size(result), is(2));
+        if (isDistinct()) {
+            assertThat(transformations.get(), is(4));
+        } else {
+            assertThat(transformations.get(), is(2));
+        }
+    }
+
+    @Test
+    public void limitingTransformingCreateFromReturnsTransformedEntries() {
+
+        // when
+        final Iterable<String> result = createFrom(Lists.newArrayList(1, 2, 3, 4), IS_EVEN, ToStringFunction.<Integer>toStringFunction(), 0, 1);
+
+        // then
+        assertThat(result, hasItems("2"));
+        assertThat(Iterables.size(result), is(1));
+    }
+
+    @Test
+    public void limitingCreateFromCountsDuplicatesAccordingToResultType() {
+
+        // given
+        final Iterable<Integer> iterable = Lists.newArrayList(2, 2, 4, 4, 6, 6, 8, 8);
+
+        // when
+        final Iterable<Integer> result = createFrom(iterable, IS_EVEN, 1, 2);
+
+        // then
+        if (isDistinct()) {
+            assertThat(result, hasItems(4, 6));
+        } else {
+            assertThat(result, hasItems(2, 4));
+        }
+        assertThat(Iterables.size(result), is(2));
+    }
+
+    @Test
+    public void limitingTransformingCreateFromCountsDuplicatesAccordingToResultType() {
+
+        // given
+        final Iterable<Integer> iterable = Lists.newLinkedList(Lists.newArrayList(2, 2, 4, 4, 6, 6, 8, 8));
+
+        // when
+        final Iterable<String> result = createFrom(iterable, IS_EVEN, ToStringFunction.<Integer>toStringFunction(), 1, 2);
+
+        // then
+        if (isDistinct()) {
+            assertThat(result, hasItems("4", "6"));
+        } else {
+            assertThat(result, hasItems("2", "4"));
+        }
+        assertThat(Iterables.size(result), is(2));
+    }
+
+    @Test
+    public void limitingTransformingCreateFromCountsDuplicateResultsAccordingToResultType() {
+
+        // given
+        final Function<Integer, String> parity = new Function<Integer, String>() {
+            @Override
+            public String apply(final Integer input) {
+                return input % 2 == 0 ? "even" : "odd";
+            }
+        };
+
+        // when
+        final Iterable<String> result = createFrom(Lists.newArrayList(1, 3, 2), Predicates.<Integer>alwaysTrue(), parity, 1, 10);
+
+        // then
+        if (isDistinct()) {
+            assertThat(result, hasItems("even"));
+            assertThat(Iterables.size(result), is(1));
+        } else {
+            assertThat(result, hasItems("odd", "even"));
+            assertThat(Iterables.size(result), is(2));
+        }
+    }
+
+    /**
+     * @return whether the tested factory creates sets, which only count distinct entries for offset and limit
+     */
+    protected boolean isDistinct() {
+        return false;
+    }
+
+    protected abstract Iterable<Integer> createFrom(Iterable<Integer> iterable, Predicate<Integer> predicate, int offset, int limit);
+
+    protected abstract Iterable<String> createFrom(Iterable<Integer> iterable,
+                                                   Predicate<Integer> predicate,
+                                                   Function<Integer, String> function,
+                                                   int offset,
+                                                   int limit);
+}
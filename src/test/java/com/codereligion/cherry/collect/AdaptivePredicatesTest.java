@@ -0,0 +1,279 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+import java.util.List;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.AdaptivePredicates} contract.
+ *
+ * @since 19.10.2026
+ */
+public class AdaptivePredicatesTest {
+
+    private static final List<Integer> NUMBERS = Lists.newArrayList(ContiguousSet.create(Range.closedOpen(0, 10000), DiscreteDomain.integers()));
+
+    private static final Predicate<Integer> IS_EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean apply(final Integer input) {
+            return input % 2 == 0;
+        }
+    };
+
+    private static final Predicate<Integer> IS_MULTIPLE_OF_THREE = new Predicate<Integer>() {
+        @Override
+        public boolean apply(final Integer input) {
+            return input % 3 == 0;
+        }
+    };
+
+    private static final Predicate<Integer> ALWAYS_TRUE = Predicates.alwaysTrue();
+    private static final Predicate<Integer> ALWAYS_FALSE = Predicates.alwaysFalse();
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(AdaptivePredicates.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void andDoesNotAllowNullClause() {
+        AdaptivePredicates.and(IS_EVEN, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void andDoesNotAllowEmptyClauses() {
+        AdaptivePredicates.and(ImmutableList.<Predicate<Integer>>of());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void orDoesNotAllowNullClauses() {
+
+        // given
+        final Iterable<Predicate<Integer>> clauses = null;
+
+        // when
+        AdaptivePredicates.or(clauses);
+    }
+
+    @Test
+    public void andAppliesIfAllClausesApply() {
+
+        // given
+        final Predicate<Integer> expected = Predicates.and(IS_EVEN, IS_MULTIPLE_OF_THREE);
+
+        // when
+        final List<Integer> result = ArrayLists.createFrom(NUMBERS, AdaptivePredicates.and(IS_EVEN, IS_MULTIPLE_OF_THREE));
+
+        // then
+        assertThat(result, is(equalTo((List<Integer>) ArrayLists.createFrom(NUMBERS, expected))));
+    }
+
+    @Test
+    public void orAppliesIfAnyClauseApplies() {
+
+        // given
+        final Predicate<Integer> expected = Predicates.or(IS_EVEN, IS_MULTIPLE_OF_THREE);
+
+        // when
+        final List<Integer> result = ArrayLists.createFrom(NUMBERS, AdaptivePredicates.or(ImmutableList.of(IS_EVEN, IS_MULTIPLE_OF_THREE)));
+
+        // then
+        assertThat(result, is(equalTo((List<Integer>) ArrayLists.createFrom(NUMBERS, expected))));
+    }
+
+    @Test
+    public void andEvaluatesClausesWhichNeverFailLast() {
+
+        // given
+        final AdaptivePredicate<Integer> predicate = AdaptivePredicates.and(ImmutableList.of(ALWAYS_TRUE, IS_EVEN, ALWAYS_FALSE));
+
+        // when
+        ArrayLists.createFrom(NUMBERS, predicate);
+
+        // then
+        assertThat(predicate.statistics().get(2).getPredicate(), is(sameInstance((Object) ALWAYS_TRUE)));
+    }
+
+    @Test
+    public void andEvaluatesClauseWhichAlwaysFailsFirst() {
+
+        // given
+        final AdaptivePredicate<Integer> predicate = AdaptivePredicates.and(ALWAYS_TRUE, ALWAYS_FALSE);
+
+        // when
+        ArrayLists.createFrom(NUMBERS, predicate);
+
+        // then
+        assertThat(predicate.statistics().get(0).getPredicate(), is(sameInstance((Object) ALWAYS_FALSE)));
+    }
+
+    @Test
+    public void orEvaluatesMostOftenApplyingClauseFirst() {
+
+        // given
+        final AdaptivePredicate<Integer> predicate = AdaptivePredicates.or(ALWAYS_FALSE, ALWAYS_TRUE);
+
+        // when
+        ArrayLists.createFrom(NUMBERS, predicate);
+
+        // then
+        assertThat(predicate.statistics().get(0).getPredicate(), is(sameInstance((Object) ALWAYS_TRUE)));
+    }
+
+    @Test
+    public void statisticsReportSampledPassRates() {
+
+        // given
+        final AdaptivePredicate<Integer> predicate = AdaptivePredicates.and(ALWAYS_TRUE, ALWAYS_FALSE);
+
+        // when
+        ArrayLists.createFrom(NUMBERS, predicate);
+
+        // then
+        final ClauseStatistics first = predicate.statistics().get(0);
+        assertThat(first.getSampleCount(), is(10000L / 32));
+        assertThat(first.getPassRate(), is(0.0));
+        assertThat(predicate.statistics().get(1).getPassRate(), is(1.0));
+    }
+
+    @Test
+    public void statisticsAreEmptyBeforeFirstSample() {
+
+        // given
+        final AdaptivePredicate<Integer> predicate = AdaptivePredicates.and(ALWAYS_TRUE, ALWAYS_FALSE);
+
+        // then
+        assertThat(predicate.statistics().get(0).getSampleCount(), is(0L));
+        assertThat(Double.isNaN(predicate.statistics().get(0).getPassRate()), is(true));
+    }
+
+    @Test
+    public void andUnwrapsGuavaConjunctions() {
+
+        // given
+        final Predicate<Integer> chain = Predicates.and(ALWAYS_TRUE, Predicates.and(IS_EVEN, ALWAYS_FALSE));
+
+        // when
+        final AdaptivePredicate<Integer> predicate = AdaptivePredicates.and(chain, IS_MULTIPLE_OF_THREE);
+
+        // then
+        assertThat(predicate.statistics().size(), is(4));
+    }
+
+    @Test
+    public void orKeepsGuavaConjunctionsAsOneClause() {
+
+        // when
+        final AdaptivePredicate<Integer> predicate = AdaptivePredicates.or(Predicates.and(IS_EVEN, IS_MULTIPLE_OF_THREE), ALWAYS_FALSE);
+
+        // then
+        assertThat(predicate.statistics().size(), is(2));
+    }
+
+    @Test
+    public void adaptReordersComponentsOfGuavaDisjunction() {
+
+        // given
+        final Predicate<Integer> chain = Predicates.or(ImmutableList.of(ALWAYS_FALSE, IS_EVEN, ALWAYS_TRUE));
+
+        // when
+        final Predicate<Integer> predicate = AdaptivePredicates.adapt(chain);
+        final List<Integer> result = ArrayLists.createFrom(NUMBERS, predicate);
+
+        // then
+        assertThat(result, is(equalTo(NUMBERS)));
+        final AdaptivePredicate<Integer> adaptivePredicate = (AdaptivePredicate<Integer>) predicate;
+        assertThat(adaptivePredicate.statistics().get(0).getPredicate(), is(sameInstance((Object) ALWAYS_TRUE)));
+    }
+
+    @Test
+    public void adaptReturnsOtherPredicatesAsIs() {
+        assertThat(AdaptivePredicates.adapt(IS_EVEN), is(sameInstance(IS_EVEN)));
+    }
+
+    @Test
+    public void statisticsCountSamplesOfAllThreads() throws InterruptedException {
+
+        // given
+        final AdaptivePredicate<Integer> predicate = AdaptivePredicates.and(ALWAYS_TRUE, ALWAYS_FALSE);
+        final List<Thread> threads = Lists.newArrayList();
+        for (int i = 0; i < 4; i++) {
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    ArrayLists.createFrom(NUMBERS, predicate);
+                }
+            }));
+        }
+
+        // when
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        final ClauseStatistics statistics = predicate.statistics().get(0);
+        assertThat(statistics.getPredicate(), is(sameInstance((Object) ALWAYS_FALSE)));
+        assertThat(statistics.getSampleCount(), is(greaterThan(0L)));
+        assertThat(statistics.getPassRate(), is(0.0));
+    }
+
+    @Test
+    public void sampledElementsOnlyEvaluateClausesUntilResultIsKnown() {
+
+        // given
+        final AdaptivePredicate<Integer> predicate = AdaptivePredicates.and(ALWAYS_FALSE, ALWAYS_TRUE);
+
+        // when
+        ArrayLists.createFrom(NUMBERS, predicate);
+
+        // then the never reached clause is moved to the front for one round of samples
+        assertThat(predicate.statistics().get(0).getPredicate(), is(sameInstance((Object) ALWAYS_FALSE)));
+        assertThat(predicate.statistics().get(0).getSampleCount(), is(10000L / 32));
+        assertThat(predicate.statistics().get(1).getSampleCount(), is(16L));
+    }
+
+    @Test
+    public void orderOnlyChangesOnSampledElements() {
+
+        // given
+        final AdaptivePredicate<Integer> predicate = AdaptivePredicates.and(ALWAYS_TRUE, ALWAYS_FALSE);
+
+        // when
+        ArrayLists.createFrom(NUMBERS.subList(0, 16 * 32 - 1), predicate);
+
+        // then
+        assertThat(predicate.statistics().get(0).getPredicate(), is(sameInstance((Object) ALWAYS_TRUE)));
+        assertThat(predicate.statistics().get(0).getSampleCount(), is(15L));
+    }
+}
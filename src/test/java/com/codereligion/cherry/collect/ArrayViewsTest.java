@@ -0,0 +1,118 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.function.ToStringFunction;
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.collect.Lists;
+import java.util.List;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.ArrayViews} contract.
+ *
+ * @since 19.10.2026
+ */
+public class ArrayViewsTest {
+
+    private static final Integer[] OBJECTS = {1, 2, 3, 4};
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(ArrayViews.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ofDoesNotAllowNullArray() {
+        ArrayViews.of((Object[]) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ofDoesNotAllowNullPrimitiveArray() {
+        ArrayViews.of((int[]) null, 0, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ofDoesNotAllowNegativeOffset() {
+        ArrayViews.of(OBJECTS, -1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ofDoesNotAllowNegativeLength() {
+        ArrayViews.of(new long[2], 0, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ofDoesNotAllowRangeExceedingArray() {
+        ArrayViews.of(new double[2], 1, 2);
+    }
+
+    @Test
+    public void ofReturnsViewOfWholeArray() {
+        assertThat(ArrayViews.of(OBJECTS), is(equalTo((List<Integer>) Lists.newArrayList(1, 2, 3, 4))));
+    }
+
+    @Test
+    public void ofReturnsViewOfRange() {
+        assertThat(ArrayViews.of(OBJECTS, 1, 2), is(equalTo((List<Integer>) Lists.newArrayList(2, 3))));
+        assertThat(ArrayViews.of(new int[]{1, 2, 3}, 2, 1), is(equalTo((List<Integer>) Lists.newArrayList(3))));
+        assertThat(ArrayViews.of(new long[]{1L, 2L, 3L}, 0, 2), is(equalTo((List<Long>) Lists.newArrayList(1L, 2L))));
+        assertThat(ArrayViews.of(new double[]{1.0, 2.0}, 1, 1), is(equalTo((List<Double>) Lists.newArrayList(2.0))));
+    }
+
+    @Test
+    public void ofReturnsEmptyViewOfEmptyRange() {
+        assertThat(ArrayViews.of(OBJECTS, 4, 0).isEmpty(), is(true));
+        assertThat(ArrayViews.of(new int[0]).isEmpty(), is(true));
+    }
+
+    @Test
+    public void viewReflectsChangesOfArray() {
+
+        // given
+        final String[] array = {"a", "b"};
+        final List<String> view = ArrayViews.of(array);
+
+        // when
+        array[1] = "c";
+
+        // then
+        assertThat(view.get(1), is("c"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void viewOfObjectArrayIsReadOnly() {
+        ArrayViews.of(OBJECTS).set(0, 5);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void viewDoesNotAllowAccessOutsideOfRange() {
+        ArrayViews.of(OBJECTS, 1, 2).get(2);
+    }
+
+    @Test
+    public void viewCanBeUsedWithFactories() {
+
+        // when
+        final List<String> result = ArrayLists.createFrom(ArrayViews.of(OBJECTS, 1, 3), ToStringFunction.<Integer>toStringFunction());
+
+        // then
+        assertThat(result, is(equalTo((List<String>) Lists.newArrayList("2", "3", "4"))));
+    }
+}
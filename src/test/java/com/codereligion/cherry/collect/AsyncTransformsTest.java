@@ -0,0 +1,265 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.AsyncTransforms} contract and the factories using it.
+ *
+ * @since 19.10.2026
+ */
+public class AsyncTransformsTest {
+
+    private static final Function<Object, String> TO_STRING = Functions.toStringFunction();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @After
+    public void shutDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Sleeps a little longer for smaller inputs, so that later entries usually complete first, and records the maximum number of concurrent calls.
+     */
+    private static class SlowFunction implements Function<Integer, String> {
+
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+
+        @Override
+        public String apply(final Integer input) {
+            final int current = running.incrementAndGet();
+            while (true) {
+                final int max = maxRunning.get();
+                if (current <= max || maxRunning.compareAndSet(max, current)) {
+                    break;
+                }
+            }
+            try {
+                Thread.sleep(10 - input % 10);
+            } catch (final InterruptedException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+            return String.valueOf(input);
+        }
+    }
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(AsyncTransforms.class, IsNotInstantiatable.isNotInstantiatable());
+        assertThat(AsyncArrayLists.class, IsNotInstantiatable.isNotInstantiatable());
+        assertThat(AsyncHashMaps.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arrayListsDoesNotAllowNullIterable() {
+        AsyncArrayLists.createFrom(null, TO_STRING, executor, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arrayListsDoesNotAllowNullFunction() {
+        AsyncArrayLists.createFrom(Lists.newArrayList(1), null, executor, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arrayListsDoesNotAllowNullExecutor() {
+        AsyncArrayLists.createFrom(Lists.newArrayList(1), TO_STRING, null, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arrayListsDoesNotAllowNonPositiveMaxConcurrency() {
+        AsyncArrayLists.createFrom(Lists.newArrayList(1), TO_STRING, executor, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void hashMapsDoesNotAllowNullKeyFunction() {
+        AsyncHashMaps.createFrom(Lists.newArrayList(1), null, TO_STRING, executor, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void hashMapsDoesNotAllowNullValueFunction() {
+        AsyncHashMaps.createFrom(Lists.newArrayList(1), TO_STRING, null, executor, 2);
+    }
+
+    @Test
+    public void arrayListsKeepsInputOrder() throws Exception {
+
+        // given
+        final List<Integer> iterable = Lists.newArrayList();
+        final List<String> expected = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            iterable.add(i);
+            expected.add(String.valueOf(i));
+        }
+
+        // when
+        final ArrayList<String> result = AsyncArrayLists.createFrom(iterable, new SlowFunction(), executor, 8).get();
+
+        // then
+        assertThat(result, is(equalTo(expected)));
+    }
+
+    @Test
+    public void arrayListsDoesNotExceedMaxConcurrency() throws Exception {
+
+        // given
+        final SlowFunction function = new SlowFunction();
+
+        // when
+        AsyncArrayLists.createFrom(new LinkedList<Integer>(Lists.newArrayList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)), function, executor, 3).get();
+
+        // then
+        assertThat(function.maxRunning.get() <= 3, is(true));
+    }
+
+    @Test
+    public void arrayListsCompletesEmptyIterableImmediately() throws Exception {
+
+        // when
+        final ListenableFuture<ArrayList<String>> result = AsyncArrayLists.createFrom(new ArrayList<Integer>(), TO_STRING, executor, 2);
+
+        // then
+        assertThat(result.isDone(), is(true));
+        assertThat(result.get().isEmpty(), is(true));
+    }
+
+    @Test
+    public void arrayListsWorksWithDirectExecutor() throws Exception {
+
+        // when
+        final ArrayList<String> result = AsyncArrayLists.createFrom(Lists.newArrayList(1, 2, 3), TO_STRING, MoreExecutors.directExecutor(), 2).get();
+
+        // then
+        assertThat(result, is(equalTo((List<String>) Lists.newArrayList("1", "2", "3"))));
+    }
+
+    @Test
+    public void firstFailureFailsResultAndInterruptsOutstandingCalls() throws Exception {
+
+        // given
+        final CountDownLatch blockedCallStarted = new CountDownLatch(1);
+        final CountDownLatch blockedCallInterrupted = new CountDownLatch(1);
+        final Function<Integer, String> function = new Function<Integer, String>() {
+            @Override
+            public String apply(final Integer input) {
+                if (input == 0) {
+                    blockedCallStarted.countDown();
+                    try {
+                        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                    } catch (final InterruptedException e) {
+                        blockedCallInterrupted.countDown();
+                    }
+                    return "interrupted";
+                }
+                try {
+                    blockedCallStarted.await();
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                throw new IllegalArgumentException("failure of " + input);
+            }
+        };
+
+        // when
+        final ListenableFuture<ArrayList<String>> result = AsyncArrayLists.createFrom(Lists.newArrayList(0, 1, 2), function, executor, 2);
+
+        // then
+        try {
+            result.get();
+            fail("expected the result to fail");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(IllegalArgumentException.class)));
+        }
+        assertThat(blockedCallInterrupted.await(10, TimeUnit.SECONDS), is(true));
+    }
+
+    @Test
+    public void cancellingResultInterruptsOutstandingCalls() throws Exception {
+
+        // given
+        final CountDownLatch callStarted = new CountDownLatch(1);
+        final CountDownLatch callInterrupted = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final Function<Integer, String> function = new Function<Integer, String>() {
+            @Override
+            public String apply(final Integer input) {
+                calls.incrementAndGet();
+                callStarted.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (final InterruptedException e) {
+                    callInterrupted.countDown();
+                }
+                return "interrupted";
+            }
+        };
+        final ListenableFuture<ArrayList<String>> result = AsyncArrayLists.createFrom(Lists.newArrayList(1, 2, 3, 4), function, executor, 1);
+        callStarted.await();
+
+        // when
+        result.cancel(true);
+
+        // then
+        assertThat(callInterrupted.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    public void hashMapsMapsKeysToValuesWithLaterEntriesWinning() throws Exception {
+
+        // given
+        final Function<String, Integer> length = new Function<String, Integer>() {
+            @Override
+            public Integer apply(final String input) {
+                return input.length();
+            }
+        };
+
+        // when
+        final HashMap<Integer, String> result = AsyncHashMaps.createFrom(Lists.newArrayList("a", "bb", "c"), length, TO_STRING, executor, 2).get();
+
+        // then
+        assertThat((Map<Integer, String>) result, is(equalTo((Map<Integer, String>) ImmutableMap.of(1, "c", 2, "bb"))));
+    }
+}
@@ -0,0 +1,351 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.BackgroundBuild} contract and the factories using it.
+ *
+ * @since 19.10.2026
+ */
+public class BackgroundBuildTest {
+
+    private static final Function<Object, String> TO_STRING = Functions.toStringFunction();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    @After
+    public void shutDownExecutor() {
+        executor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Collects the submitted tasks, so that the test decides when they run.
+     */
+    private static class QueuingExecutor implements Executor {
+
+        private final List<Runnable> tasks = Lists.newArrayList();
+
+        @Override
+        public void execute(final Runnable task) {
+            tasks.add(task);
+        }
+
+        void runAll() {
+            for (final Runnable task : tasks) {
+                task.run();
+            }
+        }
+    }
+
+    /**
+     * Counts its calls and blocks on the given call until it is resumed.
+     */
+    private static class BlockingFunction implements Function<Integer, Integer> {
+
+        private final int blockingCall;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch resumed = new CountDownLatch(1);
+
+        BlockingFunction(final int blockingCall) {
+            this.blockingCall = blockingCall;
+        }
+
+        @Override
+        public Integer apply(final Integer input) {
+            if (calls.incrementAndGet() == blockingCall) {
+                blocked.countDown();
+                try {
+                    resumed.await();
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return input;
+        }
+    }
+
+    private static List<Integer> rangeOf(final int size) {
+        final List<Integer> list = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(AsyncImmutableMaps.class, IsNotInstantiatable.isNotInstantiatable());
+        assertThat(AsyncImmutableLists.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void immutableMapsDoesNotAllowNullIterable() {
+        AsyncImmutableMaps.createFrom(null, TO_STRING, executor);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void immutableMapsDoesNotAllowNullExecutor() {
+        AsyncImmutableMaps.createFrom(Lists.newArrayList(1), TO_STRING, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void immutableMapsDoesNotAllowNonPositiveTimeout() {
+        AsyncImmutableMaps.createFrom(Lists.newArrayList(1), TO_STRING, TO_STRING, executor, 0, TimeUnit.SECONDS, scheduler);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void immutableListsDoesNotAllowNullUnit() {
+        AsyncImmutableLists.createFrom(Lists.newArrayList(1), TO_STRING, executor, 1, null, scheduler);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void immutableListsDoesNotAllowNullScheduler() {
+        AsyncImmutableLists.createFrom(Lists.newArrayList(1), TO_STRING, executor, 1, TimeUnit.SECONDS, null);
+    }
+
+    @Test
+    public void immutableMapsBuildsMapAndReportsProgress() throws Exception {
+
+        // when
+        final BackgroundBuild<ImmutableMap<String, Integer>> build = AsyncImmutableMaps.createFrom(Lists.newArrayList(1, 2), TO_STRING, executor);
+
+        // then
+        assertThat(build.get(), is(equalTo(ImmutableMap.of("1", 1, "2", 2))));
+        assertThat(build.getProcessedCount(), is(2L));
+        assertThat(build.getEstimatedTotal(), is(2L));
+    }
+
+    @Test
+    public void immutableListsBuildsListFromNonCollection() throws Exception {
+
+        // given
+        final List<Integer> list = Lists.newArrayList(1, 2, 3);
+        final Iterable<Integer> nonCollection = new Iterable<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return list.iterator();
+            }
+        };
+
+        // when
+        final BackgroundBuild<ImmutableList<String>> build = AsyncImmutableLists.createFrom(nonCollection, TO_STRING, MoreExecutors.directExecutor());
+
+        // then
+        assertThat(build.get(), is(equalTo(ImmutableList.of("1", "2", "3"))));
+        assertThat(build.getEstimatedTotal(), is(BackgroundBuild.UNKNOWN_TOTAL));
+    }
+
+    @Test
+    public void progressIsPublishedBetweenChunks() throws Exception {
+
+        // given
+        final BlockingFunction function = new BlockingFunction(BackgroundBuild.CHUNK_SIZE + 1);
+        final BackgroundBuild<ImmutableList<Integer>> build = AsyncImmutableLists.createFrom(rangeOf(2 * BackgroundBuild.CHUNK_SIZE), function, executor);
+
+        // when
+        function.blocked.await();
+
+        // then
+        assertThat(build.getProcessedCount(), is((long) BackgroundBuild.CHUNK_SIZE));
+        function.resumed.countDown();
+        assertThat(build.get().size(), is(2 * BackgroundBuild.CHUNK_SIZE));
+        assertThat(build.getProcessedCount(), is(2L * BackgroundBuild.CHUNK_SIZE));
+    }
+
+    @Test
+    public void cancelledBuildStopsAfterCurrentChunk() throws Exception {
+
+        // given
+        final BlockingFunction function = new BlockingFunction(1);
+        final List<Integer> input = new LinkedList<Integer>(rangeOf(3 * BackgroundBuild.CHUNK_SIZE));
+        final BackgroundBuild<ImmutableList<Integer>> build = AsyncImmutableLists.createFrom(input, function, executor);
+        function.blocked.await();
+
+        // when
+        final boolean cancelled = build.cancel(false);
+        function.resumed.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(cancelled, is(true));
+        assertThat(build.isCancelled(), is(true));
+        assertThat(function.calls.get(), is(BackgroundBuild.CHUNK_SIZE));
+    }
+
+    @Test
+    public void buildCancelledBeforeStartDoesNotRun() {
+
+        // given
+        final QueuingExecutor queuingExecutor = new QueuingExecutor();
+        final BlockingFunction function = new BlockingFunction(0);
+        final BackgroundBuild<ImmutableList<Integer>> build = AsyncImmutableLists.createFrom(rangeOf(10), function, queuingExecutor);
+
+        // when
+        build.cancel(false);
+        queuingExecutor.runAll();
+
+        // then
+        assertThat(build.isCancelled(), is(true));
+        assertThat(function.calls.get(), is(0));
+    }
+
+    @Test
+    public void queuedBuildFailsWhenTimeoutElapses() throws Exception {
+
+        // given
+        final QueuingExecutor queuingExecutor = new QueuingExecutor();
+        final BlockingFunction function = new BlockingFunction(0);
+        final List<Integer> iterable = rangeOf(10);
+
+        // when
+        final BackgroundBuild<ImmutableList<Integer>> build = AsyncImmutableLists.createFrom(iterable,
+                                                                                            function,
+                                                                                            queuingExecutor,
+                                                                                            1,
+                                                                                            TimeUnit.MILLISECONDS,
+                                                                                            scheduler);
+
+        // then
+        assertTimedOut(build);
+        queuingExecutor.runAll();
+        assertThat(function.calls.get(), is(0));
+    }
+
+    @Test
+    public void runningBuildFailsWhenTimeoutElapses() throws Exception {
+
+        // given
+        final BlockingFunction function = new BlockingFunction(1);
+        final BackgroundBuild<ImmutableList<Integer>> build = AsyncImmutableLists.createFrom(rangeOf(10),
+                                                                                            function,
+                                                                                            executor,
+                                                                                            10,
+                                                                                            TimeUnit.MILLISECONDS,
+                                                                                            scheduler);
+        function.blocked.await();
+
+        // when
+        assertTimedOut(build);
+        function.resumed.countDown();
+
+        // then
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        assertThat(function.calls.get(), is(10));
+    }
+
+    private static void assertTimedOut(final BackgroundBuild<?> build) throws InterruptedException {
+        try {
+            build.get();
+            fail("expected the build to time out");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(TimeoutException.class)));
+        }
+    }
+
+    @Test
+    public void buildWithinDeadlineSucceeds() throws Exception {
+
+        // given
+        final List<Integer> input = Lists.newArrayList(1);
+
+        // when
+        final BackgroundBuild<ImmutableMap<String, String>> build = AsyncImmutableMaps.createFrom(input,
+                                                                                                 TO_STRING,
+                                                                                                 TO_STRING,
+                                                                                                 executor,
+                                                                                                 1,
+                                                                                                 TimeUnit.MINUTES,
+                                                                                                 scheduler);
+
+        // then
+        assertThat(build.get(), is(equalTo(ImmutableMap.of("1", "1"))));
+    }
+
+    @Test
+    public void failingFunctionFailsBuild() throws Exception {
+
+        // given
+        final Function<Integer, String> failing = new Function<Integer, String>() {
+            @Override
+            public String apply(final Integer input) {
+                throw new IllegalStateException("failure");
+            }
+        };
+
+        // when
+        final BackgroundBuild<ImmutableList<String>> build = AsyncImmutableLists.createFrom(Lists.newArrayList(1), failing, executor);
+
+        // then
+        try {
+            build.get();
+            fail("expected the build to fail");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(IllegalStateException.class)));
+        }
+    }
+
+    @Test
+    public void rejectedExecutionFailsBuild() throws Exception {
+
+        // given
+        executor.shutdown();
+
+        // when
+        final BackgroundBuild<ImmutableList<String>> build = AsyncImmutableLists.createFrom(Lists.newArrayList(1), TO_STRING, executor);
+
+        // then
+        try {
+            build.get();
+            fail("expected the build to fail");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(RejectedExecutionException.class)));
+        }
+    }
+}
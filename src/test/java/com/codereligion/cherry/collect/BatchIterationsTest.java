@@ -0,0 +1,192 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.BatchIterations} contract and the factory methods using it.
+ *
+ * @since 19.10.2026
+ */
+public class BatchIterationsTest {
+
+    private static final Function<Object, String> TO_STRING = Functions.toStringFunction();
+
+    /**
+     * Converts integers to strings and records the size of each batch.
+     */
+    private static class RecordingBatchFunction implements BatchFunction<Integer, String> {
+
+        private final List<Integer> batchSizes = Lists.newArrayList();
+
+        @Override
+        public List<String> apply(final List<? extends Integer> inputs) {
+            batchSizes.add(inputs.size());
+            final String[] results = new String[inputs.size()];
+            for (int i = 0; i < results.length; i++) {
+                results[i] = "#" + inputs.get(i);
+            }
+            return Arrays.asList(results);
+        }
+    }
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(BatchIterations.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arrayListsDoesNotAllowNullIterable() {
+        ArrayLists.createFrom(null, new RecordingBatchFunction(), 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arrayListsDoesNotAllowNullFunction() {
+        ArrayLists.createFrom(Lists.newArrayList(1), (BatchFunction<Integer, String>) null, 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void arrayListsDoesNotAllowNonPositiveBatchSize() {
+        ArrayLists.createFrom(Lists.newArrayList(1), new RecordingBatchFunction(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void hashMapsDoesNotAllowNullKeyFunction() {
+        HashMaps.createFrom(Lists.newArrayList(1), null, new RecordingBatchFunction(), 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void hashMapsDoesNotAllowNullValueFunction() {
+        HashMaps.createFrom(Lists.newArrayList(1), TO_STRING, (BatchFunction<Integer, String>) null, 2);
+    }
+
+    @Test
+    public void arrayListsFeedsIndexedListInChunks() {
+
+        // given
+        final RecordingBatchFunction function = new RecordingBatchFunction();
+
+        // when
+        final ArrayList<String> result = ArrayLists.createFrom(Lists.newArrayList(1, 2, 3, 4, 5), function, 2);
+
+        // then
+        assertThat(result, is(equalTo((List<String>) Lists.newArrayList("#1", "#2", "#3", "#4", "#5"))));
+        assertThat(function.batchSizes, is(equalTo((List<Integer>) Lists.newArrayList(2, 2, 1))));
+    }
+
+    @Test
+    public void arrayListsFeedsNonIndexedIterableInChunks() {
+
+        // given
+        final RecordingBatchFunction function = new RecordingBatchFunction();
+
+        // when
+        final ArrayList<String> result = ArrayLists.createFrom(new LinkedList<Integer>(Lists.newArrayList(1, 2, 3, 4)), function, 2);
+
+        // then
+        assertThat(result, is(equalTo((List<String>) Lists.newArrayList("#1", "#2", "#3", "#4"))));
+        assertThat(function.batchSizes, is(equalTo((List<Integer>) Lists.newArrayList(2, 2))));
+    }
+
+    @Test
+    public void largeBatchSizeUsesSingleChunk() {
+
+        // given
+        final RecordingBatchFunction function = new RecordingBatchFunction();
+
+        // when
+        final ImmutableList<String> result = ImmutableLists.createFrom(Lists.newArrayList(1, 2, 3), function, Integer.MAX_VALUE);
+
+        // then
+        assertThat(result, is(equalTo(ImmutableList.of("#1", "#2", "#3"))));
+        assertThat(function.batchSizes, is(equalTo((List<Integer>) Lists.newArrayList(3))));
+    }
+
+    @Test
+    public void emptyIterableDoesNotCallFunction() {
+
+        // given
+        final RecordingBatchFunction function = new RecordingBatchFunction();
+
+        // when
+        final ArrayList<String> result = ArrayLists.createFrom(new LinkedList<Integer>(), function, 2);
+
+        // then
+        assertThat(result.isEmpty(), is(true));
+        assertThat(function.batchSizes.isEmpty(), is(true));
+    }
+
+    @Test
+    public void hashMapsMapsKeysToBatchedValues() {
+
+        // given
+        final RecordingBatchFunction function = new RecordingBatchFunction();
+
+        // when
+        final HashMap<String, String> result = HashMaps.createFrom(Lists.newArrayList(1, 2, 3), TO_STRING, function, 2);
+
+        // then
+        assertThat((Map<String, String>) result, is(equalTo((Map<String, String>) ImmutableMap.of("1", "#1", "2", "#2", "3", "#3"))));
+        assertThat(function.batchSizes, is(equalTo((List<Integer>) Lists.newArrayList(2, 1))));
+    }
+
+    @Test
+    public void immutableMapsKeepsIterationOrder() {
+
+        // when
+        final ImmutableMap<String, String> result = ImmutableMaps.createFrom(Lists.newArrayList(3, 1, 2), TO_STRING, new RecordingBatchFunction(), 2);
+
+        // then
+        assertThat(result.keySet().asList(), is(equalTo(ImmutableList.of("3", "1", "2"))));
+        assertThat(result.get("1"), is(equalTo("#1")));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void functionMustReturnOneResultPerInput() {
+        ArrayLists.createFrom(Lists.newArrayList(1, 2), new BatchFunction<Integer, String>() {
+            @Override
+            public List<String> apply(final List<? extends Integer> inputs) {
+                return Lists.newArrayList("only one");
+            }
+        }, 2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void functionMustNotReturnNull() {
+        ArrayLists.createFrom(Lists.newArrayList(1), new BatchFunction<Integer, String>() {
+            @Override
+            public List<String> apply(final List<? extends Integer> inputs) {
+                return null;
+            }
+        }, 2);
+    }
+}
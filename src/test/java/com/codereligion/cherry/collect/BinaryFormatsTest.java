@@ -0,0 +1,140 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.function.ToStringFunction;
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.BinaryFormats} contract.
+ *
+ * @since 19.10.2026
+ */
+public class BinaryFormatsTest {
+
+    private static final Function<Integer, String> EVEN_OR_ODD = new Function<Integer, String>() {
+        @Override
+        public String apply(final Integer input) {
+            return input % 2 == 0 ? "even" : "odd";
+        }
+    };
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(BinaryFormats.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void encodeDoesNotAllowNullElements() {
+        BinaryFormats.encode(Arrays.asList("a", null), ElementCodecs.stringCodec());
+    }
+
+    @Test
+    public void listViewReturnsEncodedList() {
+
+        // given
+        final List<String> list = ImmutableLists.createFrom(Lists.newArrayList(3, 1, 2), ToStringFunction.<Integer>toStringFunction());
+        final ByteBuffer buffer = BinaryFormats.encode(list, ElementCodecs.stringCodec());
+
+        // when
+        final List<String> result = BinaryFormats.listView(buffer, ElementCodecs.stringCodec());
+
+        // then
+        assertThat(result, is(equalTo(list)));
+        assertThat(result.get(2), is("2"));
+    }
+
+    @Test
+    public void listViewReadsFromCurrentPositionOfDirectBuffers() {
+
+        // given
+        final ByteBuffer encoded = BinaryFormats.encode(ImmutableList.of(1L, 2L), ElementCodecs.longCodec());
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(encoded.remaining() + 5);
+        buffer.position(5);
+        buffer.put(encoded);
+        buffer.position(5);
+
+        // when
+        final List<Long> result = BinaryFormats.listView(buffer, ElementCodecs.longCodec());
+
+        // then
+        assertThat(result, is(equalTo((List<Long>) ImmutableList.of(1L, 2L))));
+        assertThat(buffer.position(), is(5));
+    }
+
+    @Test
+    public void mapViewReturnsEncodedMap() {
+
+        // given
+        final Map<String, Integer> map = ImmutableMaps.createFrom(Lists.newArrayList(1, 2, 3), ToStringFunction.<Integer>toStringFunction());
+        final ByteBuffer buffer = BinaryFormats.encode(map, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+
+        // when
+        final Map<String, Integer> result = BinaryFormats.mapView(buffer, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+
+        // then
+        assertThat(result, is(equalTo(map)));
+        assertThat(result.get("2"), is(2));
+    }
+
+    @Test
+    public void multimapViewReturnsEncodedMultimap() {
+
+        // given
+        final Multimap<String, Integer> multimap = ArrayListMultimaps.createFrom(Lists.newArrayList(1, 2, 3, 4, 5), EVEN_OR_ODD);
+        final ByteBuffer buffer = BinaryFormats.encode(multimap, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+
+        // when
+        final Map<String, List<Integer>> result = BinaryFormats.multimapView(buffer, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+
+        // then
+        assertThat(result.get("odd"), is(equalTo((List<Integer>) ImmutableList.of(1, 3, 5))));
+        assertThat(result.get("even"), is(equalTo((List<Integer>) ImmutableList.of(2, 4))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void listViewDoesNotAcceptEncodedMaps() {
+
+        // given
+        final ByteBuffer buffer = BinaryFormats.encode(ImmutableMap.of("a", 1), ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+
+        // when
+        BinaryFormats.listView(buffer, ElementCodecs.stringCodec());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void listViewDoesNotAllowIndicesBeyondSize() {
+
+        // given
+        final ByteBuffer buffer = BinaryFormats.encode(ImmutableList.of("a"), ElementCodecs.stringCodec());
+
+        // when
+        BinaryFormats.listView(buffer, ElementCodecs.stringCodec()).get(1);
+    }
+}
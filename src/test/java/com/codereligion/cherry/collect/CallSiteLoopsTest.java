@@ -0,0 +1,151 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.function.ToStringFunction;
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.CallSiteLoops} contract.
+ *
+ * @since 19.10.2026
+ */
+public class CallSiteLoopsTest {
+
+    private static final Predicate<Integer> IS_EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean apply(final Integer input) {
+            return input % 2 == 0;
+        }
+    };
+
+    private static final Function<Object, String> TO_STRING = ToStringFunction.toStringFunction();
+
+    private final CallSiteLoops loops = CallSiteLoops.create();
+
+    @Test
+    public void createDefinesOwnLoopClassPerInstance() {
+
+        // when
+        final CallSiteLoops other = CallSiteLoops.create();
+
+        // then
+        assertThat(loops.getLoopClass(), is(not(sameInstance((Object) other.getLoopClass()))));
+        assertThat(loops.getLoopClass(), is(not(sameInstance((Object) CallSiteLoopBodies.class))));
+        assertThat(loops.getLoopClass().getName(), is(CallSiteLoopBodies.class.getName()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void filterDoesNotAllowNullIterable() {
+        loops.createFrom(null, IS_EVEN, new ArrayList<Integer>());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void filterDoesNotAllowNullPredicate() {
+        loops.createFrom(Lists.newArrayList(1), (Predicate<Integer>) null, new ArrayList<Integer>());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void transformDoesNotAllowNullFunction() {
+        loops.createFrom(Lists.newArrayList(1), (Function<Integer, String>) null, new ArrayList<String>());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void filterAndTransformDoesNotAllowNullCollection() {
+        loops.createFrom(Lists.newArrayList(1), IS_EVEN, TO_STRING, null);
+    }
+
+    @Test
+    public void filterAddsMatchingEntries() {
+
+        // given
+        final List<Integer> input = Lists.newLinkedList(Lists.newArrayList(1, 2, 3, 4));
+
+        // when
+        final ArrayList<Integer> result = loops.createFrom(input, IS_EVEN, new ArrayList<Integer>());
+
+        // then
+        assertThat(result, is(equalTo((List<Integer>) Lists.newArrayList(2, 4))));
+    }
+
+    @Test
+    public void transformAddsTransformedEntries() {
+
+        // given
+        final List<Integer> input = Lists.newArrayList(1, 2);
+
+        // when
+        final LinkedList<String> result = loops.createFrom(input, TO_STRING, new LinkedList<String>());
+
+        // then
+        assertThat(result, is(equalTo((List<String>) Lists.newArrayList("1", "2"))));
+    }
+
+    @Test
+    public void filterAndTransformAddsTransformedMatchingEntries() {
+
+        // given
+        final List<Integer> input = Lists.newArrayList(1, 2, 3, 4);
+
+        // when
+        final ArrayList<String> result = loops.createFrom(input, IS_EVEN, TO_STRING, new ArrayList<String>());
+
+        // then
+        assertThat(result, is(equalTo((List<String>) Lists.newArrayList("2", "4"))));
+    }
+
+    @Test
+    public void doesNotUseIteratorForArrayLists() {
+
+        // given
+        final ArrayList<Integer> input = spy(Lists.newArrayList(1, 2, 3));
+
+        // when
+        loops.createFrom(input, IS_EVEN, TO_STRING, new ArrayList<String>());
+
+        // then
+        verify(input, never()).iterator();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void propagatesExceptionsOfPredicates() {
+
+        // given
+        final Predicate<Integer> failing = new Predicate<Integer>() {
+            @Override
+            public boolean apply(final Integer input) {
+                throw new IllegalStateException();
+            }
+        };
+
+        // when
+        loops.createFrom(Lists.newArrayList(1), failing, new ArrayList<Integer>());
+    }
+}
@@ -0,0 +1,327 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.function.ToStringFunction;
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
+import com.google.common.collect.Sets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.ConcurrentCollector} contract.
+ *
+ * @since 19.10.2026
+ */
+public class ConcurrentCollectorTest {
+
+    private static final Function<String, Character> FIRST_CHARACTER = new Function<String, Character>() {
+        @Override
+        public Character apply(final String input) {
+            return input.charAt(0);
+        }
+    };
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final ExecutorService otherThread = Executors.newSingleThreadExecutor();
+
+    @After
+    public void shutDownExecutor() {
+        executor.shutdownNow();
+        otherThread.shutdownNow();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createDoesNotAllowNegativeExpectedSize() {
+        ConcurrentCollector.create(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void addAllDoesNotAllowNullIterable() {
+        ConcurrentCollector.<Integer>create().addAll(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buildDoesNotAllowNullComparator() {
+        ConcurrentCollector.<Integer>create().build(null);
+    }
+
+    @Test
+    public void buildReturnsElementsOfSingleThreadInInsertionOrder() {
+
+        // given
+        final ConcurrentCollector<String> collector = ConcurrentCollector.create();
+        collector.add("a");
+        collector.addAll(Lists.newArrayList("b", "c"));
+        collector.addAll(Lists.newArrayList(1, 2), ToStringFunction.<Integer>toStringFunction());
+
+        // when
+        final List<String> result = collector.build();
+
+        // then
+        assertThat(result, is(equalTo((List<String>) ImmutableList.of("a", "b", "c", "1", "2"))));
+    }
+
+    @Test
+    public void addAllWithPredicateOnlyAddsMatchingEntries() {
+
+        // given
+        final Predicate<Integer> isEven = new Predicate<Integer>() {
+            @Override
+            public boolean apply(final Integer input) {
+                return input % 2 == 0;
+            }
+        };
+        final ConcurrentCollector<Integer> collector = ConcurrentCollector.create();
+
+        // when
+        collector.addAll(Lists.newArrayList(1, 2, 3, 4), isEven);
+
+        // then
+        assertThat(collector.build(), is(equalTo((List<Integer>) ImmutableList.of(2, 4))));
+    }
+
+    @Test
+    public void buildMergesElementsOfAllThreads() throws Exception {
+
+        // given
+        final ConcurrentCollector<Integer> collector = ConcurrentCollector.create(1000);
+        final List<Future<?>> futures = new ArrayList<Future<?>>();
+        for (int thread = 0; thread < 8; thread++) {
+            final int offset = thread * 1000;
+            futures.add(executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    for (int i = 0; i < 1000; i++) {
+                        collector.add(offset + i);
+                    }
+                    return null;
+                }
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+
+        // when
+        final List<Integer> result = collector.build(Ordering.natural());
+
+        // then
+        assertThat(result.size(), is(8000));
+        assertThat(Ordering.natural().isStrictlyOrdered(result), is(true));
+    }
+
+    @Test
+    public void buildCanBePassedToFactories() {
+
+        // given
+        final ConcurrentCollector<Integer> collector = ConcurrentCollector.create();
+        collector.addAll(Lists.newArrayList(1, 2, 3));
+
+        // when
+        final Map<String, Integer> result = HashMaps.createFrom(collector.build(), ToStringFunction.<Integer>toStringFunction());
+
+        // then
+        assertThat(result.get("2"), is(2));
+        assertThat(result.size(), is(3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buildHashMapDoesNotAllowNullKeyFunction() {
+        ConcurrentCollector.<Integer>create().buildHashMap(null);
+    }
+
+    @Test
+    public void buildHashMapMapsElementsOfAllAccumulators() throws Exception {
+
+        // given
+        final ConcurrentCollector<Integer> collector = ConcurrentCollector.create();
+        collector.addAll(Lists.newArrayList(1, 2));
+        executor.submit(new Callable<Void>() {
+            @Override
+            public Void call() {
+                collector.add(3);
+                return null;
+            }
+        }).get();
+
+        // when
+        final Map<String, Integer> result = collector.buildHashMap(ToStringFunction.<Integer>toStringFunction());
+
+        // then
+        assertThat(result, is(equalTo((Map<String, Integer>) ImmutableMap.of("1", 1, "2", 2, "3", 3))));
+    }
+
+    @Test
+    public void buildMergesElementsOfAllThreadsInAddOrder() throws Exception {
+
+        // given
+        final ConcurrentCollector<String> collector = ConcurrentCollector.create();
+        collector.add("a1");
+        addFromOtherThread(collector, "b1");
+        collector.addAll(Lists.newArrayList("a2", "a3"));
+        addFromOtherThread(collector, "b2");
+
+        // when
+        final List<String> result = collector.build();
+
+        // then
+        assertThat(result, is(equalTo((List<String>) ImmutableList.of("a1", "b1", "a2", "a3", "b2"))));
+    }
+
+    @Test
+    public void buildHashMapKeepsElementAddedLastForEqualKeys() throws Exception {
+
+        // given
+        final ConcurrentCollector<String> collector = ConcurrentCollector.create();
+        collector.add("a1");
+        addFromOtherThread(collector, "a2");
+        collector.add("b1");
+        addFromOtherThread(collector, "b2");
+        collector.add("a3");
+
+        // when
+        final Map<Character, String> result = collector.buildHashMap(FIRST_CHARACTER);
+
+        // then
+        assertThat(result, is(equalTo((Map<Character, String>) ImmutableMap.of('a', "a3", 'b', "b2"))));
+    }
+
+    @Test
+    public void buildArrayListMultimapKeepsValuesInAddOrder() throws Exception {
+
+        // given
+        final ConcurrentCollector<String> collector = ConcurrentCollector.create();
+        collector.add("a1");
+        addFromOtherThread(collector, "a2");
+        collector.add("b1");
+        collector.add("a3");
+
+        // when
+        final ListMultimap<Character, String> result = collector.buildArrayListMultimap(FIRST_CHARACTER);
+
+        // then
+        assertThat(result.get('a'), is(equalTo((List<String>) ImmutableList.of("a1", "a2", "a3"))));
+        assertThat(result.get('b'), is(equalTo((List<String>) ImmutableList.of("b1"))));
+    }
+
+    @Test
+    public void buildImmutableListReturnsElementsInAddOrder() throws Exception {
+
+        // given
+        final ConcurrentCollector<String> collector = ConcurrentCollector.create();
+        addFromOtherThread(collector, "a");
+        collector.add("b");
+
+        // when
+        final List<String> result = collector.buildImmutableList();
+
+        // then
+        assertThat(result, is(equalTo((List<String>) ImmutableList.of("a", "b"))));
+    }
+
+    @Test
+    public void buildImmutableMapMapsElementsOfAllThreads() throws Exception {
+
+        // given
+        final ConcurrentCollector<String> collector = ConcurrentCollector.create();
+        collector.add("a1");
+        addFromOtherThread(collector, "b1");
+
+        // when
+        final Map<Character, String> result = collector.buildImmutableMap(FIRST_CHARACTER);
+
+        // then
+        assertThat(result, is(equalTo((Map<Character, String>) ImmutableMap.of('a', "a1", 'b', "b1"))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void buildImmutableMapDoesNotAllowEqualKeys() throws Exception {
+
+        // given
+        final ConcurrentCollector<String> collector = ConcurrentCollector.create();
+        collector.add("a1");
+        addFromOtherThread(collector, "a2");
+
+        // when
+        collector.buildImmutableMap(FIRST_CHARACTER);
+    }
+
+    @Test
+    public void buildIntoAddsElementsToGivenCollection() {
+
+        // given
+        final ConcurrentCollector<Integer> collector = ConcurrentCollector.create();
+        collector.addAll(Lists.newArrayList(1, 2, 2));
+
+        // when
+        final Set<Integer> result = collector.buildInto(Sets.<Integer>newHashSet(0));
+
+        // then
+        assertThat(result, is(equalTo((Set<Integer>) ImmutableSet.of(0, 1, 2))));
+    }
+
+    @Test
+    public void clearDiscardsElementsOfAllThreads() throws Exception {
+
+        // given
+        final ConcurrentCollector<Integer> collector = ConcurrentCollector.create();
+        final Callable<Void> addOne = new Callable<Void>() {
+            @Override
+            public Void call() {
+                collector.add(1);
+                return null;
+            }
+        };
+        executor.submit(addOne).get();
+        collector.add(2);
+
+        // when
+        collector.clear();
+        executor.submit(addOne).get();
+
+        // then
+        assertThat(collector.build(), is(equalTo((List<Integer>) ImmutableList.of(1))));
+    }
+
+    private void addFromOtherThread(final ConcurrentCollector<String> collector, final String element) throws Exception {
+        otherThread.submit(new Callable<Void>() {
+            @Override
+            public Void call() {
+                collector.add(element);
+                return null;
+            }
+        }).get();
+    }
+}
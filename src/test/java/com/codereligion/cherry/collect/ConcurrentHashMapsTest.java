@@ -0,0 +1,173 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.function.ToStringFunction;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.ConcurrentHashMaps} contract.
+ *
+ * @since 19.10.2026
+ */
+public class ConcurrentHashMapsTest extends AbstractMapFactoryTest {
+
+    private static final List<Integer> NUMBERS = Lists.newArrayList(ContiguousSet.create(Range.closedOpen(0, 10000), DiscreteDomain.integers()));
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    protected Map<String, Integer> createFrom(final Iterable<Integer> iterable, final Function<Integer, String> keyFunction) {
+        return ConcurrentHashMaps.createFrom(iterable, keyFunction);
+    }
+
+    @Override
+    protected Map<String, String> createFrom(final Iterable<Integer> iterable,
+                                             final Function<Integer, String> keyFunction,
+                                             final Function<Integer, String> valueFunction) {
+        return ConcurrentHashMaps.createFrom(iterable, keyFunction, valueFunction);
+    }
+
+    @Override
+    protected Map<String, Integer> createFrom(final Iterable<Integer> iterable,
+                                              final Predicate<Integer> predicate,
+                                              final Function<Integer, String> keyFunction) {
+        return ConcurrentHashMaps.createFrom(iterable, predicate, keyFunction);
+    }
+
+    @Override
+    protected Map<String, String> createFrom(final Iterable<Integer> iterable,
+                                             final Predicate<Integer> predicate,
+                                             final Function<Integer, String> keyFunction,
+                                             final Function<Integer, String> valueFunction) {
+        return ConcurrentHashMaps.createFrom(iterable, predicate, keyFunction, valueFunction);
+    }
+
+    @Override
+    protected Class<?> getFactoryClass() {
+        return ConcurrentHashMaps.class;
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void createFromDoesNotAllowNullKeys() {
+        ConcurrentHashMaps.createFrom(NUMBERS, Functions.<String>constant(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelCreateFromDoesNotAllowNullExecutor() {
+
+        // given
+        final ExecutorService executor = null;
+
+        // when
+        ConcurrentHashMaps.createFrom(NUMBERS, ToStringFunction.<Integer>toStringFunction(), executor, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelCreateFromDoesNotAllowNonPositiveParallelism() {
+        ConcurrentHashMaps.createFrom(NUMBERS, ToStringFunction.<Integer>toStringFunction(), executor, 0);
+    }
+
+    @Test
+    public void parallelCreateFromWithKeyFunctionContainsAllEntries() {
+
+        // when
+        final Map<String, Integer> result = ConcurrentHashMaps.createFrom(NUMBERS, ToStringFunction.<Integer>toStringFunction(), executor, 4);
+
+        // then
+        assertThat(result, is(equalTo((Map<String, Integer>) HashMaps.createFrom(NUMBERS, ToStringFunction.<Integer>toStringFunction()))));
+    }
+
+    @Test
+    public void parallelCreateFromWithKeyFunctionAndValueFunctionContainsAllEntries() {
+
+        // given
+        final Function<Integer, String> function = ToStringFunction.toStringFunction();
+
+        // when
+        final Map<String, String> result = ConcurrentHashMaps.createFrom(NUMBERS, function, function, executor, 3);
+
+        // then
+        assertThat(result, is(equalTo((Map<String, String>) HashMaps.createFrom(NUMBERS, function, function))));
+    }
+
+    @Test
+    public void parallelCreateFromSupportsIterablesWithoutRandomAccess() {
+
+        // given
+        final Predicate<Integer> predicate = Predicates.not(Predicates.equalTo(2));
+        final Function<Integer, String> function = ToStringFunction.toStringFunction();
+
+        // when
+        final Map<String, Integer> result = ConcurrentHashMaps.createFrom(Lists.newLinkedList(NUMBERS), predicate, function, executor, 4);
+
+        // then
+        assertThat(result, is(equalTo((Map<String, Integer>) HashMaps.createFrom(NUMBERS, predicate, function))));
+    }
+
+    @Test
+    public void parallelCreateFromWithMoreThreadsThanEntriesContainsAllEntries() {
+
+        // given
+        final Predicate<Integer> predicate = Predicates.alwaysTrue();
+        final Function<Integer, String> function = ToStringFunction.toStringFunction();
+
+        // when
+        final Map<String, String> result = ConcurrentHashMaps.createFrom(Lists.newArrayList(1, 2), predicate, function, function, executor, 8);
+
+        // then
+        assertThat(result, is(equalTo((Map<String, String>) HashMaps.createFrom(Lists.newArrayList(1, 2), function, function))));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parallelCreateFromPropagatesFailures() {
+
+        // given
+        final Function<Integer, String> failingFunction = new Function<Integer, String>() {
+            @Override
+            public String apply(final Integer input) {
+                if (input == 4711) {
+                    throw new IllegalStateException();
+                }
+                return input.toString();
+            }
+        };
+
+        // when
+        ConcurrentHashMaps.createFrom(NUMBERS, failingFunction, executor, 4);
+    }
+}
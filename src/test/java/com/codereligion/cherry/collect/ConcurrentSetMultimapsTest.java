@@ -0,0 +1,146 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.function.ToStringFunction;
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.ConcurrentSetMultimaps} contract.
+ *
+ * @since 19.10.2026
+ */
+public class ConcurrentSetMultimapsTest {
+
+    private static final Function<Integer, String> EVEN_OR_ODD = new Function<Integer, String>() {
+        @Override
+        public String apply(final Integer input) {
+            return input % 2 == 0 ? "even" : "odd";
+        }
+    };
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(ConcurrentSetMultimaps.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromWithKeyFunctionDoesNotAllowNullIterable() {
+
+        // given
+        final Iterable<Integer> iterable = null;
+
+        // when
+        ConcurrentSetMultimaps.createFrom(iterable, EVEN_OR_ODD);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void filteringCreateFromWithKeyFunctionAndValueFunctionDoesNotAllowNullPredicate() {
+
+        // given
+        final Predicate<Integer> predicate = null;
+
+        // when
+        ConcurrentSetMultimaps.createFrom(Lists.newArrayList(1), predicate, EVEN_OR_ODD, ToStringFunction.<Integer>toStringFunction());
+    }
+
+    @Test
+    public void createFromWithKeyFunctionGroupsValuesByKey() {
+
+        // when
+        final Map<String, Set<Integer>> result = ConcurrentSetMultimaps.createFrom(Lists.newArrayList(1, 2, 3, 4, 5), EVEN_OR_ODD);
+
+        // then
+        assertThat(result.get("odd"), is(equalTo((Set<Integer>) ImmutableSet.of(1, 3, 5))));
+        assertThat(result.get("even"), is(equalTo((Set<Integer>) ImmutableSet.of(2, 4))));
+    }
+
+    @Test
+    public void createFromWithKeyFunctionAndValueFunctionRemovesDuplicateValues() {
+
+        // when
+        final Map<String, Set<String>> result = ConcurrentSetMultimaps.createFrom(Lists.newArrayList(1, 1, 2),
+                                                                                  EVEN_OR_ODD,
+                                                                                  ToStringFunction.<Integer>toStringFunction());
+
+        // then
+        assertThat(result.get("odd"), is(equalTo((Set<String>) ImmutableSet.of("1"))));
+    }
+
+    @Test
+    public void filteringCreateFromWithKeyFunctionFiltersOutUnwantedEntries() {
+
+        // when
+        final Map<String, Set<Integer>> result = ConcurrentSetMultimaps.createFrom(Lists.newArrayList(1, 2, 3, 4),
+                                                                                   Predicates.not(Predicates.equalTo(3)),
+                                                                                   EVEN_OR_ODD);
+
+        // then
+        assertThat(result.get("odd"), is(equalTo((Set<Integer>) ImmutableSet.of(1))));
+        assertThat(result.get("even"), is(equalTo((Set<Integer>) ImmutableSet.of(2, 4))));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void createFromDoesNotAllowNullValues() {
+        ConcurrentSetMultimaps.createFrom(Lists.newArrayList(1), EVEN_OR_ODD, Functions.<String>constant(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelCreateFromDoesNotAllowNonPositiveParallelism() {
+        ConcurrentSetMultimaps.createFrom(Lists.newArrayList(1), EVEN_OR_ODD, executor, -1);
+    }
+
+    @Test
+    public void parallelCreateFromContainsAllValues() {
+
+        // given
+        final List<Integer> iterable = Lists.newArrayList();
+        for (int i = 0; i < 10000; i++) {
+            iterable.add(i);
+        }
+
+        // when
+        final Map<String, Set<Integer>> result = ConcurrentSetMultimaps.createFrom(iterable, EVEN_OR_ODD, executor, 4);
+
+        // then
+        assertThat(result.keySet(), is(equalTo((Object) ImmutableSet.of("even", "odd"))));
+        assertThat(result.get("even").size(), is(5000));
+        assertThat(result.get("odd").size(), is(5000));
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.collect.ImmutableList;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.ElementCodecs} contract.
+ *
+ * @since 19.10.2026
+ */
+public class ElementCodecsTest {
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(ElementCodecs.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test
+    public void stringCodecDecodesEncodedStringFromHeapAndDirectBuffers() {
+        assertThat(roundTrip(ElementCodecs.stringCodec(), "gröbler", false), is("gröbler"));
+        assertThat(roundTrip(ElementCodecs.stringCodec(), "gröbler", true), is("gröbler"));
+    }
+
+    @Test
+    public void integerCodecDecodesEncodedInteger() {
+        assertThat(roundTrip(ElementCodecs.integerCodec(), -4711, true), is(-4711));
+    }
+
+    @Test
+    public void longCodecDecodesEncodedLong() {
+        assertThat(roundTrip(ElementCodecs.longCodec(), Long.MIN_VALUE, false), is(Long.MIN_VALUE));
+    }
+
+    @Test
+    public void listCodecDecodesEncodedList() {
+
+        // given
+        final List<String> list = ImmutableList.of("a", "", "bc");
+
+        // when
+        final List<String> result = roundTrip(ElementCodecs.listCodec(ElementCodecs.stringCodec()), list, true);
+
+        // then
+        assertThat(result, is(equalTo(list)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void listCodecDoesNotAllowNullElementCodec() {
+        ElementCodecs.listCodec(null);
+    }
+
+    private static <E> E roundTrip(final ElementCodec<E> codec, final E element, final boolean direct) {
+
+        // encode at an offset into a buffer to make sure the codec only reads the given region
+        final byte[] bytes = codec.encode(element);
+        final ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(bytes.length + 3) : ByteBuffer.allocate(bytes.length + 3);
+        buffer.position(3);
+        buffer.put(bytes);
+        buffer.position(1);
+
+        final E result = codec.decode(buffer, 3, bytes.length);
+        assertThat(buffer.position(), is(1));
+        return result;
+    }
+}
@@ -0,0 +1,236 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.function.ToStringFunction;
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.ExternalGroupings} and {@link com.codereligion.cherry.collect.SpilledGroups} contract.
+ *
+ * @since 19.10.2026
+ */
+public class ExternalGroupingsTest {
+
+    private static final List<Integer> NUMBERS = Lists.newArrayList(ContiguousSet.create(Range.closedOpen(0, 10000), DiscreteDomain.integers()));
+
+    private static final long SMALL_BUDGET = 16 * 1024;
+
+    private static final long LARGE_BUDGET = 64 * 1024 * 1024;
+
+    private static final Function<Integer, Integer> MODULO_HUNDRED = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer input) {
+            return input % 100;
+        }
+    };
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(ExternalGroupings.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNullKeyCodec() throws IOException {
+        ExternalGroupings.createFrom(NUMBERS, MODULO_HUNDRED, null, ElementCodecs.integerCodec(), temporaryFolder.getRoot(), SMALL_BUDGET);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNonPositiveMemoryBudget() throws IOException {
+        ExternalGroupings.createFrom(NUMBERS, MODULO_HUNDRED, ElementCodecs.integerCodec(), ElementCodecs.integerCodec(), temporaryFolder.getRoot(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNullValues() throws IOException {
+        ExternalGroupings.createFrom(Lists.newArrayList(1, null),
+                                     Functions.constant(1),
+                                     ElementCodecs.integerCodec(),
+                                     ElementCodecs.integerCodec(),
+                                     temporaryFolder.getRoot(),
+                                     SMALL_BUDGET);
+    }
+
+    @Test
+    public void groupsWithinBudgetAreNotSpilled() throws IOException {
+
+        // when
+        final SpilledGroups<Integer, Integer> groups = ExternalGroupings.createFrom(NUMBERS,
+                                                                                    MODULO_HUNDRED,
+                                                                                    ElementCodecs.integerCodec(),
+                                                                                    ElementCodecs.integerCodec(),
+                                                                                    temporaryFolder.getRoot(),
+                                                                                    LARGE_BUDGET);
+
+        // then
+        assertThat(groups.isSpilled(), is(false));
+        assertThat(temporaryFolder.getRoot().list().length, is(0));
+        assertThat(toMap(groups), is(equalTo(ArrayListMultimaps.createFrom(NUMBERS, MODULO_HUNDRED).asMap())));
+        assertThat(groups.iterator().next().getKey(), is(0));
+        groups.close();
+    }
+
+    @Test
+    public void groupsExceedingBudgetAreSpilledAndReadBack() throws IOException {
+
+        // when
+        final SpilledGroups<Integer, Integer> groups = ExternalGroupings.createFrom(NUMBERS,
+                                                                                    MODULO_HUNDRED,
+                                                                                    ElementCodecs.integerCodec(),
+                                                                                    ElementCodecs.integerCodec(),
+                                                                                    temporaryFolder.getRoot(),
+                                                                                    SMALL_BUDGET);
+
+        // then
+        try {
+            assertThat(groups.isSpilled(), is(true));
+            assertThat(toMap(groups), is(equalTo(ArrayListMultimaps.createFrom(NUMBERS, MODULO_HUNDRED).asMap())));
+        } finally {
+            groups.close();
+        }
+    }
+
+    @Test
+    public void groupsAreSpilledWhenTheirOverheadExceedsBudget() throws IOException {
+
+        // given the entries alone take an estimated 800 KB, but each of them forms a group of its own
+        final long budget = 1024 * 1024;
+
+        // when
+        final SpilledGroups<Integer, Integer> groups = ExternalGroupings.createFrom(NUMBERS,
+                                                                                    Functions.<Integer>identity(),
+                                                                                    ElementCodecs.integerCodec(),
+                                                                                    ElementCodecs.integerCodec(),
+                                                                                    temporaryFolder.getRoot(),
+                                                                                    budget);
+
+        // then
+        try {
+            assertThat(groups.isSpilled(), is(true));
+            assertThat(toMap(groups).size(), is(NUMBERS.size()));
+        } finally {
+            groups.close();
+        }
+    }
+
+    @Test
+    public void spilledGroupsKeepValuesInIterationOrder() throws IOException {
+
+        // given
+        final Function<Integer, String> toString = ToStringFunction.toStringFunction();
+
+        // when
+        final SpilledGroups<Integer, String> groups = ExternalGroupings.createFrom(Lists.reverse(NUMBERS),
+                                                                                   MODULO_HUNDRED,
+                                                                                   toString,
+                                                                                   ElementCodecs.integerCodec(),
+                                                                                   ElementCodecs.stringCodec(),
+                                                                                   temporaryFolder.getRoot(),
+                                                                                   SMALL_BUDGET);
+
+        // then
+        try {
+            final ArrayListMultimap<Integer, String> expected = ArrayListMultimaps.createFrom(Lists.reverse(NUMBERS), MODULO_HUNDRED, toString);
+            assertThat(groups.isSpilled(), is(true));
+            assertThat(toMap(groups), is(equalTo(expected.asMap())));
+        } finally {
+            groups.close();
+        }
+    }
+
+    @Test
+    public void closeDeletesSpillFiles() throws IOException {
+
+        // given
+        final File directory = temporaryFolder.newFolder();
+        final SpilledGroups<Integer, Integer> groups = ExternalGroupings.createFrom(NUMBERS,
+                                                                                    MODULO_HUNDRED,
+                                                                                    ElementCodecs.integerCodec(),
+                                                                                    ElementCodecs.integerCodec(),
+                                                                                    directory,
+                                                                                    SMALL_BUDGET);
+
+        // when
+        groups.close();
+
+        // then
+        assertThat(directory.list().length, is(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void iteratorDoesNotAllowClosedGroups() throws IOException {
+
+        // given
+        final SpilledGroups<Integer, Integer> groups = ExternalGroupings.createFrom(NUMBERS,
+                                                                                    MODULO_HUNDRED,
+                                                                                    ElementCodecs.integerCodec(),
+                                                                                    ElementCodecs.integerCodec(),
+                                                                                    temporaryFolder.getRoot(),
+                                                                                    SMALL_BUDGET);
+        groups.close();
+
+        // when
+        groups.iterator();
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void groupsAreReadOnly() throws IOException {
+
+        // given
+        final SpilledGroups<Integer, Integer> groups = ExternalGroupings.createFrom(NUMBERS,
+                                                                                    MODULO_HUNDRED,
+                                                                                    ElementCodecs.integerCodec(),
+                                                                                    ElementCodecs.integerCodec(),
+                                                                                    temporaryFolder.getRoot(),
+                                                                                    LARGE_BUDGET);
+
+        // when
+        final Iterator<Map.Entry<Integer, List<Integer>>> iterator = groups.iterator();
+        iterator.next().getValue().add(1);
+    }
+
+    private static <K, V> Map<K, Collection<V>> toMap(final SpilledGroups<K, V> groups) {
+
+        final Map<K, Collection<V>> map = new HashMap<K, Collection<V>>();
+        for (final Map.Entry<K, List<V>> group : groups) {
+            map.put(group.getKey(), new ArrayList<V>(group.getValue()));
+        }
+        return map;
+    }
+}
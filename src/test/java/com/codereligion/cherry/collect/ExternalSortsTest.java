@@ -0,0 +1,241 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.ExternalSorts} and {@link com.codereligion.cherry.collect.SortedRuns} contract.
+ *
+ * @since 19.10.2026
+ */
+public class ExternalSortsTest {
+
+    private static final List<Integer> NUMBERS = shuffledNumbers(10000);
+
+    private static final long MEMORY_BUDGET = 16 * 1024;
+
+    private static final Function<Integer, Integer> HUNDREDTH = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer input) {
+            return input / 100;
+        }
+    };
+
+    private static final Comparator<Integer> BY_HUNDREDTH = Ordering.natural().onResultOf(HUNDREDTH);
+
+    private static final Comparator<Integer> NATURAL = Ordering.natural();
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(ExternalSorts.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNullDirectory() throws IOException {
+        ExternalSorts.createFrom(NUMBERS, HUNDREDTH, NATURAL, ElementCodecs.integerCodec(), null, MEMORY_BUDGET);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNonPositiveMemoryBudget() throws IOException {
+        ExternalSorts.createFrom(NUMBERS, HUNDREDTH, NATURAL, ElementCodecs.integerCodec(), temporaryFolder.getRoot(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNullResults() throws IOException {
+
+        // given
+        final Function<Object, Integer> toNull = Functions.constant(null);
+
+        // when
+        ExternalSorts.createFrom(NUMBERS, toNull, NATURAL, ElementCodecs.integerCodec(), temporaryFolder.getRoot(), MEMORY_BUDGET);
+    }
+
+    @Test
+    public void iteratorMergesSpilledRunsIntoSortedDistinctElements() throws IOException {
+
+        // when
+        final SortedRuns<Integer> runs = ExternalSorts.createFrom(NUMBERS,
+                                                                  HUNDREDTH,
+                                                                  NATURAL,
+                                                                  ElementCodecs.integerCodec(),
+                                                                  temporaryFolder.getRoot(),
+                                                                  MEMORY_BUDGET);
+
+        // then
+        try {
+            assertThat(runs.getRunCount() > 1, is(true));
+            assertThat(ImmutableList.copyOf(runs), is(equalTo(ImmutableSortedSets.createFrom(NUMBERS, HUNDREDTH).asList())));
+        } finally {
+            runs.close();
+        }
+    }
+
+    @Test
+    public void iteratorKeepsFirstOfEqualElements() throws IOException {
+
+        // when
+        final SortedRuns<Integer> runs = ExternalSorts.createFrom(NUMBERS,
+                                                                  Functions.<Integer>identity(),
+                                                                  BY_HUNDREDTH,
+                                                                  ElementCodecs.integerCodec(),
+                                                                  temporaryFolder.getRoot(),
+                                                                  MEMORY_BUDGET);
+
+        // then
+        try {
+            final ImmutableSortedSet<Integer> expected = ImmutableSortedSets.createFrom(NUMBERS, Functions.<Integer>identity(), BY_HUNDREDTH);
+            assertThat(ImmutableList.copyOf(runs), is(equalTo(expected.asList())));
+        } finally {
+            runs.close();
+        }
+    }
+
+    @Test
+    public void toSortedSetMapsMergedRuns() throws IOException {
+
+        // given
+        final File file = temporaryFolder.newFile();
+        final SortedRuns<String> runs = ExternalSorts.createFrom(NUMBERS,
+                                                                 Functions.toStringFunction(),
+                                                                 Ordering.<String>natural(),
+                                                                 ElementCodecs.stringCodec(),
+                                                                 temporaryFolder.getRoot(),
+                                                                 MEMORY_BUDGET);
+
+        // when
+        final SortedSet<String> result;
+        try {
+            result = runs.toSortedSet(file);
+        } finally {
+            runs.close();
+        }
+
+        // then
+        final ImmutableSortedSet<String> expected = ImmutableSortedSets.createFrom(NUMBERS, Functions.toStringFunction());
+        assertThat(ImmutableList.copyOf(result), is(equalTo(expected.asList())));
+        assertThat(result.contains("4711"), is(true));
+        assertThat(result.contains("x"), is(false));
+        assertThat(ImmutableList.copyOf(result.subSet("10", "11")), is(equalTo(expected.subSet("10", "11").asList())));
+        assertThat(ImmutableList.copyOf(result.tailSet("9998")), is(equalTo(ImmutableList.of("9998", "9999"))));
+        assertThat(result.headSet("1").isEmpty(), is(false));
+    }
+
+    @Test
+    public void toSortedSetWritesBinaryListFormat() throws IOException {
+
+        // given
+        final File file = temporaryFolder.newFile();
+        final File directory = temporaryFolder.newFolder();
+        final SortedRuns<Integer> runs = ExternalSorts.createFrom(NUMBERS, HUNDREDTH, NATURAL, ElementCodecs.integerCodec(), directory, MEMORY_BUDGET);
+        final List<Integer> expected = ImmutableList.copyOf(runs);
+
+        // when
+        try {
+            runs.toSortedSet(file);
+        } finally {
+            runs.close();
+        }
+
+        // then
+        final List<Integer> result = BinaryFormats.listView(MappedSnapshots.map(file), ElementCodecs.integerCodec());
+        assertThat(result, is(equalTo(expected)));
+    }
+
+    @Test
+    public void closeDeletesRunFiles() throws IOException {
+
+        // given
+        final File directory = temporaryFolder.newFolder();
+        final SortedRuns<Integer> runs = ExternalSorts.createFrom(NUMBERS, HUNDREDTH, NATURAL, ElementCodecs.integerCodec(), directory, MEMORY_BUDGET);
+        final Iterator<Integer> unfinished = runs.iterator();
+        unfinished.next();
+
+        // when
+        runs.close();
+
+        // then
+        assertThat(directory.list().length, is(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void iteratorDoesNotAllowClosedRuns() throws IOException {
+
+        // given
+        final SortedRuns<Integer> runs = ExternalSorts.createFrom(NUMBERS,
+                                                                  HUNDREDTH,
+                                                                  NATURAL,
+                                                                  ElementCodecs.integerCodec(),
+                                                                  temporaryFolder.getRoot(),
+                                                                  MEMORY_BUDGET);
+        runs.close();
+
+        // when
+        runs.iterator();
+    }
+
+    @Test
+    public void emptyIterableCreatesNoRuns() throws IOException {
+
+        // when
+        final SortedRuns<Integer> runs = ExternalSorts.createFrom(new ArrayList<Integer>(),
+                                                                  HUNDREDTH,
+                                                                  NATURAL,
+                                                                  ElementCodecs.integerCodec(),
+                                                                  temporaryFolder.getRoot(),
+                                                                  MEMORY_BUDGET);
+
+        // then
+        assertThat(runs.getRunCount(), is(0));
+        assertThat(runs.iterator().hasNext(), is(false));
+        assertThat(runs.toSortedSet(temporaryFolder.newFile()).isEmpty(), is(true));
+        runs.close();
+    }
+
+    private static List<Integer> shuffledNumbers(final int size) {
+
+        final List<Integer> numbers = Lists.newArrayListWithCapacity(size);
+        for (int i = 0; i < size; i++) {
+            numbers.add(i);
+        }
+        Collections.shuffle(numbers, new Random(42));
+        return numbers;
+    }
+}
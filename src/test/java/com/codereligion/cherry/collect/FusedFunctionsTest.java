@@ -0,0 +1,187 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import java.util.List;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.FusedFunctions} contract.
+ *
+ * @since 19.10.2026
+ */
+public class FusedFunctionsTest {
+
+    private static final Function<Integer, Integer> INCREMENT = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer input) {
+            return input + 1;
+        }
+    };
+
+    private static final Function<Integer, Integer> DOUBLE = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer input) {
+            return input * 2;
+        }
+    };
+
+    private static final Function<String, Integer> LENGTH = new Function<String, Integer>() {
+        @Override
+        public Integer apply(final String input) {
+            return input.length();
+        }
+    };
+
+    private static final Function<Integer, String> NAME = Functions.forMap(ImmutableMap.of(2, "two", 3, "three", 4, "four", 6, "six"));
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(FusedFunctions.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fuseDoesNotAllowNullFunction() {
+        FusedFunctions.fuse(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void composeDoesNotAllowNullFirstFunction() {
+        FusedFunctions.compose(INCREMENT, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void composeDoesNotAllowNullSecondFunction() {
+        FusedFunctions.compose(null, INCREMENT);
+    }
+
+    @Test
+    public void fuseFlattensNestedCompositions() {
+
+        // given
+        final Function<Integer, String> composition = Functions.compose(NAME, Functions.compose(DOUBLE, INCREMENT));
+
+        // when
+        final Function<Integer, String> fused = FusedFunctions.fuse(composition);
+
+        // then
+        assertThat(fused, is(instanceOf(FusedFunction.class)));
+        assertThat(((FusedFunction<?, ?>) fused).getStages(), is(equalTo((List<Function<?, ?>>) Lists.<Function<?, ?>>newArrayList(INCREMENT, DOUBLE, NAME))));
+    }
+
+    @Test
+    public void fusedFunctionBehavesLikeComposition() {
+
+        // given
+        final List<Integer> numbers = Lists.newArrayList(1, 2);
+        final Function<Integer, String> composition = Functions.compose(NAME, Functions.compose(DOUBLE, INCREMENT));
+
+        // when
+        final List<String> result = ArrayLists.createFrom(numbers, FusedFunctions.fuse(composition));
+
+        // then
+        assertThat(result, is(equalTo((List<String>) ArrayLists.createFrom(numbers, composition))));
+    }
+
+    @Test
+    public void fusedFunctionAppliesAllStagesOfLongChains() {
+
+        // given
+        Function<Integer, Integer> composition = INCREMENT;
+        for (int stages = 2; stages <= 6; stages++) {
+            composition = Functions.compose(stages % 2 == 0 ? DOUBLE : INCREMENT, composition);
+
+            // when
+            final Function<Integer, Integer> fused = FusedFunctions.fuse(composition);
+
+            // then
+            assertThat(((FusedFunction<?, ?>) fused).getStages().size(), is(stages));
+            assertThat(fused.apply(1), is(composition.apply(1)));
+        }
+    }
+
+    @Test
+    public void fuseRemovesIdentity() {
+
+        // given
+        final Function<Integer, Integer> composition = Functions.compose(Functions.<Integer>identity(),
+                                                                          Functions.compose(INCREMENT, Functions.<Integer>identity()));
+
+        // when
+        final Function<Integer, Integer> fused = FusedFunctions.fuse(composition);
+
+        // then
+        assertThat(fused, is(sameInstance(INCREMENT)));
+    }
+
+    @Test
+    public void fuseReturnsIdentityForCompositionOfIdentities() {
+
+        // given
+        final Function<Integer, Integer> composition = Functions.compose(Functions.<Integer>identity(), Functions.<Integer>identity());
+
+        // when
+        final Function<Integer, Integer> fused = FusedFunctions.fuse(composition);
+
+        // then
+        assertThat(fused, is(sameInstance(Functions.<Integer>identity())));
+    }
+
+    @Test
+    public void fuseDropsFunctionsAppliedBeforeConstant() {
+
+        // given
+        final Function<Object, String> constant = Functions.constant("constant");
+        final Function<Integer, Integer> composition = Functions.compose(INCREMENT, Functions.compose(LENGTH, Functions.compose(constant, DOUBLE)));
+
+        // when
+        final Function<Integer, Integer> fused = FusedFunctions.fuse(composition);
+
+        // then
+        final List<Function<?, ?>> expectedStages = Lists.<Function<?, ?>>newArrayList(constant, LENGTH, INCREMENT);
+        assertThat(((FusedFunction<?, ?>) fused).getStages(), is(equalTo(expectedStages)));
+        assertThat(fused.apply(null), is(9));
+    }
+
+    @Test
+    public void composeInlinesFusedFunctions() {
+
+        // given
+        final Function<Integer, Integer> fused = FusedFunctions.compose(DOUBLE, INCREMENT);
+
+        // when
+        final Function<Integer, String> result = FusedFunctions.compose(NAME, fused);
+
+        // then
+        assertThat(((FusedFunction<?, ?>) result).getStages(), is(equalTo((List<Function<?, ?>>) Lists.<Function<?, ?>>newArrayList(INCREMENT, DOUBLE, NAME))));
+        assertThat(result.apply(1), is("four"));
+    }
+
+    @Test
+    public void fuseKeepsOtherFunctions() {
+        assertThat(FusedFunctions.fuse(NAME), is(sameInstance(NAME)));
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.function.ToStringFunction;
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+import java.util.List;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.HeapEstimates} contract.
+ *
+ * @since 19.10.2026
+ */
+public class HeapEstimatesTest {
+
+    private static final List<Integer> NUMBERS = Lists.newArrayList(ContiguousSet.create(Range.closedOpen(0, 1000), DiscreteDomain.integers()));
+
+    private static final Function<Integer, Integer> MODULO_TEN = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer input) {
+            return input % 10;
+        }
+    };
+
+    private static final class IntAndLong {
+        private int first;
+        private long second;
+    }
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(HeapEstimates.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test
+    public void sizeOfKnowsBoxedPrimitivesStringsAndArrays() {
+        assertThat(HeapEstimates.sizeOf(null), is(0L));
+        assertThat(HeapEstimates.sizeOf(1), is(16L));
+        assertThat(HeapEstimates.sizeOf(1L), is(24L));
+        assertThat(HeapEstimates.sizeOf("abc"), is(48L));
+        assertThat(HeapEstimates.sizeOf(new int[10]), is(56L));
+        assertThat(HeapEstimates.sizeOf(new Object[3]), is(32L));
+    }
+
+    @Test
+    public void sizeOfSumsInstanceFields() {
+        assertThat(HeapEstimates.sizeOf(new IntAndLong()), is(24L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void estimateDoesNotAllowEmptySampleForPositiveSize() {
+        HeapEstimates.estimate(HeapLayout.HASH_MAP, 10, ImmutableList.<Integer>of(), MODULO_TEN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void estimateDoesNotAllowNullLayout() {
+        HeapEstimates.estimate(null, 10, NUMBERS, MODULO_TEN);
+    }
+
+    @Test
+    public void estimateOfEmptyInputIsStructureOnly() {
+        assertThat(HeapEstimates.estimate(HeapLayout.HASH_MAP, 0, NUMBERS, MODULO_TEN), is(HeapLayout.HASH_MAP.structureBytes(0, 0)));
+    }
+
+    @Test
+    public void estimateCountsDistinctKeysOfCompleteSample() {
+
+        // when
+        final long estimate = HeapEstimates.estimate(HeapLayout.HASH_MULTIMAP, NUMBERS.size(), NUMBERS, MODULO_TEN);
+
+        // then
+        assertThat(estimate, is(HeapLayout.HASH_MULTIMAP.structureBytes(10, 1000) + 10 * 16));
+    }
+
+    @Test
+    public void estimateCountsValuesWhichAreNotTheEntries() {
+
+        // given
+        final Function<Integer, String> toString = ToStringFunction.toStringFunction();
+
+        // when
+        final long withoutValues = HeapEstimates.estimate(HeapLayout.HASH_MAP, NUMBERS.size(), NUMBERS, toString);
+        final long withValues = HeapEstimates.estimate(HeapLayout.HASH_MAP, NUMBERS.size(), NUMBERS, toString, toString);
+
+        // then
+        assertThat(withValues - withoutValues > 1000 * 40, is(true));
+    }
+
+    @Test
+    public void estimateExtrapolatesDistinctKeysOfPartialSample() {
+
+        // given
+        final Function<Integer, String> toString = ToStringFunction.toStringFunction();
+
+        // when
+        final long estimate = HeapEstimates.estimate(HeapLayout.HASH_MAP, 100000, NUMBERS, toString);
+
+        // then
+        assertThat(estimate > HeapLayout.HASH_MAP.structureBytes(1000, 100000), is(true));
+        assertThat(estimate < HeapLayout.HASH_MAP.structureBytes(100000, 100000), is(true));
+    }
+
+    @Test
+    public void compactLayoutsNeedLessHeap() {
+        assertThat(HeapLayout.COMPACT_HASH_MAP.structureBytes(10000, 10000) * 2 < HeapLayout.HASH_MAP.structureBytes(10000, 10000), is(true));
+        assertThat(HeapLayout.IMMUTABLE_SET_MULTIMAP.structureBytes(100, 10000) < HeapLayout.HASH_MULTIMAP.structureBytes(100, 10000), is(true));
+        assertThat(HeapLayout.IMMUTABLE_SORTED_MAP.structureBytes(100, 100) < HeapLayout.TREE_MAP.structureBytes(100, 100), is(true));
+    }
+}
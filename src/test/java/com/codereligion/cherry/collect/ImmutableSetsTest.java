@@ -24,7 +24,7 @@ import com.google.common.base.Predicate;
  * @author Sebastian Gr&ouml;bler
  * @since 29.12.2014
  */
-public class ImmutableSetsTest extends AbstractIterableFactoryTest {
+public class ImmutableSetsTest extends AbstractLimitingIterableFactoryTest {
 
     @Override
     protected Iterable<Integer> createFrom(final Iterable<Integer> iterable, final Predicate<Integer> predicate) {
@@ -41,6 +41,25 @@ public class ImmutableSetsTest extends AbstractIterableFactoryTest {
         return ImmutableSets.createFrom(iterable, predicate, function);
     }
 
+    @Override
+    protected Iterable<Integer> createFrom(final Iterable<Integer> iterable, final Predicate<Integer> predicate, final int offset, final int limit) {
+        return ImmutableSets.createFrom(iterable, predicate, offset, limit);
+    }
+
+    @Override
+    protected Iterable<String> createFrom(final Iterable<Integer> iterable,
+                                          final Predicate<Integer> predicate,
+                                          final Function<Integer, String> function,
+                                          final int offset,
+                                          final int limit) {
+        return ImmutableSets.createFrom(iterable, predicate, function, offset, limit);
+    }
+
+    @Override
+    protected boolean isDistinct() {
+        return true;
+    }
+
     @Override
     protected Class<?> getFactoryClass() {
         return ImmutableSets.class;
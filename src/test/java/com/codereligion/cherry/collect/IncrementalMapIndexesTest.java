@@ -0,0 +1,192 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.function.ToStringFunction;
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.IncrementalMapIndexes} contract.
+ *
+ * @since 19.10.2026
+ */
+public class IncrementalMapIndexesTest extends AbstractMapFactoryTest {
+
+    private static final Predicate<Integer> IS_POSITIVE = new Predicate<Integer>() {
+        @Override
+        public boolean apply(final Integer input) {
+            return input > 0;
+        }
+    };
+
+    private static final Function<Integer, String> LAST_DIGIT = new Function<Integer, String>() {
+        @Override
+        public String apply(final Integer input) {
+            return String.valueOf(input % 10);
+        }
+    };
+
+    @Override
+    protected Map<String, Integer> createFrom(final Iterable<Integer> iterable, final Function<Integer, String> keyFunction) {
+        return IncrementalMapIndexes.createFrom(iterable, keyFunction).asMap();
+    }
+
+    @Override
+    protected Map<String, String> createFrom(final Iterable<Integer> iterable,
+                                             final Function<Integer, String> keyFunction,
+                                             final Function<Integer, String> valueFunction) {
+        return IncrementalMapIndexes.createFrom(iterable, keyFunction, valueFunction).asMap();
+    }
+
+    @Override
+    protected Map<String, Integer> createFrom(final Iterable<Integer> iterable,
+                                              final Predicate<Integer> predicate,
+                                              final Function<Integer, String> keyFunction) {
+        return IncrementalMapIndexes.createFrom(iterable, predicate, keyFunction).asMap();
+    }
+
+    @Override
+    protected Map<String, String> createFrom(final Iterable<Integer> iterable,
+                                             final Predicate<Integer> predicate,
+                                             final Function<Integer, String> keyFunction,
+                                             final Function<Integer, String> valueFunction) {
+        return IncrementalMapIndexes.createFrom(iterable, predicate, keyFunction, valueFunction).asMap();
+    }
+
+    @Override
+    protected Class<?> getFactoryClass() {
+        return IncrementalMapIndexes.class;
+    }
+
+    @Test
+    public void addAppliesPredicateAndFunctionsToNewElement() {
+
+        // given
+        final IncrementalMapIndex<Integer, String, Integer> index = IncrementalMapIndexes.createFrom(Lists.newArrayList(1, 2), IS_POSITIVE, LAST_DIGIT);
+
+        // when
+        final boolean added = index.add(3);
+        final boolean filtered = index.add(-4);
+
+        // then
+        assertThat(added, is(true));
+        assertThat(filtered, is(false));
+        assertThat(index.asMap(), is(equalTo((Map<String, Integer>) ImmutableMap.of("1", 1, "2", 2, "3", 3))));
+    }
+
+    @Test
+    public void removeMapsKeyToLatestRemainingElement() {
+
+        // given
+        final IncrementalMapIndex<Integer, String, Integer> index = IncrementalMapIndexes.createFrom(Lists.newArrayList(1, 2, 12, 22), LAST_DIGIT);
+
+        // when
+        final boolean removedHolder = index.remove(22);
+        final boolean removedReplaced = index.remove(2);
+
+        // then
+        assertThat(removedHolder, is(true));
+        assertThat(removedReplaced, is(true));
+        assertThat(index.asMap(), is(equalTo((Map<String, Integer>) ImmutableMap.of("1", 1, "2", 12))));
+    }
+
+    @Test
+    public void removeEqualsRebuildOverRemainingElements() {
+
+        // given
+        final List<Integer> elements = Lists.newArrayList(2, 12, 2, 22, 12, 3);
+        final IncrementalMapIndex<Integer, String, String> index = IncrementalMapIndexes.createFrom(elements,
+                                                                                                    LAST_DIGIT,
+                                                                                                    ToStringFunction.<Integer>toStringFunction());
+
+        for (final Integer element : ImmutableList.of(22, 2, 12, 3)) {
+
+            // when
+            final boolean removed = index.remove(element);
+            elements.remove(element);
+
+            // then
+            assertThat(removed, is(true));
+            assertThat(index.asMap(), is(equalTo((Map<String, String>) HashMaps.createFrom(elements,
+                                                                                            LAST_DIGIT,
+                                                                                            ToStringFunction.<Integer>toStringFunction()))));
+        }
+    }
+
+    @Test
+    public void removeIgnoresElementsWhichWereNotAdded() {
+
+        // given
+        final IncrementalMapIndex<Integer, String, Integer> index = IncrementalMapIndexes.createFrom(Lists.newArrayList(1, 12), LAST_DIGIT);
+
+        // when
+        final boolean removed = index.remove(2);
+
+        // then
+        assertThat(removed, is(false));
+        assertThat(index.asMap(), is(equalTo((Map<String, Integer>) ImmutableMap.of("1", 1, "2", 12))));
+    }
+
+    @Test
+    public void updateMovesElementToNewKey() {
+
+        // given
+        final IncrementalMapIndex<Integer, String, String> index = IncrementalMapIndexes.createFrom(Lists.newArrayList(1, 2),
+                                                                                                    LAST_DIGIT,
+                                                                                                    ToStringFunction.<Integer>toStringFunction());
+
+        // when
+        final boolean updated = index.update(1, 13);
+
+        // then
+        assertThat(updated, is(true));
+        assertThat(index.asMap(), is(equalTo((Map<String, String>) ImmutableMap.of("2", "2", "3", "13"))));
+    }
+
+    @Test
+    public void updateOnlyEvaluatesFunctionsForChangedElements() {
+
+        // given
+        final Function<Integer, String> keyFunction = spy(new ToStringFunction<Integer>());
+        final IncrementalMapIndex<Integer, String, Integer> index = IncrementalMapIndexes.createFrom(Lists.newArrayList(1, 2, 3), keyFunction);
+
+        // when
+        index.update(2, 4);
+
+        // then
+        verify(keyFunction, times(1)).apply(1);
+        verify(keyFunction, times(2)).apply(2);
+        verify(keyFunction, times(1)).apply(4);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void asMapIsUnmodifiable() {
+        IncrementalMapIndexes.createFrom(Lists.newArrayList(1), LAST_DIGIT).asMap().clear();
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
+import java.util.List;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.IncrementalMultimapIndexes} contract.
+ *
+ * @since 19.10.2026
+ */
+public class IncrementalMultimapIndexesTest extends AbstractMultimapFactoryTest {
+
+    private static final Function<Integer, String> EVEN_OR_ODD = new Function<Integer, String>() {
+        @Override
+        public String apply(final Integer input) {
+            return input % 2 == 0 ? "even" : "odd";
+        }
+    };
+
+    @Override
+    protected Multimap<String, Integer> createFrom(final Iterable<Integer> iterable, final Function<Integer, String> keyFunction) {
+        return IncrementalMultimapIndexes.createFrom(iterable, keyFunction).asMultimap();
+    }
+
+    @Override
+    protected Multimap<String, String> createFrom(final Iterable<Integer> iterable,
+                                                  final Function<Integer, String> keyFunction,
+                                                  final Function<Integer, String> valueFunction) {
+        return IncrementalMultimapIndexes.createFrom(iterable, keyFunction, valueFunction).asMultimap();
+    }
+
+    @Override
+    protected Multimap<String, Integer> createFrom(final Iterable<Integer> iterable,
+                                                   final Predicate<Integer> predicate,
+                                                   final Function<Integer, String> keyFunction) {
+        return IncrementalMultimapIndexes.createFrom(iterable, predicate, keyFunction).asMultimap();
+    }
+
+    @Override
+    protected Multimap<String, String> createFrom(final Iterable<Integer> iterable,
+                                                  final Predicate<Integer> predicate,
+                                                  final Function<Integer, String> keyFunction,
+                                                  final Function<Integer, String> valueFunction) {
+        return IncrementalMultimapIndexes.createFrom(iterable, predicate, keyFunction, valueFunction).asMultimap();
+    }
+
+    @Override
+    protected Class<?> getFactoryClass() {
+        return IncrementalMultimapIndexes.class;
+    }
+
+    @Test
+    public void addAppendsValueToItsKey() {
+
+        // given
+        final IncrementalMultimapIndex<Integer, String, Integer> index = IncrementalMultimapIndexes.createFrom(Lists.newArrayList(1, 2, 3), EVEN_OR_ODD);
+
+        // when
+        index.add(5);
+
+        // then
+        assertThat(index.asMultimap().get("odd"), is(equalTo((List<Integer>) ImmutableList.of(1, 3, 5))));
+    }
+
+    @Test
+    public void removeOnlyRemovesOneOccurrence() {
+
+        // given
+        final IncrementalMultimapIndex<Integer, String, Integer> index = IncrementalMultimapIndexes.createFrom(Lists.newArrayList(1, 3, 1), EVEN_OR_ODD);
+
+        // when
+        final boolean removed = index.remove(1);
+
+        // then
+        assertThat(removed, is(true));
+        assertThat(index.asMultimap().get("odd"), is(equalTo((List<Integer>) ImmutableList.of(3, 1))));
+    }
+
+    @Test
+    public void removeOfUnknownElementDoesNotChangeIndex() {
+
+        // given
+        final IncrementalMultimapIndex<Integer, String, Integer> index = IncrementalMultimapIndexes.createFrom(Lists.newArrayList(1, 2), EVEN_OR_ODD);
+
+        // when
+        final boolean removed = index.remove(4);
+
+        // then
+        assertThat(removed, is(false));
+        assertThat(index.asMultimap().size(), is(2));
+    }
+
+    @Test
+    public void updateMovesElementToNewKey() {
+
+        // given
+        final IncrementalMultimapIndex<Integer, String, Integer> index = IncrementalMultimapIndexes.createFrom(Lists.newArrayList(1, 2, 3), EVEN_OR_ODD);
+
+        // when
+        index.update(3, 4);
+
+        // then
+        assertThat(index.asMultimap().get("odd"), is(equalTo((List<Integer>) ImmutableList.of(1))));
+        assertThat(index.asMultimap().get("even"), is(equalTo((List<Integer>) ImmutableList.of(2, 4))));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void asMultimapIsUnmodifiable() {
+        IncrementalMultimapIndexes.createFrom(Lists.newArrayList(1), EVEN_OR_ODD).asMultimap().put("odd", 3);
+    }
+}
@@ -24,7 +24,7 @@ import com.google.common.base.Predicate;
  * @author Sebastian Gr&ouml;bler
  * @since 29.12.2014
  */
-public class LinkedListsTest extends AbstractIterableFactoryTest {
+public class LinkedListsTest extends AbstractLimitingIterableFactoryTest {
 
     @Override
     protected Iterable<Integer> createFrom(final Iterable<Integer> iterable, final Predicate<Integer> predicate) {
@@ -41,6 +41,20 @@ public class LinkedListsTest extends AbstractIterableFactoryTest {
         return LinkedLists.createFrom(iterable, predicate, function);
     }
 
+    @Override
+    protected Iterable<Integer> createFrom(final Iterable<Integer> iterable, final Predicate<Integer> predicate, final int offset, final int limit) {
+        return LinkedLists.createFrom(iterable, predicate, offset, limit);
+    }
+
+    @Override
+    protected Iterable<String> createFrom(final Iterable<Integer> iterable,
+                                          final Predicate<Integer> predicate,
+                                          final Function<Integer, String> function,
+                                          final int offset,
+                                          final int limit) {
+        return LinkedLists.createFrom(iterable, predicate, function, offset, limit);
+    }
+
     @Override
     protected Class<?> getFactoryClass() {
         return LinkedLists.class;
@@ -0,0 +1,195 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.function.ToStringFunction;
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Multimap;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.MappedSnapshots} contract.
+ *
+ * @since 19.10.2026
+ */
+public class MappedSnapshotsTest {
+
+    private static final Function<Integer, String> LAST_DIGIT = new Function<Integer, String>() {
+        @Override
+        public String apply(final Integer input) {
+            return String.valueOf(input % 10);
+        }
+    };
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(MappedSnapshots.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void writeDoesNotAllowNullMap() throws IOException {
+
+        // given
+        final Map<String, Integer> map = null;
+
+        // when
+        MappedSnapshots.write(map, temporaryFolder.newFile(), ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void writeDoesNotAllowNullValues() throws IOException {
+
+        // given
+        final Map<String, Integer> map = new HashMap<String, Integer>();
+        map.put("1", null);
+
+        // when
+        MappedSnapshots.write(map, temporaryFolder.newFile(), ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+    }
+
+    @Test
+    public void openMapReturnsAllEntriesInOriginalOrder() throws IOException {
+
+        // given
+        final Map<String, Integer> map = ImmutableMaps.createFrom(Lists.newArrayList(3, 1, 2), ToStringFunction.<Integer>toStringFunction());
+        final File file = temporaryFolder.newFile();
+        MappedSnapshots.write(map, file, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+
+        // when
+        final Map<String, Integer> result = MappedSnapshots.openMap(file, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+
+        // then
+        assertThat(result, is(equalTo(map)));
+        assertThat(ImmutableList.copyOf(result.keySet()), is(equalTo(ImmutableList.of("3", "1", "2"))));
+    }
+
+    @Test
+    public void openMapLooksUpKeysWithoutDecodingOtherEntries() throws IOException {
+
+        // given
+        final ImmutableMap.Builder<Long, String> builder = ImmutableMap.builder();
+        for (long i = 0; i < 10000; i++) {
+            builder.put(i, "value" + i);
+        }
+        final File file = temporaryFolder.newFile();
+        MappedSnapshots.write(builder.build(), file, ElementCodecs.longCodec(), ElementCodecs.stringCodec());
+
+        // when
+        final Map<Long, String> result = MappedSnapshots.openMap(file, ElementCodecs.longCodec(), ElementCodecs.stringCodec());
+
+        // then
+        assertThat(result.size(), is(10000));
+        assertThat(result.get(4711L), is("value4711"));
+        assertThat(result.containsKey(10000L), is(false));
+        assertThat(result.get(-1L), is(nullValue()));
+        assertThat(result.get("not a long"), is(nullValue()));
+    }
+
+    @Test
+    public void openMapStaysValidAfterFileWasReplaced() throws IOException {
+
+        // given
+        final File file = temporaryFolder.newFile();
+        MappedSnapshots.write(ImmutableMap.of("a", 1), file, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+        final Map<String, Integer> oldSnapshot = MappedSnapshots.openMap(file, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+
+        // when
+        MappedSnapshots.write(ImmutableMap.of("a", 2), file, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+        final Map<String, Integer> newSnapshot = MappedSnapshots.openMap(file, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+
+        // then
+        assertThat(oldSnapshot.get("a"), is(1));
+        assertThat(newSnapshot.get("a"), is(2));
+    }
+
+    @Test
+    public void openMultimapReturnsAllValuesOfEachKey() throws IOException {
+
+        // given
+        final ListMultimap<String, Integer> multimap = ArrayListMultimaps.createFrom(Lists.newArrayList(1, 2, 3, 11), LAST_DIGIT);
+        final File file = temporaryFolder.newFile();
+        MappedSnapshots.write(multimap, file, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+
+        // when
+        final Map<String, List<Integer>> result = MappedSnapshots.openMultimap(file, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+
+        // then
+        assertThat(result.get("1"), is(equalTo((List<Integer>) ImmutableList.of(1, 11))));
+        assertThat(result.get("3"), is(equalTo((List<Integer>) ImmutableList.of(3))));
+        assertThat(result.size(), is(3));
+    }
+
+    @Test
+    public void openMultimapSupportsSetMultimaps() throws IOException {
+
+        // given
+        final Multimap<String, Integer> multimap = LinkedHashMultimap.create();
+        multimap.put("a", 1);
+        multimap.put("a", 2);
+        final File file = temporaryFolder.newFile();
+        MappedSnapshots.write(multimap, file, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+
+        // when
+        final Map<String, List<Integer>> result = MappedSnapshots.openMultimap(file, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+
+        // then
+        assertThat(result.get("a"), is(equalTo((List<Integer>) ImmutableList.of(1, 2))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void openMapDoesNotAllowFilesWhichAreNoSnapshots() throws IOException {
+
+        // given
+        final File file = temporaryFolder.newFile();
+        Files.write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16}, file);
+
+        // when
+        MappedSnapshots.openMap(file, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void openMapReturnsReadOnlyMap() throws IOException {
+
+        // given
+        final File file = temporaryFolder.newFile();
+        MappedSnapshots.write(ImmutableMap.of("a", 1), file, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+        final Map<String, Integer> result = MappedSnapshots.openMap(file, ElementCodecs.stringCodec(), ElementCodecs.integerCodec());
+
+        // when
+        result.put("b", 2);
+    }
+}
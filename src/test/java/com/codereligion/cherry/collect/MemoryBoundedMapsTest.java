@@ -0,0 +1,176 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.function.ToStringFunction;
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.FluentIterable;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.MemoryBoundedMaps} contract.
+ *
+ * @since 19.10.2026
+ */
+public class MemoryBoundedMapsTest {
+
+    private static final List<Integer> NUMBERS = Lists.newArrayList(ContiguousSet.create(Range.closedOpen(0, 10000), DiscreteDomain.integers()));
+
+    private static final Function<Integer, String> TO_STRING = ToStringFunction.toStringFunction();
+
+    private static final Function<Integer, Integer> MODULO_TEN = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer input) {
+            return input % 10;
+        }
+    };
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(MemoryBoundedMaps.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNullIterable() {
+        MemoryBoundedMaps.createFrom(null, TO_STRING, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNegativeMemoryBudget() {
+        MemoryBoundedMaps.createFrom(NUMBERS, TO_STRING, -1);
+    }
+
+    @Test
+    public void createFromBuildsHashMapWithinBudget() {
+
+        // when
+        final Map<String, Integer> result = MemoryBoundedMaps.createFrom(NUMBERS, TO_STRING, Long.MAX_VALUE);
+
+        // then
+        assertThat(result, is(instanceOf(HashMap.class)));
+        assertThat(result, is(equalTo((Map<String, Integer>) HashMaps.createFrom(NUMBERS, TO_STRING))));
+    }
+
+    @Test
+    public void createFromBuildsCompactMapBeyondBudget() {
+
+        // when
+        final Map<String, Integer> result = MemoryBoundedMaps.createFrom(NUMBERS, TO_STRING, 0);
+
+        // then
+        assertThat(result, is(not(instanceOf(HashMap.class))));
+        assertThat(result, is(equalTo((Map<String, Integer>) HashMaps.createFrom(NUMBERS, TO_STRING))));
+        assertThat(result.get("4711"), is(4711));
+        assertThat(result.containsKey("-1"), is(false));
+        assertThat(result.get(null), is(nullValue()));
+    }
+
+    @Test
+    public void createFromBuildsHashMapOfIterableWithinBudget() {
+
+        // when
+        final Map<String, Integer> result = MemoryBoundedMaps.createFrom(FluentIterable.from(NUMBERS), TO_STRING, Long.MAX_VALUE);
+
+        // then
+        assertThat(result, is(instanceOf(HashMap.class)));
+        assertThat(result, is(equalTo((Map<String, Integer>) HashMaps.createFrom(NUMBERS, TO_STRING))));
+    }
+
+    @Test
+    public void createFromMovesIterableBeyondBudgetIntoGrowingCompactMap() {
+
+        // when
+        final Map<String, Integer> result = MemoryBoundedMaps.createFrom(FluentIterable.from(NUMBERS), TO_STRING, 0);
+
+        // then
+        assertThat(result, is(not(instanceOf(HashMap.class))));
+        assertThat(result, is(equalTo((Map<String, Integer>) HashMaps.createFrom(NUMBERS, TO_STRING))));
+        assertThat(result.get("9999"), is(9999));
+    }
+
+    @Test
+    public void compactMapKeepsLastValueOfEqualKeys() {
+
+        // when
+        final Map<Integer, String> result = MemoryBoundedMaps.createFrom(FluentIterable.from(NUMBERS), MODULO_TEN, TO_STRING, 0);
+
+        // then
+        assertThat(result, is(equalTo((Map<Integer, String>) HashMaps.createFrom(NUMBERS, MODULO_TEN, TO_STRING))));
+    }
+
+    @Test
+    public void compactMapAllowsNullKeysAndValues() {
+
+        // given
+        final Function<Object, Object> toNull = Functions.constant(null);
+
+        // when
+        final Map<Object, Object> result = MemoryBoundedMaps.createFrom(NUMBERS.subList(0, 1), toNull, toNull, 0);
+
+        // then
+        assertThat(result.size(), is(1));
+        assertThat(result.containsKey(null), is(true));
+        assertThat(result.get(null), is(nullValue()));
+        assertThat(result.entrySet().iterator().next().getKey(), is(nullValue()));
+    }
+
+    @Test
+    public void compactMapClearsCopiedMapBeforeReadingRemainingEntries() {
+
+        // given
+        final Map<String, Integer> copied = HashMaps.createFrom(NUMBERS.subList(0, 10), TO_STRING);
+        final Iterator<Integer> remaining = new AbstractIterator<Integer>() {
+            private int next = 10;
+
+            @Override
+            protected Integer computeNext() {
+                assertThat(copied.isEmpty(), is(true));
+                if (next == 20) {
+                    return endOfData();
+                }
+                return next++;
+            }
+        };
+
+        // when
+        final Map<String, Integer> result = CompactHashMap.create(copied, remaining, TO_STRING, Functions.<Integer>identity());
+
+        // then
+        assertThat(result, is(equalTo((Map<String, Integer>) HashMaps.createFrom(NUMBERS.subList(0, 20), TO_STRING))));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void compactMapIsReadOnly() {
+        MemoryBoundedMaps.createFrom(NUMBERS, TO_STRING, 0).put("x", 1);
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.FluentIterable;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+import com.google.common.collect.SetMultimap;
+import java.util.List;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.MemoryBoundedMultimaps} contract.
+ *
+ * @since 19.10.2026
+ */
+public class MemoryBoundedMultimapsTest {
+
+    private static final List<Integer> NUMBERS = Lists.newArrayList(ContiguousSet.create(Range.closedOpen(0, 10000), DiscreteDomain.integers()));
+
+    private static final Function<Integer, Integer> MODULO_TEN = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer input) {
+            return input % 10;
+        }
+    };
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(MemoryBoundedMultimaps.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNullKeyFunction() {
+        MemoryBoundedMultimaps.createFrom(NUMBERS, null, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNegativeMemoryBudget() {
+        MemoryBoundedMultimaps.createFrom(NUMBERS, MODULO_TEN, -1);
+    }
+
+    @Test
+    public void createFromBuildsHashMultimapWithinBudget() {
+
+        // when
+        final SetMultimap<Integer, Integer> result = MemoryBoundedMultimaps.createFrom(NUMBERS, MODULO_TEN, Long.MAX_VALUE);
+
+        // then
+        assertThat(result, is(instanceOf(HashMultimap.class)));
+        assertThat(result, is(equalTo((SetMultimap<Integer, Integer>) HashMultimaps.createFrom(NUMBERS, MODULO_TEN))));
+    }
+
+    @Test
+    public void createFromBuildsImmutableSetMultimapBeyondBudget() {
+
+        // when
+        final SetMultimap<Integer, Integer> result = MemoryBoundedMultimaps.createFrom(NUMBERS, MODULO_TEN, MODULO_TEN, 0);
+
+        // then
+        assertThat(result, is(instanceOf(ImmutableSetMultimap.class)));
+        assertThat(result, is(equalTo((SetMultimap<Integer, Integer>) HashMultimaps.createFrom(NUMBERS, MODULO_TEN, MODULO_TEN))));
+    }
+
+    @Test
+    public void createFromBuildsHashMultimapOfIterableWithinBudget() {
+
+        // when
+        final SetMultimap<Integer, Integer> result = MemoryBoundedMultimaps.createFrom(FluentIterable.from(NUMBERS), MODULO_TEN, Long.MAX_VALUE);
+
+        // then
+        assertThat(result, is(instanceOf(HashMultimap.class)));
+        assertThat(result, is(equalTo((SetMultimap<Integer, Integer>) HashMultimaps.createFrom(NUMBERS, MODULO_TEN))));
+    }
+
+    @Test
+    public void createFromMovesIterableBeyondBudgetIntoImmutableSetMultimap() {
+
+        // when
+        final SetMultimap<Integer, Integer> result = MemoryBoundedMultimaps.createFrom(FluentIterable.from(NUMBERS), MODULO_TEN, MODULO_TEN, 0);
+
+        // then
+        assertThat(result, is(instanceOf(ImmutableSetMultimap.class)));
+        assertThat(result, is(equalTo((SetMultimap<Integer, Integer>) HashMultimaps.createFrom(NUMBERS, MODULO_TEN, MODULO_TEN))));
+    }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.MonotonicFunctions} contract.
+ *
+ * @since 19.10.2026
+ */
+public class MonotonicFunctionsTest {
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(MonotonicFunctions.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void monotonicDoesNotAllowNullFunction() {
+        MonotonicFunctions.monotonic(null);
+    }
+
+    @Test
+    public void monotonicDelegatesToGivenFunction() {
+
+        // given
+        final Function<Object, String> function = Functions.toStringFunction();
+
+        // when
+        final Function<Object, String> monotonic = MonotonicFunctions.monotonic(function);
+
+        // then
+        assertThat(monotonic.apply(1), is("1"));
+        assertThat(SortedOutputs.isMonotonic(monotonic), is(true));
+        assertThat(SortedOutputs.isMonotonic(function), is(false));
+    }
+
+    @Test
+    public void monotonicDoesNotWrapMonotonicFunctions() {
+
+        // given
+        final Function<Object, String> monotonic = MonotonicFunctions.monotonic(Functions.toStringFunction());
+
+        // then
+        assertThat(MonotonicFunctions.monotonic(monotonic), is(sameInstance(monotonic)));
+    }
+}
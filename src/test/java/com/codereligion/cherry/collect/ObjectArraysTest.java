@@ -0,0 +1,119 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.function.ToStringFunction;
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import java.util.List;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.ObjectArrays} contract.
+ *
+ * @since 19.10.2026
+ */
+public class ObjectArraysTest {
+
+    private static final Predicate<Integer> IS_EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean apply(final Integer input) {
+            return input % 2 == 0;
+        }
+    };
+
+    private static final Function<Object, String> TO_STRING = ToStringFunction.toStringFunction();
+
+    private static final List<Integer> NUMBERS = Lists.newArrayList(1, 2, 3, 4, 5);
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(ObjectArrays.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNullIterable() {
+        ObjectArrays.createFrom(null, TO_STRING, String.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNullPredicate() {
+        ObjectArrays.createFrom(NUMBERS, (Predicate<Integer>) null, Integer.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNullFunction() {
+        ObjectArrays.createFrom(NUMBERS, IS_EVEN, null, String.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNullType() {
+        ObjectArrays.createFrom(NUMBERS, IS_EVEN, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowPrimitiveType() {
+        ObjectArrays.createFrom(NUMBERS, IS_EVEN, int.class);
+    }
+
+    @Test
+    public void createFromWithFunctionTransformsAllEntries() {
+        assertThat(ObjectArrays.createFrom(NUMBERS, TO_STRING, String.class), is(equalTo(new String[]{"1", "2", "3", "4", "5"})));
+    }
+
+    @Test
+    public void createFromWithPredicateFiltersEntries() {
+        assertThat(ObjectArrays.createFrom(NUMBERS, IS_EVEN, Integer.class), is(equalTo(new Integer[]{2, 4})));
+    }
+
+    @Test
+    public void createFromWithPredicateAndFunctionFiltersAndTransformsEntries() {
+        assertThat(ObjectArrays.createFrom(NUMBERS, IS_EVEN, TO_STRING, String.class), is(equalTo(new String[]{"2", "4"})));
+    }
+
+    @Test
+    public void createFromReturnsArrayOfGivenType() {
+        assertThat(ObjectArrays.createFrom(NUMBERS, TO_STRING, String.class).getClass(), is(equalTo((Object) String[].class)));
+    }
+
+    @Test
+    public void createFromGrowsArrayForIterablesWithoutSize() {
+
+        // given
+        final List<Integer> numbers = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            numbers.add(i);
+        }
+
+        // when
+        final Integer[] result = ObjectArrays.createFrom(Iterables.unmodifiableIterable(numbers), IS_EVEN, Integer.class);
+
+        // then
+        assertThat(result.length, is(50));
+        assertThat(result[49], is(98));
+    }
+
+    @Test
+    public void createFromReturnsEmptyArrayForEmptyIterable() {
+        assertThat(ObjectArrays.createFrom(Iterables.unmodifiableIterable(Lists.<Integer>newArrayList()), TO_STRING, String.class).length, is(0));
+    }
+}
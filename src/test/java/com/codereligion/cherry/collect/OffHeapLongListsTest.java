@@ -0,0 +1,201 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.Lists;
+import java.util.List;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.OffHeapLongLists} contract.
+ *
+ * @since 19.10.2026
+ */
+public class OffHeapLongListsTest {
+
+    private static final ToLongFunction<Integer> TIMES_TEN = new ToLongFunction<Integer>() {
+        @Override
+        public long apply(final Integer input) {
+            return input * 10L;
+        }
+    };
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(OffHeapLongLists.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void transformingCreateFromDoesNotAllowNullIterable() {
+
+        // given
+        final Iterable<Integer> iterable = null;
+
+        // when
+        OffHeapLongLists.createFrom(iterable, TIMES_TEN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void transformingCreateFromDoesNotAllowNullFunction() {
+
+        // given
+        final Iterable<Integer> iterable = Lists.newArrayList();
+        final ToLongFunction<Integer> function = null;
+
+        // when
+        OffHeapLongLists.createFrom(iterable, function);
+    }
+
+    @Test
+    public void transformingCreateFromTransformsGivenEntriesToExpectedResult() {
+
+        // given
+        final Iterable<Integer> iterable = Lists.newArrayList(1, 2, 3, 4);
+
+        // when
+        final OffHeapLongList result = OffHeapLongLists.createFrom(iterable, TIMES_TEN);
+
+        // then
+        assertThat(result.toArray(), is(new long[]{10L, 20L, 30L, 40L}));
+        result.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void filteringAndTransformingCreateFromDoesNotAllowNullIterable() {
+
+        // given
+        final Iterable<Integer> iterable = null;
+        final Predicate<Integer> predicate = Predicates.alwaysTrue();
+
+        // when
+        OffHeapLongLists.createFrom(iterable, predicate, TIMES_TEN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void filteringAndTransformingCreateFromDoesNotAllowNullPredicate() {
+
+        // given
+        final Iterable<Integer> iterable = Lists.newArrayList();
+        final Predicate<Integer> predicate = null;
+
+        // when
+        OffHeapLongLists.createFrom(iterable, predicate, TIMES_TEN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void filteringAndTransformingCreateFromDoesNotAllowNullFunction() {
+
+        // given
+        final Iterable<Integer> iterable = Lists.newArrayList();
+        final Predicate<Integer> predicate = Predicates.alwaysTrue();
+        final ToLongFunction<Integer> function = null;
+
+        // when
+        OffHeapLongLists.createFrom(iterable, predicate, function);
+    }
+
+    @Test
+    public void filteringAndTransformingCreateFromFiltersOutUnwantedEntries() {
+
+        // given
+        final Iterable<Integer> iterable = Lists.newLinkedList(Lists.newArrayList(1, 2, 3, 4));
+        final Predicate<Integer> predicate = Predicates.not(Predicates.equalTo(2));
+
+        // when
+        final OffHeapLongList result = OffHeapLongLists.createFrom(iterable, predicate, TIMES_TEN);
+
+        // then
+        assertThat(result.toArray(), is(new long[]{10L, 30L, 40L}));
+        result.close();
+    }
+
+    @Test
+    public void createFromSpreadsLargeInputsOverSeveralChunks() {
+
+        // given
+        final List<Integer> iterable = Lists.newArrayList();
+        for (int i = 0; i < 200000; i++) {
+            iterable.add(i);
+        }
+
+        // when
+        final OffHeapLongList result = OffHeapLongLists.createFrom(iterable, TIMES_TEN);
+
+        // then
+        assertThat(result.size(), is(200000L));
+        assertThat(result.get(0), is(0L));
+        assertThat(result.get(65536), is(655360L));
+        assertThat(result.get(199999), is(1999990L));
+        result.close();
+    }
+
+    @Test
+    public void closeReleasesTheListAndCanBeCalledRepeatedly() {
+
+        // given
+        final OffHeapLongList result = OffHeapLongLists.createFrom(Lists.newArrayList(1, 2), TIMES_TEN);
+
+        // when
+        result.close();
+        result.close();
+
+        // then
+        assertThat(result.isClosed(), is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getIsNotAllowedAfterClose() {
+
+        // given
+        final OffHeapLongList result = OffHeapLongLists.createFrom(Lists.newArrayList(1, 2), TIMES_TEN);
+        result.close();
+
+        // when
+        result.get(0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getDoesNotAllowIndicesBeyondSize() {
+
+        // given
+        final OffHeapLongList result = OffHeapLongLists.createFrom(Lists.newArrayList(1, 2), TIMES_TEN);
+
+        // when
+        try {
+            result.get(2);
+        } finally {
+            result.close();
+        }
+    }
+
+    @Test
+    public void emptyInputCreatesEmptyList() {
+
+        // when
+        final OffHeapLongList result = OffHeapLongLists.createFrom(Lists.<Integer>newArrayList(), TIMES_TEN);
+
+        // then
+        assertThat(result.isEmpty(), is(true));
+        assertThat(result.toArray().length, is(equalTo(0)));
+        result.close();
+    }
+}
@@ -20,13 +20,20 @@ import com.codereligion.cherry.matcher.IsNotInstantiatable;
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Lists;
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import org.junit.Test;
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
@@ -42,6 +49,24 @@ public class OptimizedIterationsTest {
         }
     };
     private final Function<Object, String> function = ToStringFunction.toStringFunction();
+    private final ToIntFunction<Integer> toIntFunction = new ToIntFunction<Integer>() {
+        @Override
+        public int apply(final Integer input) {
+            return input;
+        }
+    };
+    private final ToLongFunction<Integer> toLongFunction = new ToLongFunction<Integer>() {
+        @Override
+        public long apply(final Integer input) {
+            return input;
+        }
+    };
+    private final ToDoubleFunction<Integer> toDoubleFunction = new ToDoubleFunction<Integer>() {
+        @Override
+        public double apply(final Integer input) {
+            return input;
+        }
+    };
 
     private final List<TestCandidate> testCandidates = Lists.newArrayList(new TestCandidate() {
         @Override
@@ -133,6 +158,101 @@ public class OptimizedIterationsTest {
         public void run(final Iterable<Integer> iterable) {
             OptimizedIterations.createFrom(iterable, predicate, function, function, ImmutableMap.<String, String>builder());
         }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, toLongFunction, new OffHeapLongList(10)).close();
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, predicate, toLongFunction, new OffHeapLongList(10)).close();
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, function, OptimizedIterationsTest.<String, Integer>newConcurrentMultimap());
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, function, function, OptimizedIterationsTest.<String, String>newConcurrentMultimap());
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, predicate, function, OptimizedIterationsTest.<String, Integer>newConcurrentMultimap());
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, predicate, function, function, OptimizedIterationsTest.<String, String>newConcurrentMultimap());
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, predicate, 0, 10, new ArrayList<Integer>());
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, predicate, function, 0, 10, new ArrayList<String>());
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, predicate, 0, 10, ImmutableSortedSet.<Integer>naturalOrder());
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, predicate, function, 0, 10, ImmutableSortedSet.<String>naturalOrder());
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, function, new String[0]);
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, predicate, new Integer[0]);
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, predicate, function, new String[0]);
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, toIntFunction, new int[0]);
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, predicate, toIntFunction, new int[0]);
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, toLongFunction, new long[0]);
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, predicate, toLongFunction, new long[0]);
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, toDoubleFunction, new double[0]);
+        }
+    }, new TestCandidate() {
+        @Override
+        public void run(final Iterable<Integer> iterable) {
+            OptimizedIterations.createFrom(iterable, predicate, toDoubleFunction, new double[0]);
+        }
     });
 
     @Test
@@ -153,6 +273,31 @@ public class OptimizedIterationsTest {
         verify(list, never()).iterator();
     }
 
+    @Test
+    public void allMethodsAvoidIteratorInstantiationForArrayViews() {
+
+        // given
+        final List<Integer> list = spy(new ArrayView<Integer>(new Integer[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9}, 0, 10));
+
+        // when
+        runOnAllTestCandidates(list);
+
+        // then
+        verify(list, never()).iterator();
+    }
+
+    @Test
+    public void isIndexedForArrayBackedLists() {
+        assertThat(OptimizedIterations.isIndexed(Lists.newArrayList(1)), is(true));
+        assertThat(OptimizedIterations.isIndexed(ArrayViews.of(new Integer[]{1})), is(true));
+        assertThat(OptimizedIterations.isIndexed(Arrays.asList(1, 2)), is(true));
+        assertThat(OptimizedIterations.isIndexed(Ints.asList(1, 2)), is(true));
+        assertThat(OptimizedIterations.isIndexed(Longs.asList(1L, 2L).subList(1, 2)), is(true));
+        assertThat(OptimizedIterations.isIndexed(Doubles.asList(1.0)), is(true));
+        assertThat(OptimizedIterations.isIndexed(Lists.newLinkedList(Lists.newArrayList(1))), is(false));
+        assertThat(OptimizedIterations.isIndexed(ImmutableList.of(1, 2)), is(false));
+    }
+
     @Test
     public void allMethodsUseIteratorForLinkedLists() {
 
@@ -172,6 +317,15 @@ public class OptimizedIterationsTest {
         }
     }
 
+    private static <K, V> ConcurrentMultimap<K, V, List<V>> newConcurrentMultimap() {
+        return new ConcurrentMultimap<K, V, List<V>>(new ConcurrentHashMap<K, List<V>>()) {
+            @Override
+            List<V> newValues() {
+                return new ArrayList<V>();
+            }
+        };
+    }
+
     private static interface TestCandidate {
         void run(Iterable<Integer> iterable);
     }
@@ -0,0 +1,188 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the parallel sorted factories, see {@link com.codereligion.cherry.collect.ParallelSorts}.
+ *
+ * @since 19.10.2026
+ */
+public class ParallelSortsTest {
+
+    private static final int SIZE = 20000;
+
+    private static final List<Integer> NUMBERS = randomNumbers(SIZE);
+
+    private static final Function<Integer, Integer> HUNDREDTH = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer input) {
+            return input / 100;
+        }
+    };
+
+    private static final Function<Integer, Integer> NULL = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer input) {
+            return input == 4711 ? null : input;
+        }
+    };
+
+    private static final Comparator<Integer> BY_HUNDREDTH = Ordering.natural().onResultOf(HUNDREDTH);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @After
+    public void shutDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(ParallelSorts.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelCreateFromDoesNotAllowNullExecutor() {
+
+        // given
+        final ExecutorService executor = null;
+
+        // when
+        ImmutableSortedSets.createFrom(NUMBERS, HUNDREDTH, executor, 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelCreateFromDoesNotAllowNonPositiveParallelism() {
+        ImmutableSortedMaps.createFrom(NUMBERS, HUNDREDTH, HUNDREDTH, executor, 0);
+    }
+
+    @Test
+    public void parallelImmutableSortedSetEqualsSequentialImmutableSortedSet() {
+
+        // when
+        final ImmutableSortedSet<Integer> result = ImmutableSortedSets.createFrom(NUMBERS, HUNDREDTH, executor, 3);
+
+        // then
+        assertThat(result, is(equalTo(ImmutableSortedSets.createFrom(NUMBERS, HUNDREDTH))));
+    }
+
+    @Test
+    public void parallelImmutableSortedSetKeepsFirstOfEqualElements() {
+
+        // when
+        final ImmutableSortedSet<Integer> result = ImmutableSortedSets.createFrom(NUMBERS, Functions.<Integer>identity(), BY_HUNDREDTH, executor, 4);
+
+        // then
+        final ImmutableSortedSet<Integer> expected = ImmutableSortedSets.createFrom(NUMBERS, Functions.<Integer>identity(), BY_HUNDREDTH);
+        assertThat(ImmutableList.copyOf(result), is(equalTo(ImmutableList.copyOf(expected))));
+    }
+
+    @Test
+    public void parallelImmutableSortedMapEqualsSequentialImmutableSortedMap() {
+
+        // when
+        final ImmutableSortedMap<Integer, Integer> result = ImmutableSortedMaps.createFrom(NUMBERS, Functions.<Integer>identity(), HUNDREDTH, executor, 4);
+
+        // then
+        assertThat(result, is(equalTo(ImmutableSortedMaps.createFrom(NUMBERS, Functions.<Integer>identity(), HUNDREDTH))));
+    }
+
+    @Test
+    public void parallelImmutableSortedMapIsOrderedByComparator() {
+
+        // given
+        final Comparator<Integer> reverse = Ordering.<Integer>natural().reverse();
+
+        // when
+        final ImmutableSortedMap<Integer, Integer> result = ImmutableSortedMaps.createFrom(NUMBERS,
+                                                                                          Functions.<Integer>identity(),
+                                                                                          HUNDREDTH,
+                                                                                          reverse,
+                                                                                          executor,
+                                                                                          4);
+
+        // then
+        assertThat(ImmutableList.copyOf(result.keySet()), is(equalTo(Ordering.from(reverse).sortedCopy(NUMBERS))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelImmutableSortedMapDoesNotAllowDuplicateKeys() {
+        ImmutableSortedMaps.createFrom(NUMBERS, HUNDREDTH, Functions.<Integer>identity(), executor, 4);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void parallelImmutableSortedSetDoesNotAllowNullElements() {
+        ImmutableSortedSets.createFrom(Lists.newArrayList(1, 4711), NULL, executor, 4);
+    }
+
+    @Test
+    public void parallelCreateFromSupportsSmallAndEmptyIterables() {
+
+        // when
+        final ImmutableSortedSet<Integer> small = ImmutableSortedSets.createFrom(Lists.newLinkedList(Lists.newArrayList(3, 1, 2, 1)), HUNDREDTH, executor, 4);
+        final ImmutableSortedMap<Integer, Integer> empty = ImmutableSortedMaps.createFrom(new ArrayList<Integer>(), HUNDREDTH, HUNDREDTH, executor, 4);
+
+        // then
+        assertThat(small, is(equalTo(ImmutableSortedSet.of(0))));
+        assertThat(empty.isEmpty(), is(true));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parallelCreateFromPropagatesFailures() {
+
+        // given
+        final Function<Integer, Integer> failingFunction = new Function<Integer, Integer>() {
+            @Override
+            public Integer apply(final Integer input) {
+                throw new IllegalStateException();
+            }
+        };
+
+        // when
+        ImmutableSortedSets.createFrom(NUMBERS, failingFunction, executor, 4);
+    }
+
+    private static List<Integer> randomNumbers(final int size) {
+
+        final List<Integer> numbers = new ArrayList<Integer>(size);
+        for (int i = 0; i < size; i++) {
+            numbers.add(i);
+        }
+        Collections.shuffle(numbers, new Random(42));
+        return numbers;
+    }
+}
@@ -0,0 +1,297 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.Pipelines} contract.
+ *
+ * @since 19.10.2026
+ */
+public class PipelinesTest {
+
+    private static final Predicate<Integer> IS_EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean apply(final Integer input) {
+            return input % 2 == 0;
+        }
+    };
+
+    private static final Predicate<String> IS_SHORT = new Predicate<String>() {
+        @Override
+        public boolean apply(final String input) {
+            return input.length() < 4;
+        }
+    };
+
+    private static final Function<Integer, Integer> DOUBLE = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer input) {
+            return input * 2;
+        }
+    };
+
+    private static final Function<Object, String> TO_STRING = Functions.toStringFunction();
+
+    private static final Function<String, Integer> LENGTH = new Function<String, Integer>() {
+        @Override
+        public Integer apply(final String input) {
+            return input.length();
+        }
+    };
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(Pipelines.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void filterDoesNotAllowNullPredicate() {
+        Pipelines.filter(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mapDoesNotAllowNullFunction() {
+        Pipelines.map(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void pipelineFilterDoesNotAllowNullPredicate() {
+        Pipelines.<Integer>identity().filter(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void pipelineMapDoesNotAllowNullFunction() {
+        Pipelines.<Integer>identity().map(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toHashMapDoesNotAllowNullKeyFunction() {
+        Pipelines.<Integer>identity().toHashMap(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toHashMapDoesNotAllowNullValueFunction() {
+        Pipelines.<Integer>identity().toHashMap(TO_STRING, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void executeDoesNotAllowNullIterable() {
+        Pipelines.<Integer>identity().toArrayList().execute(null);
+    }
+
+    @Test
+    public void identityCollectsAllEntries() {
+
+        // given
+        final List<Integer> iterable = Lists.newArrayList(1, 2, 3);
+
+        // when
+        final ArrayList<Integer> result = Pipelines.<Integer>identity().toArrayList().execute(iterable);
+
+        // then
+        assertThat(result, is(equalTo(iterable)));
+        assertThat(result, is(not(sameInstance(iterable))));
+    }
+
+    @Test
+    public void filterThenMapCollectsIntoArrayList() {
+
+        // given
+        final CompiledPipeline<Integer, ArrayList<String>> pipeline = Pipelines.filter(IS_EVEN).map(TO_STRING).toArrayList();
+
+        // when
+        final ArrayList<String> result = pipeline.execute(Lists.newArrayList(1, 2, 3, 4));
+
+        // then
+        assertThat(result, is(equalTo((List<String>) Lists.newArrayList("2", "4"))));
+    }
+
+    @Test
+    public void consecutiveStagesAreAppliedInOrder() {
+
+        // given
+        final CompiledPipeline<Integer, ArrayList<Integer>> pipeline = Pipelines.filter(IS_EVEN).filter(IS_EVEN).map(DOUBLE).map(DOUBLE).toArrayList();
+
+        // when
+        final ArrayList<Integer> result = pipeline.execute(Lists.newArrayList(1, 2, 3, 4));
+
+        // then
+        assertThat(result, is(equalTo((List<Integer>) Lists.newArrayList(8, 16))));
+    }
+
+    @Test
+    public void filterAfterMapIsAppliedToTransformedEntries() {
+
+        // given
+        final Pipeline<Integer, Integer> lengths = Pipelines.<Integer, String>map(TO_STRING).filter(IS_SHORT).map(LENGTH);
+        final CompiledPipeline<Integer, ArrayList<Integer>> pipeline = lengths.filter(IS_EVEN).toArrayList();
+
+        // when
+        final ArrayList<Integer> result = pipeline.execute(Lists.newArrayList(5, 10, 12345, 99));
+
+        // then
+        assertThat(result, is(equalTo((List<Integer>) Lists.newArrayList(2, 2))));
+    }
+
+    @Test
+    public void filterAfterMapWorksWithNonIndexedIterable() {
+
+        // given
+        final CompiledPipeline<Integer, HashSet<Integer>> pipeline = Pipelines.map(DOUBLE).filter(IS_EVEN).map(DOUBLE).toHashSet();
+
+        // when
+        final HashSet<Integer> result = pipeline.execute(new LinkedList<Integer>(Lists.newArrayList(1, 2, 2)));
+
+        // then
+        assertThat(result, is(equalTo(Sets.newHashSet(4, 8))));
+    }
+
+    @Test
+    public void extendingPipelineDoesNotChangeIt() {
+
+        // given
+        final Pipeline<Integer, Integer> evens = Pipelines.filter(IS_EVEN);
+
+        // when
+        evens.map(DOUBLE);
+
+        // then
+        assertThat(evens.toArrayList().execute(Lists.newArrayList(1, 2)), is(equalTo((List<Integer>) Lists.newArrayList(2))));
+    }
+
+    @Test
+    public void compiledPipelineCanBeExecutedRepeatedly() {
+
+        // given
+        final CompiledPipeline<Integer, ArrayList<Integer>> pipeline = Pipelines.filter(IS_EVEN).toArrayList();
+
+        // when
+        final ArrayList<Integer> first = pipeline.execute(Lists.newArrayList(1, 2));
+        final ArrayList<Integer> second = pipeline.execute(Lists.newArrayList(3, 4));
+
+        // then
+        assertThat(first, is(equalTo((List<Integer>) Lists.newArrayList(2))));
+        assertThat(second, is(equalTo((List<Integer>) Lists.newArrayList(4))));
+        assertThat(first, is(not(sameInstance(second))));
+    }
+
+    @Test
+    public void toImmutableListKeepsOrder() {
+
+        // when
+        final ImmutableList<String> result = Pipelines.map(TO_STRING).toImmutableList().execute(Lists.<Object>newArrayList(3, 1, 2));
+
+        // then
+        assertThat(result, is(equalTo(ImmutableList.of("3", "1", "2"))));
+    }
+
+    @Test
+    public void toImmutableSetRemovesDuplicates() {
+
+        // when
+        final ImmutableSet<Integer> result = Pipelines.filter(IS_EVEN).toImmutableSet().execute(Lists.newArrayList(2, 3, 2, 4));
+
+        // then
+        assertThat(result, is(equalTo(ImmutableSet.of(2, 4))));
+    }
+
+    @Test
+    public void toHashMapMapsResultingEntriesByKey() {
+
+        // given
+        final CompiledPipeline<Integer, HashMap<String, Integer>> pipeline = Pipelines.filter(IS_EVEN).map(DOUBLE).toHashMap(TO_STRING);
+
+        // when
+        final HashMap<String, Integer> result = pipeline.execute(Lists.newArrayList(1, 2, 3));
+
+        // then
+        assertThat((Map<String, Integer>) result, is(equalTo((Map<String, Integer>) ImmutableMap.of("4", 4))));
+    }
+
+    @Test
+    public void toHashMapWithValueFunctionMapsKeysToValues() {
+
+        // given
+        final CompiledPipeline<Integer, HashMap<Integer, String>> pipeline = Pipelines.<Integer>identity().toHashMap(DOUBLE, TO_STRING);
+
+        // when
+        final HashMap<Integer, String> result = pipeline.execute(Lists.newArrayList(1, 2));
+
+        // then
+        assertThat((Map<Integer, String>) result, is(equalTo((Map<Integer, String>) ImmutableMap.of(2, "1", 4, "2"))));
+    }
+
+    @Test
+    public void toImmutableMapMapsResultingEntriesByKey() {
+
+        // when
+        final ImmutableMap<Integer, String> result = Pipelines.map(TO_STRING).toImmutableMap(LENGTH).execute(Lists.<Object>newArrayList(1, 10));
+
+        // then
+        assertThat(result, is(equalTo(ImmutableMap.of(1, "1", 2, "10"))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void toImmutableMapDoesNotAllowDuplicateKeys() {
+        Pipelines.map(TO_STRING).toImmutableMap(LENGTH).execute(Lists.<Object>newArrayList(1, 2));
+    }
+
+    @Test
+    public void toHashMultimapGroupsResultingEntriesByKey() {
+
+        // when
+        final HashMultimap<Integer, String> result = Pipelines.map(TO_STRING).toHashMultimap(LENGTH).execute(Lists.<Object>newArrayList(1, 2, 10, 2));
+
+        // then
+        assertThat(result.get(1), is(equalTo((Set<String>) Sets.newHashSet("1", "2"))));
+        assertThat(result.get(2), is(equalTo((Set<String>) Sets.newHashSet("10"))));
+    }
+
+    @Test
+    public void toArrayListMultimapKeepsDuplicateValues() {
+
+        // when
+        final ArrayListMultimap<Integer, String> result = Pipelines.map(TO_STRING).toArrayListMultimap(LENGTH).execute(Lists.<Object>newArrayList(1, 2, 2));
+
+        // then
+        assertThat(result.get(1), is(equalTo((List<String>) Lists.newArrayList("1", "2", "2"))));
+    }
+}
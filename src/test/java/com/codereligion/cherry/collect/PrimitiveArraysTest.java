@@ -0,0 +1,119 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Predicate;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import java.util.List;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.PrimitiveArrays} contract.
+ *
+ * @since 19.10.2026
+ */
+public class PrimitiveArraysTest {
+
+    private static final Predicate<String> IS_SHORT = new Predicate<String>() {
+        @Override
+        public boolean apply(final String input) {
+            return input.length() < 3;
+        }
+    };
+
+    private static final ToIntFunction<String> LENGTH = new ToIntFunction<String>() {
+        @Override
+        public int apply(final String input) {
+            return input.length();
+        }
+    };
+
+    private static final ToLongFunction<String> PARSE_LONG = new ToLongFunction<String>() {
+        @Override
+        public long apply(final String input) {
+            return Long.parseLong(input);
+        }
+    };
+
+    private static final ToDoubleFunction<String> PARSE_DOUBLE = new ToDoubleFunction<String>() {
+        @Override
+        public double apply(final String input) {
+            return Double.parseDouble(input);
+        }
+    };
+
+    private static final List<String> NUMBERS = Lists.newArrayList("1", "22", "333");
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(PrimitiveArrays.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNullIterable() {
+        PrimitiveArrays.createFrom(null, LENGTH);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNullFunction() {
+        PrimitiveArrays.createFrom(NUMBERS, (ToLongFunction<String>) null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createFromDoesNotAllowNullPredicate() {
+        PrimitiveArrays.createFrom(NUMBERS, null, PARSE_DOUBLE);
+    }
+
+    @Test
+    public void createFromConvertsToInts() {
+        assertThat(PrimitiveArrays.createFrom(NUMBERS, LENGTH), is(equalTo(new int[]{1, 2, 3})));
+        assertThat(PrimitiveArrays.createFrom(NUMBERS, IS_SHORT, LENGTH), is(equalTo(new int[]{1, 2})));
+    }
+
+    @Test
+    public void createFromConvertsToLongs() {
+        assertThat(PrimitiveArrays.createFrom(NUMBERS, PARSE_LONG), is(equalTo(new long[]{1L, 22L, 333L})));
+        assertThat(PrimitiveArrays.createFrom(NUMBERS, IS_SHORT, PARSE_LONG), is(equalTo(new long[]{1L, 22L})));
+    }
+
+    @Test
+    public void createFromConvertsToDoubles() {
+        assertThat(PrimitiveArrays.createFrom(NUMBERS, PARSE_DOUBLE), is(equalTo(new double[]{1.0, 22.0, 333.0})));
+        assertThat(PrimitiveArrays.createFrom(NUMBERS, IS_SHORT, PARSE_DOUBLE), is(equalTo(new double[]{1.0, 22.0})));
+    }
+
+    @Test
+    public void createFromGrowsArrayForIterablesWithoutSize() {
+
+        // given
+        final List<String> numbers = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            numbers.add(String.valueOf(i));
+        }
+
+        // when
+        final long[] result = PrimitiveArrays.createFrom(Iterables.unmodifiableIterable(numbers), PARSE_LONG);
+
+        // then
+        assertThat(result.length, is(100));
+        assertThat(result[99], is(99L));
+    }
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.collect.Range;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.PrimitiveFilters} contract.
+ *
+ * @since 19.10.2026
+ */
+public class PrimitiveFiltersTest {
+
+    private static final int[] INTS = {Integer.MIN_VALUE, -3, 0, 3, 5, 7, 5, Integer.MAX_VALUE};
+    private static final long[] LONGS = {Long.MIN_VALUE, -3L, 0L, 3L, 5L, 7L, 5L, Long.MAX_VALUE};
+    private static final double[] DOUBLES = {Double.NEGATIVE_INFINITY, -3.0, 0.0, 3.0, 5.0, Double.NaN, 5.0, Double.POSITIVE_INFINITY};
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(PrimitiveFilters.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void inRangeDoesNotAllowNullValues() {
+        PrimitiveFilters.inRange((int[]) null, Range.<Integer>all());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void inRangeDoesNotAllowNullRange() {
+        PrimitiveFilters.inRange(LONGS, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void anyOfDoesNotAllowNullCandidates() {
+        PrimitiveFilters.anyOf(DOUBLES, null);
+    }
+
+    @Test
+    public void inRangeKeepsIntsWithinClosedRange() {
+        assertThat(PrimitiveFilters.inRange(INTS, Range.closed(0, 5)), is(equalTo(new int[]{0, 3, 5, 5})));
+    }
+
+    @Test
+    public void inRangeKeepsIntsWithinOpenRange() {
+        assertThat(PrimitiveFilters.inRange(INTS, Range.open(0, 5)), is(equalTo(new int[]{3})));
+    }
+
+    @Test
+    public void inRangeKeepsIntsWithinUnboundedRanges() {
+        assertThat(PrimitiveFilters.inRange(INTS, Range.atMost(-3)), is(equalTo(new int[]{Integer.MIN_VALUE, -3})));
+        assertThat(PrimitiveFilters.inRange(INTS, Range.greaterThan(5)), is(equalTo(new int[]{7, Integer.MAX_VALUE})));
+        assertThat(PrimitiveFilters.inRange(INTS, Range.<Integer>all()), is(equalTo(INTS)));
+    }
+
+    @Test
+    public void inRangeReturnsEmptyArrayForEmptyRange() {
+        assertThat(PrimitiveFilters.inRange(INTS, Range.closedOpen(3, 3)), is(equalTo(new int[0])));
+        assertThat(PrimitiveFilters.inRange(LONGS, Range.open(3L, 4L)), is(equalTo(new long[0])));
+    }
+
+    @Test
+    public void inRangeKeepsLongsWithinRange() {
+        assertThat(PrimitiveFilters.inRange(LONGS, Range.closedOpen(-3L, 5L)), is(equalTo(new long[]{-3L, 0L, 3L})));
+        assertThat(PrimitiveFilters.inRange(LONGS, Range.atLeast(7L)), is(equalTo(new long[]{7L, Long.MAX_VALUE})));
+    }
+
+    @Test
+    public void inRangeKeepsDoublesWithinRange() {
+        assertThat(PrimitiveFilters.inRange(DOUBLES, Range.openClosed(0.0, 5.0)), is(equalTo(new double[]{3.0, 5.0, 5.0})));
+        assertThat(PrimitiveFilters.inRange(DOUBLES, Range.<Double>all()), is(equalTo(new double[]{Double.NEGATIVE_INFINITY, -3.0, 0.0, 3.0, 5.0, 5.0,
+                                                                                                    Double.POSITIVE_INFINITY})));
+    }
+
+    @Test
+    public void anyOfKeepsIntsEqualToCandidates() {
+        assertThat(PrimitiveFilters.anyOf(INTS, new int[]{5, Integer.MIN_VALUE, 4}), is(equalTo(new int[]{Integer.MIN_VALUE, 5, 5})));
+    }
+
+    @Test
+    public void anyOfKeepsLongsEqualToCandidates() {
+        assertThat(PrimitiveFilters.anyOf(LONGS, new long[]{7L, 0L}), is(equalTo(new long[]{0L, 7L})));
+    }
+
+    @Test
+    public void anyOfKeepsDoublesEqualToCandidates() {
+        assertThat(PrimitiveFilters.anyOf(DOUBLES, new double[]{Double.NaN, 3.0, -0.0}), is(equalTo(new double[]{3.0, Double.NaN})));
+    }
+
+    @Test
+    public void anyOfDoesNotModifyCandidates() {
+
+        // given
+        final int[] candidates = {5, 3};
+
+        // when
+        PrimitiveFilters.anyOf(INTS, candidates);
+
+        // then
+        assertThat(candidates, is(equalTo(new int[]{5, 3})));
+    }
+}
@@ -0,0 +1,191 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.matcher.IsNotInstantiatable;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.collect.ContiguousSet;
+import com.google.common.collect.DiscreteDomain;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
+import com.google.common.collect.Range;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.RadixSorts} contract.
+ *
+ * @since 19.10.2026
+ */
+public class RadixSortsTest {
+
+    private static final int SIZE = 1000;
+
+    private static final Function<Integer, Integer> MODULO_TEN = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer input) {
+            return input % 10;
+        }
+    };
+
+    @Test
+    public void isNotInstantiateable() {
+        assertThat(RadixSorts.class, IsNotInstantiatable.isNotInstantiatable());
+    }
+
+    @Test
+    public void sortedIndexesIsNullForFewKeys() {
+        assertThat(RadixSorts.sortedIndexes(ImmutableList.of(3, 2, 1)), is(nullValue()));
+    }
+
+    @Test
+    public void sortedIndexesIsNullForOtherKeys() {
+        assertThat(RadixSorts.sortedIndexes(Collections.nCopies(SIZE, 1.0)), is(nullValue()));
+    }
+
+    @Test
+    public void sortedIndexesIsNullForMixedKeys() {
+
+        // given
+        final List<Object> keys = new ArrayList<Object>(Collections.nCopies(SIZE, 1));
+        keys.add(1L);
+
+        // then
+        assertThat(RadixSorts.sortedIndexes(keys), is(nullValue()));
+    }
+
+    @Test
+    public void sortedIndexesSortsIntegers() {
+
+        // given
+        final Random random = new Random(42);
+        final List<Integer> keys = Lists.newArrayList(Integer.MIN_VALUE, Integer.MAX_VALUE, 0, -1);
+        for (int i = 0; i < SIZE; i++) {
+            keys.add(random.nextInt(i % 2 == 0 ? 100 : Integer.MAX_VALUE) * (random.nextBoolean() ? 1 : -1));
+        }
+
+        // then
+        assertStableSort(keys);
+    }
+
+    @Test
+    public void sortedIndexesSortsLongs() {
+
+        // given
+        final Random random = new Random(42);
+        final List<Long> keys = Lists.newArrayList(Long.MIN_VALUE, Long.MAX_VALUE, 0L, -1L);
+        for (int i = 0; i < SIZE; i++) {
+            keys.add(i % 2 == 0 ? random.nextInt(100) - 50L : random.nextLong());
+        }
+
+        // then
+        assertStableSort(keys);
+    }
+
+    @Test
+    public void sortedIndexesSortsStrings() {
+
+        // given
+        final Random random = new Random(42);
+        final List<String> keys = Lists.newArrayList("", "\uffff", "a", "ab");
+        for (int i = 0; i < SIZE; i++) {
+            final StringBuilder key = new StringBuilder("prefix");
+            for (int length = random.nextInt(4); length > 0; length--) {
+                key.append((char) ('a' + random.nextInt(3)));
+            }
+            keys.add(key.toString());
+        }
+
+        // then
+        assertStableSort(keys);
+    }
+
+    @Test
+    public void immutableSortedSetsKeepFirstOfEqualRadixSortedElements() {
+
+        // given
+        final List<String> input = new ArrayList<String>();
+        for (int i = SIZE; i > 0; i--) {
+            input.add(new String("" + i % 10));
+        }
+
+        // when
+        final ImmutableSortedSet<String> result = ImmutableSortedSets.createFrom(input, Functions.<String>identity());
+
+        // then
+        assertThat(ImmutableList.copyOf(result), is(equalTo(ImmutableList.of("0", "1", "2", "3", "4", "5", "6", "7", "8", "9"))));
+        assertThat(result.first() == input.get(0), is(true));
+    }
+
+    @Test
+    public void immutableSortedMapsAreRadixSorted() {
+
+        // given
+        final List<Integer> input = new ArrayList<Integer>();
+        for (int i = SIZE; i > 0; i--) {
+            input.add(i - SIZE / 2);
+        }
+
+        // when
+        final ImmutableSortedMap<Integer, Integer> result = ImmutableSortedMaps.createFrom(input, Functions.<Integer>identity());
+
+        // then
+        assertThat(ImmutableList.copyOf(result.keySet()), is(equalTo(Ordering.natural().sortedCopy(input))));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void immutableSortedMapsDoNotAllowDuplicateRadixSortedKeys() {
+        ImmutableSortedMaps.createFrom(Lists.reverse(upTo(SIZE)), MODULO_TEN);
+    }
+
+    private static List<Integer> upTo(final int size) {
+        return Lists.newArrayList(ContiguousSet.create(Range.closedOpen(0, size), DiscreteDomain.integers()));
+    }
+
+    private static <T extends Comparable<T>> void assertStableSort(final List<T> keys) {
+
+        // given
+        final List<Integer> expected = upTo(keys.size());
+        Collections.sort(expected, new Comparator<Integer>() {
+            @Override
+            public int compare(final Integer first, final Integer second) {
+                return keys.get(first).compareTo(keys.get(second));
+            }
+        });
+
+        // when
+        final int[] indexes = RadixSorts.sortedIndexes(keys);
+
+        // then
+        final List<Integer> actual = new ArrayList<Integer>(indexes.length);
+        for (final int index : indexes) {
+            actual.add(index);
+        }
+        assertThat(actual, is(equalTo(expected)));
+    }
+}
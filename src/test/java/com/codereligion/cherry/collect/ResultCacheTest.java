@@ -0,0 +1,236 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.codereligion.cherry.function.ToStringFunction;
+import com.google.common.base.Function;
+import com.google.common.base.Predicate;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.ResultCache} contract.
+ *
+ * @since 19.10.2026
+ */
+public class ResultCacheTest {
+
+    private static final Function<Iterable<Integer>, HashMap<String, Integer>> BY_STRING = new Function<Iterable<Integer>, HashMap<String, Integer>>() {
+        @Override
+        public HashMap<String, Integer> apply(final Iterable<Integer> input) {
+            return HashMaps.createFrom(input, ToStringFunction.<Integer>toStringFunction());
+        }
+    };
+
+    private static final Function<Iterable<Integer>, ArrayList<String>> TO_STRINGS = new Function<Iterable<Integer>, ArrayList<String>>() {
+        @Override
+        public ArrayList<String> apply(final Iterable<Integer> input) {
+            return ArrayLists.createFrom(input, ToStringFunction.<Integer>toStringFunction());
+        }
+    };
+
+    private static final Function<Integer, String> TO_STRING = ToStringFunction.toStringFunction();
+
+    private static final Predicate<Integer> IS_EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean apply(final Integer input) {
+            return input % 2 == 0;
+        }
+    };
+
+    @Test(expected = IllegalArgumentException.class)
+    public void createDoesNotAllowNegativeMaximumSize() {
+        ResultCache.create(-1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getDoesNotAllowNullOperation() {
+        ResultCache.create(10).get(ImmutableList.of(1), null);
+    }
+
+    @Test
+    public void getReturnsCachedResultForSameInputAndOperation() {
+
+        // given
+        final ResultCache cache = ResultCache.create(10);
+        final ImmutableList<Integer> input = ImmutableList.of(1, 2, 3);
+
+        // when
+        final HashMap<String, Integer> first = cache.get(input, BY_STRING);
+        final HashMap<String, Integer> second = cache.get(input, BY_STRING);
+
+        // then
+        assertThat(second, is(sameInstance(first)));
+        assertThat(cache.stats().hitCount(), is(1L));
+        assertThat(cache.stats().missCount(), is(1L));
+    }
+
+    @Test
+    public void getDistinguishesOperations() {
+
+        // given
+        final ResultCache cache = ResultCache.create(10);
+        final ImmutableList<Integer> input = ImmutableList.of(1, 2, 3);
+
+        // when
+        cache.get(input, BY_STRING);
+        cache.get(input, TO_STRINGS);
+
+        // then
+        assertThat(cache.stats().missCount(), is(2L));
+        assertThat(cache.size(), is(2L));
+    }
+
+    @Test
+    public void getDistinguishesEqualInputsByIdentity() {
+
+        // given
+        final ResultCache cache = ResultCache.create(10);
+
+        // when
+        final HashMap<String, Integer> first = cache.get(ImmutableList.of(1, 2), BY_STRING);
+        final HashMap<String, Integer> second = cache.get(ImmutableList.of(1, 2), BY_STRING);
+
+        // then
+        assertThat(second, is(not(sameInstance(first))));
+    }
+
+    @Test
+    public void getWithVersionStampRecomputesChangedInputs() {
+
+        // given
+        final ResultCache cache = ResultCache.create(10);
+        final List<Integer> input = Lists.newArrayList(1, 2);
+        final ArrayList<String> first = cache.get(input, 1L, TO_STRINGS);
+
+        // when
+        input.add(3);
+        final ArrayList<String> sameVersion = cache.get(input, 1L, TO_STRINGS);
+        final ArrayList<String> newVersion = cache.get(input, 2L, TO_STRINGS);
+
+        // then
+        assertThat(sameVersion, is(sameInstance(first)));
+        assertThat(newVersion.size(), is(3));
+    }
+
+    @Test
+    public void getEvictsLeastRecentlyUsedResults() {
+
+        // given
+        final ResultCache cache = ResultCache.create(1);
+        final ImmutableList<Integer> input = ImmutableList.of(1);
+
+        // when
+        cache.get(input, BY_STRING);
+        cache.get(input, TO_STRINGS);
+
+        // then
+        assertThat(cache.size(), is(1L));
+        assertThat(cache.stats().evictionCount(), is(1L));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getPropagatesFailuresOfTheOperation() {
+
+        // given
+        final Function<Iterable<Integer>, String> failing = new Function<Iterable<Integer>, String>() {
+            @Override
+            public String apply(final Iterable<Integer> input) {
+                throw new IllegalStateException();
+            }
+        };
+
+        // when
+        ResultCache.create(10).get(ImmutableList.of(1), failing);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void hashMapDoesNotAllowNullKeyFunction() {
+        ResultCache.create(10).hashMap(ImmutableList.of(1), null);
+    }
+
+    @Test
+    public void hashMapReturnsCachedResultForSameInputAndKeyFunction() {
+
+        // given
+        final ResultCache cache = ResultCache.create(10);
+        final ImmutableList<Integer> input = ImmutableList.of(1, 2, 3);
+
+        // when
+        final Map<String, Integer> first = cache.hashMap(input, TO_STRING);
+        final Map<String, Integer> second = cache.hashMap(input, TO_STRING);
+
+        // then
+        assertThat(second, is(sameInstance(first)));
+        assertThat(second, is(equalTo((Map<String, Integer>) HashMaps.createFrom(input, TO_STRING))));
+        assertThat(cache.stats().hitCount(), is(1L));
+    }
+
+    @Test
+    public void arrayListReturnsCachedResultForSameInputPredicateAndFunction() {
+
+        // given
+        final ResultCache cache = ResultCache.create(10);
+        final ImmutableList<Integer> input = ImmutableList.of(1, 2, 3, 4);
+
+        // when
+        final List<String> first = cache.arrayList(input, IS_EVEN, TO_STRING);
+        final List<String> second = cache.arrayList(input, IS_EVEN, TO_STRING);
+
+        // then
+        assertThat(second, is(sameInstance(first)));
+        assertThat(second, is(equalTo((List<String>) Lists.newArrayList("2", "4"))));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void hashMapReturnsUnmodifiableMap() {
+        ResultCache.create(10).hashMap(ImmutableList.of(1), TO_STRING).put("2", 2);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void arrayListReturnsUnmodifiableList() {
+        ResultCache.create(10).arrayList(ImmutableList.of(1, 2), IS_EVEN).add(4);
+    }
+
+    @Test
+    public void typedMethodsDistinguishFactoriesAndPredicates() {
+
+        // given
+        final ResultCache cache = ResultCache.create(10);
+        final ImmutableList<Integer> input = ImmutableList.of(1, 2, 3, 4);
+
+        // when
+        cache.hashMap(input, TO_STRING);
+        cache.arrayList(input, TO_STRING);
+        cache.arrayList(input, IS_EVEN);
+        cache.arrayList(input, Predicates.not(IS_EVEN));
+
+        // then
+        assertThat(cache.stats().missCount(), is(4L));
+        assertThat(cache.size(), is(4L));
+    }
+}
@@ -0,0 +1,249 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Ordering;
+import com.google.common.collect.Sets;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the linear building of sorted outputs by the sorted factories, see {@link com.codereligion.cherry.collect.SortedOutputs}.
+ *
+ * @since 19.10.2026
+ */
+public class SortedOutputsTest {
+
+    private static final int SIZE = 1000;
+
+    private static final Function<Integer, Long> TO_LONG = new Function<Integer, Long>() {
+        @Override
+        public Long apply(final Integer input) {
+            return input.longValue();
+        }
+    };
+
+    private static final Function<Integer, Long> HALF = new Function<Integer, Long>() {
+        @Override
+        public Long apply(final Integer input) {
+            return input.longValue() / 2;
+        }
+    };
+
+    private static final Function<Integer, Integer> HALF_INTEGER = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(final Integer input) {
+            return input / 2;
+        }
+    };
+
+    private static final Function<Integer, Long> NEGATE = new Function<Integer, Long>() {
+        @Override
+        public Long apply(final Integer input) {
+            return -input.longValue();
+        }
+    };
+
+    private final CountingComparator comparator = new CountingComparator();
+    private final List<Integer> ascending = Lists.newArrayList();
+
+    {
+        for (int i = 0; i < SIZE; i++) {
+            ascending.add(i);
+        }
+    }
+
+    @Test
+    public void treeSetIsBuiltWithoutSortingForMonotonicFunctions() {
+
+        // when
+        final TreeSet<Long> result = TreeSets.createFrom(ascending, MonotonicFunctions.monotonic(TO_LONG), comparator);
+
+        // then
+        assertLinearNumberOfComparisons();
+        assertThat(result, is(equalTo((SortedSet<Long>) TreeSets.createFrom(ascending, TO_LONG, Ordering.<Long>natural()))));
+    }
+
+    @Test
+    public void immutableSortedSetIsBuiltWithoutSortingForMonotonicFunctions() {
+
+        // when
+        final ImmutableSortedSet<Long> result = ImmutableSortedSets.createFrom(ascending, Predicates.<Integer>alwaysTrue(),
+                                                                               MonotonicFunctions.monotonic(TO_LONG), comparator);
+
+        // then
+        assertLinearNumberOfComparisons();
+        assertThat(result, is(equalTo((SortedSet<Long>) ImmutableSortedSets.createFrom(ascending, TO_LONG))));
+        assertThat(result.comparator(), is(equalTo((Object) comparator)));
+    }
+
+    @Test
+    public void treeMapIsBuiltWithoutSortingForMonotonicFunctions() {
+
+        // when
+        final TreeMap<Long, Integer> result = TreeMaps.createFrom(ascending, MonotonicFunctions.monotonic(TO_LONG), comparator);
+
+        // then
+        assertLinearNumberOfComparisons();
+        assertThat(result, is(equalTo((SortedMap<Long, Integer>) TreeMaps.createFrom(ascending, TO_LONG))));
+    }
+
+    @Test
+    public void immutableSortedMapIsBuiltWithoutSortingForMonotonicFunctions() {
+
+        // when
+        final ImmutableSortedMap<Long, Integer> result = ImmutableSortedMaps.createFrom(ascending, MonotonicFunctions.monotonic(TO_LONG), comparator);
+
+        // then
+        assertLinearNumberOfComparisons();
+        assertThat(result, is(equalTo((SortedMap<Long, Integer>) ImmutableSortedMaps.createFrom(ascending, TO_LONG))));
+        assertThat(result.comparator(), is(equalTo((Object) comparator)));
+    }
+
+    @Test
+    public void setsRemoveDuplicateResultsOfMonotonicFunctions() {
+
+        // when
+        final TreeSet<Long> treeSet = TreeSets.createFrom(ascending, MonotonicFunctions.monotonic(HALF));
+        final ImmutableSortedSet<Long> immutableSet = ImmutableSortedSets.createFrom(ascending, MonotonicFunctions.monotonic(HALF));
+
+        // then
+        assertThat(treeSet.size(), is(SIZE / 2));
+        assertThat(immutableSet, is(equalTo((SortedSet<Long>) treeSet)));
+    }
+
+    @Test
+    public void treeMapKeepsLastValueForDuplicateResultsOfMonotonicFunctions() {
+
+        // when
+        final TreeMap<Long, Integer> result = TreeMaps.createFrom(ascending, MonotonicFunctions.monotonic(HALF));
+
+        // then
+        assertThat(result, is(equalTo((SortedMap<Long, Integer>) TreeMaps.createFrom(ascending, HALF))));
+        assertThat(result.get(0L), is(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void immutableSortedMapDoesNotAllowDuplicateResultsOfMonotonicFunctions() {
+        ImmutableSortedMaps.createFrom(ascending, MonotonicFunctions.monotonic(HALF));
+    }
+
+    @Test
+    public void outputsAreSortedIfMonotonicFunctionsAreNotAscending() {
+
+        // when
+        final TreeSet<Long> treeSet = TreeSets.createFrom(ascending, MonotonicFunctions.monotonic(NEGATE));
+        final ImmutableSortedSet<Long> immutableSet = ImmutableSortedSets.createFrom(ascending, MonotonicFunctions.monotonic(NEGATE));
+        final TreeMap<Long, Integer> treeMap = TreeMaps.createFrom(ascending, MonotonicFunctions.monotonic(NEGATE));
+        final ImmutableSortedMap<Long, Integer> immutableMap = ImmutableSortedMaps.createFrom(ascending, MonotonicFunctions.monotonic(NEGATE));
+
+        // then
+        assertThat(treeSet, is(equalTo((SortedSet<Long>) TreeSets.createFrom(ascending, NEGATE))));
+        assertThat(immutableSet, is(equalTo((SortedSet<Long>) treeSet)));
+        assertThat(treeMap, is(equalTo((SortedMap<Long, Integer>) TreeMaps.createFrom(ascending, NEGATE))));
+        assertThat(immutableMap, is(equalTo((SortedMap<Long, Integer>) treeMap)));
+        assertThat(treeSet.first(), is(-(SIZE - 1L)));
+    }
+
+    @Test
+    public void immutableOutputsOfOtherTypesAreSortedInPlace() {
+
+        // given
+        final List<Integer> shuffled = Lists.newArrayList(ascending);
+        Collections.shuffle(shuffled, new Random(42));
+        final Function<Integer, BigInteger> toBigInteger = new Function<Integer, BigInteger>() {
+            @Override
+            public BigInteger apply(final Integer input) {
+                return BigInteger.valueOf(input);
+            }
+        };
+        final Function<Integer, BigInteger> half = Functions.compose(toBigInteger, HALF_INTEGER);
+
+        // when
+        final ImmutableSortedSet<BigInteger> immutableSet = ImmutableSortedSets.createFrom(shuffled, half);
+        final ImmutableSortedMap<BigInteger, Integer> immutableMap = ImmutableSortedMaps.createFrom(shuffled, toBigInteger);
+
+        // then
+        assertThat(immutableSet, is(equalTo((SortedSet<BigInteger>) TreeSets.createFrom(shuffled, half))));
+        assertThat(immutableMap, is(equalTo((SortedMap<BigInteger, Integer>) TreeMaps.createFrom(shuffled, toBigInteger))));
+    }
+
+    @Test
+    public void filteringSortedInputWithSameOrderDoesNotSort() {
+
+        // given
+        final TreeSet<Long> input = Sets.newTreeSet(comparator);
+        for (long i = 0; i < SIZE; i++) {
+            input.add(i);
+        }
+        comparator.count = 0;
+
+        // when
+        final SortedSet<Long> result = TreeSets.createFrom(input, Predicates.<Long>alwaysTrue(), comparator);
+
+        // then
+        assertLinearNumberOfComparisons();
+        assertThat(result, is(equalTo((SortedSet<Long>) input)));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullResultsOfMonotonicFunctionsAreRejectedForNaturalOrdering() {
+
+        // given
+        final Function<Integer, Long> toNull = new Function<Integer, Long>() {
+            @Override
+            public Long apply(final Integer input) {
+                return null;
+            }
+        };
+
+        // when
+        TreeSets.createFrom(Lists.newArrayList(1), MonotonicFunctions.monotonic(toNull));
+    }
+
+    private void assertLinearNumberOfComparisons() {
+        assertTrue("expected at most " + (SIZE + 1) + " comparisons, but were " + comparator.count, comparator.count <= SIZE + 1);
+    }
+
+    private static final class CountingComparator implements Comparator<Long> {
+
+        private int count;
+
+        @Override
+        public int compare(final Long left, final Long right) {
+            count++;
+            return left.compareTo(right);
+        }
+    }
+}
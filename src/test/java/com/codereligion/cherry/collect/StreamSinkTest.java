@@ -0,0 +1,249 @@
+/**
+ * Copyright 2014 www.codereligion.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.codereligion.cherry.collect;
+
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link com.codereligion.cherry.collect.StreamSink} contract.
+ *
+ * @since 19.10.2026
+ */
+public class StreamSinkTest {
+
+    private static final Predicate<Integer> IS_EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean apply(final Integer input) {
+            return input % 2 == 0;
+        }
+    };
+
+    private static final Function<Object, String> TO_STRING = Functions.toStringFunction();
+
+    /**
+     * Records the requests and the cancellation of a sink.
+     */
+    private static class RecordingSubscription implements StreamSubscription {
+
+        private final List<Long> requests = Lists.newArrayList();
+        private boolean cancelled;
+
+        @Override
+        public void request(final long n) {
+            requests.add(n);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void newSinkDoesNotAllowNonPositiveBatchSize() {
+        Pipelines.<Integer>identity().toArrayList().newSink(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void onSubscribeDoesNotAllowNullSubscription() {
+        Pipelines.<Integer>identity().toArrayList().newSink(1).onSubscribe(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void onNextDoesNotAllowNullEntry() {
+        final StreamSink<Integer, ArrayList<Integer>> sink = Pipelines.<Integer>identity().toArrayList().newSink(1);
+        sink.onSubscribe(new RecordingSubscription());
+        sink.onNext(null);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void onErrorDoesNotAllowNullFailure() {
+        Pipelines.<Integer>identity().toArrayList().newSink(1).onError(null);
+    }
+
+    @Test
+    public void collectsFilteredAndTransformedEntriesIntoArrayList() throws Exception {
+
+        // given
+        final StreamSink<Integer, ArrayList<String>> sink = Pipelines.filter(IS_EVEN).map(TO_STRING).toArrayList().newSink(2);
+        sink.onSubscribe(new RecordingSubscription());
+
+        // when
+        for (int i = 1; i <= 5; i++) {
+            sink.onNext(i);
+        }
+        sink.onComplete();
+
+        // then
+        assertThat(sink.getResult().get(), is(equalTo((List<String>) Lists.newArrayList("2", "4"))));
+    }
+
+    @Test
+    public void requestsNextBatchOnceCurrentBatchHasBeenReceived() {
+
+        // given
+        final RecordingSubscription subscription = new RecordingSubscription();
+        final StreamSink<Integer, ArrayList<Integer>> sink = Pipelines.<Integer>identity().toArrayList().newSink(3);
+
+        // when
+        sink.onSubscribe(subscription);
+        sink.onNext(1);
+        sink.onNext(2);
+        final List<Long> requestsBeforeBatchEnd = Lists.newArrayList(subscription.requests);
+        sink.onNext(3);
+
+        // then
+        assertThat(requestsBeforeBatchEnd, is(equalTo((List<Long>) Lists.newArrayList(3L))));
+        assertThat(subscription.requests, is(equalTo((List<Long>) Lists.newArrayList(3L, 3L))));
+    }
+
+    @Test
+    public void collectsIntoHashMap() throws Exception {
+
+        // given
+        final StreamSink<Integer, HashMap<String, Integer>> sink = Pipelines.<Integer>identity().toHashMap(TO_STRING).newSink(10);
+        sink.onSubscribe(new RecordingSubscription());
+
+        // when
+        sink.onNext(1);
+        sink.onNext(2);
+        sink.onComplete();
+
+        // then
+        assertThat((Map<String, Integer>) sink.getResult().get(), is(equalTo((Map<String, Integer>) ImmutableMap.of("1", 1, "2", 2))));
+    }
+
+    @Test
+    public void collectsIntoArrayListMultimap() throws Exception {
+
+        // given
+        final Function<String, Integer> length = new Function<String, Integer>() {
+            @Override
+            public Integer apply(final String input) {
+                return input.length();
+            }
+        };
+        final StreamSink<String, ArrayListMultimap<Integer, String>> sink = Pipelines.<String>identity().toArrayListMultimap(length).newSink(10);
+        sink.onSubscribe(new RecordingSubscription());
+
+        // when
+        sink.onNext("a");
+        sink.onNext("bb");
+        sink.onNext("c");
+        sink.onComplete();
+
+        // then
+        assertThat(sink.getResult().get().get(1), is(equalTo((List<String>) Lists.newArrayList("a", "c"))));
+        assertThat(sink.getResult().get().get(2), is(equalTo((List<String>) Lists.newArrayList("bb"))));
+    }
+
+    @Test
+    public void streamFailureFailsResult() throws Exception {
+
+        // given
+        final StreamSink<Integer, ArrayList<Integer>> sink = Pipelines.<Integer>identity().toArrayList().newSink(10);
+        sink.onSubscribe(new RecordingSubscription());
+
+        // when
+        sink.onError(new IllegalStateException("stream failed"));
+
+        // then
+        assertFailsWith(sink.getResult(), IllegalStateException.class);
+    }
+
+    @Test
+    public void pipelineFailureFailsResultAndCancelsSubscription() throws Exception {
+
+        // given
+        final Function<Integer, String> failing = new Function<Integer, String>() {
+            @Override
+            public String apply(final Integer input) {
+                throw new IllegalArgumentException("failure");
+            }
+        };
+        final RecordingSubscription subscription = new RecordingSubscription();
+        final StreamSink<Integer, ArrayList<String>> sink = Pipelines.map(failing).toArrayList().newSink(10);
+        sink.onSubscribe(subscription);
+
+        // when
+        sink.onNext(1);
+        sink.onNext(2);
+        sink.onComplete();
+
+        // then
+        assertFailsWith(sink.getResult(), IllegalArgumentException.class);
+        assertThat(subscription.cancelled, is(true));
+    }
+
+    @Test
+    public void cancellingResultCancelsSubscription() {
+
+        // given
+        final RecordingSubscription subscription = new RecordingSubscription();
+        final StreamSink<Integer, ArrayList<Integer>> sink = Pipelines.<Integer>identity().toArrayList().newSink(10);
+        sink.onSubscribe(subscription);
+
+        // when
+        sink.getResult().cancel(false);
+
+        // then
+        assertThat(subscription.cancelled, is(true));
+    }
+
+    @Test
+    public void secondSubscriptionIsCancelled() {
+
+        // given
+        final RecordingSubscription first = new RecordingSubscription();
+        final RecordingSubscription second = new RecordingSubscription();
+        final StreamSink<Integer, ArrayList<Integer>> sink = Pipelines.<Integer>identity().toArrayList().newSink(10);
+        sink.onSubscribe(first);
+
+        // when
+        sink.onSubscribe(second);
+
+        // then
+        assertThat(first.cancelled, is(false));
+        assertThat(second.cancelled, is(true));
+        assertThat(second.requests.isEmpty(), is(true));
+    }
+
+    private static void assertFailsWith(final ListenableFuture<?> result, final Class<? extends Throwable> failureClass) throws InterruptedException {
+        try {
+            result.get();
+            fail("expected the result to fail");
+        } catch (final ExecutionException e) {
+            assertThat(e.getCause(), is(instanceOf(failureClass)));
+        }
+    }
+}